@@ -1603,7 +1603,7 @@ public class BooksOnBookshelf
             if (BuildConfig.DEBUG && DEBUG_SWITCHES.BOB_THE_BUILDER_TIMERS) {
                 Debug.stopMethodTracing();
             }
-            vm.onBuildFinished(result);
+            vm.onBuildFinished(this, result);
             displayList(result.getTargetNodes());
         });
     }
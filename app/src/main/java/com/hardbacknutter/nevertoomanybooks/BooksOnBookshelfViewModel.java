@@ -41,6 +41,7 @@ import java.util.Optional;
 import com.hardbacknutter.nevertoomanybooks.bookdetails.ViewBookOnWebsiteHandler;
 import com.hardbacknutter.nevertoomanybooks.booklist.BoBTask;
 import com.hardbacknutter.nevertoomanybooks.booklist.Booklist;
+import com.hardbacknutter.nevertoomanybooks.booklist.BooklistCache;
 import com.hardbacknutter.nevertoomanybooks.booklist.BooklistHeader;
 import com.hardbacknutter.nevertoomanybooks.booklist.BooklistNode;
 import com.hardbacknutter.nevertoomanybooks.booklist.RebuildBooklist;
@@ -54,6 +55,7 @@ import com.hardbacknutter.nevertoomanybooks.entities.DataHolder;
 import com.hardbacknutter.nevertoomanybooks.entities.Publisher;
 import com.hardbacknutter.nevertoomanybooks.entities.Series;
 import com.hardbacknutter.nevertoomanybooks.searchengines.amazon.AmazonHandler;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
 import com.hardbacknutter.nevertoomanybooks.tasks.LiveDataEvent;
 import com.hardbacknutter.nevertoomanybooks.tasks.TaskProgress;
 import com.hardbacknutter.nevertoomanybooks.tasks.TaskResult;
@@ -76,7 +78,9 @@ public class BooksOnBookshelfViewModel
     private static final String ERROR_NULL_BOOKLIST = "booklist";
     /** Cache for all bookshelves. */
     private final List<Bookshelf> bookshelfList = new ArrayList<>();
-    private final BoBTask boBTask = new BoBTask();
+    /** Lists built earlier, ready to be reused when switching back to them. */
+    private final BooklistCache booklistCache = new BooklistCache();
+    private final BoBTask boBTask = new BoBTask(booklistCache);
     /** Holder for all search criteria. See {@link SearchCriteria} for more info. */
     @Nullable
     private SearchCriteria searchCriteria;
@@ -103,6 +107,11 @@ public class BooksOnBookshelfViewModel
     /** Current displayed list. */
     @Nullable
     private Booklist booklist;
+    /** The cache key for the current list; {@code null} if it should not be cached. */
+    @Nullable
+    private String booklistCacheKey;
+    /** The data version from before the current list was built. */
+    private int booklistDataVersion;
 
     // Not using a list here as we need separate access to the amazon handler
     @Nullable
@@ -135,6 +144,7 @@ public class BooksOnBookshelfViewModel
         if (booklist != null) {
             booklist.close();
         }
+        booklistCache.clear();
 
         super.onCleared();
     }
@@ -415,6 +425,12 @@ public class BooksOnBookshelfViewModel
      */
     void setForceRebuildInOnResume(final boolean forceRebuild) {
         forceRebuildInOnResume = forceRebuild;
+        if (forceRebuild) {
+            // Something changed which the data version does not cover
+            // (e.g. styles, preferences); none of the lists can be reused.
+            booklistCache.clear();
+            booklistCacheKey = null;
+        }
     }
 
     /**
@@ -687,20 +703,38 @@ public class BooksOnBookshelfViewModel
         Objects.requireNonNull(bookshelf, ERROR_NULL_BOOKLIST);
 
         //noinspection ConstantConditions
-        boBTask.build(bookshelf, rebuildMode, searchCriteria, currentCenteredBookId);
+        // The list saved by the previous session is only considered for the first build.
+        boBTask.build(bookshelf, rebuildMode, searchCriteria, currentCenteredBookId,
+                      !listLoaded);
     }
 
     boolean isBuilding() {
         return boBTask.isRunning();
     }
 
-    void onBuildFinished(@NonNull final BoBTask.Outcome outcome) {
-        // the new build is completely done. We can safely discard the previous one.
+    void onBuildFinished(@NonNull final Context context,
+                         @NonNull final BoBTask.Outcome outcome) {
+        // the new build is completely done. We can safely discard the previous one,
+        // or keep it around in case the user switches back to it.
         if (booklist != null) {
-            booklist.close();
+            if (booklistCacheKey != null) {
+                booklistCache.put(booklistCacheKey, booklistDataVersion, booklist);
+            } else {
+                booklist.close();
+            }
         }
 
         booklist = outcome.getList();
+        booklistCacheKey = outcome.getCacheKey();
+        booklistDataVersion = outcome.getDataVersion();
+
+        // Lists built using search criteria are never saved.
+        if (booklistCacheKey != null) {
+            final Booklist list = booklist;
+            final int dataVersion = booklistDataVersion;
+            final Context appContext = context.getApplicationContext();
+            ASyncExecutor.SERVICE.execute(() -> list.save(appContext, dataVersion));
+        }
 
         // Save a flag to say list was loaded at least once successfully
         listLoaded = true;
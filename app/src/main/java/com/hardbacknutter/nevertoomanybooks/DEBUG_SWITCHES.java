@@ -78,6 +78,8 @@ public final class DEBUG_SWITCHES {
     public static final boolean XML = false;
     /** all things network related. */
     public static final boolean NETWORK = false;
+    /** enable timers for rough performance measurements of http requests. */
+    public static final boolean NETWORK_TIMERS = false;
 
     /** {@link com.hardbacknutter.nevertoomanybooks.network.JsoupLoader}. */
     public static final boolean JSOUP = false;
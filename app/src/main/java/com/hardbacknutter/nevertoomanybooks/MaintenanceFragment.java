@@ -30,6 +30,7 @@ import androidx.annotation.Keep;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.appcompat.widget.Toolbar;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.snackbar.Snackbar;
@@ -43,12 +44,17 @@ import java.util.Set;
 
 import com.hardbacknutter.nevertoomanybooks.booklist.BooklistNodeDao;
 import com.hardbacknutter.nevertoomanybooks.covers.CoverDir;
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRecompressTask;
 import com.hardbacknutter.nevertoomanybooks.databinding.FragmentMaintenanceBinding;
 import com.hardbacknutter.nevertoomanybooks.debug.DebugReport;
 import com.hardbacknutter.nevertoomanybooks.debug.SqliteShellFragment;
 import com.hardbacknutter.nevertoomanybooks.dialogs.MultiChoiceAlertDialogBuilder;
 import com.hardbacknutter.nevertoomanybooks.dialogs.StandardDialogs;
 import com.hardbacknutter.nevertoomanybooks.dialogs.TipManager;
+import com.hardbacknutter.nevertoomanybooks.tasks.LiveDataEvent;
+import com.hardbacknutter.nevertoomanybooks.tasks.ProgressDelegate;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskProgress;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskResult;
 import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.ExMsg;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
@@ -82,6 +88,10 @@ public class MaintenanceFragment
     /** View Binding. */
     private FragmentMaintenanceBinding vb;
 
+    private MaintenanceViewModel vm;
+    @Nullable
+    private ProgressDelegate progressDelegate;
+
     @Nullable
     @Override
     public View onCreateView(@NonNull final LayoutInflater inflater,
@@ -101,6 +111,12 @@ public class MaintenanceFragment
         toolbar.setTitle(R.string.lbl_settings);
         toolbar.setSubtitle(R.string.pt_maintenance);
 
+        vm = new ViewModelProvider(this).get(MaintenanceViewModel.class);
+        vm.onProgress().observe(getViewLifecycleOwner(), this::onProgress);
+        vm.onRecompressCancelled().observe(getViewLifecycleOwner(), this::onRecompressCancelled);
+        vm.onRecompressFailure().observe(getViewLifecycleOwner(), this::onRecompressFailure);
+        vm.onRecompressFinished().observe(getViewLifecycleOwner(), this::onRecompressFinished);
+
         vb.btnDebug.setOnClickListener(v -> {
             debugClicks++;
             if (debugClicks >= DEBUG_CLICKS) {
@@ -166,6 +182,17 @@ public class MaintenanceFragment
                     .show();
         });
 
+        vb.btnRecompressCovers.setOnClickListener(v -> new MaterialAlertDialogBuilder(
+                v.getContext())
+                .setIcon(R.drawable.ic_baseline_warning_24)
+                .setTitle(R.string.lbl_recompress_covers)
+                .setMessage(R.string.confirm_recompress_covers)
+                .setNegativeButton(android.R.string.cancel, (d, w) -> d.dismiss())
+                .setPositiveButton(android.R.string.ok, (d, w) ->
+                        vm.recompressCovers(v.getContext()))
+                .create()
+                .show());
+
         vb.btnPurgeBlns.setOnClickListener(v -> new MaterialAlertDialogBuilder(v.getContext())
                 .setIcon(R.drawable.ic_baseline_warning_24)
                 .setTitle(R.string.lbl_purge_blns)
@@ -309,9 +336,84 @@ public class MaintenanceFragment
             throws StorageException {
         final Context context = getContext();
         //noinspection ConstantConditions
-        return FileUtils.deleteDirectory(ServiceLocator.getLogDir(), null, null)
-               + FileUtils.deleteDirectory(ServiceLocator.getUpgradesDir(), null, null)
-               + FileUtils.deleteDirectory(CoverDir.getTemp(context), null, null)
-               + FileUtils.deleteDirectory(CoverDir.getDir(context), coverFilter, null);
+        final long total = FileUtils.deleteDirectory(ServiceLocator.getLogDir(), null, null)
+                           + FileUtils.deleteDirectory(ServiceLocator.getUpgradesDir(), null, null)
+                           + FileUtils.deleteDirectory(CoverDir.getTemp(context), null, null)
+                           + FileUtils.deleteDirectory(CoverDir.getDir(context), coverFilter, null);
+        ServiceLocator.getInstance().getCoverRegistry().clear();
+        return total;
+    }
+
+    private void onProgress(@NonNull final LiveDataEvent<TaskProgress> message) {
+        message.getData().ifPresent(data -> {
+            if (progressDelegate == null) {
+                //noinspection ConstantConditions
+                progressDelegate = new ProgressDelegate(getProgressFrame())
+                        .setTitle(R.string.lbl_recompress_covers)
+                        .setPreventSleep(true)
+                        .setOnCancelListener(v -> vm.cancelTask(data.taskId))
+                        .show(() -> getActivity().getWindow());
+            }
+            progressDelegate.onProgress(data);
+        });
+    }
+
+    private void closeProgressDialog() {
+        if (progressDelegate != null) {
+            //noinspection ConstantConditions
+            progressDelegate.dismiss(getActivity().getWindow());
+            progressDelegate = null;
+        }
+    }
+
+    private void onRecompressFinished(
+            @NonNull final LiveDataEvent<TaskResult<CoverRecompressTask.Outcome>> message) {
+        closeProgressDialog();
+
+        message.getData().map(TaskResult::requireResult).ifPresent(outcome -> {
+            final Context context = getContext();
+            //noinspection ConstantConditions
+            final String msg = getString(R.string.txt_recompress_covers_done,
+                                         outcome.getFiles(),
+                                         FileUtils.formatFileSize(context,
+                                                                  outcome.getBytesSaved()));
+            new MaterialAlertDialogBuilder(context)
+                    .setIcon(R.drawable.ic_baseline_info_24)
+                    .setTitle(R.string.lbl_recompress_covers)
+                    .setMessage(msg)
+                    .setPositiveButton(android.R.string.ok, (d, w) -> d.dismiss())
+                    .create()
+                    .show();
+        });
+    }
+
+    private void onRecompressFailure(
+            @NonNull final LiveDataEvent<TaskResult<Exception>> message) {
+        closeProgressDialog();
+
+        message.getData().ifPresent(data -> {
+            final Context context = getContext();
+            //noinspection ConstantConditions
+            final String msg = ExMsg.map(context, data.getResult())
+                                    .orElse(getString(R.string.error_unknown_long,
+                                                      getString(R.string.pt_maintenance)));
+            new MaterialAlertDialogBuilder(context)
+                    .setIcon(R.drawable.ic_baseline_error_24)
+                    .setTitle(R.string.lbl_recompress_covers)
+                    .setMessage(msg)
+                    .setPositiveButton(android.R.string.ok, (d, w) -> d.dismiss())
+                    .create()
+                    .show();
+        });
+    }
+
+    private void onRecompressCancelled(
+            @NonNull final LiveDataEvent<TaskResult<CoverRecompressTask.Outcome>> message) {
+        closeProgressDialog();
+
+        message.getData().ifPresent(data -> {
+            //noinspection ConstantConditions
+            Snackbar.make(getView(), R.string.cancelled, Snackbar.LENGTH_LONG).show();
+        });
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks;
+
+import android.content.Context;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRecompressTask;
+import com.hardbacknutter.nevertoomanybooks.tasks.LiveDataEvent;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskProgress;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskResult;
+
+@SuppressWarnings("WeakerAccess")
+public class MaintenanceViewModel
+        extends ViewModel {
+
+    private final CoverRecompressTask coverRecompressTask = new CoverRecompressTask();
+
+    void recompressCovers(@NonNull final Context context) {
+        coverRecompressTask.start(context);
+    }
+
+    @NonNull
+    LiveData<LiveDataEvent<TaskProgress>> onProgress() {
+        return coverRecompressTask.onProgress();
+    }
+
+    @NonNull
+    LiveData<LiveDataEvent<TaskResult<CoverRecompressTask.Outcome>>> onRecompressCancelled() {
+        return coverRecompressTask.onCancelled();
+    }
+
+    @NonNull
+    LiveData<LiveDataEvent<TaskResult<Exception>>> onRecompressFailure() {
+        return coverRecompressTask.onFailure();
+    }
+
+    @NonNull
+    LiveData<LiveDataEvent<TaskResult<CoverRecompressTask.Outcome>>> onRecompressFinished() {
+        return coverRecompressTask.onFinished();
+    }
+
+    void cancelTask(@IdRes final int taskId) {
+        if (taskId == coverRecompressTask.getTaskId()) {
+            coverRecompressTask.cancel();
+        } else {
+            throw new IllegalArgumentException("taskId=" + taskId);
+        }
+    }
+}
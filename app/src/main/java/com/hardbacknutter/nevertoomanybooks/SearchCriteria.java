@@ -225,17 +225,6 @@ public class SearchCriteria
         this.loanee = loanee;
     }
 
-    public void search(@NonNull final FtsDao dao,
-                       final int maxSuggestions) {
-        bookIdList.clear();
-        bookIdList.addAll(dao.search(ftsAuthor,
-                                     ftsBookTitle,
-                                     ftsSeriesTitle,
-                                     ftsPublisher,
-                                     ftsKeywords,
-                                     maxSuggestions));
-    }
-
     /**
      * Get a list with all search words, for displaying.
      *
@@ -23,6 +23,8 @@ import android.annotation.SuppressLint;
 import android.app.Activity;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.Menu;
@@ -39,10 +41,7 @@ import androidx.appcompat.widget.Toolbar;
 import androidx.core.view.MenuProvider;
 import androidx.lifecycle.ViewModelProvider;
 
-import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
-
+import com.hardbacknutter.nevertoomanybooks.database.dao.FtsDao;
 import com.hardbacknutter.nevertoomanybooks.databinding.FragmentAdvancedSearchBinding;
 import com.hardbacknutter.nevertoomanybooks.widgets.ExtTextWatcher;
 
@@ -69,20 +68,21 @@ public class SearchFtsFragment
     /** Log tag. */
     public static final String TAG = "SearchFtsFragment";
 
-    /** create timer to tick every 250ms. */
-    private static final int TIMER_TICK_MS = 250;
-    /** 1 second idle trigger. */
-    private static final int NANO_TO_SECONDS = 1_000_000_000;
+    /**
+     * Idle time after the last user action before we search.
+     * A search still running when the user continues typing is cancelled,
+     * so this can be short.
+     */
+    private static final int IDLE_MS = 300;
 
     @SuppressWarnings("FieldCanBeLocal")
     private MenuProvider toolbarMenuProvider;
+    /** Used to (re)schedule the search on the UI thread. */
+    private final Handler handler = new Handler(Looper.getMainLooper());
     /** Indicates user has changed something since the last search. */
     private boolean searchIsDirty;
-    /** Timer reset each time the user clicks, in order to detect an idle time. */
-    private long idleStart;
-    /** Timer object for background idle searches. */
-    @Nullable
-    private Timer timer;
+    /** Runs when the user has been idle for {@link #IDLE_MS}. */
+    private final Runnable idleSearch = this::onUserIdle;
     /** Detect text changes and call userIsActive(...). */
     private final TextWatcher textWatcher = (ExtTextWatcher) editable -> {
         // we're not changing the Editable, no need to toggle this listener
@@ -122,7 +122,7 @@ public class SearchFtsFragment
         toolbar.setTitle(R.string.lbl_local_search);
 
         vm.onSearchCriteriaUpdate().observe(getViewLifecycleOwner(), this::onSearchCriteriaUpdate);
-        vm.onBooklistUpdate().observe(getViewLifecycleOwner(), this::onBooklistUpdate);
+        vm.onSearchResult().observe(getViewLifecycleOwner(), this::onSearchResult);
 
         // Detect when user touches something.
         vb.content.setOnTouchListener((v, event) -> {
@@ -137,7 +137,7 @@ public class SearchFtsFragment
         vb.publisher.addTextChangedListener(textWatcher);
         vb.keywords.addTextChangedListener(textWatcher);
 
-        // Timer will be started in OnResume().
+        // The first search will be scheduled in OnResume().
     }
 
     private void onSearchCriteriaUpdate(@NonNull final SearchCriteria criteria) {
@@ -146,11 +146,15 @@ public class SearchFtsFragment
         vb.author.setText(criteria.getFtsAuthor());
         vb.publisher.setText(criteria.getFtsPublisher());
         vb.keywords.setText(criteria.getFtsKeywords());
-        onBooklistUpdate(criteria.getBookIdList());
+        showCount(criteria.getBookIdList().size());
     }
 
-    private void onBooklistUpdate(final List<Long> idList) {
-        final int count = idList.size();
+    private void onSearchResult(@NonNull final FtsDao.SearchResult result) {
+        vm.getCriteria().setBookIdList(result.ids);
+        showCount(result.count);
+    }
+
+    private void showCount(final int count) {
         final String s = getResources().getQuantityString(R.plurals.n_books_found, count, count);
         getToolbar().setSubtitle(s);
     }
@@ -166,7 +170,7 @@ public class SearchFtsFragment
     }
 
     /**
-     * When activity resumes, set search as dirty + start the timer.
+     * When activity resumes, set search as dirty + schedule a search.
      */
     @Override
     @CallSuper
@@ -176,12 +180,12 @@ public class SearchFtsFragment
     }
 
     /**
-     * When activity pauses, stop timer and get the search fields.
+     * When activity pauses, cancel the scheduled search and get the search fields.
      */
     @Override
     @CallSuper
     public void onPause() {
-        stopIdleTimer();
+        handler.removeCallbacks(idleSearch);
         viewToModel();
 
         super.onPause();
@@ -207,86 +211,31 @@ public class SearchFtsFragment
      * @param dirty Indicates the user action made the last search invalid
      */
     private void userIsActive(final boolean dirty) {
-        synchronized (this) {
-            // Mark search dirty if necessary
-            searchIsDirty = searchIsDirty || dirty;
-            // Reset the idle timer since the user did something
-            idleStart = System.nanoTime();
-            // If the search is dirty, make sure idle timer is running and update UI
-            if (searchIsDirty) {
-                startIdleTimer();
-            }
+        // Mark search dirty if necessary
+        searchIsDirty = searchIsDirty || dirty;
+        // If the search is dirty, (re)start the idle time since the user did something
+        if (searchIsDirty) {
+            handler.removeCallbacks(idleSearch);
+            handler.postDelayed(idleSearch, IDLE_MS);
         }
     }
 
-    @Override
-    @CallSuper
-    public void onDestroy() {
-        stopIdleTimer();
-        super.onDestroy();
-    }
-
     /**
-     * start the idle timer.
+     * The user stopped typing/touching. Start a new search, it will cancel the previous one.
      */
-    private void startIdleTimer() {
-        // Synchronize since this is relevant to more than 1 thread.
-        synchronized (this) {
-            if (timer != null) {
-                return;
-            }
-            timer = new Timer();
-            idleStart = System.nanoTime();
+    private void onUserIdle() {
+        if (searchIsDirty) {
+            searchIsDirty = false;
+            viewToModel();
+            vm.search();
         }
-
-        timer.schedule(new SearchUpdateTimer(), 0, TIMER_TICK_MS);
     }
 
-    /**
-     * Stop the timer.
-     */
-    private void stopIdleTimer() {
-        final Timer timer;
-        // Synchronize since this is relevant to more than 1 thread.
-        synchronized (this) {
-            timer = this.timer;
-            this.timer = null;
-        }
-        if (timer != null) {
-            timer.cancel();
-        }
-    }
-
-    /**
-     * Implements a timer task (Runnable) and does a search when the user is idle.
-     * <p>
-     * If a search happens, we stop the idle timer.
-     */
-    class SearchUpdateTimer
-            extends TimerTask {
-
-        @Override
-        public void run() {
-            boolean doSearch = false;
-            // Synchronize as we might have more than one timer running (but shouldn't)
-            synchronized (this) {
-                final boolean idle = (System.nanoTime() - idleStart) > NANO_TO_SECONDS;
-                if (idle) {
-                    // Stop the timer, it will be restarted when the user changes something
-                    stopIdleTimer();
-                    if (searchIsDirty) {
-                        doSearch = true;
-                        searchIsDirty = false;
-                    }
-                }
-            }
-
-            if (doSearch) {
-                // we CAN actually read the Views here ?!
-                viewToModel();
-                vm.search();
-            }
-        }
+    @Override
+    @CallSuper
+    public void onDestroy() {
+        handler.removeCallbacks(idleSearch);
+        super.onDestroy();
     }
 
     private class ToolbarMenuProvider
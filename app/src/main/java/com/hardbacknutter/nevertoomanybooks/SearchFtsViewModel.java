@@ -20,16 +20,19 @@
 package com.hardbacknutter.nevertoomanybooks;
 
 import android.os.Bundle;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Objects;
 
 import com.hardbacknutter.nevertoomanybooks.database.dao.FtsDao;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
 
 public class SearchFtsViewModel
         extends ViewModel {
@@ -38,12 +41,50 @@ public class SearchFtsViewModel
     private static final int MAX_SUGGESTIONS = 20;
     private final MutableLiveData<SearchCriteria> searchCriteriaMutableLiveData =
             new MutableLiveData<>();
-    private final MutableLiveData<ArrayList<Long>> booklist = new MutableLiveData<>();
+    private final MutableLiveData<FtsDao.SearchResult> searchResult = new MutableLiveData<>();
     /** Database Access. */
     private FtsDao dao;
     @Nullable
     private SearchCriteria criteria;
 
+    /** Signal to cancel the running search when it is superseded. Guarded by 'this'. */
+    @Nullable
+    private CancellationSignal cancellationSignal;
+    /** The search terms of the last completed search. Guarded by 'this'. */
+    @Nullable
+    private String[] lastTerms;
+    /** The result of the last completed search. Guarded by 'this'. */
+    @Nullable
+    private FtsDao.SearchResult lastResult;
+
+    /**
+     * Check if the new search terms only <strong>narrow</strong> the old search terms.
+     * <p>
+     * All words are ANDed, and each word is used as a prefix.
+     * Hence extending a word, or adding a word or field, can only reduce the number of matches.
+     * A negated word (a '-' prefix) works the other way around, so we don't try.
+     *
+     * @param oldTerms the terms of a previous search
+     * @param newTerms the terms of the new search
+     *
+     * @return {@code true} if the new terms match the same or fewer books
+     */
+    static boolean isNarrowing(@NonNull final String[] oldTerms,
+                               @NonNull final String[] newTerms) {
+        for (int i = 0; i < newTerms.length; i++) {
+            final String oldTerm = oldTerms[i];
+            final String newTerm = newTerms[i];
+            if (oldTerm != null) {
+                if (newTerm == null
+                    || !newTerm.startsWith(oldTerm)
+                    || newTerm.indexOf('-') >= 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     public void init(@Nullable final Bundle args) {
         if (dao == null) {
             dao = ServiceLocator.getInstance().getFtsDao();
@@ -58,9 +99,15 @@ public class SearchFtsViewModel
         searchCriteriaMutableLiveData.setValue(criteria);
     }
 
+    /**
+     * Observable to receive the results of {@link #search()}.
+     * Results are posted from a background thread.
+     *
+     * @return the number of matching books and the ids of the best matching books
+     */
     @NonNull
-    public MutableLiveData<ArrayList<Long>> onBooklistUpdate() {
-        return booklist;
+    public MutableLiveData<FtsDao.SearchResult> onSearchResult() {
+        return searchResult;
     }
 
     @NonNull
@@ -73,9 +120,69 @@ public class SearchFtsViewModel
         return Objects.requireNonNull(criteria);
     }
 
+    /**
+     * Start a search in the background using the current criteria.
+     * A search which is still running is cancelled.
+     * <p>
+     * The result of the previous search is reused when the criteria are unchanged,
+     * or when the previous search found nothing and the new criteria can only match less.
+     */
     public void search() {
-        //noinspection ConstantConditions
-        criteria.search(dao, MAX_SUGGESTIONS);
-        booklist.postValue(criteria.getBookIdList());
+        final SearchCriteria sc = Objects.requireNonNull(criteria);
+        final String[] terms = {sc.getFtsAuthor(),
+                                sc.getFtsBookTitle(),
+                                sc.getFtsSeriesTitle(),
+                                sc.getFtsPublisher(),
+                                sc.getFtsKeywords()};
+
+        final CancellationSignal signal;
+        synchronized (this) {
+            if (cancellationSignal != null) {
+                cancellationSignal.cancel();
+                cancellationSignal = null;
+            }
+
+            if (lastTerms != null && lastResult != null) {
+                if (Arrays.equals(lastTerms, terms)
+                    || lastResult.count == 0 && isNarrowing(lastTerms, terms)) {
+                    lastTerms = terms;
+                    searchResult.postValue(lastResult);
+                    return;
+                }
+            }
+
+            signal = new CancellationSignal();
+            cancellationSignal = signal;
+        }
+
+        ASyncExecutor.SERVICE.execute(() -> {
+            try {
+                final FtsDao.SearchResult result = dao.search(terms[0], terms[1], terms[2],
+                                                              terms[3], terms[4],
+                                                              MAX_SUGGESTIONS, signal);
+                synchronized (this) {
+                    // Don't publish if we were superseded while finishing up.
+                    if (!signal.isCanceled()) {
+                        cancellationSignal = null;
+                        lastTerms = terms;
+                        lastResult = result;
+                        searchResult.postValue(result);
+                    }
+                }
+            } catch (@NonNull final OperationCanceledException ignore) {
+                // superseded by a newer search
+            }
+        });
+    }
+
+    @Override
+    protected void onCleared() {
+        synchronized (this) {
+            if (cancellationSignal != null) {
+                cancellationSignal.cancel();
+                cancellationSignal = null;
+            }
+        }
+        super.onCleared();
     }
 }
@@ -37,6 +37,7 @@ import java.util.Locale;
 import java.util.function.Supplier;
 
 import com.hardbacknutter.nevertoomanybooks.booklist.style.StylesHelper;
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRegistry;
 import com.hardbacknutter.nevertoomanybooks.database.CoversDbHelper;
 import com.hardbacknutter.nevertoomanybooks.database.DBHelper;
 import com.hardbacknutter.nevertoomanybooks.database.dao.AuthorDao;
@@ -47,6 +48,7 @@ import com.hardbacknutter.nevertoomanybooks.database.dao.CalibreDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.CalibreLibraryDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.ColorDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.CoverCacheDao;
+import com.hardbacknutter.nevertoomanybooks.database.dao.CoverManifestDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.FormatDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.FtsDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.GenreDao;
@@ -67,6 +69,7 @@ import com.hardbacknutter.nevertoomanybooks.database.dao.impl.CalibreDaoImpl;
 import com.hardbacknutter.nevertoomanybooks.database.dao.impl.CalibreLibraryDaoImpl;
 import com.hardbacknutter.nevertoomanybooks.database.dao.impl.ColorDaoImpl;
 import com.hardbacknutter.nevertoomanybooks.database.dao.impl.CoverCacheDaoImpl;
+import com.hardbacknutter.nevertoomanybooks.database.dao.impl.CoverManifestDaoImpl;
 import com.hardbacknutter.nevertoomanybooks.database.dao.impl.FormatDaoImpl;
 import com.hardbacknutter.nevertoomanybooks.database.dao.impl.FtsDaoImpl;
 import com.hardbacknutter.nevertoomanybooks.database.dao.impl.GenreDaoImpl;
@@ -128,6 +131,10 @@ public final class ServiceLocator {
     @Nullable
     private CookieManager cookieManager;
 
+    /** NOT an interface. Cannot be injected. */
+    @Nullable
+    private CoverRegistry coverRegistry;
+
     /** Allows injecting a Mock Bundle supplier for JUnit tests. */
     @NonNull
     private Supplier<Bundle> bundleSupplier = Bundle::new;
@@ -156,6 +163,8 @@ public final class ServiceLocator {
     @Nullable
     private CoverCacheDao coverCacheDao;
     @Nullable
+    private CoverManifestDao coverManifestDao;
+    @Nullable
     private FormatDao formatDao;
     @Nullable
     private FtsDao ftsDao;
@@ -351,6 +360,21 @@ public final class ServiceLocator {
         return languages;
     }
 
+    /**
+     * Get the index of persisted cover files.
+     *
+     * @return singleton
+     */
+    @NonNull
+    public CoverRegistry getCoverRegistry() {
+        synchronized (this) {
+            if (coverRegistry == null) {
+                coverRegistry = new CoverRegistry();
+            }
+        }
+        return coverRegistry;
+    }
+
 
     /**
      * Client must call this <strong>before</strong> doing its first request (lazy init).
@@ -762,4 +786,19 @@ public final class ServiceLocator {
     public void setCoverCacheDao(@Nullable final CoverCacheDao dao) {
         coverCacheDao = dao;
     }
+
+    @NonNull
+    public CoverManifestDao getCoverManifestDao() {
+        synchronized (this) {
+            if (coverManifestDao == null) {
+                coverManifestDao = new CoverManifestDaoImpl();
+            }
+        }
+        return coverManifestDao;
+    }
+
+    @VisibleForTesting
+    public void setCoverManifestDao(@Nullable final CoverManifestDao dao) {
+        coverManifestDao = dao;
+    }
 }
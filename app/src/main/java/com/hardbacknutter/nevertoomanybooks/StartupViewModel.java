@@ -37,11 +37,14 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.stream.Stream;
 
 import com.hardbacknutter.nevertoomanybooks.backup.ExportHelper;
+import com.hardbacknutter.nevertoomanybooks.database.SqlEncode;
 import com.hardbacknutter.nevertoomanybooks.database.tasks.DBCleanerTask;
 import com.hardbacknutter.nevertoomanybooks.database.tasks.OptimizeDbTask;
+import com.hardbacknutter.nevertoomanybooks.database.tasks.RebuildCollationKeysTask;
 import com.hardbacknutter.nevertoomanybooks.database.tasks.RebuildFtsTask;
 import com.hardbacknutter.nevertoomanybooks.database.tasks.RebuildIndexesTask;
 import com.hardbacknutter.nevertoomanybooks.database.tasks.RebuildTitleOrderByColumnTask;
@@ -73,6 +76,12 @@ public class StartupViewModel
     @RebuildFlag
     public static final String PK_RUN_MAINTENANCE = "startup.task.maintenance";
 
+    /**
+     * The language tag of the Locale used to build the collation keys.
+     * When it differs from the current Locale, all keys are rebuild at startup.
+     */
+    public static final String PK_COLLATION_LOCALE = "startup.collation.locale";
+
     /** Triggers some actions when the countdown reaches 0; then gets reset. */
     private static final String PK_MAINTENANCE_COUNTDOWN = "startup.startCountdown";
     /** Number of app startup's between some periodic action. */
@@ -239,6 +248,9 @@ public class StartupViewModel
         // unconditional
         startTask(new BuildLanguageMappingsTask(taskListener));
 
+        // Not a startup task: nothing needs to wait for it.
+        ServiceLocator.getInstance().getCoverRegistry().prewarm(context);
+
         boolean optimizeDb = false;
 
         if (maintenanceNeeded || prefs.getBoolean(PK_RUN_MAINTENANCE, false)) {
@@ -253,6 +265,19 @@ public class StartupViewModel
             optimizeDb = true;
         }
 
+        // The stored keys were created with this Locale; keep using it for new keys
+        // until they have all been rebuild.
+        final String collationLocale = prefs.getString(PK_COLLATION_LOCALE, null);
+        if (collationLocale != null) {
+            SqlEncode.setCollationLocale(Locale.forLanguageTag(collationLocale));
+        }
+        // must be run after the title rebuild
+        final Locale userLocale = context.getResources().getConfiguration().getLocales().get(0);
+        if (!userLocale.toLanguageTag().equals(collationLocale)) {
+            startTask(new RebuildCollationKeysTask(taskListener));
+            optimizeDb = true;
+        }
+
         if (prefs.getBoolean(PK_REBUILD_INDEXES, false)) {
             startTask(new RebuildIndexesTask(taskListener));
             optimizeDb = true;
@@ -28,6 +28,7 @@ import androidx.annotation.VisibleForTesting;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 import com.hardbacknutter.nevertoomanybooks.io.DataWriter;
 import com.hardbacknutter.nevertoomanybooks.io.RecordType;
@@ -166,6 +167,15 @@ public class ExportResults
         coversExported.add(path);
     }
 
+    /**
+     * Remove the covers which, after all, do not need to be exported.
+     *
+     * @param filter returns {@code true} for each cover filename to remove
+     */
+    public void removeCovers(@NonNull final Predicate<String> filter) {
+        coversExported.removeIf(filter);
+    }
+
     @Override
     public int getCoverCount() {
         return coversExported.size();
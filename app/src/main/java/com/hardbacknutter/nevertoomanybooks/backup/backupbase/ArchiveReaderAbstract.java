@@ -41,6 +41,7 @@ import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.backup.ImportHelper;
 import com.hardbacknutter.nevertoomanybooks.backup.ImportResults;
 import com.hardbacknutter.nevertoomanybooks.backup.bin.CoverRecordReader;
+import com.hardbacknutter.nevertoomanybooks.database.dao.BookDao;
 import com.hardbacknutter.nevertoomanybooks.io.ArchiveMetaData;
 import com.hardbacknutter.nevertoomanybooks.io.ArchiveReaderRecord;
 import com.hardbacknutter.nevertoomanybooks.io.DataReader;
@@ -285,6 +286,10 @@ public abstract class ArchiveReaderAbstract
         }
         progressListener.setMaxPos(estimatedSteps);
 
+        // All records share a single batch session, whatever their encoding;
+        // e.g. the books and bookshelves records look up the same entities.
+        final BookDao bookDao = ServiceLocator.getInstance().getBookDao();
+        bookDao.startBatch();
         try {
             // Seek the styles record first.
             // We'll need them to resolve styles referenced in Preferences and Bookshelves.
@@ -341,6 +346,7 @@ public abstract class ArchiveReaderAbstract
                 }
             }
         } finally {
+            bookDao.endBatch();
             try {
                 close();
             } catch (@NonNull final IOException ignore) {
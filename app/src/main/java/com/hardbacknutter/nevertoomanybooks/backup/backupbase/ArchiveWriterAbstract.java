@@ -36,8 +36,11 @@ import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.hardbacknutter.nevertoomanybooks.R;
@@ -45,6 +48,8 @@ import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.backup.ExportHelper;
 import com.hardbacknutter.nevertoomanybooks.backup.ExportResults;
 import com.hardbacknutter.nevertoomanybooks.covers.CoverDir;
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRegistry;
+import com.hardbacknutter.nevertoomanybooks.database.dao.CoverManifestDao;
 import com.hardbacknutter.nevertoomanybooks.io.ArchiveMetaData;
 import com.hardbacknutter.nevertoomanybooks.io.DataWriter;
 import com.hardbacknutter.nevertoomanybooks.io.DataWriterException;
@@ -105,6 +110,12 @@ public abstract class ArchiveWriterAbstract
     /** The accumulated results. */
     @NonNull
     private final ExportResults results = new ExportResults();
+    /** The state of the covers written; stored in the manifest when the backup is done. */
+    @NonNull
+    private final Collection<CoverManifestDao.Entry> coversWritten = new ArrayList<>();
+    /** Lazy loaded; see {@link #getCoverManifest()}. */
+    @Nullable
+    private Map<String, CoverManifestDao.Entry> coverManifest;
 
     /**
      * Constructor.
@@ -167,6 +178,12 @@ public abstract class ArchiveWriterAbstract
                 tmpBooksFile = null;
             }
 
+            // For an incremental backup, covers which are unchanged since they were
+            // last written to an archive, do not need to be written again.
+            if (writeCovers && dateSince != null) {
+                skipUnchangedCovers(context);
+            }
+
             // Recalculate the progress max value using the exact number of books/covers
             // which will now include the back-covers.
             progressListener.setMaxPos(results.getBookCount()
@@ -216,6 +233,10 @@ public abstract class ArchiveWriterAbstract
             progressListener.setIndeterminate(null);
         }
 
+        if (!progressListener.isCancelled()) {
+            ServiceLocator.getInstance().getCoverManifestDao().update(coversWritten);
+        }
+
         // If the backup was a full backup remember that.
         exportHelper.setLastDone(context);
 
@@ -266,6 +287,48 @@ public abstract class ArchiveWriterAbstract
         return file;
     }
 
+    /**
+     * Get the cover manifest as it was before this backup started.
+     *
+     * @return map with the key being the cover base name
+     */
+    @NonNull
+    private Map<String, CoverManifestDao.Entry> getCoverManifest() {
+        if (coverManifest == null) {
+            coverManifest = ServiceLocator.getInstance().getCoverManifestDao().getAll();
+        }
+        return coverManifest;
+    }
+
+    /**
+     * Remove the covers which are unchanged according to the manifest from the results.
+     * The manifest only lists covers written by a previous backup.
+     * The files are not read, only their size and last-modified date are checked.
+     *
+     * @param context Current context
+     *
+     * @throws StorageException The covers directory is not available
+     */
+    private void skipUnchangedCovers(@NonNull final Context context)
+            throws StorageException {
+        final Map<String, CoverManifestDao.Entry> manifest = getCoverManifest();
+        if (manifest.isEmpty()) {
+            return;
+        }
+
+        final File coverDir = CoverDir.getDir(context);
+        results.removeCovers(filename -> {
+            final String baseName = CoverRegistry.getBaseName(filename);
+            final CoverManifestDao.Entry previous = baseName != null ? manifest.get(baseName)
+                                                                     : null;
+            if (previous == null) {
+                return false;
+            }
+            final File file = new File(coverDir, filename);
+            return previous.matches(file.length(), file.lastModified());
+        });
+    }
+
     /**
      * Write the {@link RecordType#MetaData} record.
      *
@@ -347,6 +410,11 @@ public abstract class ArchiveWriterAbstract
      * <p>
      * Write each cover file as collected in {@link #prepareBooks}
      * to the archive.
+     * <p>
+     * The CRC32 of a cover which is unchanged according to the manifest is reused,
+     * so the file is only read once; i.e. while writing it to the archive.
+     * The size and last-modified date are always taken from the file itself,
+     * as the cached values in the {@link CoverRegistry} can be out of date.
      *
      * @param context          Current context
      * @param progressListener Progress and cancellation interface
@@ -365,6 +433,7 @@ public abstract class ArchiveWriterAbstract
         long lastUpdate = 0;
 
         final File coverDir = CoverDir.getDir(context);
+        final Map<String, CoverManifestDao.Entry> manifest = getCoverManifest();
 
         final String coverStr = context.getString(R.string.lbl_covers);
         for (final String filename : results.getCoverFileNames()) {
@@ -372,9 +441,31 @@ public abstract class ArchiveWriterAbstract
                 return;
             }
 
-            // We're using jpg, png.. don't bother compressing.
-            // Compressing might actually make some image files bigger!
-            putFile(filename, new File(coverDir, filename), false);
+            final File file = new File(coverDir, filename);
+            final String baseName = CoverRegistry.getBaseName(filename);
+            if (baseName == null) {
+                // We're using jpg, png.. don't bother compressing.
+                // Compressing might actually make some image files bigger!
+                putFile(filename, file, false);
+            } else {
+                final String uuid = CoverRegistry.getUuid(baseName);
+                final int cIdx = CoverRegistry.getCoverIndex(baseName);
+
+                final long length = file.length();
+                final long lastModified = file.lastModified();
+
+                final CoverManifestDao.Entry previous = manifest.get(baseName);
+                final long crc32;
+                if (previous != null && previous.matches(length, lastModified)) {
+                    crc32 = previous.getCrc32();
+                } else {
+                    crc32 = FileUtils.getCrc32(file).getValue();
+                }
+
+                putStoredFile(filename, file, length, lastModified, crc32);
+                coversWritten.add(new CoverManifestDao.Entry(uuid, cIdx, length, crc32,
+                                                             lastModified));
+            }
             exported++;
 
             delta++;
@@ -422,6 +513,26 @@ public abstract class ArchiveWriterAbstract
                                     final boolean compress)
             throws IOException;
 
+    /**
+     * Write a file to the archive <strong>without</strong> compressing it.
+     * The attributes are passed in as the caller already knows them;
+     * implementations which can use them should not recalculate them.
+     *
+     * @param name         for the entry
+     * @param file         to store in the archive
+     * @param length       of the file in bytes
+     * @param lastModified of the file in epoch millis
+     * @param crc32        of the file content
+     *
+     * @throws IOException on failure
+     */
+    protected abstract void putStoredFile(@NonNull String name,
+                                          @NonNull File file,
+                                          long length,
+                                          long lastModified,
+                                          long crc32)
+            throws IOException;
+
     @FunctionalInterface
     public interface SupportsCovers {
 
@@ -27,16 +27,22 @@ import androidx.annotation.NonNull;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Optional;
 
 import com.hardbacknutter.nevertoomanybooks.BuildConfig;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.backup.ImportHelper;
 import com.hardbacknutter.nevertoomanybooks.backup.ImportResults;
 import com.hardbacknutter.nevertoomanybooks.covers.CoverDir;
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRegistry;
 import com.hardbacknutter.nevertoomanybooks.covers.ImageUtils;
+import com.hardbacknutter.nevertoomanybooks.covers.ThumbnailGenerator;
+import com.hardbacknutter.nevertoomanybooks.database.dao.CoverManifestDao;
 import com.hardbacknutter.nevertoomanybooks.io.ArchiveReaderRecord;
 import com.hardbacknutter.nevertoomanybooks.io.RecordReader;
 import com.hardbacknutter.nevertoomanybooks.io.RecordType;
 import com.hardbacknutter.nevertoomanybooks.tasks.ProgressListener;
+import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.DiskFullException;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
 
@@ -70,6 +76,10 @@ public class CoverRecordReader
             if (recordType == RecordType.Cover) {
                 results.coversProcessed = 1;
 
+                final CoverManifestDao manifestDao =
+                        ServiceLocator.getInstance().getCoverManifestDao();
+                final String baseName = CoverRegistry.getBaseName(record.getName());
+
                 try {
                     // see if we have this file already
                     File dstFile = new File(CoverDir.getDir(context), record.getName());
@@ -102,6 +112,13 @@ public class CoverRecordReader
                             default:
                                 break;
                         }
+
+                        // Don't bother writing a file identical to the one we have.
+                        if (baseName != null
+                            && isIdentical(manifestDao, baseName, record, dstFile)) {
+                            results.coversSkipped++;
+                            return results;
+                        }
                     }
 
                     // Don't close this stream; Also; this comes from a zip/tar archive
@@ -117,7 +134,16 @@ public class CoverRecordReader
                         } else {
                             results.coversCreated++;
                         }
+                        ThumbnailGenerator.generate(dstFile);
                     }
+                    // The manifest only lists covers as written by a backup;
+                    // whatever it had for this cover no longer applies.
+                    if (baseName != null) {
+                        manifestDao.delete(CoverRegistry.getUuid(baseName),
+                                           CoverRegistry.getCoverIndex(baseName));
+                    }
+                    // Either added/updated, or deleted if it was not acceptable.
+                    ServiceLocator.getInstance().getCoverRegistry().refresh(dstFile);
                 } catch (@NonNull final IOException e) {
                     if (BuildConfig.DEBUG /* always */) {
                         Log.d(TAG, "", e);
@@ -134,4 +160,44 @@ public class CoverRecordReader
         }
         return results;
     }
+
+    /**
+     * Check if the archive record has the same content as the existing file.
+     * <p>
+     * The archive provides the size and CRC32 of the record. If the manifest has a valid
+     * entry for the existing file, this is a simple comparison. Otherwise, but only if the
+     * size is the same, the CRC32 of the file is calculated.
+     * The manifest is not updated: it only lists covers as written by a backup.
+     *
+     * @param manifestDao the manifest
+     * @param baseName    of the cover
+     * @param record      to import
+     * @param file        the existing file
+     *
+     * @return {@code true} if the record and the file are identical
+     *
+     * @throws IOException on failure to read the file
+     */
+    private static boolean isIdentical(@NonNull final CoverManifestDao manifestDao,
+                                       @NonNull final String baseName,
+                                       @NonNull final ArchiveReaderRecord record,
+                                       @NonNull final File file)
+            throws IOException {
+        final Optional<Long> crc32 = record.getCrc32();
+        final long length = file.length();
+        if (!crc32.isPresent() || record.getSize() != length) {
+            return false;
+        }
+
+        final String uuid = CoverRegistry.getUuid(baseName);
+        final int cIdx = CoverRegistry.getCoverIndex(baseName);
+        final long lastModified = file.lastModified();
+
+        final Optional<CoverManifestDao.Entry> entry = manifestDao.get(uuid, cIdx);
+        if (entry.isPresent() && entry.get().matches(length, lastModified)) {
+            return entry.get().getCrc32() == crc32.get();
+        }
+
+        return FileUtils.getCrc32(file).getValue() == crc32.get();
+    }
 }
@@ -164,7 +164,12 @@ public class CsvRecordReader
                 }
 
                 if (!allLines.isEmpty()) {
-                    readBooks(context, helper, allLines, progressListener);
+                    bookDao.startBatch();
+                    try {
+                        readBooks(context, helper, allLines, progressListener);
+                    } finally {
+                        bookDao.endBatch();
+                    }
                 }
             }
         }
@@ -51,19 +51,19 @@ import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
  * create the delegate {@link DataReader} and run {@link #validate(Context)} on it.
  * <p>
  * The incoming db is copied to the internal cache dir first.
+ * <p>
+ * Supported: databases created by this app, see {@link DbSnapshotReader}.
  */
 public class DbArchiveReader
         implements DataReader<ArchiveMetaData, ImportResults> {
 
     /** Import configuration. */
-    @SuppressWarnings("FieldCanBeLocal")
     @NonNull
     private final ImportHelper importHelper;
 
     @Nullable
     private final SQLiteDatabase sqLiteDatabase;
 
-    @SuppressWarnings("unused")
     @Nullable
     private DataReader<ArchiveMetaData, ImportResults> delegateDataReader;
 
@@ -108,8 +108,7 @@ public class DbArchiveReader
         }
 
         // Determine if the database file is a supported format
-//        delegateDataReader = SomeDatabaseArchiveReader.getReader(context, sqLiteDatabase,
-//                                                                 importHelper);
+        delegateDataReader = DbSnapshotReader.getReader(sqLiteDatabase, importHelper);
         if (delegateDataReader != null) {
             delegateDataReader.validate(context);
             return;
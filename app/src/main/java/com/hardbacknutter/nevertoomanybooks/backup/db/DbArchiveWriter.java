@@ -26,39 +26,44 @@ import androidx.annotation.NonNull;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.channels.FileChannel;
+import java.io.InputStream;
+import java.io.OutputStream;
 
+import com.hardbacknutter.nevertoomanybooks.R;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.backup.ExportHelper;
 import com.hardbacknutter.nevertoomanybooks.backup.ExportResults;
-import com.hardbacknutter.nevertoomanybooks.database.DBHelper;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedDb;
 import com.hardbacknutter.nevertoomanybooks.io.DataWriter;
 import com.hardbacknutter.nevertoomanybooks.tasks.ProgressListener;
+import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
 
 /**
  * Export the main database file.
  * <p>
- * Note on testing: this class is purposely hardcoded to use the actual database file.
+ * A consistent snapshot of the live database is taken first, see
+ * {@link SynchronizedDb#snapshot(File)}, which is then copied to the output.
+ * The shared lock is only held while taking the snapshot.
+ * <p>
+ * Note on testing: this class is purposely hardcoded to use the actual database.
  */
 public class DbArchiveWriter
         implements DataWriter<ExportResults> {
 
+    /** Number of database pages to copy for each progress step. */
+    private static final int PAGES_PER_STEP = 64;
+
     /** Export configuration. */
     @NonNull
     private final ExportHelper exportHelper;
 
-    @NonNull
-    private final File databasePath;
-
     /**
      * Constructor.
      *
-     * @param context Current context
-     * @param helper  export configuration
+     * @param helper export configuration
      */
-    public DbArchiveWriter(@NonNull final Context context,
-                           @NonNull final ExportHelper helper) {
+    public DbArchiveWriter(@NonNull final ExportHelper helper) {
         exportHelper = helper;
-        databasePath = DBHelper.getDatabasePath(context);
     }
 
     @NonNull
@@ -67,13 +72,37 @@ public class DbArchiveWriter
                                @NonNull final ProgressListener progressListener)
             throws IOException {
 
-        try (FileChannel ic = new FileInputStream(databasePath).getChannel();
-             FileChannel oc = exportHelper.createOutputStream(context).getChannel()) {
-            ic.transferTo(0, ic.size(), oc);
+        final SynchronizedDb db = ServiceLocator.getInstance().getDb();
+        final File snapshot = new File(context.getCacheDir(), System.nanoTime() + ".db");
+        try {
+            progressListener.setIndeterminate(true);
+            progressListener.publishProgress(0, context.getString(
+                    R.string.progress_msg_please_wait));
+            db.snapshot(snapshot);
+
+            final int pageSize = (int) db.getSQLiteDatabase().getPageSize();
+            progressListener.setIndeterminate(false);
+            progressListener.setMaxPos((int) (snapshot.length() / pageSize));
+
+            final byte[] buffer = new byte[pageSize * PAGES_PER_STEP];
+            try (InputStream is = new FileInputStream(snapshot);
+                 OutputStream os = exportHelper.createOutputStream(context)) {
+                int len;
+                while ((len = is.read(buffer)) > 0 && !progressListener.isCancelled()) {
+                    os.write(buffer, 0, len);
+                    progressListener.publishProgress(len / pageSize, null);
+                }
+            }
+        } finally {
+            FileUtils.delete(snapshot);
         }
 
         final ExportResults results = new ExportResults();
-        results.database = true;
+        // A cancelled copy is a truncated, i.e. corrupt, database. Don't report it;
+        // the ExportHelper discards the partial output file when cancelled.
+        if (!progressListener.isCancelled()) {
+            results.database = true;
+        }
         return results;
     }
 }
@@ -0,0 +1,623 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.backup.db;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.preference.PreferenceManager;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.hardbacknutter.nevertoomanybooks.R;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.StartupViewModel;
+import com.hardbacknutter.nevertoomanybooks.backup.ImportHelper;
+import com.hardbacknutter.nevertoomanybooks.backup.ImportResults;
+import com.hardbacknutter.nevertoomanybooks.booklist.style.BuiltinStyle;
+import com.hardbacknutter.nevertoomanybooks.database.DBHelper;
+import com.hardbacknutter.nevertoomanybooks.database.DBKey;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedDb;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedStatement;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.Synchronizer;
+import com.hardbacknutter.nevertoomanybooks.database.definitions.Domain;
+import com.hardbacknutter.nevertoomanybooks.database.definitions.TableDefinition;
+import com.hardbacknutter.nevertoomanybooks.io.ArchiveMetaData;
+import com.hardbacknutter.nevertoomanybooks.io.DataReader;
+import com.hardbacknutter.nevertoomanybooks.io.DataReaderException;
+import com.hardbacknutter.nevertoomanybooks.tasks.ProgressListener;
+
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_AUTHORS;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKLIST_STYLES;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKS;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKSHELF;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_AUTHOR;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_BOOKSHELF;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_LOANEE;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_PUBLISHER;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_SERIES;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_TOC_ENTRIES;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_PUBLISHERS;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_SERIES;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_TOC_ENTRIES;
+
+/**
+ * Imports the books from a database file created by this app,
+ * e.g. a snapshot written by {@link DbArchiveWriter}.
+ * <p>
+ * The file is ATTACHed to our database, and everything is merged with set-based
+ * {@code INSERT/UPDATE ... SELECT} statements in a single transaction.
+ * <ul>
+ *     <li>Books are matched on their UUID, and handled according to
+ *         the {@link DataReader.Updates} option.</li>
+ *     <li>Authors, Series, Publishers, TOC entries and Bookshelves are matched on their
+ *         (order-by) name the same way the DAO's do. Only those used by the imported books
+ *         are merged.</li>
+ *     <li>The links of an updated book are replaced by the incoming ones.</li>
+ * </ul>
+ * Only the columns present in both databases are copied, so a file from an older
+ * version of the app can be imported as well.
+ * <p>
+ * Not imported: styles, preferences, covers, Calibre and StripInfo data.
+ */
+class DbSnapshotReader
+        implements DataReader<ArchiveMetaData, ImportResults> {
+
+    /** The schema name used for the attached database. */
+    private static final String SRC = "src";
+
+    /** Temporary mapping tables: the book/entity id in the src database to our id. */
+    private static final String MAP_BOOKS = "map_books";
+    private static final String MAP_AUTHORS = "map_authors";
+    private static final String MAP_SERIES = "map_series";
+    private static final String MAP_PUBLISHERS = "map_publishers";
+    private static final String MAP_TOC_ENTRIES = "map_toc_entries";
+    private static final String MAP_BOOKSHELVES = "map_bookshelves";
+
+    private static final String[] MAPS = {MAP_BOOKS, MAP_AUTHORS, MAP_SERIES,
+                                          MAP_PUBLISHERS, MAP_TOC_ENTRIES, MAP_BOOKSHELVES};
+
+    /** Values for the 'action' column of {@link #MAP_BOOKS}. */
+    private static final int ACTION_SKIP = 0;
+    private static final int ACTION_INSERT = 1;
+    private static final int ACTION_UPDATE = 2;
+
+    /** The ids of the incoming books which are inserted or updated. */
+    private static final String IMPORTED_BOOKS =
+            "SELECT src_id FROM " + MAP_BOOKS + " WHERE action<>" + ACTION_SKIP;
+
+    /** Used to report progress. */
+    private static final int STEPS = 8;
+
+    /** All tables we read from. */
+    private static final TableDefinition[] TABLES = {
+            TBL_BOOKS, TBL_AUTHORS, TBL_SERIES, TBL_PUBLISHERS, TBL_TOC_ENTRIES,
+            TBL_BOOKSHELF, TBL_BOOKLIST_STYLES,
+            TBL_BOOK_AUTHOR, TBL_BOOK_SERIES, TBL_BOOK_PUBLISHER, TBL_BOOK_TOC_ENTRIES,
+            TBL_BOOK_BOOKSHELF, TBL_BOOK_LOANEE};
+
+    /** The database file to import. */
+    @NonNull
+    private final File file;
+
+    @NonNull
+    private final DataReader.Updates updateOption;
+
+    /** The column names of each table in the src database; empty if a table is missing. */
+    @NonNull
+    private final Map<String, Set<String>> srcColumns;
+
+    /**
+     * Constructor.
+     *
+     * @param file         the database file to import
+     * @param updateOption how to handle existing books
+     * @param srcColumns   the column names of each table in the src database
+     */
+    private DbSnapshotReader(@NonNull final File file,
+                             @NonNull final DataReader.Updates updateOption,
+                             @NonNull final Map<String, Set<String>> srcColumns) {
+        this.file = file;
+        this.updateOption = updateOption;
+        this.srcColumns = srcColumns;
+    }
+
+    /**
+     * Check if the given database was created by this app,
+     * and if so create a reader for it.
+     *
+     * @param srcDb  the (read-only) database to import
+     * @param helper import configuration
+     *
+     * @return reader, or {@code null} if the database is not supported
+     */
+    @Nullable
+    static DbSnapshotReader getReader(@NonNull final SQLiteDatabase srcDb,
+                                      @NonNull final ImportHelper helper) {
+        // A file from a newer version might have a different meaning for existing columns
+        if (srcDb.getVersion() > DBHelper.DATABASE_VERSION) {
+            return null;
+        }
+
+        final Map<String, Set<String>> columns = new HashMap<>();
+        for (final TableDefinition table : TABLES) {
+            columns.put(table.getName(), readColumns(srcDb, table.getName()));
+        }
+
+        //noinspection ConstantConditions
+        if (!columns.get(TBL_BOOKS.getName()).contains(DBKey.BOOK_UUID)) {
+            return null;
+        }
+
+        return new DbSnapshotReader(new File(srcDb.getPath()), helper.getUpdateOption(),
+                                    columns);
+    }
+
+    @NonNull
+    private static Set<String> readColumns(@NonNull final SQLiteDatabase db,
+                                           @NonNull final String tableName) {
+        final Set<String> columns = new HashSet<>();
+        try (Cursor cursor = db.rawQuery("PRAGMA table_info(" + tableName + ")", null)) {
+            final int nameCol = cursor.getColumnIndexOrThrow("name");
+            while (cursor.moveToNext()) {
+                columns.add(cursor.getString(nameCol));
+            }
+        }
+        return columns;
+    }
+
+    @Override
+    @WorkerThread
+    @NonNull
+    public ImportResults read(@NonNull final Context context,
+                              @NonNull final ProgressListener progressListener)
+            throws DataReaderException {
+
+        final ImportResults results = new ImportResults();
+        final ServiceLocator serviceLocator = ServiceLocator.getInstance();
+        final SynchronizedDb db = serviceLocator.getDb();
+
+        progressListener.setIndeterminate(false);
+        progressListener.setMaxPos(STEPS);
+
+        boolean committed = false;
+        try {
+            db.attach(file, SRC);
+            try {
+                committed = merge(context, db, results, progressListener);
+            } finally {
+                db.detach(SRC);
+            }
+        } catch (@NonNull final SQLiteException e) {
+            throw new DataReaderException(e);
+        }
+
+        if (committed) {
+            db.notifyDataChanged();
+            // The merge bypassed the DAOs, so their cached value lists are stale.
+            serviceLocator.getColorDao().clearCache();
+            serviceLocator.getFormatDao().clearCache();
+            serviceLocator.getGenreDao().clearCache();
+            serviceLocator.getLanguageDao().clearCache();
+            serviceLocator.getLocationDao().clearCache();
+            // Remove Authors/Series/Publishers no longer used by the updated books.
+            serviceLocator.getMaintenanceDao().purge();
+            // The imported data comes from another device/locale: normalise it
+            // at the next startup and rebuild all collation keys.
+            StartupViewModel.schedule(context, StartupViewModel.PK_RUN_MAINTENANCE, true);
+            PreferenceManager.getDefaultSharedPreferences(context)
+                             .edit()
+                             .remove(StartupViewModel.PK_COLLATION_LOCALE)
+                             .apply();
+        } else {
+            // cancelled; everything was rolled back
+            results.booksCreated = 0;
+            results.booksUpdated = 0;
+            results.booksSkipped = 0;
+        }
+        return results;
+    }
+
+    /**
+     * Do the actual merge in a single transaction.
+     *
+     * @return {@code true} if committed, {@code false} if cancelled and rolled back
+     */
+    private boolean merge(@NonNull final Context context,
+                          @NonNull final SynchronizedDb db,
+                          @NonNull final ImportResults results,
+                          @NonNull final ProgressListener progressListener) {
+
+        Synchronizer.SyncLock txLock = null;
+        try {
+            txLock = db.beginTransaction(true);
+            dropMaps(db);
+
+            progressListener.publishProgress(1, context.getString(R.string.lbl_books));
+            mapBooks(db, results);
+            insertBooks(db);
+
+            progressListener.publishProgress(1, context.getString(R.string.lbl_authors));
+            final String usedAuthors =
+                    "SELECT " + DBKey.FK_AUTHOR + " FROM " + SRC + '.' + TBL_BOOK_AUTHOR.getName()
+                    + " WHERE " + DBKey.FK_BOOK + " IN (" + IMPORTED_BOOKS + ")"
+                    + " UNION SELECT " + DBKey.FK_AUTHOR
+                    + " FROM " + SRC + '.' + TBL_TOC_ENTRIES.getName()
+                    + " WHERE " + DBKey.PK_ID + " IN ("
+                    + "SELECT " + DBKey.FK_TOC_ENTRY
+                    + " FROM " + SRC + '.' + TBL_BOOK_TOC_ENTRIES.getName()
+                    + " WHERE " + DBKey.FK_BOOK + " IN (" + IMPORTED_BOOKS + "))";
+            mergeEntities(db, TBL_AUTHORS, MAP_AUTHORS, usedAuthors,
+                          matchOrderBy(DBKey.KEY_AUTHOR_FAMILY_NAME_OB)
+                          + " AND " + matchOrderBy(DBKey.KEY_AUTHOR_GIVEN_NAMES_OB),
+                          Map.of());
+
+            if (progressListener.isCancelled()) {
+                return false;
+            }
+
+            progressListener.publishProgress(1, context.getString(R.string.lbl_series_multiple));
+            mergeEntities(db, TBL_SERIES, MAP_SERIES,
+                          usedBy(TBL_BOOK_SERIES, DBKey.FK_SERIES),
+                          matchOrderBy(DBKey.KEY_SERIES_TITLE_OB),
+                          Map.of());
+
+            progressListener.publishProgress(1, context.getString(R.string.lbl_publishers));
+            mergeEntities(db, TBL_PUBLISHERS, MAP_PUBLISHERS,
+                          usedBy(TBL_BOOK_PUBLISHER, DBKey.FK_PUBLISHER),
+                          matchOrderBy(DBKey.KEY_PUBLISHER_NAME_OB),
+                          Map.of());
+
+            progressListener.publishProgress(1, context.getString(
+                    R.string.lbl_table_of_content));
+            final String tocAuthor = mapped(MAP_AUTHORS, "s." + DBKey.FK_AUTHOR);
+            mergeEntities(db, TBL_TOC_ENTRIES, MAP_TOC_ENTRIES,
+                          usedBy(TBL_BOOK_TOC_ENTRIES, DBKey.FK_TOC_ENTRY),
+                          "m." + DBKey.FK_AUTHOR + '=' + tocAuthor
+                          + " AND " + matchOrderBy(DBKey.KEY_TITLE_OB),
+                          Map.of(DBKey.FK_AUTHOR, tocAuthor));
+
+            if (progressListener.isCancelled()) {
+                return false;
+            }
+
+            progressListener.publishProgress(1, context.getString(R.string.lbl_bookshelves));
+            // Styles are not imported; use ours if we have it, or the default otherwise.
+            final String style;
+            if (hasColumn(TBL_BOOKLIST_STYLES, DBKey.STYLE_UUID)) {
+                style = "COALESCE((SELECT ms." + DBKey.PK_ID
+                        + " FROM " + TBL_BOOKLIST_STYLES.getName() + " ms"
+                        + " JOIN " + SRC + '.' + TBL_BOOKLIST_STYLES.getName() + " ss"
+                        + " ON ss." + DBKey.STYLE_UUID + "=ms." + DBKey.STYLE_UUID
+                        + " WHERE ss." + DBKey.PK_ID + "=s." + DBKey.FK_STYLE + "),"
+                        + BuiltinStyle.DEFAULT_ID + ')';
+            } else {
+                style = String.valueOf(BuiltinStyle.DEFAULT_ID);
+            }
+            mergeEntities(db, TBL_BOOKSHELF, MAP_BOOKSHELVES,
+                          usedBy(TBL_BOOK_BOOKSHELF, DBKey.FK_BOOKSHELF),
+                          "m." + DBKey.BOOKSHELF_NAME + "=s." + DBKey.BOOKSHELF_NAME
+                          + " COLLATE LOCALIZED",
+                          Map.of(DBKey.FK_STYLE, style));
+
+            progressListener.publishProgress(1, context.getString(R.string.lbl_books));
+            // Replace the links of updated books.
+            // Note this must be done BEFORE updating the book rows,
+            // as some of the triggers set the last-update date of the book.
+            final TableDefinition[] links = {TBL_BOOK_AUTHOR, TBL_BOOK_SERIES,
+                                             TBL_BOOK_PUBLISHER, TBL_BOOK_TOC_ENTRIES,
+                                             TBL_BOOK_BOOKSHELF, TBL_BOOK_LOANEE};
+            for (final TableDefinition link : links) {
+                db.execSQL("DELETE FROM " + link.getName()
+                           + " WHERE " + DBKey.FK_BOOK + " IN (SELECT dst_id FROM " + MAP_BOOKS
+                           + " WHERE action=" + ACTION_UPDATE + ')');
+            }
+
+            insertLinks(db, TBL_BOOK_AUTHOR, Map.of(DBKey.FK_AUTHOR, MAP_AUTHORS));
+            insertLinks(db, TBL_BOOK_SERIES, Map.of(DBKey.FK_SERIES, MAP_SERIES));
+            insertLinks(db, TBL_BOOK_PUBLISHER, Map.of(DBKey.FK_PUBLISHER, MAP_PUBLISHERS));
+            insertLinks(db, TBL_BOOK_TOC_ENTRIES, Map.of(DBKey.FK_TOC_ENTRY, MAP_TOC_ENTRIES));
+            insertLinks(db, TBL_BOOK_BOOKSHELF, Map.of(DBKey.FK_BOOKSHELF, MAP_BOOKSHELVES));
+            insertLinks(db, TBL_BOOK_LOANEE, Map.of());
+
+            if (progressListener.isCancelled()) {
+                return false;
+            }
+
+            progressListener.publishProgress(1, context.getString(R.string.lbl_books));
+            updateBooks(db);
+
+            dropMaps(db);
+            db.setTransactionSuccessful();
+            return true;
+
+        } finally {
+            if (txLock != null) {
+                db.endTransaction(txLock);
+            }
+        }
+    }
+
+    private void dropMaps(@NonNull final SynchronizedDb db) {
+        for (final String map : MAPS) {
+            db.drop(map);
+        }
+    }
+
+    /**
+     * Decide for each incoming book what to do with it.
+     */
+    private void mapBooks(@NonNull final SynchronizedDb db,
+                          @NonNull final ImportResults results) {
+        final String update;
+        switch (updateOption) {
+            case Overwrite:
+                update = "1";
+                break;
+
+            case OnlyNewer:
+                if (hasColumn(TBL_BOOKS, DBKey.DATE_LAST_UPDATED__UTC)) {
+                    // The dates are stored as UTC in SQL format: a string compare will do.
+                    update = "m." + DBKey.DATE_LAST_UPDATED__UTC + " IS NULL"
+                             + " OR s." + DBKey.DATE_LAST_UPDATED__UTC
+                             + ">m." + DBKey.DATE_LAST_UPDATED__UTC;
+                } else {
+                    update = "0";
+                }
+                break;
+
+            case Skip:
+            default:
+                update = "0";
+                break;
+        }
+
+        db.execSQL("CREATE TEMP TABLE " + MAP_BOOKS
+                   + " (src_id INTEGER PRIMARY KEY, dst_id INTEGER, action INTEGER NOT NULL)");
+        db.execSQL("INSERT INTO " + MAP_BOOKS + " (src_id,dst_id,action)"
+                   + " SELECT s." + DBKey.PK_ID + ",m." + DBKey.PK_ID
+                   + ",CASE WHEN m." + DBKey.PK_ID + " IS NULL THEN " + ACTION_INSERT
+                   + " WHEN " + update + " THEN " + ACTION_UPDATE
+                   + " ELSE " + ACTION_SKIP + " END"
+                   + " FROM " + SRC + '.' + TBL_BOOKS.getName() + " s"
+                   + " LEFT JOIN " + TBL_BOOKS.getName() + " m"
+                   + " ON m." + DBKey.BOOK_UUID + "=s." + DBKey.BOOK_UUID);
+
+        results.booksProcessed = count(db, null);
+        results.booksCreated = count(db, ACTION_INSERT);
+        results.booksUpdated = count(db, ACTION_UPDATE);
+        results.booksSkipped = count(db, ACTION_SKIP);
+    }
+
+    private int count(@NonNull final SynchronizedDb db,
+                      @Nullable final Integer action) {
+        String sql = "SELECT COUNT(*) FROM " + MAP_BOOKS;
+        if (action != null) {
+            sql += " WHERE action=" + action;
+        }
+        try (SynchronizedStatement stmt = db.compileStatement(sql)) {
+            return (int) stmt.simpleQueryForLongOrZero();
+        }
+    }
+
+    /**
+     * Insert the new books, and store their new id in {@link #MAP_BOOKS}.
+     */
+    private void insertBooks(@NonNull final SynchronizedDb db) {
+        final List<String> columns = getCommonColumns(TBL_BOOKS);
+        db.execSQL("INSERT INTO " + TBL_BOOKS.getName() + " (" + String.join(",", columns) + ')'
+                   + " SELECT " + columns.stream().map(c -> "s." + c)
+                                         .collect(Collectors.joining(","))
+                   + " FROM " + SRC + '.' + TBL_BOOKS.getName() + " s"
+                   + " JOIN " + MAP_BOOKS + " t ON t.src_id=s." + DBKey.PK_ID
+                   + " WHERE t.action=" + ACTION_INSERT);
+
+        db.execSQL("UPDATE " + MAP_BOOKS + " SET dst_id=("
+                   + "SELECT m." + DBKey.PK_ID + " FROM " + TBL_BOOKS.getName() + " m"
+                   + " JOIN " + SRC + '.' + TBL_BOOKS.getName() + " s"
+                   + " ON s." + DBKey.BOOK_UUID + "=m." + DBKey.BOOK_UUID
+                   + " WHERE s." + DBKey.PK_ID + '=' + MAP_BOOKS + ".src_id)"
+                   + " WHERE action=" + ACTION_INSERT);
+    }
+
+    /**
+     * Overwrite the existing books with the incoming data.
+     * For the new books, the last-update date is restored as it will have been
+     * changed by the triggers when inserting the links.
+     */
+    private void updateBooks(@NonNull final SynchronizedDb db) {
+        final List<String> columns = getCommonColumns(TBL_BOOKS);
+        columns.remove(DBKey.BOOK_UUID);
+        updateBooks(db, columns, ACTION_UPDATE);
+
+        if (columns.contains(DBKey.DATE_LAST_UPDATED__UTC)) {
+            updateBooks(db, List.of(DBKey.DATE_LAST_UPDATED__UTC), ACTION_INSERT);
+        }
+    }
+
+    private void updateBooks(@NonNull final SynchronizedDb db,
+                             @NonNull final List<String> columns,
+                             final int action) {
+        db.execSQL("UPDATE " + TBL_BOOKS.getName()
+                   + " SET (" + String.join(",", columns) + ")=("
+                   + "SELECT " + columns.stream().map(c -> "s." + c)
+                                        .collect(Collectors.joining(","))
+                   + " FROM " + SRC + '.' + TBL_BOOKS.getName() + " s"
+                   + " JOIN " + MAP_BOOKS + " t ON t.src_id=s." + DBKey.PK_ID
+                   + " WHERE t.dst_id=" + TBL_BOOKS.getName() + '.' + DBKey.PK_ID + ')'
+                   + " WHERE " + DBKey.PK_ID + " IN (SELECT dst_id FROM " + MAP_BOOKS
+                   + " WHERE action=" + action + ')');
+    }
+
+    /**
+     * Merge the entities used by the imported books, and store the mapping
+     * of their src id to our id.
+     *
+     * @param db        Database Access
+     * @param table     the entity table
+     * @param map       the mapping table to create
+     * @param usedIds   SQL returning the src ids of the entities to merge
+     * @param match     SQL condition matching our row 'm' with the incoming row 's'
+     * @param overrides SQL expressions to use instead of 's.column', keyed by column
+     */
+    private void mergeEntities(@NonNull final SynchronizedDb db,
+                               @NonNull final TableDefinition table,
+                               @NonNull final String map,
+                               @NonNull final String usedIds,
+                               @NonNull final String match,
+                               @NonNull final Map<String, String> overrides) {
+        db.execSQL("CREATE TEMP TABLE " + map + " (src_id INTEGER PRIMARY KEY, dst_id INTEGER)");
+
+        final List<String> columns = getCommonColumns(table);
+        if (columns.isEmpty()) {
+            // missing in the src database
+            return;
+        }
+
+        final String name = table.getName();
+        final String find = "SELECT m." + DBKey.PK_ID + " FROM " + name + " m"
+                            + " WHERE " + match + " LIMIT 1";
+
+        db.execSQL("INSERT INTO " + map + " (src_id,dst_id)"
+                   + " SELECT s." + DBKey.PK_ID + ",(" + find + ')'
+                   + " FROM " + SRC + '.' + name + " s"
+                   + " WHERE s." + DBKey.PK_ID + " IN (" + usedIds + ')');
+
+        db.execSQL("INSERT INTO " + name + " (" + String.join(",", columns) + ')'
+                   + " SELECT " + columns.stream()
+                                         .map(c -> overrides.getOrDefault(c, "s." + c))
+                                         .collect(Collectors.joining(","))
+                   + " FROM " + SRC + '.' + name + " s"
+                   + " JOIN " + map + " t ON t.src_id=s." + DBKey.PK_ID
+                   + " WHERE t.dst_id IS NULL");
+
+        db.execSQL("UPDATE " + map + " SET dst_id=("
+                   + "SELECT (" + find + ") FROM " + SRC + '.' + name + " s"
+                   + " WHERE s." + DBKey.PK_ID + '=' + map + ".src_id)"
+                   + " WHERE dst_id IS NULL");
+    }
+
+    /**
+     * Copy the links of the imported books, mapping the foreign keys to our ids.
+     * Links to an entity which could not be mapped are dropped.
+     *
+     * @param db   Database Access
+     * @param link the link table
+     * @param maps the mapping table to use for a foreign key column (other than the book)
+     */
+    private void insertLinks(@NonNull final SynchronizedDb db,
+                             @NonNull final TableDefinition link,
+                             @NonNull final Map<String, String> maps) {
+        final List<String> columns = getCommonColumns(link);
+        if (!columns.contains(DBKey.FK_BOOK)) {
+            // missing in the src database
+            return;
+        }
+
+        final StringBuilder select = new StringBuilder();
+        final StringBuilder joins = new StringBuilder(
+                " JOIN " + MAP_BOOKS + " tb ON tb.src_id=s." + DBKey.FK_BOOK);
+        for (final String column : columns) {
+            if (select.length() > 0) {
+                select.append(',');
+            }
+            if (DBKey.FK_BOOK.equals(column)) {
+                select.append("tb.dst_id");
+            } else if (maps.containsKey(column)) {
+                final String alias = "t_" + column;
+                select.append(alias).append(".dst_id");
+                joins.append(" JOIN ").append(maps.get(column)).append(' ').append(alias)
+                     .append(" ON ").append(alias).append(".src_id=s.").append(column)
+                     .append(" AND ").append(alias).append(".dst_id IS NOT NULL");
+            } else {
+                select.append("s.").append(column);
+            }
+        }
+
+        db.execSQL("INSERT OR IGNORE INTO " + link.getName()
+                   + " (" + String.join(",", columns) + ')'
+                   + " SELECT " + select
+                   + " FROM " + SRC + '.' + link.getName() + " s" + joins
+                   + " WHERE tb.action<>" + ACTION_SKIP);
+    }
+
+    /**
+     * Get the columns (excluding the primary key) present in both databases.
+     *
+     * @param table to check
+     *
+     * @return list of column names; empty if the table is not present in the src database
+     */
+    @NonNull
+    private List<String> getCommonColumns(@NonNull final TableDefinition table) {
+        final Set<String> src = srcColumns.get(table.getName());
+        //noinspection ConstantConditions
+        return table.getDomains()
+                    .stream()
+                    .map(Domain::getName)
+                    .filter(name -> !DBKey.PK_ID.equals(name))
+                    .filter(src::contains)
+                    .collect(Collectors.toList());
+    }
+
+    private boolean hasColumn(@NonNull final TableDefinition table,
+                              @NonNull final String column) {
+        //noinspection ConstantConditions
+        return srcColumns.get(table.getName()).contains(column);
+    }
+
+    /**
+     * SQL selecting the src ids of the entities used by the imported books.
+     */
+    @NonNull
+    private static String usedBy(@NonNull final TableDefinition link,
+                                 @NonNull final String fkColumn) {
+        return "SELECT " + fkColumn + " FROM " + SRC + '.' + link.getName()
+               + " WHERE " + DBKey.FK_BOOK + " IN (" + IMPORTED_BOOKS + ')';
+    }
+
+    /**
+     * SQL expression mapping a src id to our id.
+     */
+    @NonNull
+    private static String mapped(@NonNull final String map,
+                                 @NonNull final String srcId) {
+        return "(SELECT dst_id FROM " + map + " WHERE src_id=" + srcId + ')';
+    }
+
+    /**
+     * SQL condition matching an order-by column of our row 'm' and the incoming row 's'.
+     */
+    @NonNull
+    private static String matchOrderBy(@NonNull final String column) {
+        return "m." + column + "=s." + column + " COLLATE LOCALIZED";
+    }
+}
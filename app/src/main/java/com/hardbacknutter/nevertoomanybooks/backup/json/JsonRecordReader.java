@@ -239,7 +239,12 @@ public class JsonRecordReader
 
                     if (recordType == RecordType.Books
                         || recordType == RecordType.AutoDetect) {
-                        readBooks(context, root, helper, progressListener);
+                        bookDao.startBatch();
+                        try {
+                            readBooks(context, root, helper, progressListener);
+                        } finally {
+                            bookDao.endBatch();
+                        }
                     }
                 }
             } catch (@NonNull final JSONException e) {
@@ -28,52 +28,69 @@ import org.xml.sax.helpers.AttributesImpl;
 /**
  * Defines the context of a specific element (xml tag).
  * <p>
- * The 'mBody' element will only be set when the tag end is handled.
+ * Instances are reused by the {@link XmlFilterHandler} for each element at the same depth,
+ * so the values are <strong>only</strong> valid during the start/end action calls.
+ * <p>
+ * The body will only be set when the tag end is handled.
  */
 public class ElementContext {
 
+    /** the inner-tag text. Reused. */
+    @SuppressWarnings("StringBufferField")
+    private final StringBuilder mText = new StringBuilder();
     /** the short name of the tag. */
-    private final String mLocalName;
-    /** Attributes on this tag. */
     @NonNull
-    private final Attributes mAttributes;
-    /** the inner-tag text. */
+    private String mLocalName = "";
+    /** Attributes on this tag. */
     @NonNull
-    private final String mText;
-    /** the body/text between start and end of the tag. */
-    private String mBody;
+    private Attributes mAttributes = new AttributesImpl();
+    /** the body/text between start and end of the tag; not trimmed. */
+    @Nullable
+    private CharSequence mBody;
+    /** Lazily created from {@link #mBody}. */
+    @Nullable
+    private String mTrimmedBody;
     /** filter on this tag. */
     @Nullable
     private XmlFilter mFilter;
 
     /**
+     * Constructor for the root element.
+     *
      * @param filter to use for this tag.
      */
-    public ElementContext(@NonNull final XmlFilter filter) {
+    ElementContext(@NonNull final XmlFilter filter) {
         mFilter = filter;
+    }
 
-        mLocalName = "";
-        mAttributes = new AttributesImpl();
-        mText = "";
+    /**
+     * Constructor for a reusable element.
+     */
+    ElementContext() {
     }
 
     /**
-     * Same arguments coming from the SAX Handler + the current inter-tag text.
+     * (Re)initialise with the arguments coming from the SAX Handler
+     * + the current inter-tag text.
      *
      * @param localName  The local name (without prefix), or the
      *                   empty string if Namespace processing is not being
      *                   performed.
-     * @param attributes The mAttributes attached to the element.  If
-     *                   there are no mAttributes, it shall be an empty
+     * @param attributes The attributes attached to the element.  If
+     *                   there are no attributes, it shall be an empty
      *                   Attributes object.
-     * @param text       current inter-tag text
+     * @param text       current inter-tag text; will be copied
      */
-    public ElementContext(@NonNull final String localName,
-                          @NonNull final Attributes attributes,
-                          @NonNull final String text) {
+    void start(@NonNull final String localName,
+               @NonNull final Attributes attributes,
+               @NonNull final CharSequence text) {
         mLocalName = localName;
         mAttributes = attributes;
-        mText = text;
+        mText.setLength(0);
+        mText.append(text);
+        mBody = null;
+        mTrimmedBody = null;
+        mFilter = null;
     }
 
     @Nullable
@@ -100,21 +117,27 @@ public class ElementContext {
      */
     @NonNull
     public String getBody() {
-        return mBody;
+        if (mTrimmedBody == null) {
+            mTrimmedBody = mBody != null ? mBody.toString().trim() : "";
+        }
+        return mTrimmedBody;
     }
 
     /**
-     * @param body of the tag.
+     * The String is only created if and when {@link #getBody()} is called.
+     *
+     * @param body of the tag. Only valid during the end action call.
      */
-    public void setBody(@NonNull final String body) {
-        mBody = body.trim();
+    void setBody(@NonNull final CharSequence body) {
+        mBody = body;
+        mTrimmedBody = null;
     }
 
     /**
      * @return the text element of a tag
      */
     @NonNull
-    public String getText() {
+    public CharSequence getText() {
         return mText;
     }
 }
@@ -35,9 +35,24 @@ import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 /**
  * The XmlFilter objects build a tree of filters and XmlHandler objects
  * that make this process more manageable.
+ * <p>
+ * Tag names are matched case-insensitive. To avoid doing that for every SAX event,
+ * each level keeps a dispatch table with the exact tag names as seen in the input.
+ * The first time a name is seen it's resolved the slow way, after that
+ * it's a single hash lookup without any allocation.
  */
 final class XmlFilter {
 
+    /**
+     * Upper limit for the dispatch table of a single level.
+     * Normal files only use a handful of tag names;
+     * this prevents unbounded growth on garbage input.
+     */
+    private static final int MAX_DISPATCH_SIZE = 64;
+
+    /** Dispatch table value for a tag name without a filter. */
+    private static final XmlFilter NO_FILTER = new XmlFilter();
+
     /** The tag for this specific filter. */
     @NonNull
     private final String mTagName;
@@ -47,6 +62,9 @@ final class XmlFilter {
 
     /** List of sub-filters for this filter. */
     private final Collection<XmlFilter> mSubFilters = new ArrayList<>();
+
+    /** Key: the exact tag name as found in the input. Value: the filter or {@link #NO_FILTER}. */
+    private final Map<String, XmlFilter> mDispatch = new HashMap<>();
     /** Action to perform, if any, when the associated tag is started. */
     @Nullable
     private Consumer<ElementContext> mStartAction;
@@ -120,17 +138,6 @@ final class XmlFilter {
         return mTagName.equalsIgnoreCase(tag);
     }
 
-    /**
-     * Find a sub-filter for the passed context.
-     * Currently just used local_name from the context.
-     *
-     * @param context Current ElementContext
-     */
-    @Nullable
-    public XmlFilter getSubFilter(@NonNull final ElementContext context) {
-        return getSubFilter(context.getLocalName());
-    }
-
     /**
      * Find a sub-filter based on the passed tag name.
      *
@@ -139,13 +146,23 @@ final class XmlFilter {
      * @return Matching filter, or {@code null} if none found
      */
     @Nullable
-    private XmlFilter getSubFilter(@Nullable final String name) {
+    XmlFilter getSubFilter(@NonNull final String name) {
+        final XmlFilter cached = mDispatch.get(name);
+        if (cached != null) {
+            return cached == NO_FILTER ? null : cached;
+        }
+
+        XmlFilter filter = null;
         for (final XmlFilter f : mSubFilters) {
             if (f.matches(name)) {
-                return f;
+                filter = f;
+                break;
             }
         }
-        return null;
+        if (mDispatch.size() < MAX_DISPATCH_SIZE) {
+            mDispatch.put(name, filter != null ? filter : NO_FILTER);
+        }
+        return filter;
     }
 
     /**
@@ -219,5 +236,7 @@ final class XmlFilter {
         }
         mSubFilterHash.put(lcPat, filter);
         mSubFilters.add(filter);
+        // a previous lookup might have resolved to 'no filter'
+        mDispatch.clear();
     }
 }
@@ -28,14 +28,24 @@ import java.util.List;
 import org.xml.sax.Attributes;
 import org.xml.sax.helpers.DefaultHandler;
 
+/**
+ * Drives the {@link XmlFilter} tree.
+ * <p>
+ * The {@link ElementContext} objects are reused; one for each depth level.
+ * Together with the dispatch table in {@link XmlFilter} this means that,
+ * apart from the inter-tag text when it's actually used,
+ * the handling of a SAX event does not allocate any objects.
+ */
 public class XmlFilterHandler
         extends DefaultHandler {
 
     /** Temporary storage for inter-tag text. */
     @SuppressWarnings("StringBufferField")
     private final StringBuilder mBuilder = new StringBuilder();
-    /** Stack of parsed tags giving context to the XML parser. */
+    /** Stack of parsed tags giving context to the XML parser. Index 0 is the root. */
     private final List<ElementContext> mParents = new ArrayList<>();
+    /** The index in {@link #mParents} of the current tag. */
+    private int mDepth;
 
     /**
      * Constructor. Requires a filter tree.
@@ -44,8 +54,14 @@ public class XmlFilterHandler
      */
     XmlFilterHandler(@NonNull final XmlFilter rootFilter) {
         // Build the root context and add to hierarchy.
-        final ElementContext tag = new ElementContext(rootFilter);
-        mParents.add(tag);
+        mParents.add(new ElementContext(rootFilter));
+    }
+
+    @Override
+    @CallSuper
+    public void startDocument() {
+        mDepth = 0;
+        mBuilder.setLength(0);
     }
 
     /**
@@ -57,17 +73,21 @@ public class XmlFilterHandler
                              @NonNull final String localName,
                              @NonNull final String qName,
                              @NonNull final Attributes attributes) {
-        // Create a new context for this new tag saving the current inter-tag text for later
-        final ElementContext tag = new ElementContext(localName, attributes,
-                                                      mBuilder.toString());
-
         // Get the current element
-        final ElementContext enclosingTag = mParents.get(mParents.size() - 1);
+        final XmlFilter enclosingFilter = mParents.get(mDepth).getFilter();
+
+        // Get a context for this new tag, saving the current inter-tag text for later
+        mDepth++;
+        if (mDepth == mParents.size()) {
+            mParents.add(new ElementContext());
+        }
+        final ElementContext tag = mParents.get(mDepth);
+        tag.start(localName, attributes, mBuilder);
 
         // If there is an active filter, then see if the new tag is of any interest
-        if (enclosingTag.getFilter() != null) {
+        if (enclosingFilter != null) {
             // Check for interest in new tag
-            final XmlFilter filter = enclosingTag.getFilter().getSubFilter(tag);
+            final XmlFilter filter = enclosingFilter.getSubFilter(localName);
             // If new tag has a filter, store it in the new context object
             tag.setFilter(filter);
             // If we got a filter, tell it a tag is now starting.
@@ -75,8 +95,6 @@ public class XmlFilterHandler
                 filter.processStart(tag);
             }
         }
-        // Add the new tag to the context hierarchy and reset
-        mParents.add(tag);
         // Reset the inter-tag text storage.
         mBuilder.setLength(0);
     }
@@ -91,7 +109,8 @@ public class XmlFilterHandler
                            @NonNull final String qName) {
 
         // Get out current context from the hierarchy and pop from stack
-        final ElementContext tag = mParents.remove(mParents.size() - 1);
+        final ElementContext tag = mParents.get(mDepth);
+        mDepth--;
 
         // Minor paranoia. Make sure name matches. Total waste of time, right?
         if (!localName.equals(tag.getLocalName())) {
@@ -100,8 +119,8 @@ public class XmlFilterHandler
                     + " `" + tag.getLocalName() + '`');
         }
 
-        // Save the text that appeared inside this tag (but not inside inner tags)
-        tag.setBody(mBuilder.toString());
+        // The text that appeared inside this tag (but not inside inner tags)
+        tag.setBody(mBuilder);
 
         // If there is an active filter in this context, then tell it the tag is finished.
         if (tag.getFilter() != null) {
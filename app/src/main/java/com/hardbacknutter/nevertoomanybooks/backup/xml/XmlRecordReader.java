@@ -82,6 +82,12 @@ public class XmlRecordReader
 
     private static final String ERROR_UNABLE_TO_PROCESS_XML_RECORD = "Unable to process XML ";
 
+    /**
+     * A new reader is created for each record, and creating a parser is relatively expensive.
+     * A parser is not thread-safe, so we keep one per thread, and reset it after each use.
+     */
+    private static final ThreadLocal<SAXParser> PARSER = new ThreadLocal<>();
+
     @Nullable
     private final Locale userLocale;
 
@@ -145,7 +151,6 @@ public class XmlRecordReader
             throws DataReaderException,
                    IOException {
 
-        final SAXParserFactory factory = SAXParserFactory.newInstance();
         final DefaultHandler handler = new XmlFilterHandler(buildFilters(accessor));
 
         try {
@@ -156,8 +161,12 @@ public class XmlRecordReader
             final BufferedReader reader = new BufferedReaderNoClose(isr, RecordReader.BUFFER_SIZE);
             final InputSource source = new InputSource(reader);
 
-            final SAXParser parser = factory.newSAXParser();
-            parser.parse(source, handler);
+            final SAXParser parser = getParser();
+            try {
+                parser.parse(source, handler);
+            } finally {
+                parser.reset();
+            }
 
         } catch (@NonNull final SAXException e) {
             // unwrap SAXException using getException() !
@@ -173,6 +182,25 @@ public class XmlRecordReader
         }
     }
 
+    /**
+     * Get the parser for the current thread.
+     *
+     * @return parser
+     *
+     * @throws ParserConfigurationException if a parser cannot be created
+     * @throws SAXException                 for SAX errors
+     */
+    @NonNull
+    private static SAXParser getParser()
+            throws ParserConfigurationException, SAXException {
+        SAXParser parser = PARSER.get();
+        if (parser == null) {
+            parser = SAXParserFactory.newInstance().newSAXParser();
+            PARSER.set(parser);
+        }
+        return parser;
+    }
+
     private XmlFilter buildFilters(@NonNull final EntityReader<String> accessor) {
         final String listRootElement = accessor.getRootTag();
         final String rootElement = accessor.getElementTag();
@@ -26,14 +26,22 @@ import android.os.Bundle;
 import androidx.annotation.AnyThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
 
+import java.io.CharArrayWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.Writer;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
@@ -56,6 +64,7 @@ import com.hardbacknutter.nevertoomanybooks.io.RecordWriter;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngineRegistry;
 import com.hardbacknutter.nevertoomanybooks.sync.calibre.CalibreLibrary;
 import com.hardbacknutter.nevertoomanybooks.sync.calibre.CalibreVirtualLibrary;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
 import com.hardbacknutter.nevertoomanybooks.tasks.ProgressListener;
 
 /**
@@ -72,6 +81,9 @@ import com.hardbacknutter.nevertoomanybooks.tasks.ProgressListener;
 public class XmlRecordWriter
         implements RecordWriter {
 
+    /** Log tag; also used as the name for the encoder threads. */
+    private static final String TAG = "XmlRecordWriter";
+
     /**
      * The format version of this RecordWriter.
      * <p>
@@ -94,6 +106,13 @@ public class XmlRecordWriter
     private static final String TAG_TOC_ENTRY = "tocentry";
     private static final String TAG_BOOK = "book";
 
+    /** The maximum number of threads encoding books. */
+    private static final int MAX_ENCODER_THREADS = 4;
+    /** The number of buffers per thread; a little slack so the threads don't wait on us. */
+    private static final int BUFFERS_PER_THREAD = 2;
+    /** Initial size of a book buffer; it will grow as needed and keep that size for reuse. */
+    private static final int BOOK_BUFFER_SIZE = 4096;
+
     /** Database Access. */
     @Nullable
     private final LocalDateTime sinceDateTime;
@@ -391,6 +410,14 @@ public class XmlRecordWriter
     }
 
     /**
+     * Write out {@link DBDefinitions#TBL_BOOKS}.
+     * <p>
+     * The books are read from the database on the calling thread, but encoded to XML
+     * on a pool of worker threads, each into a buffer from a small pool of reusable buffers.
+     * The buffers are written to the output in the original order.
+     * The number of buffers limits how far the reader can run ahead of the writer,
+     * which keeps the memory usage bounded regardless of the number of books.
+     * <p>
      * 'loan_to' is added to the books section here, this might be removed.
      *
      * @param context          Current context
@@ -416,6 +443,16 @@ public class XmlRecordWriter
         final List<Domain> externalIdDomains = SearchEngineRegistry
                 .getInstance().getExternalIdDomains();
 
+        final int threads = Math.max(1, Math.min(MAX_ENCODER_THREADS,
+                                                 Runtime.getRuntime().availableProcessors() - 1));
+        // Each buffer is either free, or in the queue of encoded/being encoded books.
+        final Deque<CharArrayWriter> freeBuffers = new ArrayDeque<>();
+        for (int i = 0; i < BUFFERS_PER_THREAD * threads; i++) {
+            freeBuffers.add(new CharArrayWriter(BOOK_BUFFER_SIZE));
+        }
+        final Deque<Future<CharArrayWriter>> encodedBooks = new ArrayDeque<>();
+        final ExecutorService executor = ASyncExecutor.create(TAG, threads);
+
         final BookDao bookDao = ServiceLocator.getInstance().getBookDao();
         try (Cursor cursor = bookDao.fetchBooksForExport(utcSinceDateTime)) {
 
@@ -427,7 +464,6 @@ public class XmlRecordWriter
             while (cursor.moveToNext() && !progressListener.isCancelled()) {
 
                 final Book book = Book.from(cursor);
-                final String uuid = book.getString(DBKey.BOOK_UUID);
 
                 String title = book.getTitle();
                 // Sanity check: ensure title is non-blank.
@@ -435,166 +471,6 @@ public class XmlRecordWriter
                     title = context.getString(R.string.unknown_title);
                 }
 
-                writer.write('<' + TAG_BOOK);
-                writer.write(XmlUtils.idAttr(book.getLong(DBKey.PK_ID)));
-                writer.write(XmlUtils.attr(DBKey.TITLE, title));
-                writer.write(XmlUtils.attr(DBKey.BOOK_ISBN,
-                                           book.getString(DBKey.BOOK_ISBN)));
-                writer.write(XmlUtils.attr(DBKey.BOOK_UUID, uuid));
-                writer.write(XmlUtils.attr(DBKey.DATE_ADDED__UTC,
-                                           book.getString(DBKey.DATE_ADDED__UTC)));
-                writer.write(XmlUtils.attr(DBKey.DATE_LAST_UPDATED__UTC,
-                                           book.getString(DBKey.DATE_LAST_UPDATED__UTC)));
-                writer.write(XmlUtils.attr(DBKey.READ__BOOL,
-                                           book.getBoolean(DBKey.READ__BOOL)));
-                writer.write(XmlUtils.attr(DBKey.READ_START__DATE,
-                                           book.getString(DBKey.READ_START__DATE)));
-                writer.write(XmlUtils.attr(DBKey.READ_END__DATE,
-                                           book.getString(DBKey.READ_END__DATE)));
-
-                writer.write(XmlUtils.attr(DBKey.PRINT_RUN,
-                                           book.getString(DBKey.PRINT_RUN)));
-                writer.write(XmlUtils.attr(DBKey.BOOK_PUBLICATION__DATE,
-                                           book.getString(DBKey.BOOK_PUBLICATION__DATE)));
-                writer.write(XmlUtils.attr(DBKey.PRICE_LISTED,
-                                           book.getDouble(DBKey.PRICE_LISTED)));
-                writer.write(XmlUtils.attr(DBKey.PRICE_LISTED_CURRENCY,
-                                           book.getString(DBKey.PRICE_LISTED_CURRENCY)));
-                writer.write(XmlUtils.attr(DBKey.FIRST_PUBLICATION__DATE,
-                                           book.getString(DBKey.FIRST_PUBLICATION__DATE)));
-                writer.write(XmlUtils.attr(DBKey.FORMAT,
-                                           book.getString(DBKey.FORMAT)));
-                writer.write(XmlUtils.attr(DBKey.COLOR,
-                                           book.getString(DBKey.COLOR)));
-                writer.write(XmlUtils.attr(DBKey.PAGE_COUNT,
-                                           book.getString(DBKey.PAGE_COUNT)));
-                writer.write(XmlUtils.attr(DBKey.GENRE,
-                                           book.getString(DBKey.GENRE)));
-                writer.write(XmlUtils.attr(DBKey.LANGUAGE,
-                                           book.getString(DBKey.LANGUAGE)));
-                writer.write(XmlUtils.attr(DBKey.TOC_TYPE__BITMASK,
-                                           book.getLong(DBKey.TOC_TYPE__BITMASK)));
-
-                writer.write(XmlUtils.attr(DBKey.BOOK_CONDITION,
-                                           book.getInt(DBKey.BOOK_CONDITION)));
-                writer.write(XmlUtils.attr(DBKey.BOOK_CONDITION_COVER,
-                                           book.getInt(DBKey.BOOK_CONDITION_COVER)));
-
-                writer.write(XmlUtils.attr(DBKey.PRICE_PAID,
-                                           book.getDouble(DBKey.PRICE_PAID)));
-                writer.write(XmlUtils.attr(DBKey.PRICE_PAID_CURRENCY,
-                                           book.getString(DBKey.PRICE_PAID_CURRENCY)));
-                writer.write(XmlUtils.attr(DBKey.DATE_ACQUIRED,
-                                           book.getString(DBKey.DATE_ACQUIRED)));
-                writer.write(XmlUtils.attr(DBKey.LOCATION,
-                                           book.getString(DBKey.LOCATION)));
-                writer.write(XmlUtils.attr(DBKey.RATING,
-                                           book.getFloat(DBKey.RATING)));
-                writer.write(XmlUtils.attr(DBKey.SIGNED__BOOL,
-                                           book.getBoolean(DBKey.SIGNED__BOOL)));
-                writer.write(XmlUtils.attr(DBKey.EDITION__BITMASK,
-                                           book.getLong(DBKey.EDITION__BITMASK)));
-
-                writer.write(XmlUtils.attr(DBKey.CALIBRE_BOOK_ID,
-                                           book.getInt(DBKey.CALIBRE_BOOK_ID)));
-                writer.write(XmlUtils.attr(DBKey.CALIBRE_BOOK_UUID,
-                                           book.getString(DBKey.CALIBRE_BOOK_UUID)));
-                writer.write(XmlUtils.attr(DBKey.CALIBRE_BOOK_MAIN_FORMAT,
-                                           book.getString(DBKey.CALIBRE_BOOK_MAIN_FORMAT)));
-                writer.write(XmlUtils.attr(DBKey.FK_CALIBRE_LIBRARY,
-                                           book.getLong(DBKey.FK_CALIBRE_LIBRARY)));
-
-                // external ID's
-                for (final Domain domain : externalIdDomains) {
-                    final String key = domain.getName();
-                    writer.write(XmlUtils.attr(key, book.getString(key)));
-                }
-                //NEWTHINGS: adding a new search engine: optional: add engine specific keys
-
-                // cross-linked with the loanee table
-                writer.write(XmlUtils.attr(DBKey.LOANEE_NAME, book.getString(DBKey.LOANEE_NAME)));
-
-                // close the start tag
-                writer.write(">\n");
-
-                // the text field tags
-                writer.write(XmlUtils.tagWithCData(
-                        DBKey.DESCRIPTION, null,
-                        book.getString(DBKey.DESCRIPTION)));
-                writer.write(XmlUtils.tagWithCData(
-                        DBKey.PERSONAL_NOTES, null,
-                        book.getString(DBKey.PERSONAL_NOTES)));
-
-
-                final List<Author> authors = book.getAuthors();
-                if (!authors.isEmpty()) {
-                    writer.write('<' + Book.BKEY_AUTHOR_LIST);
-                    writer.write(XmlUtils.sizeAttr(authors.size()));
-                    writer.write(">");
-                    for (final Author author : authors) {
-                        writer.write('<' + DBKey.FK_AUTHOR);
-                        writer.write(XmlUtils.idAttr(author.getId()));
-                        writer.write("/>");
-                    }
-                    writer.write("</" + Book.BKEY_AUTHOR_LIST + ">\n");
-                }
-
-                final List<Series> seriesList = book.getSeries();
-                if (!seriesList.isEmpty()) {
-                    writer.write('<' + Book.BKEY_SERIES_LIST);
-                    writer.write(XmlUtils.sizeAttr(seriesList.size()));
-                    writer.write(">");
-                    for (final Series series : seriesList) {
-                        writer.write('<' + DBKey.FK_SERIES);
-                        writer.write(XmlUtils.idAttr(series.getId()));
-                        writer.write(XmlUtils.attr(DBKey.SERIES_BOOK_NUMBER,
-                                                   series.getNumber()));
-                        writer.write("/>");
-                    }
-                    writer.write("</" + Book.BKEY_SERIES_LIST + ">\n");
-                }
-
-                final List<Publisher> publishers = book.getPublishers();
-                if (!publishers.isEmpty()) {
-                    writer.write('<' + Book.BKEY_PUBLISHER_LIST);
-                    writer.write(XmlUtils.sizeAttr(publishers.size()));
-                    writer.write(">");
-                    for (final Publisher publisher : publishers) {
-                        writer.write('<' + DBKey.FK_PUBLISHER);
-                        writer.write(XmlUtils.idAttr(publisher.getId()));
-                        writer.write("/>");
-                    }
-                    writer.write("</" + Book.BKEY_PUBLISHER_LIST + ">\n");
-                }
-
-                final List<Bookshelf> bookshelves = book.getBookshelves();
-                if (!bookshelves.isEmpty()) {
-                    writer.write('<' + Book.BKEY_BOOKSHELF_LIST);
-                    writer.write(XmlUtils.sizeAttr(bookshelves.size()));
-                    writer.write(">");
-                    for (final Bookshelf bookshelf : bookshelves) {
-                        writer.write('<' + DBKey.FK_BOOKSHELF);
-                        writer.write(XmlUtils.idAttr(bookshelf.getId()));
-                        writer.write("/>");
-                    }
-                    writer.write("</" + Book.BKEY_BOOKSHELF_LIST + ">\n");
-                }
-
-                final List<TocEntry> tocEntries = book.getToc();
-                if (!tocEntries.isEmpty()) {
-                    writer.write('<' + Book.BKEY_TOC_LIST);
-                    writer.write(XmlUtils.sizeAttr(tocEntries.size()));
-                    writer.write(">");
-                    for (final TocEntry tocEntry : tocEntries) {
-                        writer.write('<' + DBKey.FK_TOC_ENTRY);
-                        writer.write(XmlUtils.idAttr(tocEntry.getId()));
-                        writer.write("/>");
-                    }
-                    writer.write("</" + Book.BKEY_TOC_LIST + ">\n");
-                }
-
-                writer.write("</" + TAG_BOOK + ">\n");
-
                 results.addBook(book.getId());
 
                 if (collectCoverFilenames) {
@@ -603,6 +479,19 @@ public class XmlRecordWriter
                     }
                 }
 
+                // All buffers in use? Then write out the oldest book to free up its buffer.
+                if (freeBuffers.isEmpty()) {
+                    writeNext(writer, encodedBooks, freeBuffers);
+                }
+
+                final CharArrayWriter buffer = freeBuffers.remove();
+                final String bookTitle = title;
+                encodedBooks.add(executor.submit(() -> {
+                    buffer.reset();
+                    writeBook(buffer, book, bookTitle, externalIdDomains);
+                    return buffer;
+                }));
+
                 delta++;
                 final long now = System.currentTimeMillis();
                 if ((now - lastUpdate) > progressListener.getUpdateIntervalInMs()) {
@@ -611,9 +500,227 @@ public class XmlRecordWriter
                     delta = 0;
                 }
             }
+
+            while (!encodedBooks.isEmpty()) {
+                writeNext(writer, encodedBooks, freeBuffers);
+            }
             writer.write("</" + RecordType.Books.getName() + ">\n");
+        } finally {
+            executor.shutdownNow();
         }
 
         return results;
     }
+
+    /**
+     * Wait for the oldest encoded book, and write it out.
+     *
+     * @param writer       writer
+     * @param encodedBooks the queue of encoded/being encoded books
+     * @param freeBuffers  the pool to return the buffer to
+     *
+     * @throws IOException on failure
+     */
+    private void writeNext(@NonNull final Writer writer,
+                           @NonNull final Deque<Future<CharArrayWriter>> encodedBooks,
+                           @NonNull final Deque<CharArrayWriter> freeBuffers)
+            throws IOException {
+        try {
+            final CharArrayWriter buffer = encodedBooks.remove().get();
+            buffer.writeTo(writer);
+            freeBuffers.add(buffer);
+
+        } catch (@NonNull final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+
+        } catch (@NonNull final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Encode a single book. This method is called on a worker thread,
+     * and must only use the book and the other arguments passed in.
+     *
+     * @param writer            buffer to write to
+     * @param book              to encode
+     * @param title             of the book; never blank
+     * @param externalIdDomains the external id domains
+     *
+     * @throws IOException on failure
+     */
+    @WorkerThread
+    private static void writeBook(@NonNull final Writer writer,
+                                  @NonNull final Book book,
+                                  @NonNull final String title,
+                                  @NonNull final List<Domain> externalIdDomains)
+            throws IOException {
+
+        writer.write('<' + TAG_BOOK);
+        writer.write(XmlUtils.idAttr(book.getId()));
+        writer.write(XmlUtils.attr(DBKey.TITLE, title));
+        writer.write(XmlUtils.attr(DBKey.BOOK_ISBN,
+                                   book.getString(DBKey.BOOK_ISBN)));
+        writer.write(XmlUtils.attr(DBKey.BOOK_UUID, book.getString(DBKey.BOOK_UUID)));
+        writer.write(XmlUtils.attr(DBKey.DATE_ADDED__UTC,
+                                   book.getString(DBKey.DATE_ADDED__UTC)));
+        writer.write(XmlUtils.attr(DBKey.DATE_LAST_UPDATED__UTC,
+                                   book.getString(DBKey.DATE_LAST_UPDATED__UTC)));
+        writer.write(XmlUtils.attr(DBKey.READ__BOOL,
+                                   book.getBoolean(DBKey.READ__BOOL)));
+        writer.write(XmlUtils.attr(DBKey.READ_START__DATE,
+                                   book.getString(DBKey.READ_START__DATE)));
+        writer.write(XmlUtils.attr(DBKey.READ_END__DATE,
+                                   book.getString(DBKey.READ_END__DATE)));
+
+        writer.write(XmlUtils.attr(DBKey.PRINT_RUN,
+                                   book.getString(DBKey.PRINT_RUN)));
+        writer.write(XmlUtils.attr(DBKey.BOOK_PUBLICATION__DATE,
+                                   book.getString(DBKey.BOOK_PUBLICATION__DATE)));
+        writer.write(XmlUtils.attr(DBKey.PRICE_LISTED,
+                                   book.getDouble(DBKey.PRICE_LISTED)));
+        writer.write(XmlUtils.attr(DBKey.PRICE_LISTED_CURRENCY,
+                                   book.getString(DBKey.PRICE_LISTED_CURRENCY)));
+        writer.write(XmlUtils.attr(DBKey.FIRST_PUBLICATION__DATE,
+                                   book.getString(DBKey.FIRST_PUBLICATION__DATE)));
+        writer.write(XmlUtils.attr(DBKey.FORMAT,
+                                   book.getString(DBKey.FORMAT)));
+        writer.write(XmlUtils.attr(DBKey.COLOR,
+                                   book.getString(DBKey.COLOR)));
+        writer.write(XmlUtils.attr(DBKey.PAGE_COUNT,
+                                   book.getString(DBKey.PAGE_COUNT)));
+        writer.write(XmlUtils.attr(DBKey.GENRE,
+                                   book.getString(DBKey.GENRE)));
+        writer.write(XmlUtils.attr(DBKey.LANGUAGE,
+                                   book.getString(DBKey.LANGUAGE)));
+        writer.write(XmlUtils.attr(DBKey.TOC_TYPE__BITMASK,
+                                   book.getLong(DBKey.TOC_TYPE__BITMASK)));
+
+        writer.write(XmlUtils.attr(DBKey.BOOK_CONDITION,
+                                   book.getInt(DBKey.BOOK_CONDITION)));
+        writer.write(XmlUtils.attr(DBKey.BOOK_CONDITION_COVER,
+                                   book.getInt(DBKey.BOOK_CONDITION_COVER)));
+
+        writer.write(XmlUtils.attr(DBKey.PRICE_PAID,
+                                   book.getDouble(DBKey.PRICE_PAID)));
+        writer.write(XmlUtils.attr(DBKey.PRICE_PAID_CURRENCY,
+                                   book.getString(DBKey.PRICE_PAID_CURRENCY)));
+        writer.write(XmlUtils.attr(DBKey.DATE_ACQUIRED,
+                                   book.getString(DBKey.DATE_ACQUIRED)));
+        writer.write(XmlUtils.attr(DBKey.LOCATION,
+                                   book.getString(DBKey.LOCATION)));
+        writer.write(XmlUtils.attr(DBKey.RATING,
+                                   book.getFloat(DBKey.RATING)));
+        writer.write(XmlUtils.attr(DBKey.SIGNED__BOOL,
+                                   book.getBoolean(DBKey.SIGNED__BOOL)));
+        writer.write(XmlUtils.attr(DBKey.EDITION__BITMASK,
+                                   book.getLong(DBKey.EDITION__BITMASK)));
+
+        writer.write(XmlUtils.attr(DBKey.CALIBRE_BOOK_ID,
+                                   book.getInt(DBKey.CALIBRE_BOOK_ID)));
+        writer.write(XmlUtils.attr(DBKey.CALIBRE_BOOK_UUID,
+                                   book.getString(DBKey.CALIBRE_BOOK_UUID)));
+        writer.write(XmlUtils.attr(DBKey.CALIBRE_BOOK_MAIN_FORMAT,
+                                   book.getString(DBKey.CALIBRE_BOOK_MAIN_FORMAT)));
+        writer.write(XmlUtils.attr(DBKey.FK_CALIBRE_LIBRARY,
+                                   book.getLong(DBKey.FK_CALIBRE_LIBRARY)));
+
+        // external ID's
+        for (final Domain domain : externalIdDomains) {
+            final String key = domain.getName();
+            writer.write(XmlUtils.attr(key, book.getString(key)));
+        }
+        //NEWTHINGS: adding a new search engine: optional: add engine specific keys
+
+        // cross-linked with the loanee table
+        writer.write(XmlUtils.attr(DBKey.LOANEE_NAME, book.getString(DBKey.LOANEE_NAME)));
+
+        // close the start tag
+        writer.write(">\n");
+
+        // the text field tags
+        writer.write(XmlUtils.tagWithCData(
+                DBKey.DESCRIPTION, null,
+                book.getString(DBKey.DESCRIPTION)));
+        writer.write(XmlUtils.tagWithCData(
+                DBKey.PERSONAL_NOTES, null,
+                book.getString(DBKey.PERSONAL_NOTES)));
+
+
+        final List<Author> authors = book.getAuthors();
+        if (!authors.isEmpty()) {
+            writer.write('<' + Book.BKEY_AUTHOR_LIST);
+            writer.write(XmlUtils.sizeAttr(authors.size()));
+            writer.write(">");
+            for (final Author author : authors) {
+                writer.write('<' + DBKey.FK_AUTHOR);
+                writer.write(XmlUtils.idAttr(author.getId()));
+                writer.write("/>");
+            }
+            writer.write("</" + Book.BKEY_AUTHOR_LIST + ">\n");
+        }
+
+        final List<Series> seriesList = book.getSeries();
+        if (!seriesList.isEmpty()) {
+            writer.write('<' + Book.BKEY_SERIES_LIST);
+            writer.write(XmlUtils.sizeAttr(seriesList.size()));
+            writer.write(">");
+            for (final Series series : seriesList) {
+                writer.write('<' + DBKey.FK_SERIES);
+                writer.write(XmlUtils.idAttr(series.getId()));
+                writer.write(XmlUtils.attr(DBKey.SERIES_BOOK_NUMBER,
+                                           series.getNumber()));
+                writer.write("/>");
+            }
+            writer.write("</" + Book.BKEY_SERIES_LIST + ">\n");
+        }
+
+        final List<Publisher> publishers = book.getPublishers();
+        if (!publishers.isEmpty()) {
+            writer.write('<' + Book.BKEY_PUBLISHER_LIST);
+            writer.write(XmlUtils.sizeAttr(publishers.size()));
+            writer.write(">");
+            for (final Publisher publisher : publishers) {
+                writer.write('<' + DBKey.FK_PUBLISHER);
+                writer.write(XmlUtils.idAttr(publisher.getId()));
+                writer.write("/>");
+            }
+            writer.write("</" + Book.BKEY_PUBLISHER_LIST + ">\n");
+        }
+
+        final List<Bookshelf> bookshelves = book.getBookshelves();
+        if (!bookshelves.isEmpty()) {
+            writer.write('<' + Book.BKEY_BOOKSHELF_LIST);
+            writer.write(XmlUtils.sizeAttr(bookshelves.size()));
+            writer.write(">");
+            for (final Bookshelf bookshelf : bookshelves) {
+                writer.write('<' + DBKey.FK_BOOKSHELF);
+                writer.write(XmlUtils.idAttr(bookshelf.getId()));
+                writer.write("/>");
+            }
+            writer.write("</" + Book.BKEY_BOOKSHELF_LIST + ">\n");
+        }
+
+        final List<TocEntry> tocEntries = book.getToc();
+        if (!tocEntries.isEmpty()) {
+            writer.write('<' + Book.BKEY_TOC_LIST);
+            writer.write(XmlUtils.sizeAttr(tocEntries.size()));
+            writer.write(">");
+            for (final TocEntry tocEntry : tocEntries) {
+                writer.write('<' + DBKey.FK_TOC_ENTRY);
+                writer.write(XmlUtils.idAttr(tocEntry.getId()));
+                writer.write("/>");
+            }
+            writer.write("</" + Book.BKEY_TOC_LIST + ">\n");
+        }
+
+        writer.write("</" + TAG_BOOK + ">\n");
+    }
 }
@@ -182,6 +182,19 @@ public class ZipArchiveReader
             }
         }
 
+        @Override
+        public long getSize() {
+            return mEntry.getSize();
+        }
+
+        @NonNull
+        @Override
+        public Optional<Long> getCrc32() {
+            // For STORED entries (e.g. covers) the CRC is always present in the entry header.
+            final long crc = mEntry.getCrc();
+            return crc == -1 ? Optional.empty() : Optional.of(crc);
+        }
+
         @NonNull
         @Override
         public InputStream getInputStream()
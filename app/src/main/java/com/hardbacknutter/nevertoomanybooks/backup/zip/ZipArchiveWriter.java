@@ -125,19 +125,44 @@ public class ZipArchiveWriter
                         final boolean compress)
             throws IOException {
 
+        if (!compress) {
+            putStoredFile(name, file, file.length(), file.lastModified(),
+                          FileUtils.getCrc32(file).getValue());
+            return;
+        }
+
         final ZipEntry entry = new ZipEntry(name);
         entry.setTime(file.lastModified());
-        if (compress) {
-            entry.setMethod(ZipEntry.DEFLATED);
+        entry.setMethod(ZipEntry.DEFLATED);
+        putEntry(entry, file);
+    }
 
-        } else {
-            entry.setMethod(ZipEntry.STORED);
-            entry.setSize(file.length());
-            entry.setCompressedSize(file.length());
-            final CRC32 crc32 = FileUtils.getCrc32(file);
-            entry.setCrc(crc32.getValue());
-        }
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The size and CRC32 are stored in the entry header,
+     * and the {@link ZipOutputStream} verifies them when the entry is closed.
+     */
+    @Override
+    protected void putStoredFile(@NonNull final String name,
+                                 @NonNull final File file,
+                                 final long length,
+                                 final long lastModified,
+                                 final long crc32)
+            throws IOException {
 
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setTime(lastModified);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(length);
+        entry.setCompressedSize(length);
+        entry.setCrc(crc32);
+        putEntry(entry, file);
+    }
+
+    private void putEntry(@NonNull final ZipEntry entry,
+                          @NonNull final File file)
+            throws IOException {
         zipOutputStream.putNextEntry(entry);
         try (InputStream is = new FileInputStream(file)) {
             FileUtils.copy(is, zipOutputStream);
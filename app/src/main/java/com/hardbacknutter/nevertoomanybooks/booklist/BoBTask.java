@@ -38,6 +38,7 @@ import com.hardbacknutter.nevertoomanybooks.BuildConfig;
 import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
 import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.SearchCriteria;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.booklist.filters.FtsMatchFilter;
 import com.hardbacknutter.nevertoomanybooks.booklist.filters.NumberListFilter;
 import com.hardbacknutter.nevertoomanybooks.booklist.filters.PEntityListFilter;
@@ -74,6 +75,10 @@ public class BoBTask
     /** The fixed list of domains we always need for building the book list. */
     private final Collection<DomainExpression> fixedDomainList = new ArrayList<>();
 
+    /** Previously built lists which can be reused instead of building a new one. */
+    @NonNull
+    private final BooklistCache booklistCache;
+
     /** Currently selected bookshelf. */
     private Bookshelf bookshelf;
 
@@ -86,11 +91,17 @@ public class BoBTask
     /** The row id we want the new list to display more-or-less in the center. */
     private long desiredCentralBookId;
 
+    /** Whether the list saved by a previous session can be used. */
+    private boolean useSavedList;
+
     /**
      * Constructor.
+     *
+     * @param booklistCache to take a previously built list from if possible
      */
-    public BoBTask() {
+    public BoBTask(@NonNull final BooklistCache booklistCache) {
         super(R.id.TASK_ID_BOOKLIST_BUILDER, TAG);
+        this.booklistCache = booklistCache;
         initFixedDomainList();
     }
 
@@ -110,9 +121,10 @@ public class BoBTask
                 // The second format leaves the article/prefix in its original location.
                 // The choice between the two formats is a user preference which, when changed,
                 // updates ALL rows in the database with the newly formatted title.
+                // Sorting is done on the binary collation key of this column.
                 new DomainExpression(
-                        DBDefinitions.DOM_TITLE_OB,
-                        DBDefinitions.TBL_BOOKS.dot(DBKey.KEY_TITLE_OB),
+                        DBDefinitions.DOM_TITLE_CK,
+                        DBDefinitions.TBL_BOOKS.dot(DBKey.KEY_TITLE_CK),
                         DomainExpression.SORT_ASC));
 
         fixedDomainList.add(
@@ -156,11 +168,13 @@ public class BoBTask
     public void build(@NonNull final Bookshelf bookshelf,
                       @NonNull final RebuildBooklist mode,
                       @NonNull final SearchCriteria searchCriteria,
-                      final long desiredCentralBookId) {
+                      final long desiredCentralBookId,
+                      final boolean useSavedList) {
         this.bookshelf = bookshelf;
         rebuildMode = mode;
         this.searchCriteria = searchCriteria;
         this.desiredCentralBookId = desiredCentralBookId;
+        this.useSavedList = useSavedList;
 
         execute();
     }
@@ -172,10 +186,28 @@ public class BoBTask
 
         final Style style = bookshelf.getStyle(context);
 
+        // Get the version BEFORE building; if the data changes during the build,
+        // the version will have moved on and the list will not be reused.
+        final int dataVersion = ServiceLocator.getInstance().getDb().getDataVersion();
+        // Lists built using search criteria are not cached.
+        final String cacheKey = searchCriteria.isEmpty()
+                                ? BooklistCache.createKey(context, bookshelf, style) : null;
+
         Booklist booklist = null;
         try {
+            // A rebuild from the saved state can reuse a previously built list as-is.
+            if (cacheKey != null && rebuildMode == RebuildBooklist.FromSaved) {
+                booklist = booklistCache.take(cacheKey, dataVersion);
+                if (booklist != null) {
+                    return new Outcome(booklist, booklist.getVisibleBookNodes(desiredCentralBookId),
+                                       cacheKey, dataVersion);
+                }
+            }
+
             // get a new builder and add the required domains
             final BooklistBuilder builder = new BooklistBuilder(style, bookshelf, rebuildMode);
+            // Lists built using search criteria are never saved.
+            builder.setUseSavedList(useSavedList && cacheKey != null);
 
             // Add the fixed list of domains we always need.
             for (final DomainExpression domainDetails : fixedDomainList) {
@@ -196,8 +228,10 @@ public class BoBTask
                 // if we have a list of ID's, we'll ignore other criteria
                 if (searchCriteria.getBookIdList().isEmpty()) {
                     // Criteria supported by FTS
-                    searchCriteria.getFtsMatchQuery().ifPresent(
-                            query -> builder.addFilter(new FtsMatchFilter(query)));
+                    searchCriteria.getFtsMatchQuery().ifPresent(query -> {
+                        ServiceLocator.getInstance().getFtsDao().updateQueuedBooks();
+                        builder.addFilter(new FtsMatchFilter(query));
+                    });
 
                     // Add a filter to retrieve only books lend to the given person (exact name).
                     searchCriteria.getLoanee().ifPresent(
@@ -267,7 +301,8 @@ public class BoBTask
             }
 
             // Get the row(s) which will be used to determine new cursor position
-            return new Outcome(booklist, booklist.getVisibleBookNodes(desiredCentralBookId));
+            return new Outcome(booklist, booklist.getVisibleBookNodes(desiredCentralBookId),
+                               cacheKey, dataVersion);
 
         } catch (@SuppressWarnings("OverlyBroadCatchBlock") @NonNull final Exception e) {
             if (booklist != null) {
@@ -383,11 +418,20 @@ public class BoBTask
         private final Booklist booklist;
         @NonNull
         private final List<BooklistNode> targetNodes;
+        /** The key to cache the list with; {@code null} if it should not be cached. */
+        @Nullable
+        private final String cacheKey;
+        /** The data version from before the list was built. */
+        private final int dataVersion;
 
         Outcome(@NonNull final Booklist booklist,
-                @NonNull final List<BooklistNode> targetNodes) {
+                @NonNull final List<BooklistNode> targetNodes,
+                @Nullable final String cacheKey,
+                final int dataVersion) {
             this.booklist = booklist;
             this.targetNodes = targetNodes;
+            this.cacheKey = cacheKey;
+            this.dataVersion = dataVersion;
         }
 
         @NonNull
@@ -399,5 +443,14 @@ public class BoBTask
         public List<BooklistNode> getTargetNodes() {
             return targetNodes;
         }
+
+        @Nullable
+        public String getCacheKey() {
+            return cacheKey;
+        }
+
+        public int getDataVersion() {
+            return dataVersion;
+        }
     }
 }
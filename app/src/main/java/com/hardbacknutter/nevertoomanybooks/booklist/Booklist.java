@@ -19,12 +19,14 @@
  */
 package com.hardbacknutter.nevertoomanybooks.booklist;
 
+import android.content.Context;
 import android.database.Cursor;
 import android.util.Log;
 
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
 import androidx.core.util.Pair;
 
 import java.io.File;
@@ -105,6 +107,11 @@ public class Booklist
     @SuppressWarnings("FieldNotUsedInToString")
     private final BooklistNodeDao nodeDao;
 
+    /** Used to save the list for the next session. */
+    @SuppressWarnings("FieldNotUsedInToString")
+    @NonNull
+    private final SavedBooklistDao savedListDao;
+
     /** Total number of books in current list. e.g. a book can be listed under 2 authors. */
     private int totalBooks = -1;
 
@@ -152,13 +159,40 @@ public class Booklist
              @NonNull final SynchronizedDb db,
              @NonNull final TableDefinition listTable,
              @NonNull final TableDefinition navTable,
-             @NonNull final BooklistNodeDao nodeDao) {
+             @NonNull final BooklistNodeDao nodeDao,
+             @NonNull final SavedBooklistDao savedListDao) {
 
         this.instanceId = instanceId;
         this.db = db;
         this.listTable = listTable;
         this.navTable = navTable;
         this.nodeDao = nodeDao;
+        this.savedListDao = savedListDao;
+    }
+
+    /**
+     * Save the list so it can be reused at the next start of the app.
+     * Does nothing if the data has changed since the list was build.
+     * <p>
+     * RuntimeException are caught and ignored.
+     *
+     * @param context     Current context
+     * @param dataVersion the database data version taken before the list was build
+     */
+    @WorkerThread
+    public void save(@NonNull final Context context,
+                     final int dataVersion) {
+        if (!SavedBooklistDao.isEnabled(context) || db.getDataVersion() != dataVersion) {
+            return;
+        }
+        try {
+            savedListDao.save(listTable, navTable);
+        } catch (@NonNull final RuntimeException e) {
+            // the list might have been closed in the mean time; not an issue.
+            if (BuildConfig.DEBUG && DEBUG_SWITCHES.BOB_THE_BUILDER) {
+                Log.d(TAG, "save|instanceId=" + instanceId + "|" + e.getMessage());
+            }
+        }
     }
 
     @NonNull
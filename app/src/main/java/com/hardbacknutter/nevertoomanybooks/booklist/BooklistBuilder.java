@@ -150,6 +150,9 @@ class BooklistBuilder {
     @NonNull
     private RebuildBooklist rebuildMode;
 
+    /** Whether to try using the list saved by {@link SavedBooklistDao}. */
+    private boolean useSavedList;
+
     /**
      * Constructor.
      *
@@ -231,6 +234,19 @@ class BooklistBuilder {
         this.rebuildMode = rebuildMode;
     }
 
+    /**
+     * Try to use the list saved by a previous session instead of building it.
+     * Only used if the user enabled the option, and the rebuild mode is either
+     * {@link RebuildBooklist#FromSaved} or {@link RebuildBooklist#Preferred}.
+     * <p>
+     * If the option is disabled, any previously saved list will be deleted.
+     *
+     * @param useSavedList flag
+     */
+    void setUseSavedList(final boolean useSavedList) {
+        this.useSavedList = useSavedList;
+    }
+
     /**
      * Clear and build the temporary list of books.
      *
@@ -249,10 +265,28 @@ class BooklistBuilder {
 
         final SynchronizedDb db = ServiceLocator.getInstance().getDb();
 
+        final SavedBooklistDao savedListDao = new SavedBooklistDao(
+                db, bookshelf.getId(), style.getId(), tableBuilder.getSqlForSavedList());
+
         final Synchronizer.SyncLock txLock = db.beginTransaction(true);
         try {
-            // create the tables and populate them
-            final Pair<TableDefinition, TableDefinition> tables = tableBuilder.build(db);
+            Pair<TableDefinition, TableDefinition> tables = null;
+            if (useSavedList) {
+                if (SavedBooklistDao.isEnabled(context)) {
+                    if (rebuildMode == RebuildBooklist.FromSaved
+                        || rebuildMode == RebuildBooklist.Preferred) {
+                        tables = tableBuilder.restore(db, savedListDao);
+                    }
+                } else {
+                    SavedBooklistDao.deleteAll(db);
+                }
+            }
+
+            if (tables == null) {
+                // create the tables and populate them
+                tables = tableBuilder.build(db);
+            }
+
             final TableDefinition listTable = tables.first;
             final TableDefinition navTable = tables.second;
             final BooklistNodeDao rowStateDAO =
@@ -280,7 +314,8 @@ class BooklistBuilder {
 
             db.setTransactionSuccessful();
 
-            return new Booklist(instanceId, db, listTable, navTable, rowStateDAO);
+            return new Booklist(instanceId, db, listTable, navTable, rowStateDAO,
+                                savedListDao);
 
         } finally {
             db.endTransaction(txLock);
@@ -358,6 +393,12 @@ class BooklistBuilder {
 
         private String sqlForInitialInsert;
 
+        /**
+         * The part of {@link #sqlForInitialInsert} which determines the content of the list.
+         * Used to identify a list saved by {@link SavedBooklistDao}.
+         */
+        private String sqlForSavedList;
+
         /** Table used by the triggers to track the most recent/current row headings. */
         private TableDefinition triggerHelperTable;
         /** Trigger name - inserts headers for each level during the initial insert. */
@@ -492,6 +533,14 @@ class BooklistBuilder {
             destColumns.append(',').append(DBKey.KEY_BL_NODE_KEY);
             sourceColumns.append(',').append(buildNodeKey()).append(_AS_).append(DOM_BL_NODE_KEY);
 
+            final String sqlFromWhereOrderBy = _FROM_ + buildFrom()
+                                               + buildWhere(context, filters)
+                                               + _ORDER_BY_ + buildOrderBy();
+
+            // Everything except the table name and the node state.
+            sqlForSavedList = "(" + destColumns + ") "
+                              + SELECT_ + sourceColumns + sqlFromWhereOrderBy;
+
             // and the node state columns
             destColumns.append(',').append(DOM_BL_NODE_EXPANDED);
             destColumns.append(',').append(DOM_BL_NODE_VISIBLE);
@@ -517,9 +566,7 @@ class BooklistBuilder {
 
             sqlForInitialInsert =
                     INSERT_INTO_ + listTable.getName() + " (" + destColumns + ") "
-                    + SELECT_ + sourceColumns
-                    + _FROM_ + buildFrom() + buildWhere(context, filters)
-                    + _ORDER_BY_ + buildOrderBy();
+                    + SELECT_ + sourceColumns + sqlFromWhereOrderBy;
 
             if (BuildConfig.DEBUG && DEBUG_SWITCHES.BOB_THE_BUILDER) {
                 Log.d(TAG, "build|sql=" + sqlForInitialInsert);
@@ -565,13 +612,7 @@ class BooklistBuilder {
                            + ((t1_insert - t0) / NANO_TO_MILLIS) + " ms");
             }
 
-            if (!collationIsCaseSensitive) {
-                // can't do this, IndexDefinition class does not support DESC columns for now.
-                //  listTable.addIndex("SDI", false, helper.getSortedDomains());
-                db.execSQL(
-                        "CREATE INDEX " + listTable.getName() + "_SDI ON " + listTable.getName()
-                        + "(" + getSortedDomainsIndexColumns() + ")");
-            }
+            createSortIndex(db);
 
             // The list table is now fully populated.
             db.analyze(listTable);
@@ -595,6 +636,64 @@ class BooklistBuilder {
             return new Pair<>(listTable, navTable);
         }
 
+        /**
+         * Get the SQL which identifies the content of the list.
+         *
+         * @return sql
+         */
+        @NonNull
+        String getSqlForSavedList() {
+            if (BuildConfig.DEBUG /* always */) {
+                SanityCheck.requireValue(sqlForSavedList, "preBuild() must be called first");
+            }
+            return sqlForSavedList;
+        }
+
+        /**
+         * Create and populate the tables from the list saved by {@link SavedBooklistDao}.
+         * <p>
+         * The node state of all rows is reset as if the list was freshly build
+         * using {@link RebuildBooklist#FromSaved} or {@link RebuildBooklist#Preferred}.
+         *
+         * @param db  Underlying database
+         * @param dao to restore from
+         *
+         * @return the fully populated list table,
+         *         or {@code null} if there was no matching saved list.
+         */
+        @Nullable
+        Pair<TableDefinition, TableDefinition> restore(@NonNull final SynchronizedDb db,
+                                                       @NonNull final SavedBooklistDao dao) {
+            if (!dao.restore(listTable, navTable)) {
+                return null;
+            }
+
+            // collapse all nodes; level 1 is always visible. THIS IS CRITICAL!
+            db.execSQL("UPDATE " + listTable.getName() + " SET "
+                       + DBKey.KEY_BL_NODE_EXPANDED + "=0,"
+                       + DBKey.KEY_BL_NODE_VISIBLE + "=(" + DBKey.KEY_BL_NODE_LEVEL + "=1)");
+
+            createSortIndex(db);
+            db.analyze(listTable);
+
+            return new Pair<>(listTable, navTable);
+        }
+
+        /**
+         * Create the index on the sorted domains.
+         *
+         * @param db Underlying database
+         */
+        private void createSortIndex(@NonNull final SynchronizedDb db) {
+            if (!collationIsCaseSensitive) {
+                // can't do this, IndexDefinition class does not support DESC columns for now.
+                //  listTable.addIndex("SDI", false, helper.getSortedDomains());
+                db.execSQL(
+                        "CREATE INDEX " + listTable.getName() + "_SDI ON " + listTable.getName()
+                        + "(" + getSortedDomainsIndexColumns() + ")");
+            }
+        }
+
         /**
          * Build a collection of triggers on the list table designed to fill in the summary/header
          * records as the data records are added in sorted order.
@@ -677,25 +776,27 @@ class BooklistBuilder {
                 // (by checking the 'current' record/table)
                 final StringBuilder whereClause = new StringBuilder();
 
-                group.getAccumulatedDomains().stream()
-                     .map(Domain::getName)
-                     .forEach(domainName -> {
-                         listColumns.append(',').append(domainName);
-                         listValues.append(",NEW.").append(domainName);
-
-                         // Only add to the where-clause if the group is part of the SORT list
-                         if (sortedDomainNames.contains(domainName)) {
-                             if (whereClause.length() > 0) {
-                                 whereClause.append(_AND_);
-                             }
-                             whereClause.append("COALESCE(")
-                                        .append(triggerHelperTable.dot(domainName))
-                                        .append(",'')=COALESCE(NEW.")
-                                        .append(domainName)
-                                        .append(",'')")
-                                        .append(_COLLATION);
-                         }
-                     });
+                group.getAccumulatedDomains().forEach(domain -> {
+                    final String domainName = domain.getName();
+                    listColumns.append(',').append(domainName);
+                    listValues.append(",NEW.").append(domainName);
+
+                    // Only add to the where-clause if the group is part of the SORT list
+                    if (sortedDomainNames.contains(domainName)) {
+                        if (whereClause.length() > 0) {
+                            whereClause.append(_AND_);
+                        }
+                        whereClause.append("COALESCE(")
+                                   .append(triggerHelperTable.dot(domainName))
+                                   .append(",'')=COALESCE(NEW.")
+                                   .append(domainName)
+                                   .append(",'')");
+                        // Collation keys (blobs) are compared as-is.
+                        if (domain.isText()) {
+                            whereClause.append(_COLLATION);
+                        }
+                    }
+                });
 
                 // (re)Create the trigger
                 triggerHelperLevelTriggerName[index] = listTable.getName() + "_TG_LEVEL_" + level;
@@ -0,0 +1,146 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.booklist;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import com.hardbacknutter.nevertoomanybooks.booklist.filters.PFilter;
+import com.hardbacknutter.nevertoomanybooks.booklist.style.Style;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedDb;
+import com.hardbacknutter.nevertoomanybooks.entities.Bookshelf;
+
+/**
+ * A small Least Recently Used cache of {@link Booklist}s which are no longer displayed,
+ * so switching back to a Bookshelf/Style viewed shortly before does not need a rebuild.
+ * <p>
+ * A list is cached with the {@link SynchronizedDb#getDataVersion()} from before it was built,
+ * and is only handed out again if the data version is still the same.
+ * <p>
+ * The cache owns the lists it holds, and closes them when they are evicted.
+ * A list which is handed out is removed from the cache; the caller owns it again.
+ * <p>
+ * Lists are taken from the cache by {@link BoBTask} in the background,
+ * and put back from the UI thread; all access is synchronized.
+ */
+public class BooklistCache {
+
+    /** Each list holds temporary tables; don't keep too many around. */
+    private static final int MAX_ENTRIES = 3;
+
+    /** Access-ordered, i.e. the first entry is the least recently used. */
+    private final Map<String, Entry> map = new LinkedHashMap<>(MAX_ENTRIES + 1, 0.75f, true);
+
+    /**
+     * Create the key identifying the list for the given Bookshelf.
+     *
+     * @param context   Current context
+     * @param bookshelf the list is for
+     * @param style     the list is for
+     *
+     * @return key
+     */
+    @NonNull
+    public static String createKey(@NonNull final Context context,
+                                   @NonNull final Bookshelf bookshelf,
+                                   @NonNull final Style style) {
+        final StringJoiner key = new StringJoiner("|");
+        key.add(String.valueOf(bookshelf.getId()));
+        key.add(style.getUuid());
+        for (final PFilter<?> filter : bookshelf.getFilters()) {
+            if (filter.isActive(context)) {
+                key.add(filter.getDBKey() + '=' + filter.getPersistedValue());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Put a list in the cache. The cache becomes the owner of the list.
+     *
+     * @param key         as created by {@link #createKey(Context, Bookshelf, Style)}
+     * @param dataVersion from <strong>before</strong> the list was built
+     * @param booklist    to cache
+     */
+    public synchronized void put(@NonNull final String key,
+                                 final int dataVersion,
+                                 @NonNull final Booklist booklist) {
+        final Entry previous = map.put(key, new Entry(dataVersion, booklist));
+        if (previous != null && previous.booklist != booklist) {
+            previous.booklist.close();
+        }
+
+        final Iterator<Entry> it = map.values().iterator();
+        while (map.size() > MAX_ENTRIES && it.hasNext()) {
+            it.next().booklist.close();
+            it.remove();
+        }
+    }
+
+    /**
+     * Take a list from the cache. The caller becomes the owner of the list.
+     *
+     * @param key         as created by {@link #createKey(Context, Bookshelf, Style)}
+     * @param dataVersion the current data version
+     *
+     * @return the list, or {@code null} if not present or no longer valid
+     */
+    @Nullable
+    public synchronized Booklist take(@NonNull final String key,
+                                      final int dataVersion) {
+        final Entry entry = map.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.dataVersion != dataVersion) {
+            entry.booklist.close();
+            return null;
+        }
+        return entry.booklist;
+    }
+
+    /**
+     * Remove and close all cached lists.
+     */
+    public synchronized void clear() {
+        map.values().forEach(entry -> entry.booklist.close());
+        map.clear();
+    }
+
+    private static class Entry {
+
+        final int dataVersion;
+        @NonNull
+        final Booklist booklist;
+
+        Entry(final int dataVersion,
+              @NonNull final Booklist booklist) {
+            this.dataVersion = dataVersion;
+            this.booklist = booklist;
+        }
+    }
+}
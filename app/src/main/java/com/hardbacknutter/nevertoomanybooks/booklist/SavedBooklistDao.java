@@ -0,0 +1,249 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.booklist;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.preference.PreferenceManager;
+
+import java.util.stream.Collectors;
+
+import com.hardbacknutter.nevertoomanybooks.BuildConfig;
+import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
+import com.hardbacknutter.nevertoomanybooks.database.DBKey;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedDb;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedStatement;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.Synchronizer;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.TransactionException;
+import com.hardbacknutter.nevertoomanybooks.database.definitions.Domain;
+import com.hardbacknutter.nevertoomanybooks.database.definitions.TableDefinition;
+import com.hardbacknutter.nevertoomanybooks.settings.Prefs;
+
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_LIST_SAVED;
+
+/**
+ * Saves the list and navigation tables of a {@link Booklist} as standard tables,
+ * so that the next start of the app can display the list without building it.
+ * <p>
+ * Only one list is saved. It is identified by the Bookshelf, the Style and the SQL
+ * which was used to build it; the latter covers all style and filter settings which
+ * influence the content of the list.
+ * <p>
+ * The row in {@code book_list_saved} is deleted by triggers as soon as
+ * data shown in a list changes.
+ * Without that row, the saved tables are ignored and will be replaced by the next save.
+ */
+class SavedBooklistDao {
+
+    /** Log tag. */
+    private static final String TAG = "SavedBooklistDao";
+
+    /** The saved list table. */
+    private static final String LIST_TABLE = "book_list_saved_rows";
+    /** The saved navigation table. */
+    private static final String NAV_TABLE = "book_list_saved_nav";
+
+    private static final String SELECT_ = "SELECT ";
+    private static final String _FROM_ = " FROM ";
+    private static final String _WHERE_ = " WHERE ";
+    private static final String _AND_ = " AND ";
+    private static final String INSERT_INTO_ = "INSERT INTO ";
+    private static final String DELETE_FROM_ = "DELETE FROM ";
+
+    private static final String IS_SAVED =
+            "SELECT COUNT(*)" + _FROM_ + TBL_BOOK_LIST_SAVED.getName()
+            + _WHERE_ + DBKey.FK_BOOKSHELF + "=?"
+            + _AND_ + DBKey.FK_STYLE + "=?"
+            + _AND_ + DBKey.KEY_BL_BUILD_SQL + "=?";
+
+    private static final String INSERT =
+            INSERT_INTO_ + TBL_BOOK_LIST_SAVED.getName()
+            + " (" + DBKey.FK_BOOKSHELF
+            + ',' + DBKey.FK_STYLE
+            + ',' + DBKey.KEY_BL_BUILD_SQL
+            + ") VALUES (?,?,?)";
+
+    private static final String DELETE_ALL = DELETE_FROM_ + TBL_BOOK_LIST_SAVED.getName();
+
+    /** Database Access. */
+    @NonNull
+    private final SynchronizedDb db;
+    private final long bookshelfId;
+    private final long styleId;
+    /** The SQL which was used to build the list. */
+    @NonNull
+    private final String buildSql;
+
+    /**
+     * Constructor.
+     *
+     * @param db          Database Access
+     * @param bookshelfId the list is for
+     * @param styleId     the list is for
+     * @param buildSql    the SQL which builds the list
+     */
+    SavedBooklistDao(@NonNull final SynchronizedDb db,
+                     final long bookshelfId,
+                     final long styleId,
+                     @NonNull final String buildSql) {
+        this.db = db;
+        this.bookshelfId = bookshelfId;
+        this.styleId = styleId;
+        this.buildSql = buildSql;
+    }
+
+    /**
+     * Check if the user wants the list to be saved.
+     *
+     * @param context Current context
+     *
+     * @return {@code true} if enabled
+     */
+    static boolean isEnabled(@NonNull final Context context) {
+        return PreferenceManager.getDefaultSharedPreferences(context)
+                                .getBoolean(Prefs.pk_booklist_persist, false);
+    }
+
+    /**
+     * Delete the saved list if there is one.
+     *
+     * @param db Database Access
+     */
+    static void deleteAll(@NonNull final SynchronizedDb db) {
+        db.execSQL(DELETE_ALL);
+        db.drop(LIST_TABLE);
+        db.drop(NAV_TABLE);
+    }
+
+    /**
+     * Check if the saved list is the one we're looking for, and still valid.
+     *
+     * @return {@code true} if there is a matching list
+     */
+    private boolean isSaved() {
+        try (SynchronizedStatement stmt = db.compileStatement(IS_SAVED)) {
+            stmt.bindLong(1, bookshelfId);
+            stmt.bindLong(2, styleId);
+            stmt.bindString(3, buildSql);
+            return stmt.simpleQueryForLongOrZero() > 0;
+        }
+    }
+
+    /**
+     * Save the given tables, replacing any previously saved list.
+     * Does nothing if the list was already saved.
+     * <p>
+     * <strong>Transaction:</strong> participate, or runs in new.
+     *
+     * @param listTable the {@link Booklist} table
+     * @param navTable  the {@link Booklist} navigation table
+     */
+    void save(@NonNull final TableDefinition listTable,
+              @NonNull final TableDefinition navTable) {
+
+        Synchronizer.SyncLock txLock = null;
+        try {
+            if (!db.inTransaction()) {
+                txLock = db.beginTransaction(true);
+            }
+
+            if (isSaved()) {
+                return;
+            }
+
+            deleteAll(db);
+            db.execSQL("CREATE TABLE " + LIST_TABLE
+                       + " AS SELECT * FROM " + listTable.getName());
+            db.execSQL("CREATE TABLE " + NAV_TABLE
+                       + " AS SELECT * FROM " + navTable.getName());
+
+            try (SynchronizedStatement stmt = db.compileStatement(INSERT)) {
+                stmt.bindLong(1, bookshelfId);
+                stmt.bindLong(2, styleId);
+                stmt.bindString(3, buildSql);
+                stmt.executeInsert();
+            }
+
+            if (txLock != null) {
+                db.setTransactionSuccessful();
+            }
+        } finally {
+            if (txLock != null) {
+                db.endTransaction(txLock);
+            }
+        }
+
+        if (BuildConfig.DEBUG && DEBUG_SWITCHES.BOB_THE_BUILDER) {
+            Log.d(TAG, "save|" + listTable.getName());
+        }
+    }
+
+    /**
+     * Fill the given (not yet created) tables with the saved list, if it matches.
+     * <p>
+     * <strong>Transaction:</strong> required
+     *
+     * @param listTable the {@link Booklist} table
+     * @param navTable  the {@link Booklist} navigation table
+     *
+     * @return {@code true} if the tables were created and filled;
+     *         {@code false} if there was no matching list, and nothing was done.
+     *
+     * @throws TransactionException a transaction must be started before calling this method
+     */
+    boolean restore(@NonNull final TableDefinition listTable,
+                    @NonNull final TableDefinition navTable)
+            throws TransactionException {
+        if (BuildConfig.DEBUG /* always */) {
+            if (!db.inTransaction()) {
+                throw new TransactionException(TransactionException.REQUIRED);
+            }
+        }
+
+        if (!isSaved()) {
+            return false;
+        }
+
+        //IMPORTANT: withDomainConstraints MUST BE false
+        db.recreate(listTable, false);
+        copy(LIST_TABLE, listTable);
+        db.recreate(navTable, false);
+        copy(NAV_TABLE, navTable);
+
+        if (BuildConfig.DEBUG && DEBUG_SWITCHES.BOB_THE_BUILDER) {
+            Log.d(TAG, "restore|" + listTable.getName());
+        }
+        return true;
+    }
+
+    private void copy(@NonNull final String source,
+                      @NonNull final TableDefinition destination) {
+        // Use explicit column names; they are the same,
+        // as the destination was defined by the same SQL as the source.
+        final String columns = destination.getDomains()
+                                          .stream()
+                                          .map(Domain::getName)
+                                          .collect(Collectors.joining(","));
+        db.execSQL(INSERT_INTO_ + destination.getName() + " (" + columns + ')'
+                   + SELECT_ + columns + _FROM_ + source);
+    }
+}
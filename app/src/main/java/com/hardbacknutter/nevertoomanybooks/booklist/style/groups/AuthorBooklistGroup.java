@@ -54,11 +54,11 @@ public class AuthorBooklistGroup
 
     public static final boolean DEFAULT_SHOW_BOOKS_UNDER_EACH = false;
 
-    /** For sorting. */
+    /** For sorting. Binary collation key. */
     private static final Domain DOM_SORTING;
 
     static {
-        DOM_SORTING = new Domain.Builder(DBKey.KEY_BL_AUTHOR_SORT, ColumnInfo.TYPE_TEXT)
+        DOM_SORTING = new Domain.Builder(DBKey.KEY_BL_AUTHOR_SORT, ColumnInfo.TYPE_BLOB)
                 .build();
     }
 
@@ -158,10 +158,6 @@ public class BooklistGroup {
     private static final DomainExpression DATE_ACQUIRED =
             new DomainExpression(DOM_BOOK_DATE_ACQUIRED, null, DomainExpression.SORT_DESC);
 
-    private static final String CASE_WHEN_ = "CASE WHEN ";
-    private static final String _WHEN_ = " WHEN ";
-    private static final String _ELSE_ = " ELSE ";
-    private static final String _END = " END";
     /** Cache for the static GroupKey instances. */
     private static final Map<Integer, GroupKey> GROUP_KEYS = new UniqueMap<>();
 
@@ -248,114 +244,39 @@ public class BooklistGroup {
     }
 
     /**
-     * If the field has a time part, convert it to local time.
-     * This deals with legacy 'date-only' dates.
-     * The logic being that IF they had a time part it would be UTC.
-     * Without a time part, we assume the zone is local (or irrelevant).
+     * Get the 'year' from a normalized date column.
      *
-     * @param fieldSpec fully qualified field name
+     * @param fieldSpec fully qualified field name of a normalized date column
      *
      * @return expression
      */
     @NonNull
-    private static String localDateTimeExpression(@NonNull final String fieldSpec) {
-        return CASE_WHEN_ + fieldSpec + " GLOB '*-*-* *' "
-               + " THEN datetime(" + fieldSpec + ", 'localtime')"
-               + _ELSE_ + fieldSpec
-               + _END;
+    private static String year(@NonNull final String fieldSpec) {
+        return "SUBSTR(" + fieldSpec + ",1,4)";
     }
 
     /**
-     * General remark on the use of GLOB instead of 'strftime(format, date)':
-     * strftime() only works on full date(time) strings. i.e. 'YYYY-MM-DD*'
-     * for all other formats, it will fail to extract the fields.
-     * <p>
-     * Create a GLOB expression to get the 'year' from a text date field in a standard way.
-     * <p>
-     * Just look for 4 leading numbers. We don't care about anything else.
-     * <p>
-     * See <a href="https://www.sqlitetutorial.net/sqlite-glob/">sqlite-glob</a>
+     * Get the 'month' from a normalized date column.
      *
-     * @param fieldSpec fully qualified field name
-     * @param toLocal   if set, first convert the fieldSpec to local time from UTC
+     * @param fieldSpec fully qualified field name of a normalized date column
      *
      * @return expression
      */
     @NonNull
-    private static String year(@NonNull String fieldSpec,
-                               final boolean toLocal) {
-
-        if (toLocal) {
-            fieldSpec = localDateTimeExpression(fieldSpec);
-        }
-        return CASE_WHEN_ + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]*'"
-               + " THEN SUBSTR(" + fieldSpec + ",1,4)"
-               // invalid
-               + " ELSE ''"
-               + _END;
+    private static String month(@NonNull final String fieldSpec) {
+        return "SUBSTR(" + fieldSpec + ",6,2)";
     }
 
     /**
-     * Create a GLOB expression to get the 'month' from a text date field in a standard way.
-     * <p>
-     * Just look for 4 leading numbers followed by '-' and by 2 or 1 digit.
-     * We don't care about anything else.
+     * Get the 'day' from a normalized date column.
      *
-     * @param fieldSpec fully qualified field name
-     * @param toLocal   if set, first convert the fieldSpec to local time from UTC
+     * @param fieldSpec fully qualified field name of a normalized date column
      *
      * @return expression
      */
     @NonNull
-    private static String month(@NonNull String fieldSpec,
-                                final boolean toLocal) {
-        if (toLocal) {
-            fieldSpec = localDateTimeExpression(fieldSpec);
-        }
-        // YYYY-MM or YYYY-M
-        return CASE_WHEN_ + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9][0-9]*'"
-               + " THEN SUBSTR(" + fieldSpec + ",6,2)"
-               + _WHEN_ + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9]*'"
-               + " THEN SUBSTR(" + fieldSpec + ",6,1)"
-               // invalid
-               + " ELSE ''"
-               + _END;
-    }
-
-    /**
-     * Create a GLOB expression to get the 'day' from a text date field in a standard way.
-     * <p>
-     * Just look for 4 leading numbers followed by '-' and by 2 or 1 digit,
-     * and then by '-' and 1 or two digits.
-     * We don't care about anything else.
-     *
-     * @param fieldSpec fully qualified field name
-     * @param toLocal   if set, first convert the fieldSpec to local time from UTC
-     *
-     * @return expression
-     */
-    @NonNull
-    private static String day(@NonNull String fieldSpec,
-                              @SuppressWarnings("SameParameterValue") final boolean toLocal) {
-        if (toLocal) {
-            fieldSpec = localDateTimeExpression(fieldSpec);
-        }
-        // Look for 4 leading numbers followed by 2 or 1 digit then another 2 or 1 digit.
-        // YYYY-MM-DD or YYYY-M-DD or YYYY-MM-D or YYYY-M-D
-        return CASE_WHEN_ + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9][0-9]-[0-9][0-9]*'"
-               + " THEN SUBSTR(" + fieldSpec + ",9,2)"
-               //
-               + _WHEN_ + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9]-[0-9][0-9]*'"
-               + " THEN SUBSTR(" + fieldSpec + ",8,2)"
-               //
-               + _WHEN_ + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9][0-9]-[0-9]*'"
-               + " THEN SUBSTR(" + fieldSpec + ",9,1)"
-               //
-               + _WHEN_ + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9]-[0-9]*'"
-               + " THEN SUBSTR(" + fieldSpec + ",8,1)"
-               // invalid
-               + " ELSE ''"
-               + _END;
+    private static String day(@NonNull final String fieldSpec) {
+        return "SUBSTR(" + fieldSpec + ",9,2)";
     }
 
     /**
@@ -481,7 +402,7 @@ public class BooklistGroup {
                 // UTC. Formatting is done after fetching.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_pub_y", ColumnInfo.TYPE_INTEGER).build(),
-                        year(TBL_BOOKS.dot(DBKey.BOOK_PUBLICATION__DATE), false),
+                        year(TBL_BOOKS.dot(DBKey.KEY_DATE_PUBLISHED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_publication_year, "yrp", keyDomain)
                         .addBaseDomain(DATE_PUBLISHED);
@@ -490,7 +411,7 @@ public class BooklistGroup {
                 // UTC. Formatting is done after fetching.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_pub_m", ColumnInfo.TYPE_INTEGER).build(),
-                        month(TBL_BOOKS.dot(DBKey.BOOK_PUBLICATION__DATE), false),
+                        month(TBL_BOOKS.dot(DBKey.KEY_DATE_PUBLISHED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_publication_month, "mp", keyDomain)
                         .addBaseDomain(DATE_PUBLISHED);
@@ -501,7 +422,7 @@ public class BooklistGroup {
                 // UTC. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_1pub_y", ColumnInfo.TYPE_INTEGER).build(),
-                        year(TBL_BOOKS.dot(DBKey.FIRST_PUBLICATION__DATE), false),
+                        year(TBL_BOOKS.dot(DBKey.KEY_FIRST_PUBLICATION_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_first_pub_year, "yfp", keyDomain)
                         .addBaseDomain(DATE_FIRST_PUBLICATION);
@@ -510,7 +431,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done after fetching.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_1pub_m", ColumnInfo.TYPE_INTEGER).build(),
-                        month(TBL_BOOKS.dot(DBKey.FIRST_PUBLICATION__DATE), false),
+                        month(TBL_BOOKS.dot(DBKey.KEY_FIRST_PUBLICATION_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_first_pub_month, "mfp", keyDomain)
                         .addBaseDomain(DATE_FIRST_PUBLICATION);
@@ -521,7 +442,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_acq_y", ColumnInfo.TYPE_INTEGER).build(),
-                        year(TBL_BOOKS.dot(DBKey.DATE_ACQUIRED), true),
+                        year(TBL_BOOKS.dot(DBKey.KEY_DATE_ACQUIRED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_date_acquired_year, "yac", keyDomain)
                         .addBaseDomain(DATE_ACQUIRED);
@@ -530,7 +451,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done after fetching.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_acq_m", ColumnInfo.TYPE_INTEGER).build(),
-                        month(TBL_BOOKS.dot(DBKey.DATE_ACQUIRED), true),
+                        month(TBL_BOOKS.dot(DBKey.KEY_DATE_ACQUIRED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_date_acquired_month, "mac", keyDomain)
                         .addBaseDomain(DATE_ACQUIRED);
@@ -539,7 +460,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_acq_d", ColumnInfo.TYPE_INTEGER).build(),
-                        day(TBL_BOOKS.dot(DBKey.DATE_ACQUIRED), true),
+                        day(TBL_BOOKS.dot(DBKey.KEY_DATE_ACQUIRED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_date_acquired_day, "dac", keyDomain)
                         .addBaseDomain(DATE_ACQUIRED);
@@ -550,7 +471,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_add_y", ColumnInfo.TYPE_INTEGER).build(),
-                        year(TBL_BOOKS.dot(DBKey.DATE_ADDED__UTC), true),
+                        year(TBL_BOOKS.dot(DBKey.KEY_DATE_ADDED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_added_year, "ya", keyDomain)
                         .addBaseDomain(DATE_ADDED);
@@ -559,7 +480,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done after fetching.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_add_m", ColumnInfo.TYPE_INTEGER).build(),
-                        month(TBL_BOOKS.dot(DBKey.DATE_ADDED__UTC), true),
+                        month(TBL_BOOKS.dot(DBKey.KEY_DATE_ADDED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_added_month, "ma", keyDomain)
                         .addBaseDomain(DATE_ADDED);
@@ -568,7 +489,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_add_d", ColumnInfo.TYPE_INTEGER).build(),
-                        day(TBL_BOOKS.dot(DBKey.DATE_ADDED__UTC), true),
+                        day(TBL_BOOKS.dot(DBKey.KEY_DATE_ADDED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_added_day, "da", keyDomain)
                         .addBaseDomain(DATE_ADDED);
@@ -579,7 +500,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_upd_y", ColumnInfo.TYPE_INTEGER).build(),
-                        year(TBL_BOOKS.dot(DBKey.DATE_LAST_UPDATED__UTC), true),
+                        year(TBL_BOOKS.dot(DBKey.KEY_DATE_LAST_UPDATED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_update_year, "yu", keyDomain)
                         .addBaseDomain(DATE_LAST_UPDATED);
@@ -588,7 +509,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done after fetching.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_upd_m", ColumnInfo.TYPE_INTEGER).build(),
-                        month(TBL_BOOKS.dot(DBKey.DATE_LAST_UPDATED__UTC), true),
+                        month(TBL_BOOKS.dot(DBKey.KEY_DATE_LAST_UPDATED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_update_month, "mu", keyDomain)
                         .addBaseDomain(DATE_LAST_UPDATED);
@@ -597,7 +518,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_upd_d", ColumnInfo.TYPE_INTEGER).build(),
-                        day(TBL_BOOKS.dot(DBKey.DATE_LAST_UPDATED__UTC), true),
+                        day(TBL_BOOKS.dot(DBKey.KEY_DATE_LAST_UPDATED_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_update_day, "du", keyDomain)
                         .addBaseDomain(DATE_LAST_UPDATED);
@@ -608,7 +529,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_rd_y", ColumnInfo.TYPE_INTEGER).build(),
-                        year(TBL_BOOKS.dot(DBKey.READ_END__DATE), true),
+                        year(TBL_BOOKS.dot(DBKey.KEY_READ_END_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_read_year, "yr", keyDomain)
                         .addBaseDomain(DATE_READ_END)
@@ -618,7 +539,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done after fetching.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_rd_m", ColumnInfo.TYPE_INTEGER).build(),
-                        month(TBL_BOOKS.dot(DBKey.READ_END__DATE), true),
+                        month(TBL_BOOKS.dot(DBKey.KEY_READ_END_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_read_month, "mr", keyDomain)
                         .addBaseDomain(DATE_READ_END)
@@ -628,7 +549,7 @@ public class BooklistGroup {
                 // Local for the user. Formatting is done in the sql expression.
                 final DomainExpression keyDomain = new DomainExpression(
                         new Domain.Builder("blg_rd_d", ColumnInfo.TYPE_INTEGER).build(),
-                        day(TBL_BOOKS.dot(DBKey.READ_END__DATE), true),
+                        day(TBL_BOOKS.dot(DBKey.KEY_READ_END_OB)),
                         DomainExpression.SORT_DESC);
                 return new GroupKey(R.string.lbl_read_day, "dr", keyDomain)
                         .addBaseDomain(DATE_READ_END)
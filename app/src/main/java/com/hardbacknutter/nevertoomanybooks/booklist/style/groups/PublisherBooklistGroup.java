@@ -36,7 +36,7 @@ import com.hardbacknutter.nevertoomanybooks.entities.Publisher;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.DOM_FK_PUBLISHER;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_PUBLISHER;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_PUBLISHERS;
-import static com.hardbacknutter.nevertoomanybooks.database.DBKey.KEY_PUBLISHER_NAME_OB;
+import static com.hardbacknutter.nevertoomanybooks.database.DBKey.KEY_PUBLISHER_NAME_CK;
 
 /**
  * Specialized BooklistGroup representing a {@link Publisher} group.
@@ -50,11 +50,11 @@ public class PublisherBooklistGroup
 
     public static final boolean DEFAULT_SHOW_BOOKS_UNDER_EACH = false;
 
-    /** For sorting. */
+    /** For sorting. Binary collation key. */
     private static final Domain DOM_SORTING;
 
     static {
-        DOM_SORTING = new Domain.Builder(DBKey.KEY_BL_PUBLISHER_SORT, ColumnInfo.TYPE_TEXT)
+        DOM_SORTING = new Domain.Builder(DBKey.KEY_BL_PUBLISHER_SORT, ColumnInfo.TYPE_BLOB)
                 .build();
     }
 
@@ -89,9 +89,9 @@ public class PublisherBooklistGroup
                             new DomainExpression(DOM_FK_PUBLISHER,
                                                  TBL_PUBLISHERS.dot(DBKey.PK_ID)))
                 .addGroupDomain(
-                        // We do not sort on the key domain but add the OB column instead
+                        // We do not sort on the key domain but on the collation key
                         new DomainExpression(DOM_SORTING,
-                                             TBL_PUBLISHERS.dot(KEY_PUBLISHER_NAME_OB),
+                                             TBL_PUBLISHERS.dot(KEY_PUBLISHER_NAME_CK),
                                              DomainExpression.SORT_ASC))
                 .addGroupDomain(
                         // Group by id (we want the id available and there is
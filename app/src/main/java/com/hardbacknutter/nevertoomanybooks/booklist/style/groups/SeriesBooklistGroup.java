@@ -39,7 +39,7 @@ import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.DOM_FK
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.DOM_SERIES_IS_COMPLETE;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_SERIES;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_SERIES;
-import static com.hardbacknutter.nevertoomanybooks.database.DBKey.KEY_SERIES_TITLE_OB;
+import static com.hardbacknutter.nevertoomanybooks.database.DBKey.KEY_SERIES_TITLE_CK;
 
 
 /**
@@ -54,11 +54,11 @@ public class SeriesBooklistGroup
 
     public static final boolean DEFAULT_SHOW_BOOKS_UNDER_EACH = false;
 
-    /** For sorting. */
+    /** For sorting. Binary collation key. */
     private static final Domain DOM_SORTING;
 
     static {
-        DOM_SORTING = new Domain.Builder(DBKey.KEY_BL_SERIES_SORT, ColumnInfo.TYPE_TEXT)
+        DOM_SORTING = new Domain.Builder(DBKey.KEY_BL_SERIES_SORT, ColumnInfo.TYPE_BLOB)
                 .build();
     }
 
@@ -93,9 +93,9 @@ public class SeriesBooklistGroup
                             new DomainExpression(DOM_FK_SERIES,
                                                  TBL_SERIES.dot(DBKey.PK_ID)))
                 .addGroupDomain(
-                        // We do not sort on the key domain but add the OB column instead
+                        // We do not sort on the key domain but on the collation key
                         new DomainExpression(DOM_SORTING,
-                                             TBL_SERIES.dot(KEY_SERIES_TITLE_OB),
+                                             TBL_SERIES.dot(KEY_SERIES_TITLE_CK),
                                              DomainExpression.SORT_ASC))
                 .addGroupDomain(
                         // Group by id (we want the id available and there is
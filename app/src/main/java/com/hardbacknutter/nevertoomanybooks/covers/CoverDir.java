@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.util.List;
 
 import com.hardbacknutter.nevertoomanybooks.BuildConfig;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.debug.Logger;
 import com.hardbacknutter.nevertoomanybooks.settings.Prefs;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.CoverStorageException;
@@ -169,6 +170,9 @@ public final class CoverDir {
         // Make sure we can get the directory, no need to create.
         final File coverDir = getDir(context);
 
+        // The directory might have changed; force a rescan on next use.
+        ServiceLocator.getInstance().getCoverRegistry().clear();
+
         // Prevent thumbnails showing up in the device Image Gallery.
         final File mif = new File(coverDir, MediaStore.MEDIA_IGNORE_FILENAME);
         if (!mif.exists()) {
@@ -0,0 +1,319 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.covers;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.hardbacknutter.nevertoomanybooks.BuildConfig;
+import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
+import com.hardbacknutter.nevertoomanybooks.R;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.debug.Logger;
+import com.hardbacknutter.nevertoomanybooks.settings.Prefs;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
+import com.hardbacknutter.nevertoomanybooks.tasks.MTask;
+import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
+import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
+
+/**
+ * Recompress the cover files which are larger than the user configured maximum size,
+ * or which are stored PNG encoded (e.g. after cropping/rotating).
+ * <p>
+ * A file is only replaced if the result is smaller than the original,
+ * and the original was not modified while we were busy with it.
+ * The last-modified date of the original is preserved, so the backup
+ * "only newer" logic and the resized-images cache are not affected.
+ * A PNG file is replaced by a JPEG file with the same base name.
+ * <p>
+ * The files are spread over as many threads as there are processors.
+ */
+public class CoverRecompressTask
+        extends MTask<CoverRecompressTask.Outcome> {
+
+    /** Default for {@link Prefs#pk_image_recompress_max_size}. */
+    public static final int DEFAULT_MAX_SIZE = 1500;
+    /** Default for {@link Prefs#pk_image_recompress_quality}. */
+    public static final int DEFAULT_QUALITY = 80;
+
+    /** Log tag. */
+    private static final String TAG = "CoverRecompressTask";
+    /** Prefix for the temporary files. They end on '.jpg' for the temp-dir cleanup. */
+    private static final String TMP_PREFIX = "recompress_";
+    private static final String MIME_PNG = "image/png";
+    private static final String EXT_JPG = ".jpg";
+    private static final String EXT_PNG = ".png";
+
+    /** The longest side in pixels. */
+    private int maxSize;
+    /** JPEG quality 0..100. */
+    private int quality;
+
+    /**
+     * Constructor.
+     */
+    @UiThread
+    public CoverRecompressTask() {
+        super(R.id.TASK_ID_COVER_RECOMPRESS, TAG);
+    }
+
+    /**
+     * Start the task using the current preferences.
+     *
+     * @param context Current context
+     */
+    @UiThread
+    public void start(@NonNull final Context context) {
+        maxSize = Prefs.getIntListPref(context, Prefs.pk_image_recompress_max_size,
+                                       DEFAULT_MAX_SIZE);
+        quality = Prefs.getIntListPref(context, Prefs.pk_image_recompress_quality,
+                                       DEFAULT_QUALITY);
+        execute();
+    }
+
+    @NonNull
+    @Override
+    @WorkerThread
+    protected Outcome doWork(@NonNull final Context context)
+            throws StorageException {
+
+        publishProgress(0, context.getString(R.string.progress_msg_please_wait));
+
+        final Outcome outcome = new Outcome();
+
+        final File tmpDir = CoverDir.getTemp(context);
+        final File[] files = CoverDir.getDir(context).listFiles(file -> {
+            final String name = file.getName();
+            return file.isFile() && (name.endsWith(EXT_JPG) || name.endsWith(EXT_PNG));
+        });
+        if (files == null || files.length == 0) {
+            return outcome;
+        }
+
+        setMaxPos(files.length);
+        final CoverRegistry coverRegistry = ServiceLocator.getInstance().getCoverRegistry();
+
+        final long t0 = System.nanoTime();
+
+        final int nrOfThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        final AtomicInteger next = new AtomicInteger();
+
+        // Use a dedicated pool; the number of files can be huge,
+        // and we don't want to starve the shared executors.
+        final ExecutorService executor = ASyncExecutor.create(TAG, nrOfThreads);
+        try {
+            final Collection<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < nrOfThreads; t++) {
+                futures.add(executor.submit(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    int i;
+                    while (!isCancelled() && (i = next.getAndIncrement()) < files.length) {
+                        final File file = files[i];
+                        try {
+                            final long saved = recompress(file, tmpDir, coverRegistry);
+                            if (saved > 0) {
+                                outcome.add(saved);
+                            }
+                        } catch (@NonNull final IOException | RuntimeException e) {
+                            // log and skip this file; the original is untouched.
+                            Logger.error(TAG, e, file);
+                        }
+                        synchronized (this) {
+                            publishProgress(1, null);
+                        }
+                    }
+                }));
+            }
+
+            for (final Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (@NonNull final ExecutionException e) {
+                    Logger.error(TAG, e);
+                } catch (@NonNull final InterruptedException e) {
+                    // stop the workers from picking up the next file
+                    cancel();
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (BuildConfig.DEBUG && DEBUG_SWITCHES.COVERS) {
+            Logger.d(TAG, "doWork", "files=" + files.length
+                                    + "|" + outcome
+                                    + "|" + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        }
+        return outcome;
+    }
+
+    /**
+     * Recompress a single file if needed.
+     *
+     * @param file          to process
+     * @param tmpDir        where to write the new file before replacing the original
+     * @param coverRegistry to update with the new file
+     *
+     * @return the number of bytes saved; {@code 0} if the file was not changed
+     *
+     * @throws IOException on failure
+     */
+    @WorkerThread
+    private long recompress(@NonNull final File file,
+                            @NonNull final File tmpDir,
+                            @NonNull final CoverRegistry coverRegistry)
+            throws IOException {
+
+        // Used to detect the file being replaced (e.g. by the user) while we're busy.
+        final long length = file.length();
+        final long lastModified = file.lastModified();
+
+        // The result is always a JPEG; a PNG is replaced by a '.jpg' file.
+        final String name = file.getName();
+        final File target;
+        if (name.endsWith(EXT_PNG)) {
+            target = new File(file.getParentFile(),
+                              name.substring(0, name.length() - EXT_PNG.length()) + EXT_JPG);
+            if (target.exists()) {
+                // The jpg takes precedence anyhow; leave it to the cleanup.
+                return 0;
+            }
+        } else {
+            target = file;
+        }
+
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(file.getAbsolutePath(), options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            // not an image we can decode; leave it alone
+            return 0;
+        }
+
+        final boolean tooLarge = Math.max(options.outWidth, options.outHeight) > maxSize;
+        if (!tooLarge && !MIME_PNG.equals(options.outMimeType)) {
+            return 0;
+        }
+
+        final Bitmap source = ImageUtils.decodeFile(file, maxSize, maxSize);
+        if (source == null) {
+            return 0;
+        }
+        final Bitmap bitmap = ImageUtils.scaleToFit(source, maxSize);
+
+        final File tmpFile = new File(tmpDir, TMP_PREFIX + name + EXT_JPG);
+        try {
+            final boolean written;
+            try (OutputStream os = new FileOutputStream(tmpFile)) {
+                written = bitmap.compress(Bitmap.CompressFormat.JPEG, quality, os);
+            } finally {
+                if (bitmap != source) {
+                    bitmap.recycle();
+                }
+                source.recycle();
+            }
+
+            final long after = tmpFile.length();
+            if (!written || after == 0 || after >= length) {
+                return 0;
+            }
+
+            // Don't overwrite a file which was changed after we decoded it.
+            if (file.length() != length || file.lastModified() != lastModified) {
+                return 0;
+            }
+
+            // keep the original date; see class docs
+            //noinspection ResultOfMethodCallIgnored
+            tmpFile.setLastModified(lastModified);
+            FileUtils.rename(tmpFile, target);
+            coverRegistry.refresh(target);
+            if (!target.equals(file)) {
+                FileUtils.delete(file);
+                coverRegistry.refresh(file);
+            }
+            return length - after;
+
+        } finally {
+            FileUtils.delete(tmpFile);
+        }
+    }
+
+    /**
+     * The totals for a run of the task.
+     */
+    public static class Outcome {
+
+        private final AtomicInteger files = new AtomicInteger();
+        private final AtomicLong bytesSaved = new AtomicLong();
+
+        void add(final long saved) {
+            files.incrementAndGet();
+            bytesSaved.addAndGet(saved);
+        }
+
+        /**
+         * Get the number of files which were recompressed.
+         *
+         * @return count
+         */
+        public int getFiles() {
+            return files.get();
+        }
+
+        /**
+         * Get the total amount of space saved.
+         *
+         * @return bytes
+         */
+        public long getBytesSaved() {
+            return bytesSaved.get();
+        }
+
+        @Override
+        @NonNull
+        public String toString() {
+            return "Outcome{"
+                   + "files=" + files
+                   + ", bytesSaved=" + bytesSaved
+                   + '}';
+        }
+    }
+}
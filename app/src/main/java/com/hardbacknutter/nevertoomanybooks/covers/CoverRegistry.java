@@ -0,0 +1,409 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.covers;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.AnyThread;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.hardbacknutter.nevertoomanybooks.BuildConfig;
+import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
+import com.hardbacknutter.nevertoomanybooks.debug.Logger;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
+import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
+import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
+
+/**
+ * In-memory index of the persisted cover files in the {@link CoverDir} directory.
+ * <p>
+ * The directory is scanned once in the background, after which looking up a cover is
+ * a simple map lookup instead of one or two {@link File#exists()} calls
+ * and a {@link File#lastModified()} call.
+ * The scan should be started at startup with {@link #prewarm(Context)}.
+ * Until it's done, lookups check the file system for the single cover requested.
+ * <p>
+ * All code which creates or deletes files in the {@link CoverDir} directory
+ * <strong>must</strong> keep the registry up to date by calling {@link #refresh(File)},
+ * {@link #delete(String, int)} or {@link #clear()}.
+ */
+public class CoverRegistry {
+
+    /** Log tag. */
+    private static final String TAG = "CoverRegistry";
+
+    private static final String JPG = ".jpg";
+    private static final String PNG = ".png";
+
+    /** Key: the cover file name without extension. See {@link #createName(String, int)}. */
+    private final Map<String, Entry> covers = new ConcurrentHashMap<>();
+
+    /**
+     * Names refreshed while a scan was running.
+     * The scan result for these is outdated, the entry in {@link #covers} is not.
+     */
+    private final Set<String> refreshedWhileScanning = ConcurrentHashMap.newKeySet();
+
+    /** Set once the directory has been scanned. */
+    private volatile boolean scanned;
+    /** Set while a scan is running. Protected by the lock on {@link #covers}. */
+    private boolean scanning;
+    /** Incremented by {@link #clear()}, so a running scan knows its result is obsolete. */
+    private int generation;
+
+    /**
+     * Create the base name (i.e. without extension) for a cover file.
+     * <p>
+     * Name format: "{uuid}" or "{uuid}_{cIdx}".
+     * The index only gets appended to the name if it's > 0.
+     *
+     * @param uuid UUID of the book
+     * @param cIdx 0..n image index
+     *
+     * @return name
+     */
+    @NonNull
+    public static String createName(@NonNull final String uuid,
+                                    @IntRange(from = 0, to = 1) final int cIdx) {
+        if (cIdx > 0) {
+            return uuid + "_" + cIdx;
+        } else {
+            return uuid;
+        }
+    }
+
+    /**
+     * Get the base name (i.e. without extension) for the given cover file name.
+     *
+     * @param fileName to check
+     *
+     * @return the name without extension, or {@code null} if the file is not a cover
+     */
+    @Nullable
+    public static String getBaseName(@NonNull final String fileName) {
+        if (fileName.endsWith(JPG) || fileName.endsWith(PNG)) {
+            return fileName.substring(0, fileName.length() - JPG.length());
+        }
+        return null;
+    }
+
+    /**
+     * Get the book uuid from the given base name.
+     * This is the reverse of {@link #createName(String, int)}.
+     *
+     * @param baseName as returned from {@link #getBaseName(String)}
+     *
+     * @return uuid
+     */
+    @NonNull
+    public static String getUuid(@NonNull final String baseName) {
+        // The index is only appended to the name if it's > 0.
+        if (getCoverIndex(baseName) > 0) {
+            return baseName.substring(0, baseName.lastIndexOf('_'));
+        }
+        return baseName;
+    }
+
+    /**
+     * Get the cover index from the given base name.
+     * This is the reverse of {@link #createName(String, int)}.
+     *
+     * @param baseName as returned from {@link #getBaseName(String)}
+     *
+     * @return 0..n image index
+     */
+    public static int getCoverIndex(@NonNull final String baseName) {
+        final int pos = baseName.lastIndexOf('_');
+        if (pos > 0) {
+            try {
+                return Integer.parseInt(baseName.substring(pos + 1));
+            } catch (@NonNull final NumberFormatException ignore) {
+                // not a cover index
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Start scanning the {@link CoverDir} directory in the background,
+     * unless it's already scanned or being scanned.
+     *
+     * @param context Current context
+     */
+    @AnyThread
+    public void prewarm(@NonNull final Context context) {
+        final Context appContext = context.getApplicationContext();
+        final int scanGeneration;
+        synchronized (covers) {
+            if (scanned || scanning) {
+                return;
+            }
+            scanning = true;
+            refreshedWhileScanning.clear();
+            scanGeneration = generation;
+        }
+        ASyncExecutor.SERVICE.execute(() -> scan(appContext, scanGeneration));
+    }
+
+    /**
+     * Get the cover for the given uuid.
+     * <p>
+     * Any {@link StorageException} is <strong>IGNORED</strong>
+     *
+     * @param context Current context
+     * @param uuid    UUID of the book
+     * @param cIdx    0..n image index
+     *
+     * @return the entry
+     */
+    @AnyThread
+    @NonNull
+    public Optional<Entry> get(@NonNull final Context context,
+                               @NonNull final String uuid,
+                               @IntRange(from = 0, to = 1) final int cIdx) {
+        final String name = createName(uuid, cIdx);
+        if (scanned) {
+            return Optional.ofNullable(covers.get(name));
+        }
+
+        // Don't wait for the scan, just check the files for this one cover.
+        prewarm(context);
+        try {
+            final File dir = CoverDir.getDir(context);
+            // a jpg takes precedence over a png with the same name.
+            File file = new File(dir, name + JPG);
+            if (!file.exists()) {
+                file = new File(dir, name + PNG);
+                if (!file.exists()) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(new Entry(file));
+
+        } catch (@NonNull final StorageException e) {
+            if (BuildConfig.DEBUG /* always */) {
+                Log.d(TAG, "get", e);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Update the entry for the given file after it was created, replaced or deleted.
+     * Files which are not a cover are ignored.
+     *
+     * @param file the cover file
+     */
+    @AnyThread
+    public void refresh(@NonNull final File file) {
+        final String name = getName(file);
+        if (name == null) {
+            return;
+        }
+
+        if (!scanned) {
+            refreshedWhileScanning.add(name);
+        }
+
+        if (file.exists()) {
+            final Entry current = covers.get(name);
+            // a jpg takes precedence over a png with the same name.
+            if (current == null
+                || current.file.equals(file)
+                || file.getName().endsWith(JPG)
+                || !current.file.exists()) {
+                covers.put(name, new Entry(file));
+            }
+        } else {
+            final Entry current = covers.get(name);
+            if (current != null && current.file.equals(file)) {
+                covers.remove(name);
+                // could be there was a png as well.
+                final File png = new File(file.getParentFile(), name + PNG);
+                if (!png.equals(file) && png.exists()) {
+                    covers.put(name, new Entry(png));
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete the cover file(s) for the given uuid.
+     *
+     * @param context Current context
+     * @param uuid    UUID of the book
+     * @param cIdx    0..n image index
+     */
+    @AnyThread
+    public void delete(@NonNull final Context context,
+                       @NonNull final String uuid,
+                       @IntRange(from = 0, to = 1) final int cIdx) {
+        // the loop handles the (theoretical) case of having both a jpg and a png file.
+        Optional<Entry> entry = get(context, uuid, cIdx);
+        while (entry.isPresent()) {
+            final File file = entry.get().file;
+            FileUtils.delete(file);
+            refresh(file);
+
+            final Optional<Entry> next = get(context, uuid, cIdx);
+            if (next.isPresent() && next.get().file.equals(file)) {
+                // failed to delete; don't loop forever.
+                return;
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * Forget all entries. The directory will be rescanned on the next access.
+     * <p>
+     * Must be called whenever the location of the {@link CoverDir} changes,
+     * or when files were created/deleted in bulk.
+     */
+    @AnyThread
+    public void clear() {
+        synchronized (covers) {
+            generation++;
+            scanned = false;
+            scanning = false;
+            covers.clear();
+        }
+    }
+
+    /**
+     * Scan the directory. The file system is read without holding a lock;
+     * the result is merged with any entries refreshed in the meantime.
+     *
+     * @param context        Current context
+     * @param scanGeneration the value of {@link #generation} when the scan was started
+     */
+    private void scan(@NonNull final Context context,
+                      final int scanGeneration) {
+        final long t0 = System.nanoTime();
+        final Map<String, Entry> found = new HashMap<>();
+        try {
+            final File[] files = CoverDir.getDir(context).listFiles(File::isFile);
+            if (files != null) {
+                for (final File file : files) {
+                    final String name = getName(file);
+                    if (name != null) {
+                        // a jpg takes precedence over a png with the same name.
+                        if (!found.containsKey(name) || file.getName().endsWith(JPG)) {
+                            found.put(name, new Entry(file));
+                        }
+                    }
+                }
+            }
+        } catch (@NonNull final StorageException e) {
+            if (BuildConfig.DEBUG /* always */) {
+                Log.d(TAG, "scan", e);
+            }
+            synchronized (covers) {
+                if (scanGeneration == generation) {
+                    // try again on the next lookup
+                    scanning = false;
+                }
+            }
+            return;
+        }
+
+        synchronized (covers) {
+            if (scanGeneration != generation) {
+                // cleared while we were scanning; the result is obsolete.
+                return;
+            }
+            found.forEach((name, entry) -> {
+                if (!refreshedWhileScanning.contains(name)) {
+                    covers.put(name, entry);
+                }
+            });
+            refreshedWhileScanning.clear();
+            scanned = true;
+            scanning = false;
+        }
+
+        if (BuildConfig.DEBUG && DEBUG_SWITCHES.COVERS) {
+            Logger.d(TAG, "scan", "covers=" + covers.size()
+                                  + "|" + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        }
+    }
+
+    /**
+     * Get the base name for the given file.
+     *
+     * @param file to check
+     *
+     * @return the name without extension, or {@code null} if the file is not a cover
+     */
+    @Nullable
+    private String getName(@NonNull final File file) {
+        return getBaseName(file.getName());
+    }
+
+    /**
+     * Immutable snapshot of the file attributes at the time the file was registered.
+     */
+    public static final class Entry {
+
+        @NonNull
+        private final File file;
+        private final long length;
+        private final long lastModified;
+
+        Entry(@NonNull final File file) {
+            this.file = file;
+            length = file.length();
+            lastModified = file.lastModified();
+        }
+
+        @NonNull
+        public File getFile() {
+            return file;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        @Override
+        @NonNull
+        public String toString() {
+            return "Entry{"
+                   + "file=" + file
+                   + ", length=" + length
+                   + ", lastModified=" + lastModified
+                   + '}';
+        }
+    }
+}
@@ -41,6 +41,7 @@ import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.debug.Logger;
 import com.hardbacknutter.nevertoomanybooks.debug.TestFlags;
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
 import com.hardbacknutter.nevertoomanybooks.network.FutureHttpGet;
 import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.DiskFullException;
@@ -125,7 +126,7 @@ public class ImageDownloader {
             } else {
                 savedFile = futureHttpGet.get(url, request -> {
                     try (BufferedInputStream bis = new BufferedInputStream(
-                            request.getInputStream())) {
+                            FutureHttpBase.getInputStream(request))) {
                         return ImageUtils.copy(bis, destination);
                     } catch (@NonNull final StorageException e) {
                         throw new UncheckedStorageException(e);
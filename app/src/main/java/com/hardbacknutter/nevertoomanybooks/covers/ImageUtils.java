@@ -146,6 +146,29 @@ public final class ImageUtils {
         return BitmapFactory.decodeFile(srcFile.getAbsolutePath(), options);
     }
 
+    /**
+     * Scale the given bitmap down to fit a square box, preserving the aspect ratio.
+     *
+     * @param bitmap to scale
+     * @param size   of the box
+     *
+     * @return the scaled bitmap, or the original if it already fits
+     */
+    @NonNull
+    static Bitmap scaleToFit(@NonNull final Bitmap bitmap,
+                             final int size) {
+        final int width = bitmap.getWidth();
+        final int height = bitmap.getHeight();
+        final float scale = Math.min((float) size / width, (float) size / height);
+        if (scale >= 1) {
+            return bitmap;
+        }
+        return Bitmap.createScaledBitmap(bitmap,
+                                         Math.max(1, Math.round(width * scale)),
+                                         Math.max(1, Math.round(height * scale)),
+                                         true);
+    }
+
     /**
      * Write out to the destination file
      *
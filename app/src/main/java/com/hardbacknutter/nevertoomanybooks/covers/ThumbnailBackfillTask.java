@@ -0,0 +1,165 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.covers;
+
+import android.content.Context;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+import androidx.annotation.WorkerThread;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hardbacknutter.nevertoomanybooks.BuildConfig;
+import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
+import com.hardbacknutter.nevertoomanybooks.R;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.database.dao.CoverCacheDao;
+import com.hardbacknutter.nevertoomanybooks.debug.Logger;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
+import com.hardbacknutter.nevertoomanybooks.tasks.MTask;
+
+/**
+ * Generate the missing or outdated list thumbnails for all books.
+ * <p>
+ * The books are spread over as many threads as there are processors.
+ * The workers run on their own executor, which is shut down when done,
+ * so we never wait on work queued behind ourselves on a shared executor.
+ * <p>
+ * Does nothing if image caching is disabled.
+ */
+public class ThumbnailBackfillTask
+        extends MTask<Integer> {
+
+    /** Log tag. */
+    private static final String TAG = "ThumbnailBackfillTask";
+
+    /**
+     * Constructor.
+     */
+    @UiThread
+    public ThumbnailBackfillTask() {
+        super(R.id.TASK_ID_THUMBNAIL_BACKFILL, TAG);
+    }
+
+    /**
+     * Start the task.
+     */
+    @UiThread
+    public void start() {
+        execute();
+    }
+
+    /**
+     * Do the work.
+     *
+     * @param context The localised Application context
+     *
+     * @return the number of covers for which thumbnails were generated
+     */
+    @NonNull
+    @Override
+    @WorkerThread
+    protected Integer doWork(@NonNull final Context context) {
+
+        publishProgress(0, context.getString(R.string.progress_msg_please_wait));
+
+        if (!ImageUtils.isImageCachingEnabled()) {
+            return 0;
+        }
+
+        final Set<Integer> sizes = ThumbnailGenerator.getSizes(context);
+        if (sizes.isEmpty()) {
+            return 0;
+        }
+
+        final ServiceLocator serviceLocator = ServiceLocator.getInstance();
+        final CoverRegistry coverRegistry = serviceLocator.getCoverRegistry();
+        final CoverCacheDao coverCacheDao = serviceLocator.getCoverCacheDao();
+        final List<String> uuidList = serviceLocator.getBookDao().getBookUuidList();
+
+        setMaxPos(uuidList.size());
+
+        final long t0 = System.nanoTime();
+
+        final int nrOfThreads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger generated = new AtomicInteger();
+
+        final ExecutorService executor = ASyncExecutor.create(TAG, nrOfThreads);
+        try {
+            final Collection<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < nrOfThreads; t++) {
+                futures.add(executor.submit(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    int i;
+                    while (!isCancelled() && (i = next.getAndIncrement()) < uuidList.size()) {
+                        final String uuid = uuidList.get(i);
+                        coverRegistry.get(context, uuid, 0).ifPresent(entry -> {
+                            final List<Integer> missing = new ArrayList<>();
+                            for (final int size : sizes) {
+                                if (!coverCacheDao.isCached(context, uuid, 0, size, size)) {
+                                    missing.add(size);
+                                }
+                            }
+                            if (!missing.isEmpty()
+                                && ThumbnailGenerator.generate(coverCacheDao, uuid, 0,
+                                                               entry.getFile(), missing)) {
+                                generated.incrementAndGet();
+                            }
+                        });
+                        synchronized (this) {
+                            publishProgress(1, null);
+                        }
+                    }
+                }));
+            }
+
+            for (final Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (@NonNull final ExecutionException e) {
+                    Logger.error(TAG, e);
+                } catch (@NonNull final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        if (BuildConfig.DEBUG && DEBUG_SWITCHES.COVERS) {
+            Logger.d(TAG, "doWork", "books=" + uuidList.size()
+                                    + "|generated=" + generated.get()
+                                    + "|" + (System.nanoTime() - t0) / 1_000_000 + " ms");
+        }
+        return generated.get();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.covers;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.os.Process;
+
+import androidx.annotation.AnyThread;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+
+import com.hardbacknutter.nevertoomanybooks.R;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.booklist.style.FieldVisibility;
+import com.hardbacknutter.nevertoomanybooks.booklist.style.Style;
+import com.hardbacknutter.nevertoomanybooks.database.dao.CoverCacheDao;
+import com.hardbacknutter.nevertoomanybooks.debug.Logger;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
+
+/**
+ * Generates the resized covers as used by the booklist,
+ * and stores them in the {@link CoverCacheDao} cache.
+ * <p>
+ * Normally the cache is only filled while the user scrolls the booklist,
+ * i.e. each cover is decoded from the full size file at least once while being displayed.
+ * Generating the thumbnails when a cover is persisted or imported,
+ * takes that work away from the list.
+ * <p>
+ * Only the front cover is shown in the list, so the back cover is ignored.
+ * The book details screen loads its covers from the files and not from the cache,
+ * so no thumbnails are generated for the details sizes.
+ * Nothing is done if image caching is disabled.
+ */
+public final class ThumbnailGenerator {
+
+    /** Log tag. */
+    private static final String TAG = "ThumbnailGenerator";
+
+    /**
+     * Covers persisted/imported are queued, and processed one at a time.
+     * An import can easily persist thousands of covers in a short time.
+     */
+    private static final Executor EXECUTOR = ASyncExecutor.create(TAG);
+
+    private ThumbnailGenerator() {
+    }
+
+    /**
+     * Generate the thumbnails for a cover which was just persisted/imported.
+     * The work is done in a background task.
+     *
+     * @param uuid UUID of the book
+     * @param cIdx 0..n image index
+     * @param file the persisted cover
+     */
+    @AnyThread
+    public static void generate(@NonNull final String uuid,
+                                @IntRange(from = 0, to = 1) final int cIdx,
+                                @NonNull final File file) {
+        if (cIdx != 0 || !ImageUtils.isImageCachingEnabled()) {
+            return;
+        }
+
+        EXECUTOR.execute(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            final Context context = ServiceLocator.getInstance().getLocalizedAppContext();
+            final Set<Integer> sizes = getSizes(context);
+            if (!sizes.isEmpty()) {
+                generate(ServiceLocator.getInstance().getCoverCacheDao(),
+                         uuid, cIdx, file, sizes);
+            }
+        });
+    }
+
+    /**
+     * Generate the thumbnails for a cover file which was just imported.
+     * The file name is used to determine the book UUID and the image index.
+     *
+     * @param file the imported cover
+     */
+    @AnyThread
+    public static void generate(@NonNull final File file) {
+        final String baseName = CoverRegistry.getBaseName(file.getName());
+        if (baseName != null) {
+            generate(CoverRegistry.getUuid(baseName), CoverRegistry.getCoverIndex(baseName),
+                     file);
+        }
+    }
+
+    /**
+     * Get the (distinct) sizes of the covers as shown in the booklist,
+     * for all styles which show covers in the list.
+     *
+     * @param context Current context
+     *
+     * @return the list of the longest side in pixels; sorted largest first
+     */
+    @NonNull
+    static Set<Integer> getSizes(@NonNull final Context context) {
+        final Set<Integer> sizes = new TreeSet<>((a, b) -> Integer.compare(b, a));
+        final TypedArray coverSizes = context
+                .getResources().obtainTypedArray(R.array.cover_book_list_longest_side);
+        try {
+            for (final Style style : ServiceLocator.getInstance().getStyles()
+                                                   .getStyles(context, true)) {
+                if (style.isShowField(Style.Screen.List, FieldVisibility.COVER[0])) {
+                    final int size = coverSizes.getDimensionPixelSize(style.getCoverScale(), 0);
+                    if (size > 0) {
+                        sizes.add(size);
+                    }
+                }
+            }
+        } finally {
+            coverSizes.recycle();
+        }
+        return sizes;
+    }
+
+    /**
+     * Decode the given file once, and store a scaled copy for each of the given sizes.
+     * Failures are logged and otherwise ignored; this is just a cache.
+     *
+     * @param coverCacheDao the cache
+     * @param uuid          UUID of the book
+     * @param cIdx          0..n image index
+     * @param file          the persisted cover
+     * @param sizes         the longest side(s) in pixels; largest first
+     *
+     * @return {@code true} if all thumbnails were stored
+     */
+    @WorkerThread
+    static boolean generate(@NonNull final CoverCacheDao coverCacheDao,
+                                 @NonNull final String uuid,
+                                 @IntRange(from = 0, to = 1) final int cIdx,
+                                 @NonNull final File file,
+                                 @NonNull final Collection<Integer> sizes) {
+        final int largest = sizes.iterator().next();
+        final Bitmap source = ImageUtils.decodeFile(file, largest, largest);
+        if (source == null) {
+            return false;
+        }
+
+        try {
+            for (final int size : sizes) {
+                final Bitmap bitmap = ImageUtils.scaleToFit(source, size);
+                try {
+                    coverCacheDao.storeCover(uuid, cIdx, bitmap, size, size);
+                } finally {
+                    if (bitmap != source) {
+                        bitmap.recycle();
+                    }
+                }
+            }
+            return true;
+
+        } catch (@NonNull final RuntimeException e) {
+            // log and skip this cover
+            Logger.error(TAG, e, uuid);
+            return false;
+
+        } finally {
+            source.recycle();
+        }
+    }
+}
@@ -138,6 +138,19 @@ public final class DBDefinitions {
     public static final TableDefinition TBL_BOOKLIST_STYLES;
     /** Keeps track of nodes in the list across application restarts. */
     public static final TableDefinition TBL_BOOK_LIST_NODE_STATE;
+    /**
+     * Describes the Booklist saved for reuse at the next application start.
+     * Contains at most one row, which is deleted by triggers as soon as the
+     * data shown in the list changes.
+     * There are no foreign keys, as the virtual 'All books' shelf can be saved as well.
+     */
+    public static final TableDefinition TBL_BOOK_LIST_SAVED;
+    /**
+     * The state of each cover file as it was last written to, or read from, a backup archive.
+     * A row is only valid as long as the size and last-modified time of the file are unchanged.
+     * There are no foreign keys; the covers are linked to the books by their uuid.
+     */
+    public static final TableDefinition TBL_COVER_MANIFEST;
 
     /** A bridge to a Calibre database. Partially imported data. */
     public static final TableDefinition TBL_CALIBRE_BOOKS;
@@ -210,6 +223,10 @@ public final class DBDefinitions {
     public static final Domain DOM_AUTHOR_GIVEN_NAMES_OB;
     /** {@link #TBL_AUTHORS}. */
     public static final Domain DOM_AUTHOR_IS_COMPLETE;
+    /** {@link #TBL_AUTHORS}. Collation key for sorting; family name first. */
+    public static final Domain DOM_AUTHOR_CK;
+    /** {@link #TBL_AUTHORS}. Collation key for sorting; given names first. */
+    public static final Domain DOM_AUTHOR_GIVEN_FIRST_CK;
 
     /** {@link #TBL_SERIES}. */
     public static final Domain DOM_SERIES_TITLE;
@@ -217,11 +234,15 @@ public final class DBDefinitions {
     public static final Domain DOM_SERIES_TITLE_OB;
     /** {@link #TBL_SERIES}. */
     public static final Domain DOM_SERIES_IS_COMPLETE;
+    /** {@link #TBL_SERIES}. Collation key for sorting. */
+    public static final Domain DOM_SERIES_TITLE_CK;
 
     /** {@link #TBL_PUBLISHERS}. */
     public static final Domain DOM_PUBLISHER_NAME;
     /** {@link #TBL_PUBLISHERS}. */
     public static final Domain DOM_PUBLISHER_NAME_OB;
+    /** {@link #TBL_PUBLISHERS}. Collation key for sorting. */
+    public static final Domain DOM_PUBLISHER_NAME_CK;
     /** Virtual: build from "GROUP_CONCAT(" + TBL_PUBLISHERS.dot(KEY_PUBLISHER_NAME) + ",', ')". */
     public static final Domain DOM_PUBLISHER_NAME_CSV;
 
@@ -233,6 +254,12 @@ public final class DBDefinitions {
      * {@link #TBL_BOOKS}  {@link #TBL_TOC_ENTRIES}.
      */
     public static final Domain DOM_TITLE_OB;
+    /**
+     * Binary collation key of {@link #DOM_TITLE_OB}.
+     * See {@link com.hardbacknutter.nevertoomanybooks.database.SqlEncode#collationKey(String)}.
+     * {@link #TBL_BOOKS}.
+     */
+    public static final Domain DOM_TITLE_CK;
     /** {@link #TBL_BOOKS}. */
     public static final Domain DOM_BOOK_ISBN;
     /** {@link #TBL_BOOKS}  {@link #TBL_TOC_ENTRIES}. */
@@ -295,6 +322,19 @@ public final class DBDefinitions {
     /** {@link #TBL_BOOKS}. */
     public static final Domain DOM_BOOK_CONDITION_DUST_COVER;
 
+    /** {@link #TBL_BOOKS}. Trigger maintained normalized date; see {@link DBKey}. */
+    public static final Domain DOM_DATE_PUBLISHED_OB;
+    /** {@link #TBL_BOOKS}. Trigger maintained normalized date; see {@link DBKey}. */
+    public static final Domain DOM_FIRST_PUBLICATION_OB;
+    /** {@link #TBL_BOOKS}. Trigger maintained normalized date; see {@link DBKey}. */
+    public static final Domain DOM_DATE_ACQUIRED_OB;
+    /** {@link #TBL_BOOKS}. Trigger maintained normalized date; see {@link DBKey}. */
+    public static final Domain DOM_DATE_ADDED_OB;
+    /** {@link #TBL_BOOKS}. Trigger maintained normalized date; see {@link DBKey}. */
+    public static final Domain DOM_DATE_LAST_UPDATED_OB;
+    /** {@link #TBL_BOOKS}. Trigger maintained normalized date; see {@link DBKey}. */
+    public static final Domain DOM_READ_END_OB;
+
     /** {@link #TBL_BOOKS}. Book ID, not 'work' ID. */
     public static final Domain DOM_ESID_GOODREADS_BOOK;
     /** {@link #TBL_BOOKS}. */
@@ -442,11 +482,31 @@ public final class DBDefinitions {
     public static final Domain DOM_BL_NODE_EXPANDED;
     /** {@link Booklist}. */
     public static final Domain DOM_BL_NODE_VISIBLE;
+    /** {@link #TBL_BOOK_LIST_SAVED}. The SQL used to build the saved list. */
+    public static final Domain DOM_BL_BUILD_SQL;
+
+    /** {@link #TBL_COVER_MANIFEST}. Same as {@link #DOM_BOOK_UUID} but without a default. */
+    public static final Domain DOM_COVER_MANIFEST_UUID;
+    /** {@link #TBL_COVER_MANIFEST}. The cover index; 0..n. */
+    public static final Domain DOM_COVER_INDEX;
+    /** {@link #TBL_COVER_MANIFEST}. */
+    public static final Domain DOM_COVER_FILE_SIZE;
+    /** {@link #TBL_COVER_MANIFEST}. */
+    public static final Domain DOM_COVER_CRC32;
+    /** {@link #TBL_COVER_MANIFEST}. */
+    public static final Domain DOM_COVER_LAST_MODIFIED;
 
     /**
      * reminder: no need for a type nor constraints: https://sqlite.org/fts3.html
      */
     public static final TableDefinition TBL_FTS_BOOKS;
+    /**
+     * The ids of the books for which {@link #TBL_FTS_BOOKS} must be updated.
+     * Filled by triggers, emptied by
+     * {@link com.hardbacknutter.nevertoomanybooks.database.dao.FtsDao#updateQueuedBooks()}.
+     * There is no foreign key, as a deleted book must be processed as well.
+     */
+    public static final TableDefinition TBL_FTS_BOOKS_QUEUE;
 
     public static final String ON_DELETE_CASCADE_ON_UPDATE_CASCADE =
             "ON DELETE CASCADE ON UPDATE CASCADE";
@@ -499,6 +559,12 @@ public final class DBDefinitions {
         TBL_BOOK_LIST_NODE_STATE = new TableDefinition("book_list_node_settings")
                 .setAlias("bl_ns");
 
+        TBL_BOOK_LIST_SAVED = new TableDefinition("book_list_saved")
+                .setAlias("bl_sv");
+
+        TBL_COVER_MANIFEST = new TableDefinition("cover_manifest")
+                .setAlias("cm");
+
         TBL_STRIPINFO_COLLECTION = new TableDefinition("stripinfo_collection")
                 .setAlias("si_c");
 
@@ -569,6 +635,10 @@ public final class DBDefinitions {
                         .prePreparedOrderBy()
                         .build();
 
+        DOM_TITLE_CK =
+                new Domain.Builder(DBKey.KEY_TITLE_CK, ColumnInfo.TYPE_BLOB)
+                        .build();
+
         DOM_DATE_FIRST_PUBLICATION =
                 new Domain.Builder(DBKey.FIRST_PUBLICATION__DATE, ColumnInfo.TYPE_DATE)
                         .notNull()
@@ -653,6 +723,14 @@ public final class DBDefinitions {
                         .withDefault(false)
                         .build();
 
+        DOM_AUTHOR_CK =
+                new Domain.Builder(DBKey.KEY_AUTHOR_CK, ColumnInfo.TYPE_BLOB)
+                        .build();
+
+        DOM_AUTHOR_GIVEN_FIRST_CK =
+                new Domain.Builder(DBKey.KEY_AUTHOR_GIVEN_FIRST_CK, ColumnInfo.TYPE_BLOB)
+                        .build();
+
         /* ======================================================================================
          *  Series domains
          * ====================================================================================== */
@@ -676,6 +754,10 @@ public final class DBDefinitions {
                         .withDefault(false)
                         .build();
 
+        DOM_SERIES_TITLE_CK =
+                new Domain.Builder(DBKey.KEY_SERIES_TITLE_CK, ColumnInfo.TYPE_BLOB)
+                        .build();
+
         /* ======================================================================================
          *  Publisher domains
          * ====================================================================================== */
@@ -692,6 +774,10 @@ public final class DBDefinitions {
                         .prePreparedOrderBy()
                         .build();
 
+        DOM_PUBLISHER_NAME_CK =
+                new Domain.Builder(DBKey.KEY_PUBLISHER_NAME_CK, ColumnInfo.TYPE_BLOB)
+                        .build();
+
         DOM_PUBLISHER_NAME_CSV =
                 new Domain.Builder(DBKey.KEY_PUBLISHER_NAME_CSV, ColumnInfo.TYPE_TEXT)
                         .notNull()
@@ -865,6 +951,46 @@ public final class DBDefinitions {
                         .withDefault(0)
                         .build();
 
+        /* ======================================================================================
+         *  Book date 'order by' domains. Maintained by triggers.
+         * ====================================================================================== */
+        DOM_DATE_PUBLISHED_OB =
+                new Domain.Builder(DBKey.KEY_DATE_PUBLISHED_OB, ColumnInfo.TYPE_TEXT)
+                        .notNull()
+                        .withDefaultEmptyString()
+                        .prePreparedOrderBy()
+                        .build();
+        DOM_FIRST_PUBLICATION_OB =
+                new Domain.Builder(DBKey.KEY_FIRST_PUBLICATION_OB, ColumnInfo.TYPE_TEXT)
+                        .notNull()
+                        .withDefaultEmptyString()
+                        .prePreparedOrderBy()
+                        .build();
+        DOM_DATE_ACQUIRED_OB =
+                new Domain.Builder(DBKey.KEY_DATE_ACQUIRED_OB, ColumnInfo.TYPE_TEXT)
+                        .notNull()
+                        .withDefaultEmptyString()
+                        .prePreparedOrderBy()
+                        .build();
+        DOM_DATE_ADDED_OB =
+                new Domain.Builder(DBKey.KEY_DATE_ADDED_OB, ColumnInfo.TYPE_TEXT)
+                        .notNull()
+                        .withDefaultEmptyString()
+                        .prePreparedOrderBy()
+                        .build();
+        DOM_DATE_LAST_UPDATED_OB =
+                new Domain.Builder(DBKey.KEY_DATE_LAST_UPDATED_OB, ColumnInfo.TYPE_TEXT)
+                        .notNull()
+                        .withDefaultEmptyString()
+                        .prePreparedOrderBy()
+                        .build();
+        DOM_READ_END_OB =
+                new Domain.Builder(DBKey.KEY_READ_END_OB, ColumnInfo.TYPE_TEXT)
+                        .notNull()
+                        .withDefaultEmptyString()
+                        .prePreparedOrderBy()
+                        .build();
+
         /* ======================================================================================
          *  Book external website id domains
          * ====================================================================================== */
@@ -1201,6 +1327,36 @@ public final class DBDefinitions {
                         .withDefault(0)
                         .build();
 
+        DOM_BL_BUILD_SQL =
+                new Domain.Builder(DBKey.KEY_BL_BUILD_SQL, ColumnInfo.TYPE_TEXT)
+                        .notNull()
+                        .build();
+
+        DOM_COVER_MANIFEST_UUID =
+                new Domain.Builder(DBKey.BOOK_UUID, ColumnInfo.TYPE_TEXT)
+                        .notNull()
+                        .build();
+
+        DOM_COVER_INDEX =
+                new Domain.Builder(DBKey.KEY_COVER_INDEX, ColumnInfo.TYPE_INTEGER)
+                        .notNull()
+                        .build();
+
+        DOM_COVER_FILE_SIZE =
+                new Domain.Builder(DBKey.KEY_COVER_FILE_SIZE, ColumnInfo.TYPE_INTEGER)
+                        .notNull()
+                        .build();
+
+        DOM_COVER_CRC32 =
+                new Domain.Builder(DBKey.KEY_COVER_CRC32, ColumnInfo.TYPE_INTEGER)
+                        .notNull()
+                        .build();
+
+        DOM_COVER_LAST_MODIFIED =
+                new Domain.Builder(DBKey.KEY_COVER_LAST_MODIFIED, ColumnInfo.TYPE_INTEGER)
+                        .notNull()
+                        .build();
+
         DOM_FK_BL_ROW_ID =
                 new Domain.Builder(DBKey.FK_BL_ROW_ID, ColumnInfo.TYPE_INTEGER)
                         .notNull()
@@ -1270,7 +1426,9 @@ public final class DBDefinitions {
                             DOM_AUTHOR_FAMILY_NAME_OB,
                             DOM_AUTHOR_GIVEN_NAMES,
                             DOM_AUTHOR_GIVEN_NAMES_OB,
-                            DOM_AUTHOR_IS_COMPLETE)
+                            DOM_AUTHOR_IS_COMPLETE,
+                            DOM_AUTHOR_CK,
+                            DOM_AUTHOR_GIVEN_FIRST_CK)
                 .setPrimaryKey(DOM_PK_ID)
                 .addIndex(DBKey.KEY_AUTHOR_FAMILY_NAME_OB, false, DOM_AUTHOR_FAMILY_NAME_OB)
                 .addIndex(DBKey.AUTHOR_FAMILY_NAME, false, DOM_AUTHOR_FAMILY_NAME)
@@ -1282,7 +1440,8 @@ public final class DBDefinitions {
                 .addDomains(DOM_PK_ID,
                             DOM_SERIES_TITLE,
                             DOM_SERIES_TITLE_OB,
-                            DOM_SERIES_IS_COMPLETE)
+                            DOM_SERIES_IS_COMPLETE,
+                            DOM_SERIES_TITLE_CK)
                 .setPrimaryKey(DOM_PK_ID)
                 .addIndex("id", true, DOM_PK_ID)
                 .addIndex(DBKey.KEY_SERIES_TITLE_OB, false, DOM_SERIES_TITLE_OB)
@@ -1292,7 +1451,8 @@ public final class DBDefinitions {
         TBL_PUBLISHERS
                 .addDomains(DOM_PK_ID,
                             DOM_PUBLISHER_NAME,
-                            DOM_PUBLISHER_NAME_OB)
+                            DOM_PUBLISHER_NAME_OB,
+                            DOM_PUBLISHER_NAME_CK)
                 .setPrimaryKey(DOM_PK_ID)
                 .addIndex("id", true, DOM_PK_ID)
                 .addIndex(DBKey.KEY_PUBLISHER_NAME_OB, false, DOM_PUBLISHER_NAME_OB)
@@ -1352,13 +1512,30 @@ public final class DBDefinitions {
                             // internal data
                             DOM_BOOK_UUID,
                             DOM_ADDED__UTC,
-                            DOM_LAST_UPDATED__UTC)
+                            DOM_LAST_UPDATED__UTC,
+
+                            // trigger maintained 'order by' dates
+                            DOM_DATE_PUBLISHED_OB,
+                            DOM_FIRST_PUBLICATION_OB,
+                            DOM_DATE_ACQUIRED_OB,
+                            DOM_DATE_ADDED_OB,
+                            DOM_DATE_LAST_UPDATED_OB,
+                            DOM_READ_END_OB,
+
+                            // binary collation key of the title_ob
+                            DOM_TITLE_CK)
 
                 .setPrimaryKey(DOM_PK_ID)
                 .addIndex(DBKey.KEY_TITLE_OB, false, DOM_TITLE_OB)
                 .addIndex(DBKey.TITLE, false, DOM_TITLE)
                 .addIndex(DBKey.BOOK_ISBN, false, DOM_BOOK_ISBN)
                 .addIndex(DBKey.BOOK_UUID, true, DOM_BOOK_UUID)
+                .addIndex(DBKey.KEY_DATE_PUBLISHED_OB, false, DOM_DATE_PUBLISHED_OB)
+                .addIndex(DBKey.KEY_FIRST_PUBLICATION_OB, false, DOM_FIRST_PUBLICATION_OB)
+                .addIndex(DBKey.KEY_DATE_ACQUIRED_OB, false, DOM_DATE_ACQUIRED_OB)
+                .addIndex(DBKey.KEY_DATE_ADDED_OB, false, DOM_DATE_ADDED_OB)
+                .addIndex(DBKey.KEY_DATE_LAST_UPDATED_OB, false, DOM_DATE_LAST_UPDATED_OB)
+                .addIndex(DBKey.KEY_READ_END_OB, false, DOM_READ_END_OB)
                 //NEWTHINGS: adding a new search engine: optional: add indexes as needed.
 
                 .addIndex(DBKey.SID_GOODREADS_BOOK, false, DOM_ESID_GOODREADS_BOOK)
@@ -1571,6 +1748,21 @@ public final class DBDefinitions {
                           DOM_FK_STYLE);
         ALL_TABLES.put(TBL_BOOK_LIST_NODE_STATE.getName(),
                        TBL_BOOK_LIST_NODE_STATE);
+
+        // Not in ALL_TABLES; see the declaration.
+        TBL_BOOK_LIST_SAVED
+                .addDomains(DOM_FK_BOOKSHELF,
+                            DOM_FK_STYLE,
+                            DOM_BL_BUILD_SQL);
+
+        // Not in ALL_TABLES; this is bookkeeping for the backups, not user data.
+        TBL_COVER_MANIFEST
+                .addDomains(DOM_COVER_MANIFEST_UUID,
+                            DOM_COVER_INDEX,
+                            DOM_COVER_FILE_SIZE,
+                            DOM_COVER_CRC32,
+                            DOM_COVER_LAST_MODIFIED)
+                .setPrimaryKey(DOM_COVER_MANIFEST_UUID, DOM_COVER_INDEX);
     }
 
     static {
@@ -1583,15 +1775,30 @@ public final class DBDefinitions {
                         .build();
 
         TBL_FTS_BOOKS = createFtsTableDefinition("books_fts");
+
+        TBL_FTS_BOOKS_QUEUE = new TableDefinition("books_fts_queue")
+                .addDomains(DOM_FK_BOOK)
+                .setPrimaryKey(DOM_FK_BOOK);
     }
 
     private DBDefinitions() {
     }
 
+    /**
+     * Create the FTS table definition.
+     * <p>
+     * Prefix indexes for 2 and 3 characters speed up the prefix queries
+     * we use for type-ahead searching; e.g. 'ab*' and 'abc*'.
+     *
+     * @param name of the table
+     *
+     * @return table definition
+     */
     @NonNull
     public static TableDefinition createFtsTableDefinition(@NonNull final String name) {
         return new TableDefinition(name)
                 .setType(TableDefinition.TableType.FTS4)
+                .addVirtualTableOption("prefix=\"2,3\"")
                 .addDomains(DOM_TITLE,
                             DOM_FTS_AUTHOR_NAME,
                             DOM_SERIES_TITLE,
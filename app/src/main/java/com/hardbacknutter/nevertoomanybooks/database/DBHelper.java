@@ -39,12 +39,15 @@ import androidx.preference.PreferenceManager;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.StartupActivity;
+import com.hardbacknutter.nevertoomanybooks.StartupViewModel;
 import com.hardbacknutter.nevertoomanybooks.booklist.BooklistHeader;
 import com.hardbacknutter.nevertoomanybooks.booklist.style.FieldVisibility;
 import com.hardbacknutter.nevertoomanybooks.booklist.style.Style;
@@ -65,14 +68,20 @@ import com.hardbacknutter.nevertoomanybooks.utils.exceptions.UpgradeFailedExcept
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_AUTHORS;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKLIST_STYLES;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKS;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKSHELF;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKSHELF_FILTERS;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_AUTHOR;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_BOOKSHELF;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_LIST_SAVED;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_LOANEE;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_PUBLISHER;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_SERIES;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_TOC_ENTRIES;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_CALIBRE_CUSTOM_FIELDS;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_COVER_MANIFEST;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_FTS_BOOKS;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_FTS_BOOKS_QUEUE;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_PUBLISHERS;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_SERIES;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_STRIPINFO_COLLECTION;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_TOC_ENTRIES;
@@ -92,7 +101,7 @@ public class DBHelper
         extends SQLiteOpenHelper {
 
     /** Current version. */
-    public static final int DATABASE_VERSION = 19;
+    public static final int DATABASE_VERSION = 25;
 
     /** NEVER change this name. */
     private static final String DATABASE_NAME = "nevertoomanybooks.db";
@@ -110,6 +119,21 @@ public class DBHelper
     private static final String SQL_GET_INDEX_NAMES =
             "SELECT name FROM sqlite_master WHERE type = 'index' AND sql IS NOT NULL";
 
+    /**
+     * The book date columns for which we maintain a normalized 'order by' copy.
+     * <p>
+     * Each entry: the source column, the 'order by' column,
+     * and whether the source should be converted from UTC to local time.
+     */
+    private static final String[][] DATE_ORDER_BY_COLUMNS = {
+            {DBKey.BOOK_PUBLICATION__DATE, DBKey.KEY_DATE_PUBLISHED_OB, "0"},
+            {DBKey.FIRST_PUBLICATION__DATE, DBKey.KEY_FIRST_PUBLICATION_OB, "0"},
+            {DBKey.DATE_ACQUIRED, DBKey.KEY_DATE_ACQUIRED_OB, "1"},
+            {DBKey.DATE_ADDED__UTC, DBKey.KEY_DATE_ADDED_OB, "1"},
+            {DBKey.DATE_LAST_UPDATED__UTC, DBKey.KEY_DATE_LAST_UPDATED_OB, "1"},
+            {DBKey.READ_END__DATE, DBKey.KEY_READ_END_OB, "1"},
+            };
+
     /** Readers/Writer lock for <strong>this</strong> database. */
     private static final Synchronizer sSynchronizer = new Synchronizer();
 
@@ -157,6 +181,9 @@ public class DBHelper
      * Wrapper to allow
      * {@link com.hardbacknutter.nevertoomanybooks.database.tasks.RebuildIndexesTask}.
      * safe access to the database.
+     * <p>
+     * This also rebuilds the normalized date columns; e.g. needed after the user
+     * changed their timezone.
      */
     public static void recreateIndices() {
         final SynchronizedDb db = ServiceLocator.getInstance().getDb();
@@ -174,8 +201,11 @@ public class DBHelper
      * This method should only be called at the *END* of {@link #onUpgrade}.
      * <p>
      * (re)Creates the indexes as defined on the tables.
+     * Before doing so, the normalized date columns are rebuilt.
      */
     private static void recreateIndices(@NonNull final SQLiteDatabase db) {
+        rebuildDateOrderByColumns(db);
+
         // Delete all indices.
         // We read the index names from the database, so we can delete
         // indexes which were removed from the TableDefinition objects.
@@ -201,6 +231,172 @@ public class DBHelper
         db.execSQL("analyze");
     }
 
+    /**
+     * Rebuild all normalized date columns from their source columns.
+     *
+     * @param db Underlying database
+     */
+    private static void rebuildDateOrderByColumns(@NonNull final SQLiteDatabase db) {
+        db.execSQL("UPDATE " + TBL_BOOKS.getName() + " SET " + dateOrderByAssignments(""));
+    }
+
+    /**
+     * Create the SET list which updates all normalized date columns.
+     *
+     * @param rowPrefix prefix for the source column; i.e. "NEW." inside a trigger,
+     *                  or "" for a plain update
+     *
+     * @return comma separated list of assignments
+     */
+    @NonNull
+    private static String dateOrderByAssignments(@NonNull final String rowPrefix) {
+        return Arrays.stream(DATE_ORDER_BY_COLUMNS)
+                     .map(column -> column[1] + '=' + normalizedDate(rowPrefix + column[0],
+                                                                     "1".equals(column[2])))
+                     .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Create the condition which is {@code true} if any of the normalized date columns
+     * of the trigger row (i.e. "NEW.") is out of date with its source column.
+     * Used as the WHEN clause of the triggers, so unchanged rows are not updated twice.
+     *
+     * @return condition
+     */
+    @NonNull
+    private static String dateOrderByChanged() {
+        return Arrays.stream(DATE_ORDER_BY_COLUMNS)
+                     .map(column -> '(' + normalizedDate("NEW." + column[0],
+                                                         "1".equals(column[2]))
+                                    + ") IS NOT NEW." + column[1])
+                     .collect(Collectors.joining(" OR "));
+    }
+
+    /**
+     * Create an expression which normalizes a (partial) text date to 'YYYY-MM-DD',
+     * 'YYYY-MM', 'YYYY' or '' (invalid) with zero-padded month and day.
+     * <p>
+     * This moves the (expensive) GLOB/SUBSTR logic out of the booklist build;
+     * the year/month/day are simple SUBSTR calls on the resulting column.
+     *
+     * @param fieldSpec fully qualified field name
+     * @param toLocal   if set, first convert the fieldSpec to local time from UTC
+     *
+     * @return expression
+     */
+    @NonNull
+    private static String normalizedDate(@NonNull String fieldSpec,
+                                         final boolean toLocal) {
+        if (toLocal) {
+            fieldSpec = localDateTimeExpression(fieldSpec);
+        }
+        final String year = year(fieldSpec);
+        final String month = month(fieldSpec);
+        final String day = day(fieldSpec);
+        return "CASE WHEN " + day + "<>''"
+               + " THEN " + year + "||'-'||SUBSTR('0'||" + month + ",-2)"
+               + "||'-'||SUBSTR('0'||" + day + ",-2)"
+               + " WHEN " + month + "<>''"
+               + " THEN " + year + "||'-'||SUBSTR('0'||" + month + ",-2)"
+               + " ELSE " + year
+               + " END";
+    }
+
+    /**
+     * If the field has a time part, convert it to local time.
+     * This deals with legacy 'date-only' dates.
+     * The logic being that IF they had a time part it would be UTC.
+     * Without a time part, we assume the zone is local (or irrelevant).
+     *
+     * @param fieldSpec fully qualified field name
+     *
+     * @return expression
+     */
+    @NonNull
+    private static String localDateTimeExpression(@NonNull final String fieldSpec) {
+        return "CASE WHEN " + fieldSpec + " GLOB '*-*-* *' "
+               + " THEN datetime(" + fieldSpec + ", 'localtime')"
+               + " ELSE " + fieldSpec
+               + " END";
+    }
+
+    /**
+     * General remark on the use of GLOB instead of 'strftime(format, date)':
+     * strftime() only works on full date(time) strings. i.e. 'YYYY-MM-DD*'
+     * for all other formats, it will fail to extract the fields.
+     * <p>
+     * Create a GLOB expression to get the 'year' from a text date field in a standard way.
+     * <p>
+     * Just look for 4 leading numbers. We don't care about anything else.
+     * <p>
+     * See <a href="https://www.sqlitetutorial.net/sqlite-glob/">sqlite-glob</a>
+     *
+     * @param fieldSpec fully qualified field name
+     *
+     * @return expression
+     */
+    @NonNull
+    private static String year(@NonNull final String fieldSpec) {
+        return "CASE WHEN " + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]*'"
+               + " THEN SUBSTR(" + fieldSpec + ",1,4)"
+               // invalid
+               + " ELSE ''"
+               + " END";
+    }
+
+    /**
+     * Create a GLOB expression to get the 'month' from a text date field in a standard way.
+     * <p>
+     * Just look for 4 leading numbers followed by '-' and by 2 or 1 digit.
+     * We don't care about anything else.
+     *
+     * @param fieldSpec fully qualified field name
+     *
+     * @return expression
+     */
+    @NonNull
+    private static String month(@NonNull final String fieldSpec) {
+        // YYYY-MM or YYYY-M
+        return "CASE WHEN " + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9][0-9]*'"
+               + " THEN SUBSTR(" + fieldSpec + ",6,2)"
+               + " WHEN " + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9]*'"
+               + " THEN SUBSTR(" + fieldSpec + ",6,1)"
+               // invalid
+               + " ELSE ''"
+               + " END";
+    }
+
+    /**
+     * Create a GLOB expression to get the 'day' from a text date field in a standard way.
+     * <p>
+     * Just look for 4 leading numbers followed by '-' and by 2 or 1 digit,
+     * and then by '-' and 1 or two digits.
+     * We don't care about anything else.
+     *
+     * @param fieldSpec fully qualified field name
+     *
+     * @return expression
+     */
+    @NonNull
+    private static String day(@NonNull final String fieldSpec) {
+        // Look for 4 leading numbers followed by 2 or 1 digit then another 2 or 1 digit.
+        // YYYY-MM-DD or YYYY-M-DD or YYYY-MM-D or YYYY-M-D
+        return "CASE WHEN " + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9][0-9]-[0-9][0-9]*'"
+               + " THEN SUBSTR(" + fieldSpec + ",9,2)"
+               //
+               + " WHEN " + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9]-[0-9][0-9]*'"
+               + " THEN SUBSTR(" + fieldSpec + ",8,2)"
+               //
+               + " WHEN " + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9][0-9]-[0-9]*'"
+               + " THEN SUBSTR(" + fieldSpec + ",9,1)"
+               //
+               + " WHEN " + fieldSpec + " GLOB '[0-9][0-9][0-9][0-9]-[0-9]-[0-9]*'"
+               + " THEN SUBSTR(" + fieldSpec + ",8,1)"
+               // invalid
+               + " ELSE ''"
+               + " END";
+    }
+
     /**
      * Check if the collation we use is case sensitive.
      *
@@ -306,6 +502,7 @@ public class DBHelper
      * <p>
      * Others:
      * - When a books ISBN is updated, reset external data.
+     * - When a book is inserted, or any of its dates updated, set the normalized dates.
      *
      * <p>
      * not needed + why now:
@@ -504,6 +701,176 @@ public class DBHelper
 
         db.execSQL("DROP TRIGGER IF EXISTS " + name);
         db.execSQL("\nCREATE TRIGGER " + name + body);
+
+
+        /*
+         * Inserting a {@link Book).
+         *
+         * Set the normalized date columns, unless they were inserted correctly already.
+         */
+        name = "after_insert_on_" + TBL_BOOKS.getName();
+        body = " AFTER INSERT ON " + TBL_BOOKS.getName() + " FOR EACH ROW\n"
+               + " WHEN " + dateOrderByChanged() + "\n"
+               + " BEGIN\n"
+               + "  UPDATE " + TBL_BOOKS.getName()
+               + "  SET " + dateOrderByAssignments("NEW.")
+               + " WHERE " + PK_ID + "=NEW." + PK_ID + ";\n"
+               + " END";
+
+        db.execSQL("DROP TRIGGER IF EXISTS " + name);
+        db.execSQL("\nCREATE TRIGGER " + name + body);
+
+        /*
+         * Updating any of the dates of a {@link Book).
+         *
+         * Update the normalized date columns.
+         * Only listens to the source columns, so the update done by the trigger itself
+         * (or by the insert trigger) will not cause a second evaluation.
+         * The WHEN clause skips the update if the normalized values would not change;
+         * e.g. the 'last updated' date is set on each update, but mostly stays on the same day.
+         */
+        name = "after_update_of_dates_on_" + TBL_BOOKS.getName();
+        body = " AFTER UPDATE OF "
+               + Arrays.stream(DATE_ORDER_BY_COLUMNS)
+                       .map(column -> column[0])
+                       .collect(Collectors.joining(","))
+               + " ON " + TBL_BOOKS.getName() + " FOR EACH ROW\n"
+               + " WHEN " + dateOrderByChanged() + "\n"
+               + " BEGIN\n"
+               + "  UPDATE " + TBL_BOOKS.getName()
+               + "  SET " + dateOrderByAssignments("NEW.")
+               + " WHERE " + PK_ID + "=NEW." + PK_ID + ";\n"
+               + " END";
+
+        db.execSQL("DROP TRIGGER IF EXISTS " + name);
+        db.execSQL("\nCREATE TRIGGER " + name + body);
+
+        createFtsQueueTriggers(db);
+        createSavedBooklistTriggers(db);
+    }
+
+    /**
+     * Create the triggers which discard the saved Booklist
+     * as soon as any of the data shown in a Booklist changes.
+     * Deleting from the (mostly empty) table is cheap enough to do on each row change.
+     *
+     * @param db Database Access
+     */
+    private void createSavedBooklistTriggers(@NonNull final SQLiteDatabase db) {
+        final String body = " FOR EACH ROW\n"
+                            + " BEGIN\n"
+                            + "  DELETE FROM " + TBL_BOOK_LIST_SAVED.getName() + ";\n"
+                            + " END";
+
+        // {table, events}
+        final Object[][] tables = {
+                {TBL_BOOKS, new String[]{"INSERT", "UPDATE", "DELETE"}},
+                {TBL_BOOK_AUTHOR, new String[]{"INSERT", "UPDATE", "DELETE"}},
+                {TBL_BOOK_SERIES, new String[]{"INSERT", "UPDATE", "DELETE"}},
+                {TBL_BOOK_PUBLISHER, new String[]{"INSERT", "UPDATE", "DELETE"}},
+                {TBL_BOOK_BOOKSHELF, new String[]{"INSERT", "UPDATE", "DELETE"}},
+                {TBL_BOOK_LOANEE, new String[]{"INSERT", "UPDATE", "DELETE"}},
+                {TBL_AUTHORS, new String[]{"UPDATE", "DELETE"}},
+                {TBL_SERIES, new String[]{"UPDATE", "DELETE"}},
+                {TBL_PUBLISHERS, new String[]{"UPDATE", "DELETE"}},
+                // The list position is stored in the bookshelf table; only the name matters.
+                {TBL_BOOKSHELF, new String[]{"UPDATE OF " + DBKey.BOOKSHELF_NAME, "DELETE"}}};
+
+        for (final Object[] table : tables) {
+            final String tableName = ((TableDefinition) table[0]).getName();
+            for (final String event : (String[]) table[1]) {
+                final String name = "bl_saved_after_"
+                                    + event.split(" ")[0].toLowerCase(Locale.ENGLISH)
+                                    + "_on_" + tableName;
+                db.execSQL("DROP TRIGGER IF EXISTS " + name);
+                db.execSQL("\nCREATE TRIGGER " + name
+                           + " AFTER " + event + " ON " + tableName + body);
+            }
+        }
+    }
+
+    /**
+     * Create the triggers which queue a book for an update of its FTS row
+     * whenever any of the data which goes into the FTS row changes.
+     * The queue is processed by
+     * {@link com.hardbacknutter.nevertoomanybooks.database.dao.FtsDao#updateQueuedBooks()}.
+     *
+     * @param db Database Access
+     */
+    private void createFtsQueueTriggers(@NonNull final SQLiteDatabase db) {
+
+        final String insertIntoQueue = "  INSERT OR IGNORE INTO " + TBL_FTS_BOOKS_QUEUE.getName()
+                                       + " (" + FK_BOOK + ')';
+        String name;
+        String body;
+
+        // The book itself
+        name = "fts_queue_after_insert_on_" + TBL_BOOKS.getName();
+        body = " AFTER INSERT ON " + TBL_BOOKS.getName() + " FOR EACH ROW\n"
+               + " BEGIN\n"
+               + insertIntoQueue + " VALUES (NEW." + PK_ID + ");\n"
+               + " END";
+        db.execSQL("DROP TRIGGER IF EXISTS " + name);
+        db.execSQL("\nCREATE TRIGGER " + name + body);
+
+        name = "fts_queue_after_update_on_" + TBL_BOOKS.getName();
+        body = " AFTER UPDATE OF " + String.join(",", DBKey.TITLE,
+                                                  DBKey.DESCRIPTION,
+                                                  DBKey.PERSONAL_NOTES,
+                                                  DBKey.GENRE,
+                                                  DBKey.LOCATION,
+                                                  BOOK_ISBN)
+               + " ON " + TBL_BOOKS.getName() + " FOR EACH ROW\n"
+               + " BEGIN\n"
+               + insertIntoQueue + " VALUES (NEW." + PK_ID + ");\n"
+               + " END";
+        db.execSQL("DROP TRIGGER IF EXISTS " + name);
+        db.execSQL("\nCREATE TRIGGER " + name + body);
+
+        // The links from the book to its authors, series,...
+        for (final TableDefinition table : new TableDefinition[]{TBL_BOOK_AUTHOR,
+                                                                 TBL_BOOK_SERIES,
+                                                                 TBL_BOOK_PUBLISHER,
+                                                                 TBL_BOOK_TOC_ENTRIES}) {
+            for (final String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+                final String row = "DELETE".equals(event) ? "OLD." : "NEW.";
+                name = "fts_queue_after_" + event.toLowerCase(Locale.ENGLISH)
+                       + "_on_" + table.getName();
+                body = " AFTER " + event + " ON " + table.getName() + " FOR EACH ROW\n"
+                       + " BEGIN\n"
+                       + insertIntoQueue + " VALUES (" + row + FK_BOOK + ");\n"
+                       + " END";
+                db.execSQL("DROP TRIGGER IF EXISTS " + name);
+                db.execSQL("\nCREATE TRIGGER " + name + body);
+            }
+        }
+
+        // The authors, series,... themselves; queue all books which link to them.
+        // {table, the columns used in FTS, link table, foreign key in the link table}
+        final Object[][] entities = {
+                {TBL_AUTHORS, DBKey.AUTHOR_FAMILY_NAME + ',' + DBKey.AUTHOR_GIVEN_NAMES,
+                        TBL_BOOK_AUTHOR, FK_AUTHOR},
+                {TBL_SERIES, DBKey.SERIES_TITLE,
+                        TBL_BOOK_SERIES, FK_SERIES},
+                {TBL_PUBLISHERS, DBKey.PUBLISHER_NAME,
+                        TBL_BOOK_PUBLISHER, DBKey.FK_PUBLISHER},
+                {TBL_TOC_ENTRIES, DBKey.TITLE,
+                        TBL_BOOK_TOC_ENTRIES, DBKey.FK_TOC_ENTRY}};
+
+        for (final Object[] entity : entities) {
+            final TableDefinition table = (TableDefinition) entity[0];
+            final TableDefinition linkTable = (TableDefinition) entity[2];
+            name = "fts_queue_after_update_on_" + table.getName();
+            body = " AFTER UPDATE OF " + entity[1]
+                   + " ON " + table.getName() + " FOR EACH ROW\n"
+                   + " BEGIN\n"
+                   + insertIntoQueue
+                   + " SELECT " + FK_BOOK + " FROM " + linkTable.getName()
+                   + " WHERE " + entity[3] + "=NEW." + PK_ID + ";\n"
+                   + " END";
+            db.execSQL("DROP TRIGGER IF EXISTS " + name);
+            db.execSQL("\nCREATE TRIGGER " + name + body);
+        }
     }
 
     @Override
@@ -539,6 +906,10 @@ public class DBHelper
 
         //IMPORTANT: withDomainConstraints MUST BE false (FTS columns don't use a type/constraints)
         TBL_FTS_BOOKS.create(db, false);
+        TBL_FTS_BOOKS_QUEUE.create(db, true);
+
+        TBL_BOOK_LIST_SAVED.create(db, false);
+        TBL_COVER_MANIFEST.create(db, true);
 
         createTriggers(db);
     }
@@ -760,6 +1131,48 @@ public class DBHelper
 
         }
 
+        if (oldVersion < 20) {
+            TBL_BOOKS.alterTableAddColumns(
+                    db,
+                    DBDefinitions.DOM_DATE_PUBLISHED_OB,
+                    DBDefinitions.DOM_FIRST_PUBLICATION_OB,
+                    DBDefinitions.DOM_DATE_ACQUIRED_OB,
+                    DBDefinitions.DOM_DATE_ADDED_OB,
+                    DBDefinitions.DOM_DATE_LAST_UPDATED_OB,
+                    DBDefinitions.DOM_READ_END_OB);
+            // The columns are populated by 'recreateIndices' below.
+        }
+        if (oldVersion < 21) {
+            TBL_BOOKS.alterTableAddColumns(db, DBDefinitions.DOM_TITLE_CK);
+            TBL_AUTHORS.alterTableAddColumns(db,
+                                             DBDefinitions.DOM_AUTHOR_CK,
+                                             DBDefinitions.DOM_AUTHOR_GIVEN_FIRST_CK);
+            TBL_SERIES.alterTableAddColumns(db, DBDefinitions.DOM_SERIES_TITLE_CK);
+            TBL_PUBLISHERS.alterTableAddColumns(db, DBDefinitions.DOM_PUBLISHER_NAME_CK);
+            // The keys are created at startup by the RebuildCollationKeysTask.
+            PreferenceManager.getDefaultSharedPreferences(context)
+                             .edit()
+                             .remove(StartupViewModel.PK_COLLATION_LOCALE)
+                             .apply();
+        }
+        if (oldVersion < 22) {
+            // Add the prefix indexes to the FTS table.
+            // The rebuild creates a new table, and only replaces the old one when done,
+            // so a failed rebuild leaves the old one in place.
+            StartupViewModel.schedule(context, StartupViewModel.PK_REBUILD_FTS, true);
+        }
+        if (oldVersion < 23) {
+            // The FTS table is now kept up to date by the triggers feeding this queue.
+            TBL_FTS_BOOKS_QUEUE.create(db, true);
+        }
+        if (oldVersion < 24) {
+            TBL_BOOK_LIST_SAVED.create(db, false);
+        }
+        if (oldVersion < 25) {
+            // Starts empty; the next backup/import will fill it.
+            TBL_COVER_MANIFEST.create(db, true);
+        }
+
         //TODO: if at a future time we make a change that requires to copy/reload the books table:
         // 1. remove the column "books.clb_uuid"
         // 2. remove the column "books.last_goodreads_sync_date"
@@ -254,6 +254,17 @@ public final class DBKey {
     public static final String KEY_BL_NODE_GROUP = "node_group";
     public static final String KEY_BL_NODE_VISIBLE = "node_visible";
     public static final String KEY_BL_NODE_EXPANDED = "node_expanded";
+    /** {@link DBDefinitions#TBL_BOOK_LIST_SAVED}. */
+    public static final String KEY_BL_BUILD_SQL = "bl_build_sql";
+
+    /** {@link DBDefinitions#TBL_COVER_MANIFEST}. */
+    public static final String KEY_COVER_INDEX = "cidx";
+    /** {@link DBDefinitions#TBL_COVER_MANIFEST}. */
+    public static final String KEY_COVER_FILE_SIZE = "file_size";
+    /** {@link DBDefinitions#TBL_COVER_MANIFEST}. */
+    public static final String KEY_COVER_CRC32 = "crc32";
+    /** {@link DBDefinitions#TBL_COVER_MANIFEST}. Epoch millis. */
+    public static final String KEY_COVER_LAST_MODIFIED = "file_last_modified";
 
 
     /**
@@ -297,6 +308,35 @@ public final class DBKey {
     public static final String KEY_PUBLISHER_NAME_OB = PUBLISHER_NAME + SUFFIX_KEY_ORDER_BY;
     public static final String KEY_TITLE_OB = TITLE + SUFFIX_KEY_ORDER_BY;
 
+    /**
+     * Suffix added to an 'order by' column name to create a binary collation key copy.
+     * See {@link SqlEncode#collationKey(String)}.
+     */
+    private static final String SUFFIX_KEY_COLLATION = "_ck";
+    public static final String KEY_TITLE_CK = TITLE + SUFFIX_KEY_COLLATION;
+    public static final String KEY_SERIES_TITLE_CK = SERIES_TITLE + SUFFIX_KEY_COLLATION;
+    public static final String KEY_PUBLISHER_NAME_CK = PUBLISHER_NAME + SUFFIX_KEY_COLLATION;
+    /** The author name for sorting, family name first. */
+    public static final String KEY_AUTHOR_CK = "author" + SUFFIX_KEY_COLLATION;
+    /** The author name for sorting, given name first. */
+    public static final String KEY_AUTHOR_GIVEN_FIRST_CK =
+            "author_given_first" + SUFFIX_KEY_COLLATION;
+
+    /**
+     * Normalized 'YYYY-MM-DD' (or partial 'YYYY-MM' / 'YYYY') copies of the book dates.
+     * The UTC based columns are stored converted to local time.
+     * Maintained by triggers, see {@link DBHelper}.
+     */
+    public static final String KEY_DATE_PUBLISHED_OB =
+            BOOK_PUBLICATION__DATE + SUFFIX_KEY_ORDER_BY;
+    public static final String KEY_FIRST_PUBLICATION_OB =
+            FIRST_PUBLICATION__DATE + SUFFIX_KEY_ORDER_BY;
+    public static final String KEY_DATE_ACQUIRED_OB = DATE_ACQUIRED + SUFFIX_KEY_ORDER_BY;
+    public static final String KEY_DATE_ADDED_OB = DATE_ADDED__UTC + SUFFIX_KEY_ORDER_BY;
+    public static final String KEY_DATE_LAST_UPDATED_OB =
+            DATE_LAST_UPDATED__UTC + SUFFIX_KEY_ORDER_BY;
+    public static final String KEY_READ_END_OB = READ_END__DATE + SUFFIX_KEY_ORDER_BY;
+
     private DBKey() {
     }
 
@@ -24,16 +24,17 @@ import android.content.ContentProvider;
 import android.content.ContentValues;
 import android.content.UriMatcher;
 import android.database.Cursor;
+import android.database.MatrixCursor;
 import android.net.Uri;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.List;
+
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.database.dao.FtsDao;
 
-import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_FTS_BOOKS;
-
 public class SearchSuggestionProvider
         extends ContentProvider {
 
@@ -45,18 +46,15 @@ public class SearchSuggestionProvider
      */
     private static final String AUTHORITY = ".SearchSuggestionProvider";
 
-    /** Standard Local-search. */
-    private static final String SEARCH_SUGGESTIONS =
-            // KEY_FTS_BOOKS_PK is the _id into the books table.
-            "SELECT " + DBKey.FTS_BOOK_ID + " AS " + DBKey.PK_ID
-            + ',' + (TBL_FTS_BOOKS.dot(DBKey.TITLE)
-                     + " AS " + SearchManager.SUGGEST_COLUMN_TEXT_1)
-            + ',' + (TBL_FTS_BOOKS.dot(DBKey.FTS_AUTHOR_NAME)
-                     + " AS " + SearchManager.SUGGEST_COLUMN_TEXT_2)
-            + ',' + (TBL_FTS_BOOKS.dot(DBKey.TITLE)
-                     + " AS " + SearchManager.SUGGEST_COLUMN_INTENT_DATA)
-            + " FROM " + TBL_FTS_BOOKS.getName()
-            + " WHERE " + TBL_FTS_BOOKS.getName() + " MATCH ?";
+    /** The columns of the cursor as expected by the {@link SearchManager}. */
+    private static final String[] COLUMNS = {
+            DBKey.PK_ID,
+            SearchManager.SUGGEST_COLUMN_TEXT_1,
+            SearchManager.SUGGEST_COLUMN_TEXT_2,
+            SearchManager.SUGGEST_COLUMN_INTENT_DATA};
+
+    /** Used if the SearchManager does not pass a limit. */
+    private static final int DEFAULT_LIMIT = 50;
 
     /** Uri and query support. Arbitrary code to indicate a match. */
     private static final int URI_MATCH_SUGGEST = 1;
@@ -88,10 +86,17 @@ public class SearchSuggestionProvider
             final String query = FtsDao.prepareSearchText(selectionArgs[0], null);
             // do we have anything to search for?
             if (!query.isEmpty()) {
-                //noinspection UnnecessaryLocalVariable
-                final Cursor cursor = ServiceLocator.getInstance().getDb()
-                                                    .rawQuery(SEARCH_SUGGESTIONS,
-                                                              new String[]{query});
+                final List<FtsDao.Suggestion> suggestions =
+                        ServiceLocator.getInstance().getFtsDao()
+                                      .searchSuggestions(query, getLimit(uri));
+
+                final MatrixCursor cursor = new MatrixCursor(COLUMNS, suggestions.size());
+                for (final FtsDao.Suggestion suggestion : suggestions) {
+                    cursor.addRow(new Object[]{suggestion.bookId,
+                                               suggestion.title,
+                                               suggestion.text,
+                                               suggestion.title});
+                }
 
                 //  if (cursor != null) {
                 //      //noinspection ConstantConditions
@@ -105,6 +110,18 @@ public class SearchSuggestionProvider
         return null;
     }
 
+    private int getLimit(@NonNull final Uri uri) {
+        final String limit = uri.getQueryParameter(SearchManager.SUGGEST_PARAMETER_LIMIT);
+        if (limit != null) {
+            try {
+                return Integer.parseInt(limit);
+            } catch (@NonNull final NumberFormatException ignore) {
+                // ignore
+            }
+        }
+        return DEFAULT_LIMIT;
+    }
+
     @Nullable
     @Override
     public String getType(@NonNull final Uri uri) {
@@ -21,6 +21,7 @@ package com.hardbacknutter.nevertoomanybooks.database;
 
 import androidx.annotation.NonNull;
 
+import java.text.Collator;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
@@ -30,13 +31,20 @@ import com.hardbacknutter.nevertoomanybooks.utils.ParseUtils;
 
 public final class SqlEncode {
 
-    /** See {@link #orderByColumn}. */
-    private static final Pattern NON_WORD_CHARACTER_PATTERN = Pattern.compile("\\W");
     /** See {@link #string}. */
     private static final Pattern SINGLE_QUOTE_LITERAL = Pattern.compile("'", Pattern.LITERAL);
     /** See {@link #date(LocalDateTime)}. */
     private static final Pattern T = Pattern.compile("T");
 
+    /**
+     * See {@link #collationKey}. Collator instances are not thread-safe,
+     * so each thread gets its own; recreated when the collation Locale changes.
+     */
+    private static final ThreadLocal<LocaleCollator> COLLATOR = new ThreadLocal<>();
+    /** The Locale used for {@link #collationKey}. */
+    @NonNull
+    private static volatile Locale sCollationLocale = Locale.getDefault();
+
     private SqlEncode() {
     }
 
@@ -55,17 +63,86 @@ public final class SqlEncode {
     /**
      * Prepare a string to be inserted in the 'Order By' column.
      * e.g. Author names, the Title of a book: strip spaces etc, make lowercase,...
+     * <p>
+     * The value is reduced to ASCII (see {@link ParseUtils#toAscii(CharSequence)}),
+     * all non-word characters (i.e. all characters not in [a-zA-Z_0-9]) are removed,
+     * and the result is converted to lowercase; all in a single pass.
+     * A value which is already encoded is returned as-is.
      *
      * @param value  to encode
      * @param locale to use for case manipulation
      *
      * @return the encoded value
      */
+    @NonNull
     public static String orderByColumn(@NonNull final CharSequence value,
                                        @NonNull final Locale locale) {
-        final String s = ParseUtils.toAscii(value);
-        // remove all non-word characters. i.e. all characters not in [a-zA-Z_0-9]
-        return NON_WORD_CHARACTER_PATTERN.matcher(s).replaceAll("").toLowerCase(locale);
+        final int length = value.length();
+        int i = 0;
+        while (i < length && isLowerCaseWordChar(value.charAt(i))) {
+            i++;
+        }
+        if (i == length) {
+            return value.toString();
+        }
+
+        // The only ASCII character for which lowercase conversion depends on the Locale.
+        final String language = locale.getLanguage();
+        final char lowerCaseI = "tr".equals(language) || "az".equals(language)
+                                ? '\u0131' : 'i';
+
+        final char[] out = new char[length];
+        for (int j = 0; j < i; j++) {
+            out[j] = value.charAt(j);
+        }
+        int len = i;
+        for (; i < length; i++) {
+            final char c = ParseUtils.toAscii(value.charAt(i));
+            if (isLowerCaseWordChar(c)) {
+                out[len++] = c;
+            } else if (c >= 'A' && c <= 'Z') {
+                out[len++] = c == 'I' ? lowerCaseI : (char) (c + ('a' - 'A'));
+            }
+        }
+        return new String(out, 0, len);
+    }
+
+    private static boolean isLowerCaseWordChar(final char c) {
+        return c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '_';
+    }
+
+    /**
+     * Set the Locale used to create the binary sort keys.
+     * This must be the Locale with which the stored keys were created;
+     * when it is changed, all stored keys must be rebuild.
+     *
+     * @param locale to use
+     */
+    public static void setCollationLocale(@NonNull final Locale locale) {
+        sCollationLocale = locale;
+    }
+
+    /**
+     * Create a binary sort key for an 'Order By' column value.
+     * <p>
+     * The key is created with the collation Locale, see {@link #setCollationLocale(Locale)}.
+     * Comparing two keys with a plain byte comparison (i.e. sorting on a BLOB column)
+     * gives the same result as comparing the two values with a case insensitive
+     * Collator; but without calling into ICU for each comparison.
+     *
+     * @param orderByValue as created by {@link #orderByColumn}
+     *
+     * @return the key
+     */
+    @NonNull
+    public static byte[] collationKey(@NonNull final String orderByValue) {
+        final Locale locale = sCollationLocale;
+        LocaleCollator collator = COLLATOR.get();
+        if (collator == null || !locale.equals(collator.locale)) {
+            collator = new LocaleCollator(locale);
+            COLLATOR.set(collator);
+        }
+        return collator.collator.getCollationKey(orderByValue).toByteArray();
     }
 
     /**
@@ -85,4 +162,20 @@ public final class SqlEncode {
         final String date = dateTime.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
         return T.matcher(date).replaceFirst(" ");
     }
+
+    /** A Collator and the Locale it was created for. */
+    private static final class LocaleCollator {
+
+        @NonNull
+        final Locale locale;
+        @NonNull
+        final Collator collator;
+
+        LocaleCollator(@NonNull final Locale locale) {
+            this.locale = locale;
+            collator = Collator.getInstance(locale);
+            // case insensitive
+            collator.setStrength(Collator.SECONDARY);
+        }
+    }
 }
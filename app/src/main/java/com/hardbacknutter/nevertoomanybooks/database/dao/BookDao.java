@@ -70,6 +70,26 @@ public interface BookDao {
      */
     int BOOK_FLAG_USE_UPDATE_DATE_IF_PRESENT = 1 << 2;
 
+    /**
+     * Start a batch session; to be used around a loop of insert/update calls
+     * using {@link #BOOK_FLAG_IS_BATCH_OPERATION}, i.e. during imports.
+     * <p>
+     * While a session is active, the ids of the Authors, Series, Publishers and Bookshelves
+     * found in the database are cached, avoiding the repeated lookups of
+     * the same entity for each book.
+     * <p>
+     * Sessions can be nested. Each call <strong>MUST</strong> be matched by
+     * a call to {@link #endBatch()} from a 'finally' block.
+     */
+    void startBatch();
+
+    /**
+     * End a batch session started with {@link #startBatch()}.
+     * <p>
+     * The FTS records for the books inserted/updated during the batch are brought up to date.
+     */
+    void endBatch();
+
     /**
      * Update the 'last updated' of the given book.
      * If successful, the book itself will also be updated with
@@ -27,6 +27,7 @@ import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
+import androidx.annotation.WorkerThread;
 
 public interface CoverCacheDao {
 
@@ -68,8 +69,27 @@ public interface CoverCacheDao {
                     int width,
                     int height);
 
+    /**
+     * Check if the cache has an up to date image.
+     *
+     * @param context Current context
+     * @param uuid    UUID of the book
+     * @param cIdx    0..n image index
+     * @param width   desired/maximum width
+     * @param height  desired/maximum height
+     *
+     * @return {@code true} if the image is cached and newer than the cover file
+     */
+    @AnyThread
+    boolean isCached(@NonNull Context context,
+                     @NonNull String uuid,
+                     @IntRange(from = 0, to = 1) int cIdx,
+                     int width,
+                     int height);
+
     /**
      * Save the passed bitmap to the cache.
+     * The work is done in a background task.
      * <p>
      * This will either insert or update a row in the database.
      * Failures are ignored; this is just a cache.
@@ -87,5 +107,27 @@ public interface CoverCacheDao {
                    int width,
                    int height);
 
+    /**
+     * Save the passed bitmap to the cache, on the current thread.
+     * <p>
+     * This will either insert or update a row in the database.
+     * Unlike {@link #saveCover}, a failure does not disable the cache;
+     * it is up to the caller to decide what to do with it.
+     *
+     * @param uuid   UUID of the book
+     * @param cIdx   0..n image index
+     * @param bitmap to save
+     * @param width  desired/maximum width
+     * @param height desired/maximum height
+     *
+     * @throws RuntimeException on failure to store the image
+     */
+    @WorkerThread
+    void storeCover(@NonNull String uuid,
+                    @IntRange(from = 0, to = 1) int cIdx,
+                    @NonNull Bitmap bitmap,
+                    int width,
+                    int height);
+
     boolean isBusy();
 }
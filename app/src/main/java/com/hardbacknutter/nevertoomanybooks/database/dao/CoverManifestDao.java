@@ -0,0 +1,161 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.database.dao;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRegistry;
+
+/**
+ * Keeps track of the state of each cover file as it was last written to a backup archive.
+ * Importing a cover removes its entry, so it will be written again by the next backup.
+ * <p>
+ * An entry is only valid as long as the size and last-modified time
+ * of the cover file are unchanged. See {@link Entry#matches(long, long)}.
+ */
+public interface CoverManifestDao {
+
+    /**
+     * Get all entries.
+     *
+     * @return map with the key being the cover name as created by
+     *         {@link CoverRegistry#createName(String, int)}
+     */
+    @NonNull
+    Map<String, Entry> getAll();
+
+    /**
+     * Get the entry for the given cover.
+     *
+     * @param uuid UUID of the book
+     * @param cIdx 0..n image index
+     *
+     * @return the entry
+     */
+    @NonNull
+    Optional<Entry> get(@NonNull String uuid,
+                        @IntRange(from = 0, to = 1) int cIdx);
+
+    /**
+     * Insert or replace the given entries in a single transaction.
+     *
+     * @param entries to store
+     */
+    void update(@NonNull Collection<Entry> entries);
+
+    /**
+     * Delete the entry for the given cover.
+     *
+     * @param uuid UUID of the book
+     * @param cIdx 0..n image index
+     */
+    void delete(@NonNull String uuid,
+                @IntRange(from = 0, to = 1) int cIdx);
+
+    /**
+     * Delete all entries for which the book no longer exists.
+     */
+    void purge();
+
+    /**
+     * Value class; the state of a cover file.
+     */
+    final class Entry {
+
+        @NonNull
+        private final String uuid;
+        private final int cIdx;
+        private final long size;
+        private final long crc32;
+        private final long lastModified;
+
+        /**
+         * Constructor.
+         *
+         * @param uuid         UUID of the book
+         * @param cIdx         0..n image index
+         * @param size         of the file in bytes
+         * @param crc32        of the file content
+         * @param lastModified of the file in epoch millis
+         */
+        public Entry(@NonNull final String uuid,
+                     @IntRange(from = 0, to = 1) final int cIdx,
+                     final long size,
+                     final long crc32,
+                     final long lastModified) {
+            this.uuid = uuid;
+            this.cIdx = cIdx;
+            this.size = size;
+            this.crc32 = crc32;
+            this.lastModified = lastModified;
+        }
+
+        @NonNull
+        public String getUuid() {
+            return uuid;
+        }
+
+        public int getCIdx() {
+            return cIdx;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getCrc32() {
+            return crc32;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Check if this entry still describes the file with the given attributes.
+         *
+         * @param size         of the file in bytes
+         * @param lastModified of the file in epoch millis
+         *
+         * @return {@code true} if the file is unchanged since this entry was created
+         */
+        public boolean matches(final long size,
+                               final long lastModified) {
+            return this.size == size && this.lastModified == lastModified;
+        }
+
+        @Override
+        @NonNull
+        public String toString() {
+            return "Entry{"
+                   + "uuid=" + uuid
+                   + ", cIdx=" + cIdx
+                   + ", size=" + size
+                   + ", crc32=" + crc32
+                   + ", lastModified=" + lastModified
+                   + '}';
+        }
+    }
+}
@@ -19,17 +19,18 @@
  */
 package com.hardbacknutter.nevertoomanybooks.database.dao;
 
-import android.database.Cursor;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
 
-import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
-import com.hardbacknutter.nevertoomanybooks.database.dbsync.TransactionException;
 import com.hardbacknutter.nevertoomanybooks.utils.ParseUtils;
 
 public interface FtsDao {
@@ -149,8 +150,10 @@ public interface FtsDao {
     }
 
     /**
-     * Return a {@link Cursor}, suited for a local-search.
-     * This is used by the advanced search activity.
+     * Local-search. This is used by the advanced search activity.
+     * <p>
+     * The results are ranked by relevance, with matches on titles and authors
+     * ranking higher than for example matches on the notes.
      *
      * @param author        Author related keywords to find
      * @param title         Title related keywords to find
@@ -159,7 +162,7 @@ public interface FtsDao {
      * @param keywords      Keywords to find anywhere in book; this includes titles and authors
      * @param limit         maximum number of rows to return
      *
-     * @return a cursor, or {@code null} if all input was empty
+     * @return the book ids, best match first; empty if all input was empty
      */
     @NonNull
     List<Long> search(@Nullable String author,
@@ -170,31 +173,104 @@ public interface FtsDao {
                       int limit);
 
     /**
-     * Rebuild the entire FTS database.
+     * Local-search. This is used by the live search, where a search can be
+     * superseded by a newer one before it completes.
+     * <p>
+     * The results are ranked as for {@link #search(String, String, String, String, String, int)}.
+     *
+     * @param author             Author related keywords to find
+     * @param title              Title related keywords to find
+     * @param seriesTitle        Series title related keywords to find
+     * @param publisherName      Publisher name related keywords to find
+     * @param keywords           Keywords to find anywhere in book;
+     *                           this includes titles and authors
+     * @param limit              maximum number of book ids to return
+     * @param cancellationSignal (optional) signal to cancel the search
+     *
+     * @return the total number of matches, and the (limited) book ids, best match first
+     *
+     * @throws OperationCanceledException if the search was cancelled
      */
-    void rebuild();
+    @NonNull
+    SearchResult search(@Nullable String author,
+                        @Nullable String title,
+                        @Nullable String seriesTitle,
+                        @Nullable String publisherName,
+                        @Nullable String keywords,
+                        int limit,
+                        @Nullable CancellationSignal cancellationSignal)
+            throws OperationCanceledException;
 
     /**
-     * Insert an FTS record for the given book.
-     * <p>
-     * <strong>Transaction:</strong> required
+     * Search suggestions, ranked by relevance. This is used by the system search dialog.
      *
-     * @param bookId the book id
+     * @param query as prepared by {@link #prepareSearchText(String, String)}
+     * @param limit maximum number of rows to return
      *
-     * @throws TransactionException a transaction must be started before calling this method
+     * @return the suggestions, best match first
+     */
+    @NonNull
+    List<Suggestion> searchSuggestions(@NonNull String query,
+                                       int limit);
+
+    /**
+     * Rebuild the entire FTS database.
      */
-    void insert(@IntRange(from = 1) long bookId)
-            throws TransactionException;
+    void rebuild();
 
     /**
-     * Update an FTS record for the given book.
+     * Bring the FTS records up to date for all books which were queued
+     * by the database triggers since the last call.
      * <p>
-     * <strong>Transaction:</strong> required
-     *
-     * @param bookId the book id
-     *
-     * @throws TransactionException a transaction must be started before calling this method
+     * Books which were deleted in the mean time have their FTS record removed.
+     * Joins the current transaction if there is one, otherwise starts its own.
+     */
+    void updateQueuedBooks();
+
+    /**
+     * The result of a search.
+     */
+    class SearchResult {
+
+        /** An empty result. */
+        public static final SearchResult EMPTY = new SearchResult(0, new ArrayList<>());
+
+        /** The total number of matching books. */
+        public final int count;
+        /** The ids of the best matching books, best match first. Limited in size. */
+        @NonNull
+        public final List<Long> ids;
+
+        public SearchResult(final int count,
+                            @NonNull final List<Long> ids) {
+            this.count = count;
+            this.ids = Collections.unmodifiableList(ids);
+        }
+    }
+
+    /**
+     * A single search suggestion.
      */
-    void update(@IntRange(from = 1) long bookId)
-            throws TransactionException;
+    class Suggestion {
+
+        /** The book id. */
+        public final long bookId;
+        /** The book title. */
+        @NonNull
+        public final String title;
+        /**
+         * The authors if the match was on the title or authors;
+         * otherwise a snippet of the text which matched.
+         */
+        @NonNull
+        public final String text;
+
+        public Suggestion(final long bookId,
+                          @NonNull final String title,
+                          @NonNull final String text) {
+            this.bookId = bookId;
+            this.title = title;
+            this.text = text;
+        }
+    }
 }
@@ -20,11 +20,15 @@
 package com.hardbacknutter.nevertoomanybooks.database.dao;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
 
 /**
  * Represents a String field 'inline' in a table.
+ * <p>
+ * The list of values is cached. The {@link BookDao} keeps the cache up to date
+ * by calling {@link #onBookChanged(String, String)} or {@link #clearCache()}.
  */
 public interface InlineStringDao {
 
@@ -44,4 +48,18 @@ public interface InlineStringDao {
      */
     void rename(@NonNull String from,
                 @NonNull String to);
+
+    /**
+     * Update the cached list after a single book was inserted, updated or deleted.
+     *
+     * @param oldValue the value before the change; {@code null} for an insert
+     * @param newValue the value after the change; {@code null} for a delete
+     */
+    void onBookChanged(@Nullable String oldValue,
+                       @Nullable String newValue);
+
+    /**
+     * Discard the cached list. It will be reloaded when next needed.
+     */
+    void clearCache();
 }
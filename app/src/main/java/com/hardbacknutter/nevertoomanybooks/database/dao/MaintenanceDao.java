@@ -48,4 +48,10 @@ public interface MaintenanceDao {
      */
     void rebuildOrderByTitleColumns(@NonNull Context context);
 
+    /**
+     * Repopulate all binary collation key columns from their OrderBy columns.
+     * Must be called when the Locale used for sorting changes.
+     */
+    void rebuildCollationKeys();
+
 }
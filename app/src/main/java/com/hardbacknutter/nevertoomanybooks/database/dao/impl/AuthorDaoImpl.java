@@ -160,7 +160,8 @@ public class AuthorDaoImpl
             + '(' + DBKey.AUTHOR_FAMILY_NAME + ',' + DBKey.KEY_AUTHOR_FAMILY_NAME_OB
             + ',' + DBKey.AUTHOR_GIVEN_NAMES + ',' + DBKey.KEY_AUTHOR_GIVEN_NAMES_OB
             + ',' + DBKey.AUTHOR_IS_COMPLETE
-            + ") VALUES (?,?,?,?,?)";
+            + ',' + DBKey.KEY_AUTHOR_CK + ',' + DBKey.KEY_AUTHOR_GIVEN_FIRST_CK
+            + ") VALUES (?,?,?,?,?,?,?)";
 
     /** Delete an {@link Author}. */
     private static final String DELETE_BY_ID =
@@ -192,22 +193,6 @@ public class AuthorDaoImpl
             + _END;
 
 
-    private static final String SORT_AUTHOR_FAMILY_FIRST =
-            CASE_WHEN_ + TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_GIVEN_NAMES_OB) + "=''"
-            + _THEN_ + TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_FAMILY_NAME_OB)
-
-            + _ELSE_ + TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_FAMILY_NAME_OB)
-            + "||" + TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_GIVEN_NAMES_OB)
-            + _END;
-
-    private static final String SORT_AUTHOR_GIVEN_FIRST =
-            CASE_WHEN_ + TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_GIVEN_NAMES_OB) + "=''"
-            + _THEN_ + TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_FAMILY_NAME_OB)
-
-            + _ELSE_ + TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_GIVEN_NAMES_OB)
-            + "||" + TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_FAMILY_NAME_OB)
-            + _END;
-
 
     /** {@link #getNames(String)} : 'Family name' in column 0. */
     private static final String SELECT_ALL_FAMILY_NAMES =
@@ -263,6 +248,10 @@ public class AuthorDaoImpl
                         .build();
     }
 
+    /** Cache for {@link #find}; only used during a batch session. */
+    @NonNull
+    private final EntityIdCache mIdCache = new EntityIdCache();
+
     /**
      * Constructor.
      */
@@ -272,9 +261,28 @@ public class AuthorDaoImpl
 
     /**
      * Single column, for sorting on the formatted name of the Author.
+     * This is a binary collation key, see {@link #createCollationKey(String, String, boolean)}.
+     *
+     * @param givenNameFirst flag
+     *
+     * @return column expression
+     */
+    @NonNull
+    public static String getSortingDomainExpression(final boolean givenNameFirst) {
+        if (givenNameFirst) {
+            return TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_GIVEN_FIRST_CK);
+        } else {
+            return TBL_AUTHORS.dot(DBKey.KEY_AUTHOR_CK);
+        }
+    }
+
+    /**
+     * Create the binary collation key for sorting on the formatted name of the Author.
      * <p>
      * Dev note: Note how the 'otherwise' will always concatenate the names without white space.
      *
+     * @param familyNameOb   the 'order by' version of the family name
+     * @param givenNamesOb   the 'order by' version of the given names
      * @param givenNameFirst {@code true}
      *                       If no given name -> "FamilyName"
      *                       otherwise -> "GivenNamesFamilyName"
@@ -282,14 +290,18 @@ public class AuthorDaoImpl
      *                       If no given name -> "FamilyName"
      *                       otherwise -> "FamilyNameGivenNames"
      *
-     * @return column expression
+     * @return key
      */
     @NonNull
-    public static String getSortingDomainExpression(final boolean givenNameFirst) {
-        if (givenNameFirst) {
-            return SORT_AUTHOR_GIVEN_FIRST;
+    static byte[] createCollationKey(@NonNull final String familyNameOb,
+                                     @NonNull final String givenNamesOb,
+                                     final boolean givenNameFirst) {
+        if (givenNamesOb.isEmpty()) {
+            return SqlEncode.collationKey(familyNameOb);
+        } else if (givenNameFirst) {
+            return SqlEncode.collationKey(givenNamesOb + familyNameOb);
         } else {
-            return SORT_AUTHOR_FAMILY_FIRST;
+            return SqlEncode.collationKey(familyNameOb + givenNamesOb);
         }
     }
 
@@ -357,11 +369,22 @@ public class AuthorDaoImpl
             authorLocale = bookLocale;
         }
 
-        try (SynchronizedStatement stmt = mDb.compileStatement(FIND_ID)) {
-            stmt.bindString(1, SqlEncode.orderByColumn(author.getFamilyName(), authorLocale));
-            stmt.bindString(2, SqlEncode.orderByColumn(author.getGivenNames(), authorLocale));
-            return stmt.simpleQueryForLongOrZero();
+        final String familyNameOb = SqlEncode.orderByColumn(author.getFamilyName(),
+                                                            authorLocale);
+        final String givenNamesOb = SqlEncode.orderByColumn(author.getGivenNames(),
+                                                            authorLocale);
+
+        final String key = EntityIdCache.key(familyNameOb, givenNamesOb);
+        long id = mIdCache.get(mDb, key);
+        if (id == 0) {
+            try (SynchronizedStatement stmt = mDb.compileStatement(FIND_ID)) {
+                stmt.bindString(1, familyNameOb);
+                stmt.bindString(2, givenNamesOb);
+                id = stmt.simpleQueryForLongOrZero();
+            }
+            mIdCache.put(mDb, key, id);
         }
+        return id;
     }
 
     @Override
@@ -571,8 +594,12 @@ public class AuthorDaoImpl
         final ContentValues cv = new ContentValues();
         cv.put(DBKey.AUTHOR_IS_COMPLETE, isComplete);
 
-        return 0 < mDb.update(TBL_AUTHORS.getName(), cv, DBKey.PK_ID + "=?",
-                              new String[]{String.valueOf(authorId)});
+        final boolean success = 0 < mDb.update(TBL_AUTHORS.getName(), cv, DBKey.PK_ID + "=?",
+                                               new String[]{String.valueOf(authorId)});
+        if (success) {
+            mDb.notifyDataChanged();
+        }
+        return success;
     }
 
     @Override
@@ -642,12 +669,19 @@ public class AuthorDaoImpl
         final Locale userLocale = context.getResources().getConfiguration().getLocales().get(0);
         final Locale authorLocale = author.getLocale(context, userLocale);
 
+        final String familyNameOb = SqlEncode.orderByColumn(author.getFamilyName(),
+                                                            authorLocale);
+        final String givenNamesOb = SqlEncode.orderByColumn(author.getGivenNames(),
+                                                            authorLocale);
+
         try (SynchronizedStatement stmt = mDb.compileStatement(INSERT)) {
             stmt.bindString(1, author.getFamilyName());
-            stmt.bindString(2, SqlEncode.orderByColumn(author.getFamilyName(), authorLocale));
+            stmt.bindString(2, familyNameOb);
             stmt.bindString(3, author.getGivenNames());
-            stmt.bindString(4, SqlEncode.orderByColumn(author.getGivenNames(), authorLocale));
+            stmt.bindString(4, givenNamesOb);
             stmt.bindBoolean(5, author.isComplete());
+            stmt.bindBlob(6, createCollationKey(familyNameOb, givenNamesOb, false));
+            stmt.bindBlob(7, createCollationKey(familyNameOb, givenNamesOb, true));
             final long iId = stmt.executeInsert();
             if (iId > 0) {
                 author.setId(iId);
@@ -663,17 +697,26 @@ public class AuthorDaoImpl
         final Locale userLocale = context.getResources().getConfiguration().getLocales().get(0);
         final Locale authorLocale = author.getLocale(context, userLocale);
 
+        final String familyNameOb = SqlEncode.orderByColumn(author.getFamilyName(),
+                                                            authorLocale);
+        final String givenNamesOb = SqlEncode.orderByColumn(author.getGivenNames(),
+                                                            authorLocale);
+
         final ContentValues cv = new ContentValues();
         cv.put(DBKey.AUTHOR_FAMILY_NAME, author.getFamilyName());
-        cv.put(DBKey.KEY_AUTHOR_FAMILY_NAME_OB,
-               SqlEncode.orderByColumn(author.getFamilyName(), authorLocale));
+        cv.put(DBKey.KEY_AUTHOR_FAMILY_NAME_OB, familyNameOb);
         cv.put(DBKey.AUTHOR_GIVEN_NAMES, author.getGivenNames());
-        cv.put(DBKey.KEY_AUTHOR_GIVEN_NAMES_OB,
-               SqlEncode.orderByColumn(author.getGivenNames(), authorLocale));
+        cv.put(DBKey.KEY_AUTHOR_GIVEN_NAMES_OB, givenNamesOb);
         cv.put(DBKey.AUTHOR_IS_COMPLETE, author.isComplete());
-
-        return 0 < mDb.update(TBL_AUTHORS.getName(), cv, DBKey.PK_ID + "=?",
-                              new String[]{String.valueOf(author.getId())});
+        cv.put(DBKey.KEY_AUTHOR_CK, createCollationKey(familyNameOb, givenNamesOb, false));
+        cv.put(DBKey.KEY_AUTHOR_GIVEN_FIRST_CK,
+               createCollationKey(familyNameOb, givenNamesOb, true));
+
+        mIdCache.clear();
+        final boolean success = 0 < mDb.update(TBL_AUTHORS.getName(), cv, DBKey.PK_ID + "=?",
+                                               new String[]{String.valueOf(author.getId())});
+        mDb.notifyDataChanged();
+        return success;
     }
 
     @Override
@@ -688,6 +731,8 @@ public class AuthorDaoImpl
         }
 
         if (rowsAffected > 0) {
+            mIdCache.clear();
+            mDb.notifyDataChanged();
             author.setId(0);
             repositionAuthor(context);
         }
@@ -752,6 +797,7 @@ public class AuthorDaoImpl
             if (txLock != null) {
                 mDb.endTransaction(txLock);
             }
+            mDb.notifyDataChanged();
         }
     }
 
@@ -760,6 +806,8 @@ public class AuthorDaoImpl
         try (SynchronizedStatement stmt = mDb.compileStatement(PURGE)) {
             stmt.executeUpdateDelete();
         }
+        mIdCache.clear();
+        mDb.notifyDataChanged();
     }
 
     // Note that in normal usage we could first get the book id's
@@ -805,6 +853,7 @@ public class AuthorDaoImpl
                 if (txLock != null) {
                     mDb.endTransaction(txLock);
                 }
+                mDb.notifyDataChanged();
                 if (BuildConfig.DEBUG /* always */) {
                     Log.w(TAG, "repositionAuthor|done");
                 }
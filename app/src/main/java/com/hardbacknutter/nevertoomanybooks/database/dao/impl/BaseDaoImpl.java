@@ -114,6 +114,8 @@ abstract class BaseDaoImpl {
         try (SynchronizedStatement stmt = mDb.compileStatement(TOUCH)) {
             stmt.bindLong(1, bookId);
             return 0 < stmt.executeUpdateDelete();
+        } finally {
+            mDb.notifyDataChanged();
         }
     }
 
@@ -46,7 +46,6 @@ import com.hardbacknutter.nevertoomanybooks.debug.Logger;
 import com.hardbacknutter.nevertoomanybooks.debug.SanityCheck;
 import com.hardbacknutter.nevertoomanybooks.entities.Book;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngineRegistry;
-import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
 import com.hardbacknutter.nevertoomanybooks.utils.Money;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
 
@@ -99,7 +98,9 @@ public class BookDaoHelper {
         if (book.contains(DBKey.TITLE)) {
             final OrderByHelper.OrderByData obd = OrderByHelper
                     .createOrderByData(context, book.getTitle(), bookLocale, null);
-            book.putString(DBKey.KEY_TITLE_OB, SqlEncode.orderByColumn(obd.title, obd.locale));
+            final String titleOb = SqlEncode.orderByColumn(obd.title, obd.locale);
+            book.putString(DBKey.KEY_TITLE_OB, titleOb);
+            book.put(DBKey.KEY_TITLE_CK, SqlEncode.collationKey(titleOb));
         }
 
         // store only valid bits. The 'get' will normalise any incorrect 'long' value
@@ -488,7 +489,8 @@ public class BookDaoHelper {
 
                 if (fileSpec.isEmpty()) {
                     // An empty fileSpec indicates we need to delete the cover
-                    book.getPersistedCoverFile(cIdx).ifPresent(FileUtils::delete);
+                    ServiceLocator.getInstance().getCoverRegistry()
+                                  .delete(ServiceLocator.getAppContext(), uuid, cIdx);
                     // Delete from the cache. And yes, we also delete the ones
                     // where != index, but we don't care; it's a cache.
                     if (ImageUtils.isImageCachingEnabled()) {
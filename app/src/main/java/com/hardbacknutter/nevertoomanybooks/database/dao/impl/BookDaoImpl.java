@@ -43,6 +43,7 @@ import java.util.stream.Collectors;
 
 import com.hardbacknutter.nevertoomanybooks.BuildConfig;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRegistry;
 import com.hardbacknutter.nevertoomanybooks.covers.ImageUtils;
 import com.hardbacknutter.nevertoomanybooks.database.DBDefinitions;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
@@ -52,6 +53,7 @@ import com.hardbacknutter.nevertoomanybooks.database.dao.AuthorDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.BookDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.BookshelfDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.DaoWriteException;
+import com.hardbacknutter.nevertoomanybooks.database.dao.InlineStringDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.PublisherDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.SeriesDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.TocEntryDao;
@@ -68,7 +70,6 @@ import com.hardbacknutter.nevertoomanybooks.entities.Publisher;
 import com.hardbacknutter.nevertoomanybooks.entities.Series;
 import com.hardbacknutter.nevertoomanybooks.entities.TocEntry;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngineRegistry;
-import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
 import com.hardbacknutter.nevertoomanybooks.utils.ISBN;
 import com.hardbacknutter.nevertoomanybooks.utils.Money;
 import com.hardbacknutter.nevertoomanybooks.utils.dates.DateParser;
@@ -163,6 +164,12 @@ public class BookDaoImpl
     /** Log tag. */
     private static final String TAG = "BookDaoImpl";
 
+    /**
+     * The 'inline' string columns for which the {@link InlineStringDao}s cache the values.
+     * Must be kept in sync with the DAO list in {@link #updateInlineStringCaches}.
+     */
+    private static final String[] INLINE_STRING_KEYS = {COLOR, FORMAT, GENRE, LANGUAGE, LOCATION};
+
     /** log error string. */
     private static final String ERROR_CREATING_BOOK_FROM = "Failed creating book from\n";
     /** log error string. */
@@ -181,6 +188,17 @@ public class BookDaoImpl
         dateParser = new ISODateParser();
     }
 
+    @Override
+    public void startBatch() {
+        EntityIdCache.startSession();
+    }
+
+    @Override
+    public void endBatch() {
+        EntityIdCache.endSession();
+        ServiceLocator.getInstance().getFtsDao().updateQueuedBooks();
+    }
+
     @Override
     @IntRange(from = 1, to = Integer.MAX_VALUE)
     public long insert(@NonNull final Context context,
@@ -190,13 +208,15 @@ public class BookDaoImpl
                    DaoWriteException {
 
         Synchronizer.SyncLock txLock = null;
+        boolean committed = false;
+        ContentValues cv = null;
         try {
             if (!mDb.inTransaction()) {
                 txLock = mDb.beginTransaction(true);
             }
 
             final BookDaoHelper bookDaoHelper = new BookDaoHelper(context, book, true);
-            final ContentValues cv = bookDaoHelper
+            cv = bookDaoHelper
                     .process(context)
                     .filterValues(mDb.getTableInfo(TBL_BOOKS));
 
@@ -248,8 +268,11 @@ public class BookDaoImpl
             // next we add the links to series, authors,...
             insertBookLinks(context, book, flags);
 
-            // and populate the search suggestions table
-            ServiceLocator.getInstance().getFtsDao().insert(newBookId);
+            // and populate the search suggestions table.
+            // During a batch operation, this is postponed until the end of the batch.
+            if ((flags & BOOK_FLAG_IS_BATCH_OPERATION) == 0) {
+                ServiceLocator.getInstance().getFtsDao().updateQueuedBooks();
+            }
 
             // lastly we move the covers from the cache dir to their permanent dir/name
             try {
@@ -268,6 +291,7 @@ public class BookDaoImpl
 
             if (txLock != null) {
                 mDb.setTransactionSuccessful();
+                committed = true;
             }
             return newBookId;
 
@@ -278,6 +302,10 @@ public class BookDaoImpl
             if (txLock != null) {
                 mDb.endTransaction(txLock);
             }
+            if (txLock == null || committed) {
+                updateInlineStringCaches(committed, null, cv);
+            }
+            mDb.notifyDataChanged();
         }
     }
 
@@ -289,13 +317,16 @@ public class BookDaoImpl
                    DaoWriteException {
 
         Synchronizer.SyncLock txLock = null;
+        boolean committed = false;
+        String[] inlineStringsBefore = null;
+        ContentValues cv = null;
         try {
             if (!mDb.inTransaction()) {
                 txLock = mDb.beginTransaction(true);
             }
 
             final BookDaoHelper bookDaoHelper = new BookDaoHelper(context, book, false);
-            final ContentValues cv = bookDaoHelper
+            cv = bookDaoHelper
                     .process(context)
                     .filterValues(mDb.getTableInfo(TBL_BOOKS));
 
@@ -312,6 +343,11 @@ public class BookDaoImpl
                         .date(LocalDateTime.now(ZoneOffset.UTC)));
             }
 
+            // Only needed if we can update the cached lists incrementally.
+            if (txLock != null) {
+                inlineStringsBefore = getInlineStrings(book.getId());
+            }
+
             // Reminder: We're updating ONLY the fields present in the ContentValues.
             // Other fields in the database row are not affected.
             // go !
@@ -327,7 +363,9 @@ public class BookDaoImpl
 
                 insertBookLinks(context, book, flags);
 
-                ServiceLocator.getInstance().getFtsDao().update(book.getId());
+                if ((flags & BOOK_FLAG_IS_BATCH_OPERATION) == 0) {
+                    ServiceLocator.getInstance().getFtsDao().updateQueuedBooks();
+                }
 
                 try {
                     bookDaoHelper.persistCovers();
@@ -338,6 +376,7 @@ public class BookDaoImpl
 
                 if (txLock != null) {
                     mDb.setTransactionSuccessful();
+                    committed = true;
                 }
             } else {
                 throw new DaoWriteException(ERROR_UPDATING_BOOK_FROM + book);
@@ -349,6 +388,10 @@ public class BookDaoImpl
             if (txLock != null) {
                 mDb.endTransaction(txLock);
             }
+            if (txLock == null || committed) {
+                updateInlineStringCaches(committed, inlineStringsBefore, cv);
+            }
+            mDb.notifyDataChanged();
         }
     }
 
@@ -382,9 +425,13 @@ public class BookDaoImpl
 
         int rowsAffected = 0;
         Synchronizer.SyncLock txLock = null;
+        boolean committed = false;
+        String[] inlineStringsBefore = null;
         try {
             if (!mDb.inTransaction()) {
                 txLock = mDb.beginTransaction(true);
+                // Only needed if we can update the cached lists incrementally.
+                inlineStringsBefore = getInlineStrings(id);
             }
 
             try (SynchronizedStatement stmt = mDb.compileStatement(Sql.Delete.BOOK_BY_ID)) {
@@ -396,8 +443,10 @@ public class BookDaoImpl
                 // sanity check
                 if (!uuid.isEmpty()) {
                     // Delete the covers from the file system.
+                    final CoverRegistry coverRegistry =
+                            ServiceLocator.getInstance().getCoverRegistry();
                     for (int cIdx = 0; cIdx < 2; cIdx++) {
-                        Book.getPersistedCoverFile(uuid, cIdx).ifPresent(FileUtils::delete);
+                        coverRegistry.delete(ServiceLocator.getAppContext(), uuid, cIdx);
                     }
                     // and from the cache. If the user flipped the cache on/off we'll
                     // not always be cleaning up correctly. It's not that important though.
@@ -408,6 +457,7 @@ public class BookDaoImpl
             }
             if (txLock != null) {
                 mDb.setTransactionSuccessful();
+                committed = true;
             }
         } catch (@NonNull final RuntimeException e) {
             Logger.error(TAG, e, "Failed to delete book");
@@ -416,6 +466,10 @@ public class BookDaoImpl
             if (txLock != null) {
                 mDb.endTransaction(txLock);
             }
+            if (rowsAffected > 0 && (txLock == null || committed)) {
+                updateInlineStringCaches(committed, inlineStringsBefore, null);
+            }
+            mDb.notifyDataChanged();
         }
 
         return rowsAffected == 1;
@@ -910,6 +964,8 @@ public class BookDaoImpl
             stmt.bindString(2, now);
             stmt.bindLong(3, id);
             return 0 < stmt.executeUpdateDelete();
+        } finally {
+            mDb.notifyDataChanged();
         }
     }
 
@@ -926,6 +982,7 @@ public class BookDaoImpl
             stmt.bindLong(3, book.getId());
             success = 0 < stmt.executeUpdateDelete();
         }
+        mDb.notifyDataChanged();
 
         if (success) {
             book.putBoolean(READ__BOOL, isRead);
@@ -1099,6 +1156,68 @@ public class BookDaoImpl
         return getColumnAsStringArrayList(Sql.Select.ALL_BOOK_UUID);
     }
 
+    /**
+     * Get the current values of the {@link #INLINE_STRING_KEYS} columns for the given book.
+     *
+     * @param bookId of the book
+     *
+     * @return the values, in the same order as the keys; {@code null} if the book is not found
+     */
+    @Nullable
+    private String[] getInlineStrings(final long bookId) {
+        try (Cursor cursor = mDb.rawQuery(Sql.Get.INLINE_STRINGS_BY_ID,
+                                          new String[]{String.valueOf(bookId)})) {
+            if (cursor.moveToFirst()) {
+                final String[] values = new String[INLINE_STRING_KEYS.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = cursor.getString(i);
+                }
+                return values;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Keep the cached lists of the {@link InlineStringDao}s up to date after a book was
+     * inserted, updated or deleted.
+     * <p>
+     * Must only be called once the write is committed, so a failure (e.g. while
+     * storing the covers) which rolls back the transaction leaves the caches untouched.
+     * If the write was done as part of a larger transaction (e.g. an import),
+     * which can still be rolled back, we clear the caches instead.
+     *
+     * @param committed {@code true} if the write was committed in our own transaction
+     * @param before    the values before the write, as returned by
+     *                  {@link #getInlineStrings(long)}; {@code null} for an insert
+     * @param after     the values written; {@code null} for a delete
+     */
+    private void updateInlineStringCaches(final boolean committed,
+                                          @Nullable final String[] before,
+                                          @Nullable final ContentValues after) {
+        final ServiceLocator serviceLocator = ServiceLocator.getInstance();
+        final InlineStringDao[] daos = {
+                serviceLocator.getColorDao(),
+                serviceLocator.getFormatDao(),
+                serviceLocator.getGenreDao(),
+                serviceLocator.getLanguageDao(),
+                serviceLocator.getLocationDao()};
+
+        for (int i = 0; i < INLINE_STRING_KEYS.length; i++) {
+            final String key = INLINE_STRING_KEYS[i];
+            // for an update, only the columns present were changed.
+            if (after != null && before != null && !after.containsKey(key)) {
+                continue;
+            }
+            if (committed) {
+                daos[i].onBookChanged(before != null ? before[i] : null,
+                                      after != null ? after.getAsString(key) : null);
+            } else {
+                daos[i].clearCache();
+            }
+        }
+    }
+
     /**
      * Return the book UUID based on the id.
      *
@@ -1254,6 +1373,12 @@ public class BookDaoImpl
                     SELECT_ + DATE_LAST_UPDATED__UTC + _FROM_ + TBL_BOOKS.getName()
                     + _WHERE_ + PK_ID + "=?";
 
+            /** Get the {@link #INLINE_STRING_KEYS} values of a {@link Book} by its id. */
+            static final String INLINE_STRINGS_BY_ID =
+                    SELECT_ + String.join(",", INLINE_STRING_KEYS)
+                    + _FROM_ + TBL_BOOKS.getName()
+                    + _WHERE_ + PK_ID + "=?";
+
             /** Get the id of a {@link Book} by UUID. */
             static final String BOOK_ID_BY_UUID =
                     SELECT_ + PK_ID + _FROM_ + TBL_BOOKS.getName()
@@ -78,6 +78,11 @@ public class BookshelfDaoImpl
             DELETE_FROM_ + TBL_BOOKSHELF.getName()
             + _WHERE_ + DBKey.PK_ID + "=?";
 
+    /** Get the name of a {@link Bookshelf} by id. */
+    private static final String GET_NAME_BY_ID =
+            SELECT_ + DBKey.BOOKSHELF_NAME + _FROM_ + TBL_BOOKSHELF.getName()
+            + _WHERE_ + DBKey.PK_ID + "=?";
+
     /**
      * Get the id of a {@link Bookshelf} by name.
      * The lookup is by EQUALITY and CASE-SENSITIVE.
@@ -140,6 +145,10 @@ public class BookshelfDaoImpl
             + ',' + DBKey.FILTER_VALUE
             + ") VALUES (?,?,?)";
 
+    /** Cache for {@link #find}; only used during a batch session. */
+    @NonNull
+    private final EntityIdCache mIdCache = new EntityIdCache();
+
     /**
      * Constructor.
      */
@@ -207,10 +216,15 @@ public class BookshelfDaoImpl
     @Override
     public long find(@NonNull final Bookshelf bookshelf) {
 
-        try (SynchronizedStatement stmt = mDb.compileStatement(FIND_ID)) {
-            stmt.bindString(1, bookshelf.getName());
-            return stmt.simpleQueryForLongOrZero();
+        long id = mIdCache.get(mDb, bookshelf.getName());
+        if (id == 0) {
+            try (SynchronizedStatement stmt = mDb.compileStatement(FIND_ID)) {
+                stmt.bindString(1, bookshelf.getName());
+                id = stmt.simpleQueryForLongOrZero();
+            }
+            mIdCache.put(mDb, bookshelf.getName(), id);
         }
+        return id;
     }
 
     @Override
@@ -359,6 +373,7 @@ public class BookshelfDaoImpl
 
         if (iId > 0) {
             bookshelf.setId(iId);
+            mDb.notifyDataChanged();
         }
         return iId;
     }
@@ -371,6 +386,7 @@ public class BookshelfDaoImpl
         final long styleId = bookshelf.getStyle(context).getId();
 
         final int rowsAffected;
+        final boolean renamed;
 
         Synchronizer.SyncLock txLock = null;
         try {
@@ -378,6 +394,13 @@ public class BookshelfDaoImpl
                 txLock = mDb.beginTransaction(true);
             }
 
+            // This is also used to store the list position, which is not a data change.
+            final String name;
+            try (SynchronizedStatement stmt = mDb.compileStatement(GET_NAME_BY_ID)) {
+                stmt.bindLong(1, bookshelf.getId());
+                name = stmt.simpleQueryForStringOrNull();
+            }
+
             final ContentValues cv = new ContentValues();
             cv.put(DBKey.BOOKSHELF_NAME, bookshelf.getName());
             cv.put(DBKey.BOOKSHELF_BL_TOP_POS, bookshelf.getFirstVisibleItemPosition());
@@ -387,6 +410,8 @@ public class BookshelfDaoImpl
 
             rowsAffected = mDb.update(TBL_BOOKSHELF.getName(), cv, DBKey.PK_ID + "=?",
                                       new String[]{String.valueOf(bookshelf.getId())});
+            mIdCache.clear();
+            renamed = rowsAffected > 0 && !bookshelf.getName().equals(name);
 
             storeFilters(context, bookshelf.getId(), bookshelf);
 
@@ -398,6 +423,10 @@ public class BookshelfDaoImpl
                 mDb.endTransaction(txLock);
             }
         }
+
+        if (renamed) {
+            mDb.notifyDataChanged();
+        }
         return 0 < rowsAffected;
     }
 
@@ -429,6 +458,8 @@ public class BookshelfDaoImpl
         }
 
         if (rowsAffected > 0) {
+            mIdCache.clear();
+            mDb.notifyDataChanged();
             bookshelf.setId(0);
         }
         return rowsAffected == 1;
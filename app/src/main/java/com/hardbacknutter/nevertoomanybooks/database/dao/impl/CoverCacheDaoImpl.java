@@ -32,9 +32,9 @@ import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
+import androidx.annotation.WorkerThread;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -42,12 +42,12 @@ import java.time.format.DateTimeFormatter;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRegistry;
 import com.hardbacknutter.nevertoomanybooks.covers.ImageUtils;
 import com.hardbacknutter.nevertoomanybooks.database.dao.CoverCacheDao;
 import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedDb;
 import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedStatement;
 import com.hardbacknutter.nevertoomanybooks.debug.Logger;
-import com.hardbacknutter.nevertoomanybooks.entities.Book;
 import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
 
 import static com.hardbacknutter.nevertoomanybooks.database.CoversDbHelper.BLOB_IMAGE;
@@ -84,6 +84,11 @@ public class CoverCacheDaoImpl
             "SELECT " + BLOB_IMAGE + " FROM " + TBL_IMAGE.getName()
             + " WHERE " + CACHE_ID + "=? AND " + LAST_UPDATED__UTC + ">?";
 
+    /** Run a count for the desired image. 1 == exists and up to date, 0 == not there. */
+    private static final String SQL_COUNT_IMAGE =
+            "SELECT COUNT(" + PK_ID + ") FROM " + TBL_IMAGE.getName()
+            + " WHERE " + CACHE_ID + "=? AND " + LAST_UPDATED__UTC + ">?";
+
     /** Run a count for the desired file. 1 == exists, 0 == not there. */
     private static final String SQL_COUNT_ID =
             "SELECT COUNT(" + PK_ID + ") FROM " + TBL_IMAGE.getName()
@@ -160,6 +165,53 @@ public class CoverCacheDaoImpl
         }
     }
 
+    /**
+     * Get the last modified date of the cover file, formatted for comparing with the cache.
+     *
+     * @param context Current context
+     * @param uuid    UUID of the book
+     * @param cIdx    0..n image index
+     *
+     * @return the formatted date, or {@code null} if there is no cover file
+     */
+    @Nullable
+    private static String getFileLastModified(@NonNull final Context context,
+                                              @NonNull final String uuid,
+                                              @IntRange(from = 0, to = 1) final int cIdx) {
+        final long lm = ServiceLocator.getInstance().getCoverRegistry()
+                                      .get(context, uuid, cIdx)
+                                      .map(CoverRegistry.Entry::getLastModified)
+                                      .orElse(0L);
+        if (lm > 0) {
+            return Instant.ofEpochMilli(lm)
+                          .atZone(ZoneOffset.UTC)
+                          .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        return null;
+    }
+
+    @Override
+    @AnyThread
+    public boolean isCached(@NonNull final Context context,
+                            @NonNull final String uuid,
+                            @IntRange(from = 0, to = 1) final int cIdx,
+                            final int maxWidth,
+                            final int maxHeight) {
+        try {
+            final String fileLastModified = getFileLastModified(context, uuid, cIdx);
+            if (fileLastModified != null) {
+                try (SynchronizedStatement stmt = db.compileStatement(SQL_COUNT_IMAGE)) {
+                    stmt.bindString(1, constructCacheId(uuid, cIdx, maxWidth, maxHeight));
+                    stmt.bindString(2, fileLastModified);
+                    return stmt.simpleQueryForLongOrZero() > 0;
+                }
+            }
+        } catch (@NonNull final RuntimeException e) {
+            Logger.error(TAG, e);
+        }
+        return false;
+    }
+
     @Override
     @Nullable
     @AnyThread
@@ -169,14 +221,8 @@ public class CoverCacheDaoImpl
                            final int maxWidth,
                            final int maxHeight) {
         try {
-            final long lm = Book.getPersistedCoverFile(uuid, cIdx).map(File::lastModified)
-                                .orElse(0L);
-            if (lm > 0) {
-                final String fileLastModified =
-                        Instant.ofEpochMilli(lm)
-                               .atZone(ZoneOffset.UTC)
-                               .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-
+            final String fileLastModified = getFileLastModified(context, uuid, cIdx);
+            if (fileLastModified != null) {
                 final String cacheId = constructCacheId(uuid, cIdx, maxWidth, maxHeight);
 
                 try (Cursor cursor = db.rawQuery(
@@ -221,40 +267,7 @@ public class CoverCacheDaoImpl
 
             RUNNING_TASKS.incrementAndGet();
             try {
-                final ByteArrayOutputStream out = new ByteArrayOutputStream();
-                // Rapid scrolling of view could already have recycled the bitmap.
-                if (!bitmap.isRecycled()) {
-                    bitmap.compress(Bitmap.CompressFormat.JPEG, IMAGE_QUALITY_PERCENTAGE, out);
-
-                    final String cacheId = constructCacheId(uuid, cIdx, width, height);
-
-                    final boolean exists;
-                    try (SynchronizedStatement stmt = db.compileStatement(SQL_COUNT_ID)) {
-                        stmt.bindString(1, cacheId);
-                        exists = stmt.simpleQueryForLongOrZero() == 0;
-                    }
-
-                    if (exists) {
-                        try (SynchronizedStatement stmt = db.compileStatement(INSERT)) {
-                            stmt.bindString(1, cacheId);
-                            stmt.bindBlob(2, out.toByteArray());
-                            stmt.executeInsert();
-                        }
-                    } else {
-                        final ContentValues cv = new ContentValues();
-                        cv.put(CACHE_ID, cacheId);
-                        cv.put(BLOB_IMAGE, out.toByteArray());
-                        cv.put(LAST_UPDATED__UTC, LocalDateTime
-                                .now(ZoneOffset.UTC)
-                                .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-                        db.update(TBL_IMAGE.getName(), cv,
-                                   CACHE_ID + "=?", new String[]{cacheId});
-                    }
-                }
-            } catch (@NonNull final IllegalStateException ignore) {
-                // Again: Rapid scrolling of view could already have recycled the bitmap.
-                // java.lang.IllegalStateException: Can't compress a recycled bitmap
-                // don't care at this point; this is just a cache; don't even log.
+                storeCover(uuid, cIdx, bitmap, width, height);
 
             } catch (@NonNull final RuntimeException e) {
                 // do not crash... ever! This is just a cache!
@@ -263,9 +276,54 @@ public class CoverCacheDaoImpl
                 // We don't bother cancelling any pending tasks... oh well...
                 ImageUtils.setImageCachingEnabled(false);
                 //FIXME: we should let the user know....
+            } finally {
+                RUNNING_TASKS.decrementAndGet();
             }
-
-            RUNNING_TASKS.decrementAndGet();
         });
     }
+
+    @Override
+    @WorkerThread
+    public void storeCover(@NonNull final String uuid,
+                           @IntRange(from = 0, to = 1) final int cIdx,
+                           @NonNull final Bitmap bitmap,
+                           final int width,
+                           final int height) {
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            // Rapid scrolling of view could already have recycled the bitmap.
+            if (!bitmap.isRecycled()) {
+                bitmap.compress(Bitmap.CompressFormat.JPEG, IMAGE_QUALITY_PERCENTAGE, out);
+
+                final String cacheId = constructCacheId(uuid, cIdx, width, height);
+
+                final boolean exists;
+                try (SynchronizedStatement stmt = db.compileStatement(SQL_COUNT_ID)) {
+                    stmt.bindString(1, cacheId);
+                    exists = stmt.simpleQueryForLongOrZero() == 0;
+                }
+
+                if (exists) {
+                    try (SynchronizedStatement stmt = db.compileStatement(INSERT)) {
+                        stmt.bindString(1, cacheId);
+                        stmt.bindBlob(2, out.toByteArray());
+                        stmt.executeInsert();
+                    }
+                } else {
+                    final ContentValues cv = new ContentValues();
+                    cv.put(CACHE_ID, cacheId);
+                    cv.put(BLOB_IMAGE, out.toByteArray());
+                    cv.put(LAST_UPDATED__UTC, LocalDateTime
+                            .now(ZoneOffset.UTC)
+                            .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                    db.update(TBL_IMAGE.getName(), cv,
+                              CACHE_ID + "=?", new String[]{cacheId});
+                }
+            }
+        } catch (@NonNull final IllegalStateException ignore) {
+            // Again: Rapid scrolling of view could already have recycled the bitmap.
+            // java.lang.IllegalStateException: Can't compress a recycled bitmap
+            // don't care at this point; this is just a cache; don't even log.
+        }
+    }
 }
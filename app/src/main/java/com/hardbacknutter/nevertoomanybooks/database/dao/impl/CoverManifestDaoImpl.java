@@ -0,0 +1,169 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.database.dao.impl;
+
+import android.database.Cursor;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRegistry;
+import com.hardbacknutter.nevertoomanybooks.database.DBKey;
+import com.hardbacknutter.nevertoomanybooks.database.dao.CoverManifestDao;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedStatement;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.Synchronizer;
+
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKS;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_COVER_MANIFEST;
+
+public class CoverManifestDaoImpl
+        extends BaseDaoImpl
+        implements CoverManifestDao {
+
+    /** Log tag. */
+    private static final String TAG = "CoverManifestDaoImpl";
+
+    private static final String SELECT_ALL =
+            SELECT_ + DBKey.BOOK_UUID
+            + ',' + DBKey.KEY_COVER_INDEX
+            + ',' + DBKey.KEY_COVER_FILE_SIZE
+            + ',' + DBKey.KEY_COVER_CRC32
+            + ',' + DBKey.KEY_COVER_LAST_MODIFIED
+            + _FROM_ + TBL_COVER_MANIFEST.getName();
+
+    private static final String SELECT_BY_UUID_AND_CIDX =
+            SELECT_ALL
+            + _WHERE_ + DBKey.BOOK_UUID + "=?" + _AND_ + DBKey.KEY_COVER_INDEX + "=?";
+
+    private static final String INSERT_OR_REPLACE =
+            "INSERT OR REPLACE INTO " + TBL_COVER_MANIFEST.getName()
+            + '(' + DBKey.BOOK_UUID
+            + ',' + DBKey.KEY_COVER_INDEX
+            + ',' + DBKey.KEY_COVER_FILE_SIZE
+            + ',' + DBKey.KEY_COVER_CRC32
+            + ',' + DBKey.KEY_COVER_LAST_MODIFIED
+            + ") VALUES (?,?,?,?,?)";
+
+    private static final String DELETE_BY_UUID_AND_CIDX =
+            DELETE_FROM_ + TBL_COVER_MANIFEST.getName()
+            + _WHERE_ + DBKey.BOOK_UUID + "=?" + _AND_ + DBKey.KEY_COVER_INDEX + "=?";
+
+    private static final String PURGE =
+            DELETE_FROM_ + TBL_COVER_MANIFEST.getName()
+            + _WHERE_ + DBKey.BOOK_UUID + _NOT_IN_
+            + "(SELECT " + DBKey.BOOK_UUID + _FROM_ + TBL_BOOKS.getName() + ')';
+
+    /**
+     * Constructor.
+     */
+    public CoverManifestDaoImpl() {
+        super(TAG);
+    }
+
+    @NonNull
+    private static Entry toEntry(@NonNull final Cursor cursor) {
+        return new Entry(cursor.getString(0),
+                         cursor.getInt(1),
+                         cursor.getLong(2),
+                         cursor.getLong(3),
+                         cursor.getLong(4));
+    }
+
+    @NonNull
+    @Override
+    public Map<String, Entry> getAll() {
+        final Map<String, Entry> map = new HashMap<>();
+        try (Cursor cursor = mDb.rawQuery(SELECT_ALL, null)) {
+            while (cursor.moveToNext()) {
+                final Entry entry = toEntry(cursor);
+                map.put(CoverRegistry.createName(entry.getUuid(), entry.getCIdx()), entry);
+            }
+        }
+        return map;
+    }
+
+    @NonNull
+    @Override
+    public Optional<Entry> get(@NonNull final String uuid,
+                               @IntRange(from = 0, to = 1) final int cIdx) {
+        try (Cursor cursor = mDb.rawQuery(SELECT_BY_UUID_AND_CIDX,
+                                          new String[]{uuid, String.valueOf(cIdx)})) {
+            if (cursor.moveToFirst()) {
+                return Optional.of(toEntry(cursor));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void update(@NonNull final Collection<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Synchronizer.SyncLock txLock = null;
+        try {
+            if (!mDb.inTransaction()) {
+                txLock = mDb.beginTransaction(true);
+            }
+
+            try (SynchronizedStatement stmt = mDb.compileStatement(INSERT_OR_REPLACE)) {
+                for (final Entry entry : entries) {
+                    stmt.bindString(1, entry.getUuid());
+                    stmt.bindLong(2, entry.getCIdx());
+                    stmt.bindLong(3, entry.getSize());
+                    stmt.bindLong(4, entry.getCrc32());
+                    stmt.bindLong(5, entry.getLastModified());
+                    stmt.executeInsert();
+                }
+            }
+
+            if (txLock != null) {
+                mDb.setTransactionSuccessful();
+            }
+        } finally {
+            if (txLock != null) {
+                mDb.endTransaction(txLock);
+            }
+        }
+    }
+
+    @Override
+    public void delete(@NonNull final String uuid,
+                       @IntRange(from = 0, to = 1) final int cIdx) {
+        try (SynchronizedStatement stmt = mDb.compileStatement(DELETE_BY_UUID_AND_CIDX)) {
+            stmt.bindString(1, uuid);
+            stmt.bindLong(2, cIdx);
+            stmt.executeUpdateDelete();
+        }
+    }
+
+    @Override
+    public void purge() {
+        try (SynchronizedStatement stmt = mDb.compileStatement(PURGE)) {
+            stmt.executeUpdateDelete();
+        }
+    }
+}
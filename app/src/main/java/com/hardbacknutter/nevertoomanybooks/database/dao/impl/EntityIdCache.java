@@ -0,0 +1,154 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.database.dao.impl;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.hardbacknutter.nevertoomanybooks.database.dao.BookDao;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedDb;
+
+/**
+ * Caches the id of an entity, keyed by the values the DAO uses to find it in the database.
+ * <p>
+ * A DAO only uses its cache during a batch session, i.e. between
+ * {@link BookDao#startBatch()} and {@link BookDao#endBatch()},
+ * so importing books which share Authors, Series,... runs the FIND_ID queries only once
+ * for each of them. The cache is discarded
+ * <ul>
+ *     <li>at the start and end of each session</li>
+ *     <li>when a transaction on the database was rolled back, as a cached id can refer
+ *         to a row which was inserted in that transaction</li>
+ *     <li>explicitly by the DAO whenever it modifies or deletes rows</li>
+ * </ul>
+ * Lookups which found nothing are never cached.
+ */
+final class EntityIdCache {
+
+    /** Nesting count of the active sessions; shared by all caches. */
+    private static int sSessions;
+    /** Changed at the start and end of each session; shared by all caches. */
+    private static int sGeneration;
+
+    @NonNull
+    private final Map<String, Long> mIds = new HashMap<>();
+    /** The {@link #sGeneration} for which {@link #mIds} is valid. */
+    private int mGeneration;
+    /** The {@link SynchronizedDb#getRollbackCount()} for which {@link #mIds} is valid. */
+    private int mRollbackCount;
+
+    /**
+     * Start a session. Sessions can be nested.
+     */
+    static synchronized void startSession() {
+        if (sSessions == 0) {
+            sGeneration++;
+        }
+        sSessions++;
+    }
+
+    /**
+     * End a session. The caches are discarded when the outer session ends.
+     */
+    static synchronized void endSession() {
+        if (sSessions > 0) {
+            sSessions--;
+            if (sSessions == 0) {
+                sGeneration++;
+            }
+        }
+    }
+
+    /**
+     * Create a key from the given lookup values.
+     *
+     * @param values as bound to the FIND_ID statement of the DAO
+     *
+     * @return key
+     */
+    @NonNull
+    static String key(@NonNull final String... values) {
+        // The values are never null, and will not contain a '\0'
+        return String.join("\0", values);
+    }
+
+    /**
+     * Get the cached id.
+     *
+     * @param db  database the id was found in
+     * @param key as created by {@link #key(String...)}
+     *
+     * @return the id, or {@code 0} if not cached (or not in a session)
+     */
+    synchronized long get(@NonNull final SynchronizedDb db,
+                          @NonNull final String key) {
+        if (isValid(db)) {
+            final Long id = mIds.get(key);
+            if (id != null) {
+                return id;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Cache an id; ignored if not in a session, or if the id is not valid.
+     *
+     * @param db  database the id was found in
+     * @param key as created by {@link #key(String...)}
+     * @param id  to cache
+     */
+    synchronized void put(@NonNull final SynchronizedDb db,
+                          @NonNull final String key,
+                          final long id) {
+        if (id > 0 && isValid(db)) {
+            mIds.put(key, id);
+        }
+    }
+
+    /**
+     * Discard all cached ids.
+     * Must be called by the DAO whenever it modifies or deletes one or more rows.
+     */
+    synchronized void clear() {
+        mIds.clear();
+    }
+
+    private boolean isValid(@NonNull final SynchronizedDb db) {
+        final int generation;
+        synchronized (EntityIdCache.class) {
+            if (sSessions == 0) {
+                mIds.clear();
+                return false;
+            }
+            generation = sGeneration;
+        }
+
+        final int rollbackCount = db.getRollbackCount();
+        if (mGeneration != generation || mRollbackCount != rollbackCount) {
+            mIds.clear();
+            mGeneration = generation;
+            mRollbackCount = rollbackCount;
+        }
+        return true;
+    }
+}
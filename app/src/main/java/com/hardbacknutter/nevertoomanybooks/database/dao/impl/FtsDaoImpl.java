@@ -21,14 +21,20 @@ package com.hardbacknutter.nevertoomanybooks.database.dao.impl;
 
 import android.annotation.SuppressLint;
 import android.database.Cursor;
+import android.os.CancellationSignal;
+import android.os.OperationCanceledException;
+import android.text.TextUtils;
 import android.util.Log;
 
-import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import com.hardbacknutter.nevertoomanybooks.BuildConfig;
 import com.hardbacknutter.nevertoomanybooks.database.CursorRow;
@@ -50,6 +56,7 @@ import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BO
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_SERIES;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOK_TOC_ENTRIES;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_FTS_BOOKS;
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_FTS_BOOKS_QUEUE;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_PUBLISHERS;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_SERIES;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_TOC_ENTRIES;
@@ -97,29 +104,7 @@ public class FtsDaoImpl
             + ',' + FTS_BOOK_ID
             + ") VALUES (?,?,?,?,?,?,?,?,?,?,?)";
 
-    /**
-     * The full UPDATE statement.
-     * The parameter order MUST match the order expected in INSERT.
-     */
-    private static final String UPDATE =
-            UPDATE_ + TBL_FTS_BOOKS.getName()
-            + _SET_ + TITLE + "=?"
-            + ',' + FTS_AUTHOR_NAME + "=?"
-            + ',' + SERIES_TITLE + "=?"
-            + ',' + DESCRIPTION + "=?"
-            + ',' + PERSONAL_NOTES + "=?"
-            + ',' + PUBLISHER_NAME + "=?"
-            + ',' + GENRE + "=?"
-            + ',' + LOCATION + "=?"
-            + ',' + BOOK_ISBN + "=?"
-            + ',' + FTS_TOC_ENTRY_TITLE + "=?"
-
-            + _WHERE_ + FTS_BOOK_ID + "=?";
-
-    /**
-     * The full INSERT statement.
-     * The parameter order MUST match the order expected in UPDATE.
-     */
+    /** The full INSERT statement. */
     private static final String INSERT =
             INSERT_INTO_ + TBL_FTS_BOOKS.getName() + INSERT_BODY;
 
@@ -135,8 +120,23 @@ public class FtsDaoImpl
             + ',' + BOOK_ISBN
             + _FROM_ + TBL_BOOKS.getName();
 
-    /** Used during insert of a book. Minimal column list. */
-    private static final String BOOK_BY_ID = ALL_BOOKS + _WHERE_ + PK_ID + "=?";
+    /** Used to update the queued books. Minimal column list. */
+    private static final String QUEUED_BOOKS =
+            ALL_BOOKS + _WHERE_ + PK_ID + " IN (SELECT " + FK_BOOK
+            + _FROM_ + TBL_FTS_BOOKS_QUEUE.getName() + ')';
+
+    /** Remove the FTS records for the queued books. */
+    private static final String DELETE_QUEUED_BOOKS =
+            DELETE_FROM_ + TBL_FTS_BOOKS.getName()
+            + _WHERE_ + FTS_BOOK_ID + " IN (SELECT " + FK_BOOK
+            + _FROM_ + TBL_FTS_BOOKS_QUEUE.getName() + ')';
+
+    /** Empty the queue. */
+    private static final String CLEAR_QUEUE = DELETE_FROM_ + TBL_FTS_BOOKS_QUEUE.getName();
+
+    /** Check if there is anything in the queue. */
+    private static final String QUEUE_NOT_EMPTY =
+            "SELECT EXISTS(SELECT 1" + _FROM_ + TBL_FTS_BOOKS_QUEUE.getName() + ')';
 
     /** Used during insert of a book. Minimal column list. Ordered by position. */
     private static final String GET_AUTHORS_BY_BOOK_ID =
@@ -168,18 +168,83 @@ public class FtsDaoImpl
             + _WHERE_ + TBL_BOOK_SERIES.dot(FK_BOOK) + "=?"
             + _ORDER_BY_ + TBL_BOOK_SERIES.dot(BOOK_SERIES_POSITION);
 
-    /** Advanced Local-search. */
+    /** The matchinfo() column for ranking the results. */
+    private static final String MATCHINFO =
+            "matchinfo(" + TBL_FTS_BOOKS.getName() + ",'" + FtsRanking.MATCHINFO_FORMAT + "')";
+
+    /**
+     * The number of candidate rows fetched for ranking, as a multiple of the requested limit.
+     * A short prefix can match most of the library; we don't want to read all of it
+     * into memory on each keystroke. The ranking is done within the candidates.
+     */
+    private static final int CANDIDATES_PER_RESULT = 10;
+
+    /**
+     * Advanced Local-search.
+     * A limited number of candidate rows is fetched; they are ranked and limited afterwards.
+     */
     private static final String SEARCH =
             // KEY_FTS_BOOKS_PK is the _id into the books table.
             SELECT_ + DBKey.FTS_BOOK_ID
+            + ',' + MATCHINFO
             + _FROM_ + TBL_FTS_BOOKS.getName()
             + _WHERE_ + TBL_FTS_BOOKS.getName()
             + " MATCH ? LIMIT ?";
+
+    /** Count all matching rows; only used when there are more rows than candidates. */
+    private static final String COUNT =
+            SELECT_COUNT_FROM_ + TBL_FTS_BOOKS.getName()
+            + _WHERE_ + TBL_FTS_BOOKS.getName()
+            + " MATCH ?";
+
+    /**
+     * Search suggestions.
+     * A limited number of candidate rows is fetched; they are ranked and limited afterwards.
+     * The (expensive) snippet is NOT fetched here, see {@link #SEARCH_SNIPPETS}.
+     */
+    private static final String SEARCH_SUGGESTIONS =
+            SELECT_ + DBKey.FTS_BOOK_ID
+            + ',' + MATCHINFO
+            + ',' + TITLE
+            + ',' + FTS_AUTHOR_NAME
+            + _FROM_ + TBL_FTS_BOOKS.getName()
+            + _WHERE_ + TBL_FTS_BOOKS.getName()
+            + " MATCH ? LIMIT ?";
+
+    /**
+     * Search suggestions: the part of the best matching column with the matched words.
+     * Only done for the best ranked rows; the list of book ids must be appended.
+     */
+    private static final String SEARCH_SNIPPETS =
+            SELECT_ + DBKey.FTS_BOOK_ID
+            + ",snippet(" + TBL_FTS_BOOKS.getName() + ",'','','\u2026',-1,8)"
+            + _FROM_ + TBL_FTS_BOOKS.getName()
+            + _WHERE_ + TBL_FTS_BOOKS.getName()
+            + " MATCH ?"
+            + _AND_ + DBKey.FTS_BOOK_ID + " IN (";
+
+    /** Column weights for ranking the search results. */
+    private static final FtsRanking RANKING;
     /** divider to convert nanoseconds to milliseconds. */
     private static final int NANO_TO_MILLIS = 1_000_000;
     /** log error string. */
     private static final String ERROR_FAILED_TO_UPDATE_FTS = "Failed to update FTS";
 
+    static {
+        final Map<String, Double> weights = new HashMap<>();
+        weights.put(TITLE, 4d);
+        weights.put(FTS_AUTHOR_NAME, 4d);
+        weights.put(SERIES_TITLE, 2d);
+        weights.put(FTS_TOC_ENTRY_TITLE, 2d);
+        weights.put(BOOK_ISBN, 2d);
+        weights.put(PUBLISHER_NAME, 1d);
+        weights.put(GENRE, 1d);
+        weights.put(DESCRIPTION, 0.5d);
+        weights.put(PERSONAL_NOTES, 0.5d);
+        weights.put(LOCATION, 0.5d);
+        RANKING = new FtsRanking(TBL_FTS_BOOKS.getDomains(), weights);
+    }
+
     /**
      * Constructor.
      */
@@ -211,22 +276,132 @@ public class FtsDaoImpl
                              @Nullable final String publisherName,
                              @Nullable final String keywords,
                              final int limit) {
+        return search(author, title, seriesTitle, publisherName, keywords, limit, null).ids;
+    }
+
+    @Override
+    @NonNull
+    public SearchResult search(@Nullable final String author,
+                               @Nullable final String title,
+                               @Nullable final String seriesTitle,
+                               @Nullable final String publisherName,
+                               @Nullable final String keywords,
+                               final int limit,
+                               @Nullable final CancellationSignal cancellationSignal)
+            throws OperationCanceledException {
+
+        final Optional<String> query = FtsDao.createMatchString(title, seriesTitle, author,
+                                                                publisherName, keywords);
+        if (!query.isPresent()) {
+            return SearchResult.EMPTY;
+        }
+
+        updateQueuedBooks();
+
+        final int candidates = limit * CANDIDATES_PER_RESULT;
+        final List<Ranked<Long>> ranked = new ArrayList<>();
+        try (Cursor cursor = mDb.rawQuery(SEARCH, new String[]{
+                query.get(), String.valueOf(candidates)}, cancellationSignal)) {
+            while (cursor.moveToNext()) {
+                if (cancellationSignal != null) {
+                    cancellationSignal.throwIfCanceled();
+                }
+                ranked.add(new Ranked<>(cursor.getLong(0),
+                                        RANKING.score(cursor.getBlob(1))));
+            }
+        }
+
+        int count = ranked.size();
+        if (count == candidates) {
+            // There are (probably) more; count them, without reading them.
+            try (Cursor cursor = mDb.rawQuery(COUNT, new String[]{query.get()},
+                                              cancellationSignal)) {
+                if (cursor.moveToFirst()) {
+                    count = cursor.getInt(0);
+                }
+            }
+        }
+
+        return new SearchResult(count, best(ranked, limit));
+    }
+
+    @Override
+    @NonNull
+    public List<Suggestion> searchSuggestions(@NonNull final String query,
+                                              final int limit) {
+
+        updateQueuedBooks();
+
+        final List<Ranked<Candidate>> ranked = new ArrayList<>();
+
+        try (Cursor cursor = mDb.rawQuery(SEARCH_SUGGESTIONS, new String[]{
+                query, String.valueOf(limit * CANDIDATES_PER_RESULT)})) {
+            while (cursor.moveToNext()) {
+                final FtsRanking.Score score = RANKING.score(cursor.getBlob(1));
+                final String bestColumn = TBL_FTS_BOOKS.getDomains()
+                                                       .get(score.bestColumn).getName();
+                final boolean useAuthor = TITLE.equals(bestColumn)
+                                          || FTS_AUTHOR_NAME.equals(bestColumn);
+                ranked.add(new Ranked<>(new Candidate(cursor.getLong(0),
+                                                      cursor.getString(2),
+                                                      cursor.getString(3),
+                                                      useAuthor),
+                                        score));
+            }
+        }
 
-        final List<Long> result = new ArrayList<>();
+        final List<Candidate> best = best(ranked, limit);
+
+        // Only now get the snippets, and only for the best results which need one.
+        final List<Long> snippetIds = best.stream()
+                                          .filter(c -> !c.useAuthor)
+                                          .map(c -> c.bookId)
+                                          .collect(Collectors.toList());
+        final Map<Long, String> snippets = new HashMap<>();
+        if (!snippetIds.isEmpty()) {
+            try (Cursor cursor = mDb.rawQuery(SEARCH_SNIPPETS
+                                              + TextUtils.join(",", snippetIds) + ')',
+                                              new String[]{query})) {
+                while (cursor.moveToNext()) {
+                    snippets.put(cursor.getLong(0), cursor.getString(1));
+                }
+            }
+        }
 
-        FtsDao.createMatchString(title, seriesTitle, author, publisherName, keywords)
-              .ifPresent(query -> {
-                  try (Cursor cursor = mDb.rawQuery(SEARCH, new String[]
-                          {query, String.valueOf(limit)})) {
-                      while (cursor.moveToNext()) {
-                          result.add(cursor.getLong(0));
-                      }
-                  }
-              });
+        return best.stream()
+                   .map(c -> {
+                       final String text = c.useAuthor ? c.author : snippets.get(c.bookId);
+                       return new Suggestion(c.bookId, c.title, text != null ? text : "");
+                   })
+                   .collect(Collectors.toList());
+    }
 
-        return result;
+    /**
+     * Sort on the score, and return the best results.
+     *
+     * @param ranked list to sort
+     * @param limit  maximum number of results to return
+     * @param <T>    type of the result
+     *
+     * @return best results first
+     */
+    @NonNull
+    private static <T> List<T> best(@NonNull final List<Ranked<T>> ranked,
+                                    final int limit) {
+        return ranked.stream()
+                     .sorted((o1, o2) -> Double.compare(o2.score.value, o1.score.value))
+                     .limit(limit)
+                     .map(r -> r.item)
+                     .collect(Collectors.toList());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The new table is built under a temporary name, and only replaces the existing
+     * table when done. A failed rebuild leaves the existing table in place.
+     * The rebuild runs inside an exclusive transaction: searches will block until it is done.
+     */
     @Override
     public void rebuild() {
         // This can take several seconds with many books or a slow device.
@@ -251,6 +426,8 @@ public class FtsDaoImpl
             try (Cursor cursor = mDb.rawQuery(ALL_BOOKS, null)) {
                 processBooks(cursor, INSERT_INTO_ + tmpTableName + INSERT_BODY);
             }
+            // all books are done, whether they were queued or not.
+            mDb.execSQL(CLEAR_QUEUE);
             if (txLock != null) {
                 mDb.setTransactionSuccessful();
             }
@@ -285,40 +462,37 @@ public class FtsDaoImpl
     }
 
     @Override
-    public void insert(@IntRange(from = 1) final long bookId)
-            throws TransactionException {
-
-        if (BuildConfig.DEBUG /* always */) {
-            if (!mDb.inTransaction()) {
-                throw new TransactionException(TransactionException.REQUIRED);
+    public void updateQueuedBooks() {
+        try (SynchronizedStatement stmt = mDb.compileStatement(QUEUE_NOT_EMPTY)) {
+            if (stmt.simpleQueryForLongOrZero() == 0) {
+                return;
             }
         }
 
-        try (Cursor cursor = mDb.rawQuery(BOOK_BY_ID, new String[]{String.valueOf(bookId)})) {
-            processBooks(cursor, INSERT);
-
-        } catch (@NonNull final RuntimeException e) {
-            // updating FTS should not be fatal.
-            Logger.error(TAG, e, ERROR_FAILED_TO_UPDATE_FTS);
-        }
-    }
-
-    @Override
-    public void update(@IntRange(from = 1) final long bookId)
-            throws TransactionException {
-
-        if (BuildConfig.DEBUG /* always */) {
+        Synchronizer.SyncLock txLock = null;
+        try {
             if (!mDb.inTransaction()) {
-                throw new TransactionException(TransactionException.REQUIRED);
+                txLock = mDb.beginTransaction(true);
             }
-        }
 
-        try (Cursor cursor = mDb.rawQuery(BOOK_BY_ID, new String[]{String.valueOf(bookId)})) {
-            processBooks(cursor, UPDATE);
+            // Simply delete and re-insert. This also takes care of deleted books.
+            mDb.execSQL(DELETE_QUEUED_BOOKS);
+            try (Cursor cursor = mDb.rawQuery(QUEUED_BOOKS, null)) {
+                processBooks(cursor, INSERT);
+            }
+            mDb.execSQL(CLEAR_QUEUE);
 
+            if (txLock != null) {
+                mDb.setTransactionSuccessful();
+            }
         } catch (@NonNull final RuntimeException e) {
             // updating FTS should not be fatal.
+            // The queue is left as-is, and will be retried on the next call.
             Logger.error(TAG, e, ERROR_FAILED_TO_UPDATE_FTS);
+        } finally {
+            if (txLock != null) {
+                mDb.endTransaction(txLock);
+            }
         }
     }
 
@@ -327,12 +501,11 @@ public class FtsDaoImpl
      * <p>
      * <strong>Note:</strong> This assumes a specific order for query parameters.
      * If modified, also modify {@link FtsDaoImpl#INSERT_BODY}
-     * and {@link FtsDaoImpl#UPDATE}
      *
      * <strong>Transaction:</strong> required
      *
      * @param cursor Cursor of books to update
-     * @param sql    Statement to execute (insert or update)
+     * @param sql    INSERT statement to execute
      *
      * @throws TransactionException a transaction must be started before calling this method
      */
@@ -445,11 +618,47 @@ public class FtsDaoImpl
                 // KEY_FTS_TOC_ENTRY_TITLE
                 bindStringOrNull(stmt, 10, tocTitles.toString());
 
-                // KEY_FTS_BOOK_ID : in a where clause, or as insert parameter
+                // KEY_FTS_BOOK_ID
                 stmt.bindLong(11, bookId);
 
                 stmt.execute();
             }
         }
     }
+
+    /** A search suggestion before the snippet (if needed) is fetched. */
+    private static class Candidate {
+
+        final long bookId;
+        @NonNull
+        final String title;
+        @Nullable
+        final String author;
+        /** {@code true} if the best match was on the title or author. */
+        final boolean useAuthor;
+
+        Candidate(final long bookId,
+                  @NonNull final String title,
+                  @Nullable final String author,
+                  final boolean useAuthor) {
+            this.bookId = bookId;
+            this.title = title;
+            this.author = author;
+            this.useAuthor = useAuthor;
+        }
+    }
+
+    private static class Ranked<T> {
+
+        @NonNull
+        final T item;
+        @NonNull
+        final FtsRanking.Score score;
+
+        Ranked(@NonNull final T item,
+               @NonNull final FtsRanking.Score score) {
+            this.item = item;
+            this.score = score;
+        }
+    }
 }
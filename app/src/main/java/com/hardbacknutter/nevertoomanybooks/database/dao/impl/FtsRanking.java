@@ -0,0 +1,142 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.database.dao.impl;
+
+import androidx.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.List;
+import java.util.Map;
+
+import com.hardbacknutter.nevertoomanybooks.database.definitions.Domain;
+
+/**
+ * Okapi BM25 ranking of FTS4 results.
+ * <p>
+ * FTS4 has no built-in ranking function, and we cannot add an SQL function on Android,
+ * so the score is calculated from the {@code matchinfo(table, 'pcnalx')} blob
+ * of each row. Each column has its own weight, so matching the title can rank
+ * higher than matching the notes.
+ * <p>
+ * <a href="https://sqlite.org/fts3.html#matchinfo">matchinfo</a>
+ */
+final class FtsRanking {
+
+    /** The format for the matchinfo() function as needed by {@link #score(byte[])}. */
+    static final String MATCHINFO_FORMAT = "pcnalx";
+
+    /** BM25 term frequency saturation. */
+    private static final double K1 = 1.2;
+    /** BM25 document length normalization. */
+    private static final double B = 0.75;
+    /** Used when a term is present in more than half of all rows. */
+    private static final double MIN_IDF = 1e-6;
+
+    /** Weight for each FTS column, in column order. */
+    @NonNull
+    private final double[] weights;
+
+    /**
+     * Constructor.
+     *
+     * @param columns the columns of the FTS table, in table order
+     * @param weights the weight for each column name; columns not listed have a weight of 1
+     */
+    FtsRanking(@NonNull final List<Domain> columns,
+               @NonNull final Map<String, Double> weights) {
+        this.weights = new double[columns.size()];
+        for (int c = 0; c < this.weights.length; c++) {
+            final Double weight = weights.get(columns.get(c).getName());
+            this.weights[c] = weight != null ? weight : 1;
+        }
+    }
+
+    /**
+     * Calculate the score of a single row.
+     *
+     * @param matchInfo the result of {@code matchinfo(table, MATCHINFO_FORMAT)}
+     *
+     * @return the score; higher is better
+     */
+    @NonNull
+    Score score(@NonNull final byte[] matchInfo) {
+        // SQLite writes the values as unsigned 32 bit integers in the native byte order.
+        final IntBuffer info = ByteBuffer.wrap(matchInfo)
+                                         .order(ByteOrder.nativeOrder())
+                                         .asIntBuffer();
+        // p: the number of phrases
+        final int phrases = info.get(0);
+        // c: the number of columns
+        final int columns = info.get(1);
+        // n: the number of rows in the table
+        final double rows = info.get(2);
+        // a: the average number of tokens in each column, starting at 3
+        final int avgTokensIdx = 3;
+        // l: the number of tokens in each column of this row
+        final int tokensIdx = avgTokensIdx + columns;
+        // x: 3 values for each phrase/column
+        final int hitsIdx = tokensIdx + columns;
+
+        final double[] columnScores = new double[columns];
+        for (int p = 0; p < phrases; p++) {
+            for (int c = 0; c < columns && c < weights.length; c++) {
+                final int x = hitsIdx + 3 * (p * columns + c);
+                final int hitsInRow = info.get(x);
+                final double avgTokens = info.get(avgTokensIdx + c);
+                if (hitsInRow == 0 || avgTokens == 0) {
+                    continue;
+                }
+                final int rowsWithHits = info.get(x + 2);
+                final double idf = Math.max(MIN_IDF, Math.log((rows - rowsWithHits + 0.5)
+                                                              / (rowsWithHits + 0.5)));
+                final double length = info.get(tokensIdx + c) / avgTokens;
+
+                columnScores[c] += weights[c] * idf * (hitsInRow * (K1 + 1))
+                                   / (hitsInRow + K1 * (1 - B + B * length));
+            }
+        }
+
+        double total = 0;
+        int best = 0;
+        for (int c = 0; c < columns; c++) {
+            total += columnScores[c];
+            if (columnScores[c] > columnScores[best]) {
+                best = c;
+            }
+        }
+        return new Score(total, best);
+    }
+
+    static final class Score {
+
+        /** The total score; higher is better. */
+        final double value;
+        /** The index of the column which contributed most to the score. */
+        final int bestColumn;
+
+        Score(final double value,
+              final int bestColumn) {
+            this.value = value;
+            this.bestColumn = bestColumn;
+        }
+    }
+}
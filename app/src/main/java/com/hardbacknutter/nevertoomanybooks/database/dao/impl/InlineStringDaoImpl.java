@@ -19,9 +19,15 @@
  */
 package com.hardbacknutter.nevertoomanybooks.database.dao.impl;
 
+import android.database.Cursor;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import com.hardbacknutter.nevertoomanybooks.database.DBDefinitions;
@@ -29,40 +35,96 @@ import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.database.dao.InlineStringDao;
 import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedStatement;
 
+/**
+ * The distinct values are loaded once, together with the number of books using each value.
+ * After that, the list is maintained in memory as books are inserted/updated/deleted,
+ * so we don't need a full table scan + sort each time the list is needed.
+ */
 public abstract class InlineStringDaoImpl
         extends BaseDaoImpl
         implements InlineStringDao {
 
-    /** name only. */
-    private final String mSqlSelectAll;
+    /** name + number of books using it. */
+    private final String mSqlSelectAllWithCount;
 
     /** Global rename. */
     private final String mSqlUpdate;
 
+    /** The number of distinct values sorting before a given value. */
+    private final String mSqlCountBefore;
+
+    /** Lock for {@link #mList} and {@link #mCounts}. */
+    private final Object mCacheLock = new Object();
+    /** The cached list; {@code null} if not loaded. */
+    @Nullable
+    private ArrayList<String> mList;
+    /** The number of books using each value in {@link #mList}. */
+    @Nullable
+    private Map<String, Integer> mCounts;
+
     /**
-     * Constructor.
+     * Constructor. The list will be ordered by the (localized) value.
      *
      * @param logTag of this DAO for logging.
+     * @param key    the column
      */
     InlineStringDaoImpl(@NonNull final String logTag,
                         @NonNull final String key) {
+        this(logTag, key, key + _COLLATION);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param logTag  of this DAO for logging.
+     * @param key     the column
+     * @param orderBy the ORDER BY expression to use when loading the list;
+     *                it's applied to the rows grouped by the value.
+     *                A custom ordering requires overriding
+     *                {@link #addToList(List, String, boolean)}.
+     */
+    InlineStringDaoImpl(@NonNull final String logTag,
+                        @NonNull final String key,
+                        @NonNull final String orderBy) {
         super(logTag);
 
-        mSqlSelectAll = SELECT_DISTINCT_ + key
-                        + _FROM_ + DBDefinitions.TBL_BOOKS.getName()
-                        + _WHERE_ + key + "<> ''"
-                        + _ORDER_BY_ + key + _COLLATION;
+        mSqlSelectAllWithCount = SELECT_ + key + ",COUNT(*)"
+                                 + _FROM_ + DBDefinitions.TBL_BOOKS.getName()
+                                 + _WHERE_ + key + "<> ''"
+                                 + " GROUP BY " + key
+                                 + _ORDER_BY_ + orderBy;
 
         mSqlUpdate = UPDATE_ + DBDefinitions.TBL_BOOKS.getName()
                      + _SET_ + DBKey.DATE_LAST_UPDATED__UTC + "=current_timestamp"
                      + ',' + key + "=?"
                      + _WHERE_ + key + "=?";
+
+        mSqlCountBefore = SELECT_ + "COUNT(DISTINCT " + key + ")"
+                          + _FROM_ + DBDefinitions.TBL_BOOKS.getName()
+                          + _WHERE_ + key + "<> ''"
+                          + _AND_ + key + "<?" + _COLLATION;
     }
 
     @Override
     @NonNull
     public ArrayList<String> getList() {
-        return getColumnAsStringArrayList(mSqlSelectAll);
+        synchronized (mCacheLock) {
+            if (mList == null) {
+                final ArrayList<String> list = new ArrayList<>();
+                final Map<String, Integer> counts = new HashMap<>();
+                try (Cursor cursor = mDb.rawQuery(mSqlSelectAllWithCount, null)) {
+                    while (cursor.moveToNext()) {
+                        final String value = cursor.getString(0);
+                        list.add(value);
+                        counts.put(value, cursor.getInt(1));
+                    }
+                }
+                mList = list;
+                mCounts = counts;
+            }
+            // the caller is free to modify the list
+            return new ArrayList<>(mList);
+        }
     }
 
     @Override
@@ -71,10 +133,96 @@ public abstract class InlineStringDaoImpl
         if (Objects.equals(from, to)) {
             return;
         }
+        final int rowsAffected;
         try (SynchronizedStatement stmt = mDb.compileStatement(mSqlUpdate)) {
             stmt.bindString(1, to);
             stmt.bindString(2, from);
-            stmt.executeUpdateDelete();
+            rowsAffected = stmt.executeUpdateDelete();
+        }
+        if (rowsAffected > 0) {
+            mDb.notifyDataChanged();
+        }
+
+        synchronized (mCacheLock) {
+            if (mList != null && mCounts != null && rowsAffected > 0) {
+                mCounts.remove(from);
+                mList.remove(from);
+                if (!to.isEmpty()) {
+                    final Integer count = mCounts.get(to);
+                    mCounts.put(to, count == null ? rowsAffected : count + rowsAffected);
+                    addToList(mList, to, count != null);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onBookChanged(@Nullable final String oldValue,
+                              @Nullable final String newValue) {
+        final String from = oldValue == null || oldValue.isEmpty() ? null : oldValue;
+        final String to = newValue == null || newValue.isEmpty() ? null : newValue;
+        if (Objects.equals(from, to)) {
+            return;
+        }
+
+        synchronized (mCacheLock) {
+            if (mList == null || mCounts == null) {
+                // not loaded, nothing to do
+                return;
+            }
+
+            if (from != null) {
+                final Integer count = mCounts.get(from);
+                if (count == null) {
+                    // we're out of sync; just reload when needed.
+                    clearCache();
+                    return;
+                } else if (count > 1) {
+                    mCounts.put(from, count - 1);
+                } else {
+                    mCounts.remove(from);
+                    mList.remove(from);
+                }
+            }
+
+            if (to != null) {
+                final Integer count = mCounts.get(to);
+                mCounts.put(to, count == null ? 1 : count + 1);
+                addToList(mList, to, count != null);
+            }
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        synchronized (mCacheLock) {
+            mList = null;
+            mCounts = null;
+        }
+    }
+
+    /**
+     * Add a value to the cached list, or move it as needed if it's already present.
+     * <p>
+     * The default inserts new values in the (localized) alphabetical position.
+     * The position is determined by the database using the same collation as
+     * {@link #getList()}, so the list is identical to a freshly loaded one.
+     * The value must already have been written (and committed) to the database.
+     *
+     * @param list   to add to
+     * @param value  to add
+     * @param exists {@code true} if the value is already in the list
+     */
+    void addToList(@NonNull final List<String> list,
+                   @NonNull final String value,
+                   final boolean exists) {
+        if (!exists) {
+            final long pos;
+            try (SynchronizedStatement stmt = mDb.compileStatement(mSqlCountBefore)) {
+                stmt.bindString(1, value);
+                pos = stmt.simpleQueryForLongOrZero();
+            }
+            list.add((int) Math.min(pos, list.size()), value);
         }
     }
 }
@@ -20,16 +20,15 @@
 package com.hardbacknutter.nevertoomanybooks.database.dao.impl;
 
 import android.content.Context;
-import android.database.Cursor;
 
 import androidx.annotation.NonNull;
 
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
-import com.hardbacknutter.nevertoomanybooks.database.DBDefinitions;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.database.dao.LanguageDao;
 import com.hardbacknutter.nevertoomanybooks.utils.Languages;
@@ -41,18 +40,12 @@ public class LanguageDaoImpl
     /** Log tag. */
     private static final String TAG = "LanguageDaoImpl";
 
-    /** Code only, ordered by last-used. */
-    private static final String SELECT_ALL =
-            SELECT_DISTINCT_ + DBKey.LANGUAGE
-            + _FROM_ + DBDefinitions.TBL_BOOKS.getName()
-            + _WHERE_ + DBKey.LANGUAGE + "<> ''"
-            + _ORDER_BY_ + DBKey.DATE_LAST_UPDATED__UTC;
-
     /**
      * Constructor.
      */
     public LanguageDaoImpl() {
-        super(TAG, DBKey.LANGUAGE);
+        // Code only, ordered by last-used.
+        super(TAG, DBKey.LANGUAGE, "MAX(" + DBKey.DATE_LAST_UPDATED__UTC + ")");
     }
 
     /**
@@ -64,26 +57,38 @@ public class LanguageDaoImpl
     @Override
     @NonNull
     public ArrayList<String> getList() {
-        return getColumnAsStringArrayList(SELECT_ALL);
+        return super.getList();
+    }
+
+    /**
+     * A book was written with this language, so it becomes the last-used one.
+     *
+     * <br><br>{@inheritDoc}
+     */
+    @Override
+    void addToList(@NonNull final List<String> list,
+                   @NonNull final String value,
+                   final boolean exists) {
+        if (exists) {
+            list.remove(value);
+        }
+        list.add(value);
     }
 
     @Override
     @NonNull
     public ArrayList<String> getNameList(@NonNull final Context context) {
-        try (Cursor cursor = mDb.rawQuery(SELECT_ALL, null)) {
-            // Using a Set to avoid duplicates
-            // The cursor is distinct, but we need to make sure code->name does not create
-            // duplicates (very unlikely, but not impossible)
-            final Set<String> set = new LinkedHashSet<>();
-            final Languages languages = ServiceLocator.getInstance().getLanguages();
+        // Using a Set to avoid duplicates
+        // The list is distinct, but we need to make sure code->name does not create
+        // duplicates (very unlikely, but not impossible)
+        final Set<String> set = new LinkedHashSet<>();
+        final Languages languages = ServiceLocator.getInstance().getLanguages();
 
-            while (cursor.moveToNext()) {
-                final String name = cursor.getString(0);
-                if (name != null && !name.isEmpty()) {
-                    set.add(languages.getDisplayNameFromISO3(context, name));
-                }
+        for (final String name : getList()) {
+            if (name != null && !name.isEmpty()) {
+                set.add(languages.getDisplayNameFromISO3(context, name));
             }
-            return new ArrayList<>(set);
         }
+        return new ArrayList<>(set);
     }
 }
@@ -19,26 +19,32 @@
  */
 package com.hardbacknutter.nevertoomanybooks.database.dao.impl;
 
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import com.hardbacknutter.nevertoomanybooks.BuildConfig;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.database.SqlEncode;
 import com.hardbacknutter.nevertoomanybooks.database.dao.MaintenanceDao;
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedStatement;
 import com.hardbacknutter.nevertoomanybooks.database.dbsync.Synchronizer;
-import com.hardbacknutter.nevertoomanybooks.database.dbsync.TransactionException;
 import com.hardbacknutter.nevertoomanybooks.database.definitions.TableDefinition;
 import com.hardbacknutter.nevertoomanybooks.debug.Logger;
 import com.hardbacknutter.nevertoomanybooks.utils.AppLocale;
 import com.hardbacknutter.nevertoomanybooks.utils.ReorderHelper;
 
+import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_AUTHORS;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_BOOKS;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_PUBLISHERS;
 import static com.hardbacknutter.nevertoomanybooks.database.DBDefinitions.TBL_SERIES;
@@ -51,6 +57,9 @@ public class MaintenanceDaoImpl
     /** Log tag. */
     private static final String TAG = "MaintenanceDaoImpl";
 
+    /** Number of rows to update in a single transaction while rebuilding. */
+    private static final int WRITE_BATCH_SIZE = 500;
+
     /** All Series for a rebuild of the {@link DBKey#KEY_SERIES_TITLE_OB} column. */
     private static final String SELECT_SERIES_FOR_ORDER_BY_REBUILD =
             // The index of KEY_PK_ID, KEY_SERIES_TITLE, KEY_SERIES_TITLE_OB is hardcoded
@@ -87,6 +96,19 @@ public class MaintenanceDaoImpl
             + _FROM_ + TBL_TOC_ENTRIES.getName();
 
 
+    /** All Authors for a rebuild of the collation key columns. */
+    private static final String SELECT_AUTHORS_FOR_COLLATION_KEY_REBUILD =
+            SELECT_ + DBKey.PK_ID
+            + ',' + DBKey.KEY_AUTHOR_FAMILY_NAME_OB
+            + ',' + DBKey.KEY_AUTHOR_GIVEN_NAMES_OB
+            + _FROM_ + TBL_AUTHORS.getName();
+
+    private static final String UPDATE_AUTHOR_COLLATION_KEYS =
+            UPDATE_ + TBL_AUTHORS.getName()
+            + _SET_ + DBKey.KEY_AUTHOR_CK + "=?"
+            + ',' + DBKey.KEY_AUTHOR_GIVEN_FIRST_CK + "=?"
+            + _WHERE_ + DBKey.PK_ID + "=?";
+
     /**
      * Constructor.
      */
@@ -106,6 +128,7 @@ public class MaintenanceDaoImpl
             serviceLocator.getSeriesDao().purge();
             serviceLocator.getAuthorDao().purge();
             serviceLocator.getPublisherDao().purge();
+            serviceLocator.getCoverManifestDao().purge();
 
             mDb.analyze();
 
@@ -122,52 +145,177 @@ public class MaintenanceDaoImpl
 
         final boolean reorder = OrderByHelper.forSorting(context);
 
-        // Books
-        String language;
-        Locale bookLocale;
-
-        Synchronizer.SyncLock txLock = null;
-        try {
-            if (!mDb.inTransaction()) {
-                txLock = mDb.beginTransaction(true);
-            }
+        // Books: resolve each language only once.
+        final Map<String, Locale> bookLocales = new HashMap<>();
+        final List<TitleRow> bookRows = readTitleRows(BOOK_TITLES, cursor -> {
+            final String language = cursor.getString(3);
+            return bookLocales.computeIfAbsent(language, lang -> {
+                final Locale locale = appLocale.getLocale(context, lang);
+                return locale != null ? locale : userLocale;
+            });
+        });
+        writeTitleRows(encodeTitleRows(context, reorder, bookRows),
+                       TBL_BOOKS, DBKey.KEY_TITLE_OB, DBKey.KEY_TITLE_CK);
+
+        // Series and TOC Entries use the user Locale.
+
+        // We should use the locale from the 1st book in the series...
+        // but that is a huge overhead.
+        writeTitleRows(encodeTitleRows(context, reorder, readTitleRows(
+                               SELECT_SERIES_FOR_ORDER_BY_REBUILD, cursor -> userLocale)),
+                       TBL_SERIES, DBKey.KEY_SERIES_TITLE_OB, DBKey.KEY_SERIES_TITLE_CK);
+
+        writeTitleRows(encodeTitleRows(context, reorder, readTitleRows(
+                               SELECT_PUBLISHERS_FOR_ORDER_BY_REBUILD, cursor -> userLocale)),
+                       TBL_PUBLISHERS, DBKey.KEY_PUBLISHER_NAME_OB,
+                       DBKey.KEY_PUBLISHER_NAME_CK);
+
+        // We should use primary book or Author Locale... but that is a huge overhead.
+        writeTitleRows(encodeTitleRows(context, reorder, readTitleRows(
+                               TOC_ENTRY_TITLES, cursor -> userLocale)),
+                       TBL_TOC_ENTRIES, DBKey.KEY_TITLE_OB, null);
+    }
 
-            try (Cursor cursor = mDb.rawQuery(BOOK_TITLES, null)) {
-                final int langIdx = cursor.getColumnIndex(DBKey.LANGUAGE);
-                while (cursor.moveToNext()) {
-                    language = cursor.getString(langIdx);
-                    bookLocale = appLocale.getLocale(context, language);
-                    if (bookLocale == null) {
-                        bookLocale = userLocale;
-                    }
-                    rebuildOrderByTitleColumns(context, bookLocale, reorder, cursor,
-                                               TBL_BOOKS, DBKey.KEY_TITLE_OB);
+    /**
+     * Read all rows which could possibly need a new 'order by' value.
+     * <p>
+     * A single-word title is never reordered, so its 'order by' value
+     * cannot change and the row is skipped.
+     *
+     * @param sql            to read the rows; see the column order in the SELECT statements
+     * @param localeSupplier provides the Locale for the row the cursor is positioned on
+     *
+     * @return list of rows
+     */
+    @NonNull
+    private List<TitleRow> readTitleRows(@NonNull final String sql,
+                                         @NonNull final Function<Cursor, Locale> localeSupplier) {
+        final List<TitleRow> list = new ArrayList<>();
+        try (Cursor cursor = mDb.rawQuery(sql, null)) {
+            while (cursor.moveToNext()) {
+                final String title = cursor.getString(1);
+                if (title.indexOf(' ') > 0) {
+                    list.add(new TitleRow(cursor.getLong(0), title, cursor.getString(2),
+                                          localeSupplier.apply(cursor)));
                 }
             }
+        }
+        return list;
+    }
 
-            // Series and TOC Entries use the user Locale.
+    /**
+     * Calculate the new 'order by' values.
+     * This is done in parallel (using the common fork-join pool),
+     * as the reordering and encoding is the expensive part of the rebuild.
+     *
+     * @param context Current context
+     * @param reorder flag whether to reorder or not
+     * @param rows    to process
+     *
+     * @return the rows for which the 'order by' value has changed
+     */
+    @NonNull
+    private List<TitleRow> encodeTitleRows(@NonNull final Context context,
+                                           final boolean reorder,
+                                           @NonNull final List<TitleRow> rows) {
+        return rows.parallelStream()
+                   .filter(row -> {
+                       final String title;
+                       if (reorder) {
+                           title = ReorderHelper.reorder(context, row.title, row.locale);
+                       } else {
+                           // Use the actual/original title
+                           title = row.title;
+                       }
+                       row.newObTitle = SqlEncode.orderByColumn(title, row.locale);
+                       // only update the database if actually needed.
+                       return !row.newObTitle.equals(row.currentObTitle);
+                   })
+                   .collect(Collectors.toList());
+    }
 
-            // We should use the locale from the 1st book in the series...
-            // but that is a huge overhead.
-            try (Cursor cursor = mDb.rawQuery(SELECT_SERIES_FOR_ORDER_BY_REBUILD, null)) {
-                while (cursor.moveToNext()) {
-                    rebuildOrderByTitleColumns(context, userLocale, reorder, cursor,
-                                               TBL_SERIES, DBKey.KEY_SERIES_TITLE_OB);
+    /**
+     * Write the new 'order by' values using a single reused statement,
+     * committing every {@link #WRITE_BATCH_SIZE} rows.
+     * If the caller is already in a transaction, that one is used instead.
+     *
+     * @param rows         to write
+     * @param table        to update
+     * @param domainName   to update
+     * @param ckDomainName (optional) collation key domain to update
+     */
+    private void writeTitleRows(@NonNull final List<TitleRow> rows,
+                                @NonNull final TableDefinition table,
+                                @NonNull final String domainName,
+                                @Nullable final String ckDomainName) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        String sql = UPDATE_ + table.getName() + _SET_ + domainName + "=?";
+        if (ckDomainName != null) {
+            sql += ',' + ckDomainName + "=?";
+        }
+        sql += _WHERE_ + DBKey.PK_ID + "=?";
+
+        final boolean ownTransaction = !mDb.inTransaction();
+
+        try (SynchronizedStatement stmt = mDb.compileStatement(sql)) {
+            for (int start = 0; start < rows.size(); start += WRITE_BATCH_SIZE) {
+                final int end = Math.min(start + WRITE_BATCH_SIZE, rows.size());
+                Synchronizer.SyncLock txLock = null;
+                try {
+                    if (ownTransaction) {
+                        txLock = mDb.beginTransaction(true);
+                    }
+                    for (final TitleRow row : rows.subList(start, end)) {
+                        int c = 0;
+                        stmt.bindString(++c, row.newObTitle);
+                        if (ckDomainName != null) {
+                            stmt.bindBlob(++c, SqlEncode.collationKey(row.newObTitle));
+                        }
+                        stmt.bindLong(++c, row.id);
+                        stmt.executeUpdateDelete();
+                    }
+                    if (txLock != null) {
+                        mDb.setTransactionSuccessful();
+                    }
+                } finally {
+                    if (txLock != null) {
+                        mDb.endTransaction(txLock);
+                    }
+                    mDb.notifyDataChanged();
                 }
             }
+        }
+    }
 
-            try (Cursor cursor = mDb.rawQuery(SELECT_PUBLISHERS_FOR_ORDER_BY_REBUILD, null)) {
-                while (cursor.moveToNext()) {
-                    rebuildOrderByTitleColumns(context, userLocale, reorder, cursor,
-                                               TBL_PUBLISHERS, DBKey.KEY_PUBLISHER_NAME_OB);
-                }
+    @Override
+    public void rebuildCollationKeys() {
+        Synchronizer.SyncLock txLock = null;
+        try {
+            if (!mDb.inTransaction()) {
+                txLock = mDb.beginTransaction(true);
             }
 
-            // We should use primary book or Author Locale... but that is a huge overhead.
-            try (Cursor cursor = mDb.rawQuery(TOC_ENTRY_TITLES, null)) {
+            rebuildCollationKeys(TBL_BOOKS, DBKey.KEY_TITLE_OB, DBKey.KEY_TITLE_CK);
+            rebuildCollationKeys(TBL_SERIES, DBKey.KEY_SERIES_TITLE_OB,
+                                 DBKey.KEY_SERIES_TITLE_CK);
+            rebuildCollationKeys(TBL_PUBLISHERS, DBKey.KEY_PUBLISHER_NAME_OB,
+                                 DBKey.KEY_PUBLISHER_NAME_CK);
+
+            try (Cursor cursor = mDb.rawQuery(SELECT_AUTHORS_FOR_COLLATION_KEY_REBUILD, null);
+                 SynchronizedStatement stmt = mDb.compileStatement(
+                         UPDATE_AUTHOR_COLLATION_KEYS)) {
                 while (cursor.moveToNext()) {
-                    rebuildOrderByTitleColumns(context, userLocale, reorder, cursor,
-                                               TBL_TOC_ENTRIES, DBKey.KEY_TITLE_OB);
+                    final String familyNameOb = cursor.getString(1);
+                    final String givenNamesOb = cursor.getString(2);
+                    stmt.bindBlob(1, AuthorDaoImpl
+                            .createCollationKey(familyNameOb, givenNamesOb, false));
+                    stmt.bindBlob(2, AuthorDaoImpl
+                            .createCollationKey(familyNameOb, givenNamesOb, true));
+                    stmt.bindLong(3, cursor.getLong(0));
+                    stmt.executeUpdateDelete();
                 }
             }
 
@@ -178,55 +326,54 @@ public class MaintenanceDaoImpl
             if (txLock != null) {
                 mDb.endTransaction(txLock);
             }
+            mDb.notifyDataChanged();
         }
     }
 
     /**
-     * Process a <strong>single row</strong> from the cursor.
-     *
-     * @param context    Current context
-     * @param locale     to use for optionally to reorder this title
-     * @param reorder    flag whether to reorder or not
-     * @param cursor     positioned on the row to handle
-     * @param table      to update
-     * @param domainName to update
+     * Rebuild a single collation key column from its OrderBy column.
      *
-     * @return {@code true} on success
+     * @param table        to update
+     * @param obDomainName the source OrderBy domain
+     * @param ckDomainName the collation key domain to update
      */
-    @SuppressWarnings("UnusedReturnValue")
-    private boolean rebuildOrderByTitleColumns(@NonNull final Context context,
-                                               @NonNull final Locale locale,
-                                               final boolean reorder,
-                                               @NonNull final Cursor cursor,
-                                               @NonNull final TableDefinition table,
-                                               @NonNull final String domainName) {
-
-        if (BuildConfig.DEBUG /* always */) {
-            if (!mDb.inTransaction()) {
-                throw new TransactionException(TransactionException.REQUIRED);
+    private void rebuildCollationKeys(@NonNull final TableDefinition table,
+                                      @NonNull final String obDomainName,
+                                      @NonNull final String ckDomainName) {
+        try (Cursor cursor = mDb.rawQuery(SELECT_ + DBKey.PK_ID + ',' + obDomainName
+                                          + _FROM_ + table.getName(), null);
+             SynchronizedStatement stmt = mDb.compileStatement(
+                     UPDATE_ + table.getName() + _SET_ + ckDomainName + "=?"
+                     + _WHERE_ + DBKey.PK_ID + "=?")) {
+            while (cursor.moveToNext()) {
+                stmt.bindBlob(1, SqlEncode.collationKey(cursor.getString(1)));
+                stmt.bindLong(2, cursor.getLong(0));
+                stmt.executeUpdateDelete();
             }
         }
+    }
 
-        final long id = cursor.getLong(0);
-        final String title = cursor.getString(1);
-        final String currentObTitle = cursor.getString(2);
-
-        final String rebuildObTitle;
-        if (reorder) {
-            rebuildObTitle = ReorderHelper.reorder(context, title, locale);
-        } else {
-            // Use the actual/original title
-            rebuildObTitle = title;
-        }
-
-        // only update the database if actually needed.
-        if (!currentObTitle.equals(rebuildObTitle)) {
-            final ContentValues cv = new ContentValues();
-            cv.put(domainName, SqlEncode.orderByColumn(rebuildObTitle, locale));
-            return 0 < mDb.update(table.getName(), cv, DBKey.PK_ID + "=?",
-                                  new String[]{String.valueOf(id)});
+    /** A single row for {@link #rebuildOrderByTitleColumns(Context)}. */
+    private static class TitleRow {
+
+        final long id;
+        @NonNull
+        final String title;
+        @NonNull
+        final String currentObTitle;
+        @NonNull
+        final Locale locale;
+        /** Set while encoding. */
+        String newObTitle;
+
+        TitleRow(final long id,
+                 @NonNull final String title,
+                 @NonNull final String currentObTitle,
+                 @NonNull final Locale locale) {
+            this.id = id;
+            this.title = title;
+            this.currentObTitle = currentObTitle;
+            this.locale = locale;
         }
-
-        return true;
     }
 }
@@ -120,7 +120,8 @@ public class PublisherDaoImpl
             INSERT_INTO_ + TBL_PUBLISHERS.getName()
             + '(' + DBKey.PUBLISHER_NAME
             + ',' + DBKey.KEY_PUBLISHER_NAME_OB
-            + ") VALUES (?,?)";
+            + ',' + DBKey.KEY_PUBLISHER_NAME_CK
+            + ") VALUES (?,?,?)";
 
     /** Delete a {@link Publisher}. */
     private static final String DELETE_BY_ID =
@@ -134,6 +135,10 @@ public class PublisherDaoImpl
             + _FROM_ + TBL_BOOK_PUBLISHER.getName() + ')';
 
 
+    /** Cache for {@link #find}; only used during a batch session. */
+    @NonNull
+    private final EntityIdCache mIdCache = new EntityIdCache();
+
     /**
      * Constructor.
      */
@@ -169,11 +174,20 @@ public class PublisherDaoImpl
                                                   bookLocale, null);
         }
 
-        try (SynchronizedStatement stmt = mDb.compileStatement(FIND_ID)) {
-            stmt.bindString(1, SqlEncode.orderByColumn(publisher.getName(), obd.locale));
-            stmt.bindString(2, SqlEncode.orderByColumn(obd.title, obd.locale));
-            return stmt.simpleQueryForLongOrZero();
+        final String ob = SqlEncode.orderByColumn(publisher.getName(), obd.locale);
+        final String reorderedOb = SqlEncode.orderByColumn(obd.title, obd.locale);
+
+        final String key = EntityIdCache.key(ob, reorderedOb);
+        long id = mIdCache.get(mDb, key);
+        if (id == 0) {
+            try (SynchronizedStatement stmt = mDb.compileStatement(FIND_ID)) {
+                stmt.bindString(1, ob);
+                stmt.bindString(2, reorderedOb);
+                id = stmt.simpleQueryForLongOrZero();
+            }
+            mIdCache.put(mDb, key, id);
         }
+        return id;
     }
 
     @Override
@@ -311,9 +325,12 @@ public class PublisherDaoImpl
         final OrderByHelper.OrderByData obd = OrderByHelper.createOrderByData(
                 context, publisher.getName(), bookLocale, publisher::getLocale);
 
+        final String nameOb = SqlEncode.orderByColumn(obd.title, obd.locale);
+
         try (SynchronizedStatement stmt = mDb.compileStatement(INSERT)) {
             stmt.bindString(1, publisher.getName());
-            stmt.bindString(2, SqlEncode.orderByColumn(obd.title, obd.locale));
+            stmt.bindString(2, nameOb);
+            stmt.bindBlob(3, SqlEncode.collationKey(nameOb));
             final long iId = stmt.executeInsert();
             if (iId > 0) {
                 publisher.setId(iId);
@@ -330,12 +347,18 @@ public class PublisherDaoImpl
         final OrderByHelper.OrderByData obd = OrderByHelper.createOrderByData(
                 context, publisher.getName(), bookLocale, publisher::getLocale);
 
+        final String nameOb = SqlEncode.orderByColumn(obd.title, obd.locale);
+
         final ContentValues cv = new ContentValues();
         cv.put(DBKey.PUBLISHER_NAME, publisher.getName());
-        cv.put(DBKey.KEY_PUBLISHER_NAME_OB, SqlEncode.orderByColumn(obd.title, obd.locale));
-
-        return 0 < mDb.update(TBL_PUBLISHERS.getName(), cv, DBKey.PK_ID + "=?",
-                              new String[]{String.valueOf(publisher.getId())});
+        cv.put(DBKey.KEY_PUBLISHER_NAME_OB, nameOb);
+        cv.put(DBKey.KEY_PUBLISHER_NAME_CK, SqlEncode.collationKey(nameOb));
+
+        mIdCache.clear();
+        final boolean success = 0 < mDb.update(TBL_PUBLISHERS.getName(), cv, DBKey.PK_ID + "=?",
+                                               new String[]{String.valueOf(publisher.getId())});
+        mDb.notifyDataChanged();
+        return success;
     }
 
     @Override
@@ -350,6 +373,8 @@ public class PublisherDaoImpl
         }
 
         if (rowsAffected > 0) {
+            mIdCache.clear();
+            mDb.notifyDataChanged();
             publisher.setId(0);
             repositionPublishers(context);
         }
@@ -400,6 +425,7 @@ public class PublisherDaoImpl
             if (txLock != null) {
                 mDb.endTransaction(txLock);
             }
+            mDb.notifyDataChanged();
         }
     }
 
@@ -408,6 +434,8 @@ public class PublisherDaoImpl
         try (SynchronizedStatement stmt = mDb.compileStatement(PURGE)) {
             stmt.executeUpdateDelete();
         }
+        mIdCache.clear();
+        mDb.notifyDataChanged();
     }
 
     @Override
@@ -450,6 +478,7 @@ public class PublisherDaoImpl
                 if (txLock != null) {
                     mDb.endTransaction(txLock);
                 }
+                mDb.notifyDataChanged();
                 if (BuildConfig.DEBUG /* always */) {
                     Log.w(TAG, "repositionPublishers|done");
                 }
@@ -134,7 +134,8 @@ public class SeriesDaoImpl
             + '(' + DBKey.SERIES_TITLE
             + ',' + DBKey.KEY_SERIES_TITLE_OB
             + ',' + DBKey.SERIES_IS_COMPLETE
-            + ") VALUES (?,?,?)";
+            + ',' + DBKey.KEY_SERIES_TITLE_CK
+            + ") VALUES (?,?,?,?)";
 
     /** Delete a {@link Series}. */
     private static final String DELETE_BY_ID =
@@ -146,6 +147,10 @@ public class SeriesDaoImpl
             + _WHERE_ + DBKey.PK_ID + _NOT_IN_
             + "(SELECT DISTINCT " + DBKey.FK_SERIES + _FROM_ + TBL_BOOK_SERIES.getName() + ')';
 
+    /** Cache for {@link #find}; only used during a batch session. */
+    @NonNull
+    private final EntityIdCache mIdCache = new EntityIdCache();
+
     /**
      * Constructor.
      */
@@ -180,11 +185,20 @@ public class SeriesDaoImpl
                                                   bookLocale, null);
         }
 
-        try (SynchronizedStatement stmt = mDb.compileStatement(FIND_ID)) {
-            stmt.bindString(1, SqlEncode.orderByColumn(series.getTitle(), obd.locale));
-            stmt.bindString(2, SqlEncode.orderByColumn(obd.title, obd.locale));
-            return stmt.simpleQueryForLongOrZero();
+        final String ob = SqlEncode.orderByColumn(series.getTitle(), obd.locale);
+        final String reorderedOb = SqlEncode.orderByColumn(obd.title, obd.locale);
+
+        final String key = EntityIdCache.key(ob, reorderedOb);
+        long id = mIdCache.get(mDb, key);
+        if (id == 0) {
+            try (SynchronizedStatement stmt = mDb.compileStatement(FIND_ID)) {
+                stmt.bindString(1, ob);
+                stmt.bindString(2, reorderedOb);
+                id = stmt.simpleQueryForLongOrZero();
+            }
+            mIdCache.put(mDb, key, id);
         }
+        return id;
     }
 
     @Override
@@ -278,8 +292,12 @@ public class SeriesDaoImpl
         final ContentValues cv = new ContentValues();
         cv.put(DBKey.SERIES_IS_COMPLETE, isComplete);
 
-        return 0 < mDb.update(TBL_SERIES.getName(), cv, DBKey.PK_ID + "=?",
-                              new String[]{String.valueOf(seriesId)});
+        final boolean success = 0 < mDb.update(TBL_SERIES.getName(), cv, DBKey.PK_ID + "=?",
+                                               new String[]{String.valueOf(seriesId)});
+        if (success) {
+            mDb.notifyDataChanged();
+        }
+        return success;
     }
 
     @Override
@@ -350,10 +368,13 @@ public class SeriesDaoImpl
         final OrderByHelper.OrderByData obd = OrderByHelper.createOrderByData(
                 context, series.getTitle(), bookLocale, series::getLocale);
 
+        final String titleOb = SqlEncode.orderByColumn(obd.title, obd.locale);
+
         try (SynchronizedStatement stmt = mDb.compileStatement(INSERT)) {
             stmt.bindString(1, series.getTitle());
-            stmt.bindString(2, SqlEncode.orderByColumn(obd.title, obd.locale));
+            stmt.bindString(2, titleOb);
             stmt.bindBoolean(3, series.isComplete());
+            stmt.bindBlob(4, SqlEncode.collationKey(titleOb));
             final long iId = stmt.executeInsert();
             if (iId > 0) {
                 series.setId(iId);
@@ -370,13 +391,19 @@ public class SeriesDaoImpl
         final OrderByHelper.OrderByData obd = OrderByHelper.createOrderByData(
                 context, series.getTitle(), bookLocale, series::getLocale);
 
+        final String titleOb = SqlEncode.orderByColumn(obd.title, obd.locale);
+
         final ContentValues cv = new ContentValues();
         cv.put(DBKey.SERIES_TITLE, series.getTitle());
-        cv.put(DBKey.KEY_SERIES_TITLE_OB, SqlEncode.orderByColumn(obd.title, obd.locale));
+        cv.put(DBKey.KEY_SERIES_TITLE_OB, titleOb);
         cv.put(DBKey.SERIES_IS_COMPLETE, series.isComplete());
+        cv.put(DBKey.KEY_SERIES_TITLE_CK, SqlEncode.collationKey(titleOb));
 
-        return 0 < mDb.update(TBL_SERIES.getName(), cv, DBKey.PK_ID + "=?",
-                              new String[]{String.valueOf(series.getId())});
+        mIdCache.clear();
+        final boolean success = 0 < mDb.update(TBL_SERIES.getName(), cv, DBKey.PK_ID + "=?",
+                                               new String[]{String.valueOf(series.getId())});
+        mDb.notifyDataChanged();
+        return success;
     }
 
     @Override
@@ -391,6 +418,8 @@ public class SeriesDaoImpl
         }
 
         if (rowsAffected > 0) {
+            mIdCache.clear();
+            mDb.notifyDataChanged();
             series.setId(0);
             repositionSeries(context);
         }
@@ -442,6 +471,7 @@ public class SeriesDaoImpl
             if (txLock != null) {
                 mDb.endTransaction(txLock);
             }
+            mDb.notifyDataChanged();
         }
     }
 
@@ -450,6 +480,8 @@ public class SeriesDaoImpl
         try (SynchronizedStatement stmt = mDb.compileStatement(PURGE)) {
             stmt.executeUpdateDelete();
         }
+        mIdCache.clear();
+        mDb.notifyDataChanged();
     }
 
     @Override
@@ -490,6 +522,7 @@ public class SeriesDaoImpl
                 if (txLock != null) {
                     mDb.endTransaction(txLock);
                 }
+                mDb.notifyDataChanged();
                 if (BuildConfig.DEBUG /* always */) {
                     Log.w(TAG, "repositionSeries|done");
                 }
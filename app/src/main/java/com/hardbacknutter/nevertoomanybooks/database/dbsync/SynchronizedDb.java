@@ -21,15 +21,24 @@ package com.hardbacknutter.nevertoomanybooks.database.dbsync;
 
 import android.content.ContentValues;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.os.CancellationSignal;
 import android.util.Log;
 
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import com.hardbacknutter.nevertoomanybooks.BuildConfig;
 import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
 import com.hardbacknutter.nevertoomanybooks.database.TypedCursor;
@@ -45,6 +54,7 @@ import com.hardbacknutter.nevertoomanybooks.database.definitions.TableInfo;
  * <a href="https://developer.android.com/reference/android/database/sqlite/package-summary">
  * package-summary</a>
  * <p>
+ * API 30   3.28.0
  * API 28   3.22.0
  * API 27   3.19.4
  * API 26   3.18.2
@@ -92,6 +102,12 @@ public class SynchronizedDb
      */
     @Nullable
     private Synchronizer.SyncLock mTxLock;
+    /** Set by {@link #setTransactionSuccessful()}; reset when the transaction ends. */
+    private boolean mTxSuccessful;
+    /** See {@link #getRollbackCount()}. */
+    private final AtomicInteger mRollbackCount = new AtomicInteger();
+    /** See {@link #getDataVersion()}. */
+    private final AtomicInteger mDataVersion = new AtomicInteger();
 
     /**
      * Constructor.
@@ -406,6 +422,24 @@ public class SynchronizedDb
     @NonNull
     public SynchronizedCursor rawQuery(@NonNull final String sql,
                                        @Nullable final String[] selectionArgs) {
+        return rawQuery(sql, selectionArgs, null);
+    }
+
+    /**
+     * Locking-aware wrapper for underlying database method.
+     * <p>
+     * When the signal is cancelled while the query is running, SQLite is interrupted
+     * and an {@link android.os.OperationCanceledException} is thrown
+     * when the cursor is accessed.
+     *
+     * @param cancellationSignal (optional) signal to cancel the query
+     *
+     * @return the cursor
+     */
+    @NonNull
+    public SynchronizedCursor rawQuery(@NonNull final String sql,
+                                       @Nullable final String[] selectionArgs,
+                                       @Nullable final CancellationSignal cancellationSignal) {
         Synchronizer.SyncLock txLock = null;
         if (mTxLock == null) {
             txLock = mSynchronizer.getSharedLock();
@@ -419,7 +453,8 @@ public class SynchronizedDb
              *  with a factory?
              */
             return (SynchronizedCursor)
-                    mSqlDb.rawQueryWithFactory(mCursorFactory, sql, selectionArgs, null);
+                    mSqlDb.rawQueryWithFactory(mCursorFactory, sql, selectionArgs, null,
+                                               cancellationSignal);
         } finally {
             if (txLock != null) {
                 txLock.unlock();
@@ -509,6 +544,144 @@ public class SynchronizedDb
         execSQL("analyze " + table);
     }
 
+    /**
+     * Write a consistent copy of the database to the given file.
+     * <p>
+     * A shared lock is held while copying: readers carry on as normal,
+     * updates wait until the copy is done.
+     * If the SQLite library supports it (3.27+),
+     * '<a href="https://www.sqlite.org/lang_vacuum.html#vacuuminto">VACUUM INTO</a>'
+     * is used which produces a compacted copy. Otherwise the database file is copied as-is,
+     * after checkpointing the WAL file. We don't enable WAL ourselves, but Android 9+ can use
+     * 'compatibility WAL' on its own; pages still in the WAL would be missing from the copy.
+     * <p>
+     * If another thread is running a transaction, we wait for it to finish.
+     *
+     * @param destFile to write to; will be overwritten if it exists
+     *
+     * @throws IOException on failure
+     */
+    public void snapshot(@NonNull final File destFile)
+            throws IOException {
+        final Synchronizer.SyncLock syncLock = mSynchronizer.getSharedLock();
+        try {
+            // Only a transaction on the current thread is a problem; others are done by now.
+            if (mSqlDb.inTransaction()) {
+                throw new TransactionException(ERROR_TX_ALREADY_STARTED);
+            }
+
+            // VACUUM INTO refuses to overwrite an existing file
+            //noinspection ResultOfMethodCallIgnored
+            destFile.delete();
+
+            if (isVacuumIntoSupported()) {
+                try {
+                    mSqlDb.execSQL("VACUUM INTO ?", new Object[]{destFile.getAbsolutePath()});
+                    return;
+                } catch (@NonNull final SQLiteException e) {
+                    // fall back to a plain copy
+                    Log.w(TAG, "snapshot|VACUUM INTO failed", e);
+                    //noinspection ResultOfMethodCallIgnored
+                    destFile.delete();
+                }
+            }
+
+            checkpoint();
+
+            try (FileChannel ic = new FileInputStream(mSqlDb.getPath()).getChannel();
+                 FileChannel oc = new FileOutputStream(destFile).getChannel()) {
+                long pos = 0;
+                final long size = ic.size();
+                while (pos < size) {
+                    pos += ic.transferTo(pos, size - pos, oc);
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Move all pages from the WAL file (if any) back into the database file.
+     * Must be called while holding a lock which prevents updates.
+     * When not in WAL mode, this is a no-op.
+     *
+     * @throws IOException if not all pages could be written back
+     */
+    private void checkpoint()
+            throws IOException {
+        // columns: busy, WAL pages, pages checkpointed; the latter two are -1 if not in WAL mode
+        try (Cursor cursor = mSqlDb.rawQuery("PRAGMA wal_checkpoint(TRUNCATE)", null)) {
+            if (cursor.moveToFirst()
+                && (cursor.getInt(0) != 0 || cursor.getInt(1) != cursor.getInt(2))) {
+                throw new IOException("WAL checkpoint incomplete");
+            }
+        }
+    }
+
+    /**
+     * Attach another database file to this connection.
+     * <p>
+     * SQLite does not allow this while a transaction is running,
+     * so this must be called <strong>before</strong> {@link #beginTransaction(boolean)}.
+     *
+     * @param file   the database file to attach
+     * @param schema name to use for the attached database
+     */
+    public void attach(@NonNull final File file,
+                       @NonNull final String schema) {
+        // Wait for any transaction on another thread to finish; once we have
+        // the exclusive lock, a transaction can only be our own.
+        final Synchronizer.SyncLock syncLock = mSynchronizer.getExclusiveLock();
+        try {
+            if (mTxLock != null) {
+                throw new TransactionException(ERROR_TX_ALREADY_STARTED);
+            }
+            mSqlDb.execSQL("ATTACH DATABASE ? AS " + schema,
+                           new Object[]{file.getAbsolutePath()});
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Detach a database previously attached with {@link #attach(File, String)}.
+     * Must be called <strong>after</strong> {@link #endTransaction(Synchronizer.SyncLock)}.
+     *
+     * @param schema name of the attached database
+     */
+    public void detach(@NonNull final String schema) {
+        // Wait for any transaction on another thread to finish; once we have
+        // the exclusive lock, a transaction can only be our own.
+        final Synchronizer.SyncLock syncLock = mSynchronizer.getExclusiveLock();
+        try {
+            if (mTxLock != null) {
+                throw new TransactionException(ERROR_TX_ALREADY_STARTED);
+            }
+            mSqlDb.execSQL("DETACH DATABASE " + schema);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Check the SQLite library version for 'VACUUM INTO' support (3.27.0+).
+     *
+     * @return {@code true} if supported
+     */
+    private boolean isVacuumIntoSupported() {
+        final String[] version = DatabaseUtils
+                .stringForQuery(mSqlDb, "SELECT sqlite_version()", null)
+                .split("\\.");
+        try {
+            final int major = Integer.parseInt(version[0]);
+            final int minor = version.length > 1 ? Integer.parseInt(version[1]) : 0;
+            return major > 3 || (major == 3 && minor >= 27);
+        } catch (@NonNull final NumberFormatException e) {
+            return false;
+        }
+    }
+
     /**
      * Wrapper.
      *
@@ -542,6 +715,7 @@ public class SynchronizedDb
             // or two non-update TXs on different thread.
             if (mTxLock == null) {
                 mSqlDb.beginTransaction();
+                mTxSuccessful = false;
             } else {
                 throw new TransactionException(ERROR_TX_ALREADY_STARTED);
             }
@@ -559,6 +733,7 @@ public class SynchronizedDb
     public void setTransactionSuccessful() {
         // We could pass in the lock and do the same checks as we do in #endTransaction
         mSqlDb.setTransactionSuccessful();
+        mTxSuccessful = true;
     }
 
     /**
@@ -579,9 +754,15 @@ public class SynchronizedDb
             throw new TransactionException(ERROR_TX_WRONG_LOCK);
         }
 
+        boolean committed = false;
         try {
             mSqlDb.endTransaction();
+            committed = mTxSuccessful;
         } finally {
+            if (!committed) {
+                mRollbackCount.incrementAndGet();
+            }
+            mTxSuccessful = false;
             // Clear mTxLock before unlocking so another thread does not
             // see the old lock when it gets the lock
             mTxLock = null;
@@ -589,6 +770,39 @@ public class SynchronizedDb
         }
     }
 
+    /**
+     * Get the number of transactions which ended without being marked as successful.
+     * <p>
+     * Anything cached from the database during a transaction is potentially invalid
+     * after a rollback; callers can compare this count with the one they saw
+     * when caching.
+     *
+     * @return count since this object was created
+     */
+    public int getRollbackCount() {
+        return mRollbackCount.get();
+    }
+
+    /**
+     * Called by the DAOs <strong>after</strong> they changed data which is shown
+     * in the book lists, i.e. books and the entities linked to them.
+     */
+    public void notifyDataChanged() {
+        mDataVersion.incrementAndGet();
+    }
+
+    /**
+     * Get the version of the data as counted by {@link #notifyDataChanged()}.
+     * Used to detect if something built from the data earlier is still valid.
+     * <p>
+     * Temporary tables (i.e. the booklist tables themselves) are not covered.
+     *
+     * @return version; only meaningful for comparing to a previous value
+     */
+    public int getDataVersion() {
+        return mDataVersion.get();
+    }
+
     /**
      * DO NOT CALL THIS UNLESS YOU REALLY NEED TO. DATABASE ACCESS SHOULD GO THROUGH THIS CLASS.
      *
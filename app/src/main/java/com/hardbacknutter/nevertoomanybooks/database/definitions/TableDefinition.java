@@ -87,6 +87,9 @@ public class TableDefinition {
     /** Cached table structure info. */
     @Nullable
     private TableInfo tableInfo;
+    /** Virtual table options, e.g. 'prefix="2,3"' for FTS. */
+    @NonNull
+    private final List<String> virtualTableOptions = new ArrayList<>();
 
     /**
      * Constructor.
@@ -181,6 +184,21 @@ public class TableDefinition {
         return this;
     }
 
+    /**
+     * Add an option for a virtual table; will be added after the list of columns.
+     * <p>
+     * <a href=https://sqlite.org/fts3.html#fts4_options">FTS4 options</a>
+     *
+     * @param option to add, e.g. 'prefix="2,3"'
+     *
+     * @return {@code this} (for chaining)
+     */
+    @NonNull
+    public TableDefinition addVirtualTableOption(@NonNull final String option) {
+        virtualTableOptions.add(option);
+        return this;
+    }
+
     /**
      * Get the table name.
      *
@@ -822,6 +840,12 @@ public class TableDefinition {
         }
         sql.append(columns);
 
+        if (type.isVirtual()) {
+            for (final String option : virtualTableOptions) {
+                sql.append(',').append(option);
+            }
+        }
+
         // add the primary key if not already added / needed.
         if (!hasPrimaryKey && !primaryKey.isEmpty()) {
             sql.append("\n,PRIMARY KEY (")
@@ -891,7 +915,6 @@ public class TableDefinition {
     public enum TableType {
         Standard, Temporary, FTS3, FTS4;
 
-        @SuppressWarnings("unused")
         boolean isVirtual() {
             return this == FTS3 || this == FTS4;
         }
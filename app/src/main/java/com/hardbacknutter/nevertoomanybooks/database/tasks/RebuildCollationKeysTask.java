@@ -0,0 +1,84 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.database.tasks;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.UiThread;
+import androidx.annotation.WorkerThread;
+import androidx.preference.PreferenceManager;
+
+import java.util.Locale;
+
+import com.hardbacknutter.nevertoomanybooks.R;
+import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.StartupViewModel;
+import com.hardbacknutter.nevertoomanybooks.database.SqlEncode;
+import com.hardbacknutter.nevertoomanybooks.tasks.LTask;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskListener;
+
+/**
+ * Rebuild all binary collation key columns with the user Locale.
+ * Needed when the user Locale changes.
+ */
+public class RebuildCollationKeysTask
+        extends LTask<Boolean>
+        implements StartupViewModel.StartupTask {
+
+    /** Log tag. */
+    private static final String TAG = "RebuildCollationKeys";
+
+    /**
+     * Constructor.
+     *
+     * @param taskListener for sending progress and finish messages to.
+     */
+    @UiThread
+    public RebuildCollationKeysTask(@NonNull final TaskListener<Boolean> taskListener) {
+        super(R.id.TASK_ID_DB_REBUILD_COLLATION_KEYS, TAG, taskListener);
+    }
+
+    @Override
+    @UiThread
+    public void start() {
+        execute();
+    }
+
+    @NonNull
+    @Override
+    @WorkerThread
+    protected Boolean doWork(@NonNull final Context context) {
+        publishProgress(1, context.getString(R.string.progress_msg_rebuilding_sort_keys));
+
+        // Switch before starting, so keys created meanwhile use the same Locale.
+        final Locale userLocale = context.getResources().getConfiguration().getLocales().get(0);
+        SqlEncode.setCollationLocale(userLocale);
+
+        ServiceLocator.getInstance().getMaintenanceDao().rebuildCollationKeys();
+
+        PreferenceManager.getDefaultSharedPreferences(context)
+                         .edit()
+                         .putString(StartupViewModel.PK_COLLATION_LOCALE,
+                                    userLocale.toLanguageTag())
+                         .apply();
+        return true;
+    }
+}
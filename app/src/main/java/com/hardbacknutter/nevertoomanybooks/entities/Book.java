@@ -49,7 +49,9 @@ import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.SearchCriteria;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.covers.CoverDir;
+import com.hardbacknutter.nevertoomanybooks.covers.CoverRegistry;
 import com.hardbacknutter.nevertoomanybooks.covers.ImageUtils;
+import com.hardbacknutter.nevertoomanybooks.covers.ThumbnailGenerator;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.database.dao.AuthorDao;
 import com.hardbacknutter.nevertoomanybooks.database.dao.PublisherDao;
@@ -247,7 +249,7 @@ public class Book
     }
 
     /**
-     * Get the cover for the given uuid. We'll attempt to find a jpg or a png.
+     * Get the cover for the given uuid. This can be a jpg or a png.
      * <p>
      * Any {@link StorageException} is <strong>IGNORED</strong>
      *
@@ -255,38 +257,15 @@ public class Book
      * @param cIdx 0..n image index
      *
      * @return file
+     *
+     * @see CoverRegistry
      */
     @NonNull
     public static Optional<File> getPersistedCoverFile(@NonNull final String uuid,
                                                        @IntRange(from = 0, to = 1) final int cIdx) {
-        final File coverDir;
-        try {
-            coverDir = CoverDir.getDir(ServiceLocator.getAppContext());
-        } catch (@NonNull final StorageException e) {
-            if (BuildConfig.DEBUG /* always */) {
-                Log.d(TAG, "getPersistedCoverFile", e);
-            }
-            return Optional.empty();
-        }
-
-        final String name;
-        if (cIdx > 0) {
-            name = uuid + "_" + cIdx;
-        } else {
-            name = uuid;
-        }
-
-        final File jpg = new File(coverDir, name + ".jpg");
-        if (jpg.exists()) {
-            return Optional.of(jpg);
-        }
-        // could be a png
-        final File png = new File(coverDir, name + ".png");
-        if (png.exists()) {
-            return Optional.of(png);
-        }
-
-        return Optional.empty();
+        return ServiceLocator.getInstance().getCoverRegistry()
+                             .get(ServiceLocator.getAppContext(), uuid, cIdx)
+                             .map(CoverRegistry.Entry::getFile);
     }
 
     /**
@@ -747,15 +726,12 @@ public class Book
             throws StorageException, IOException {
 
         final String uuid = getString(DBKey.BOOK_UUID);
-        final String name;
-        if (cIdx > 0) {
-            name = uuid + "_" + cIdx + ".jpg";
-        } else {
-            name = uuid + ".jpg";
-        }
+        final String name = CoverRegistry.createName(uuid, cIdx) + ".jpg";
 
         final File destination = new File(CoverDir.getDir(ServiceLocator.getAppContext()), name);
         FileUtils.rename(downloadedFile, destination);
+        ServiceLocator.getInstance().getCoverRegistry().refresh(destination);
+        ThumbnailGenerator.generate(uuid, cIdx, destination);
         return destination;
     }
 
@@ -991,7 +967,8 @@ public class Book
                             );
                 }
 
-                getPersistedCoverFile(cIdx).ifPresent(FileUtils::delete);
+                ServiceLocator.getInstance().getCoverRegistry()
+                              .delete(ServiceLocator.getAppContext(), uuid, cIdx);
                 if (ImageUtils.isImageCachingEnabled()) {
                     // We delete *all* files related to this book from the cache.
                     ServiceLocator.getInstance().getCoverCacheDao().delete(uuid);
@@ -289,7 +289,7 @@ public enum ArchiveEncoding
                 return new CsvArchiveWriter(helper);
 
             case SqLiteDb:
-                return new DbArchiveWriter(context, helper);
+                return new DbArchiveWriter(helper);
 
             case Json:
                 return new JsonArchiveWriter(helper);
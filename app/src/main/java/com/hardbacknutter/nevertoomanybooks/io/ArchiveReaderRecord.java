@@ -80,4 +80,27 @@ public interface ArchiveReaderRecord {
      * @return EpochMilli
      */
     long getLastModifiedEpochMilli();
+
+    /**
+     * Get the size of the uncompressed content of this archive record.
+     * <p>
+     * Primarily/only used for cover files.
+     *
+     * @return size in bytes, or {@code -1} if unknown
+     */
+    default long getSize() {
+        return -1;
+    }
+
+    /**
+     * Get the CRC32 of the uncompressed content of this archive record.
+     * <p>
+     * Primarily/only used for cover files.
+     *
+     * @return the CRC32, or {@code empty} if the archive does not provide it
+     */
+    @NonNull
+    default Optional<Long> getCrc32() {
+        return Optional.empty();
+    }
 }
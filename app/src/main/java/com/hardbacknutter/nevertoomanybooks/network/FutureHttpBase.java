@@ -25,15 +25,18 @@ import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.StringRes;
+import androidx.annotation.VisibleForTesting;
 import androidx.annotation.WorkerThread;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 import java.security.cert.Certificate;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
@@ -43,6 +46,8 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
@@ -74,6 +79,18 @@ public abstract class FutureHttpBase<T> {
     private static final int CONNECT_TIMEOUT_MS = 10_000;
     /** timeout for requests to website. */
     private static final int READ_TIMEOUT_MS = 10_000;
+    /** divider to convert nanoseconds to milliseconds. */
+    static final int NANO_TO_MILLIS = 1_000_000;
+    /** Buffer size for the decompressing streams. */
+    private static final int DECOMPRESS_BUFFER_SIZE = 8192;
+
+    /** The default: let the platform open the connection. */
+    private static final ConnectionFactory DEFAULT_CONNECTION_FACTORY =
+            url -> (HttpURLConnection) new URL(url).openConnection();
+
+    /** The factory used to open all connections. */
+    @NonNull
+    private static ConnectionFactory sConnectionFactory = DEFAULT_CONNECTION_FACTORY;
 
     @StringRes
     private final int mSiteResId;
@@ -96,11 +113,28 @@ public abstract class FutureHttpBase<T> {
     private int mConnectTimeoutInMs = -1;
     /** -1: use the static default. */
     private int mReadTimeoutInMs = -1;
+    /** see {@link #setKeepAlive(boolean)}. */
+    private boolean mKeepAlive;
 
     FutureHttpBase(@StringRes final int siteResId) {
         mSiteResId = siteResId;
     }
 
+    /**
+     * Replace the factory used to open connections.
+     * Used by the test harness to replay recorded responses.
+     *
+     * @param factory to use, or {@code null} to restore the default
+     */
+    @VisibleForTesting
+    public static void setConnectionFactory(@Nullable final ConnectionFactory factory) {
+        if (factory == null) {
+            sConnectionFactory = DEFAULT_CONNECTION_FACTORY;
+        } else {
+            sConnectionFactory = factory;
+        }
+    }
+
     public static void dumpSSLException(@NonNull final HttpsURLConnection request,
                                         @NonNull final SSLException e) {
         try {
@@ -117,6 +151,41 @@ public abstract class FutureHttpBase<T> {
 
     }
 
+    /**
+     * Get the response body, decompressing it if the server sent it gzip/deflate encoded.
+     * <p>
+     * All requests are send with an {@code Accept-Encoding} header. Doing so disables
+     * the transparent gzip handling of the platform {@link HttpURLConnection},
+     * so the response body <strong>MUST</strong> be read using this method.
+     *
+     * @param request to read from
+     *
+     * @return the (decompressed) response body
+     *
+     * @throws IOException on failure
+     */
+    @WorkerThread
+    @NonNull
+    public static InputStream getInputStream(@NonNull final HttpURLConnection request)
+            throws IOException {
+        final InputStream is = request.getInputStream();
+        final String encoding = request.getContentEncoding();
+        if (encoding != null) {
+            switch (encoding.trim().toLowerCase(Locale.ENGLISH)) {
+                case "gzip":
+                case "x-gzip":
+                    return new GZIPInputStream(is, DECOMPRESS_BUFFER_SIZE);
+
+                case "deflate":
+                    return new InflaterInputStream(is);
+
+                default:
+                    break;
+            }
+        }
+        return is;
+    }
+
     /**
      * If already connected, simply check the response code.
      * Otherwise implicitly connect by getting the response code.
@@ -216,6 +285,22 @@ public abstract class FutureHttpBase<T> {
         return this;
     }
 
+    /**
+     * Keep the underlying connection open after a successful request,
+     * so subsequent requests to the same host can reuse it from the connection pool.
+     * Use this for requests which will hit the same host many times in a row.
+     * <p>
+     * The response body must be fully read and closed for the connection to be reused.
+     * Failed requests are always disconnected.
+     *
+     * @param keepAlive flag
+     */
+    @NonNull
+    public FutureHttpBase<T> setKeepAlive(final boolean keepAlive) {
+        mKeepAlive = keepAlive;
+        return this;
+    }
+
     /**
      * For secure connections.
      *
@@ -254,12 +339,14 @@ public abstract class FutureHttpBase<T> {
         try {
             mFuture = ASyncExecutor.SERVICE.submit(() -> {
                 HttpURLConnection request = null;
+                boolean reusable = false;
+                final long startTime = System.nanoTime();
                 try {
                     if (BuildConfig.DEBUG && DEBUG_SWITCHES.NETWORK) {
                         Log.d(TAG, "url=\"" + url + '\"');
                     }
 
-                    request = (HttpURLConnection) new URL(url).openConnection();
+                    request = sConnectionFactory.open(url);
                     request.setRequestMethod(method);
                     request.setDoOutput(doOutput);
 
@@ -270,6 +357,10 @@ public abstract class FutureHttpBase<T> {
                         request.setInstanceFollowRedirects(mFollowRedirects);
                     }
 
+                    // We decode the response ourselves, see #getInputStream
+                    request.setRequestProperty(HttpUtils.ACCEPT_ENCODING,
+                                               HttpUtils.ACCEPT_ENCODING_GZIP_DEFLATE);
+
                     for (final Map.Entry<String, String> entry : mRequestProperties.entrySet()) {
                         request.setRequestProperty(entry.getKey(), entry.getValue());
                     }
@@ -293,12 +384,21 @@ public abstract class FutureHttpBase<T> {
 
                     // The request is now ready to be connected/used,
                     // pass control to the specific method
-                    return action.apply(request);
+                    final T result = action.apply(request);
+                    reusable = mKeepAlive;
+                    return result;
 
                 } finally {
-                    if (request != null) {
+                    // Not disconnecting leaves the socket in the pool for reuse.
+                    if (request != null && !reusable) {
                         request.disconnect();
                     }
+                    if (BuildConfig.DEBUG && DEBUG_SWITCHES.NETWORK_TIMERS) {
+                        Log.d(TAG, "execute|total=" + (System.nanoTime() - startTime)
+                                                      / NANO_TO_MILLIS + " ms"
+                                   + "|reusable=" + reusable
+                                   + "|url=\"" + url + '\"');
+                    }
                 }
             });
             return mFuture.get(getFutureTimeout(), TimeUnit.MILLISECONDS);
@@ -350,4 +450,21 @@ public abstract class FutureHttpBase<T> {
             }
         }
     }
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        /**
+         * Open a new (not yet connected) connection.
+         *
+         * @param url to open
+         *
+         * @return connection
+         *
+         * @throws IOException on failure
+         */
+        @NonNull
+        HttpURLConnection open(@NonNull String url)
+                throws IOException;
+    }
 }
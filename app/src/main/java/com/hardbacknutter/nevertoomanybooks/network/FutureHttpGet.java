@@ -36,6 +36,7 @@ import java.util.concurrent.CancellationException;
 import java.util.function.Function;
 
 import com.hardbacknutter.nevertoomanybooks.BuildConfig;
+import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
 
 public class FutureHttpGet<T>
@@ -72,8 +73,20 @@ public class FutureHttpGet<T>
                     mThrottler.waitUntilRequestAllowed();
                 }
 
+                final long connectStart = System.nanoTime();
+                // DNS lookup, TCP connect and TLS handshake (unless reusing a connection)
                 request.connect();
+                final long connected = System.nanoTime();
+                // Waits for the status line and headers; i.e. the first byte of the response
                 checkResponseCode(request);
+
+                if (BuildConfig.DEBUG && DEBUG_SWITCHES.NETWORK_TIMERS) {
+                    Log.d(TAG, "connect"
+                               + "|connect=" + (connected - connectStart) / NANO_TO_MILLIS
+                               + " ms|firstByte=" + (System.nanoTime() - connected)
+                                                    / NANO_TO_MILLIS
+                               + " ms|url=`" + request.getURL() + '`');
+                }
                 // all fine, we're connected
                 return;
 
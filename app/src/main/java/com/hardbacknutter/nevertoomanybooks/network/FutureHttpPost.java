@@ -73,7 +73,7 @@ public class FutureHttpPost<T>
                 checkResponseCode(request);
 
                 if (responseProcessor != null) {
-                    try (InputStream is = request.getInputStream();
+                    try (InputStream is = getInputStream(request);
                          BufferedInputStream bis = new BufferedInputStream(is)) {
                         return responseProcessor.apply(bis);
                     }
@@ -24,6 +24,10 @@ public final class HttpUtils {
     /** HTTP Request Header. */
     public static final String AUTHORIZATION = "Authorization";
 
+    /** HTTP Request Header. */
+    static final String ACCEPT_ENCODING = "Accept-Encoding";
+    static final String ACCEPT_ENCODING_GZIP_DEFLATE = "gzip, deflate";
+
     /** HTTP Request Header. */
     static final String CONNECTION = "Connection";
     static final String CONNECTION_CLOSE = "close";
@@ -63,6 +63,8 @@ public class JsoupLoader {
     /** {@code null} by default: for Jsoup to figure it out. */
     @Nullable
     private String mCharSetName;
+    /** Whether to ask the server to close the connection after each request. */
+    private boolean mCloseConnection;
 
     public JsoupLoader(@NonNull final FutureHttpGet<Document> futureHttpGet) {
         mFutureHttpGet = futureHttpGet;
@@ -89,6 +91,20 @@ public class JsoupLoader {
         mCharSetName = charSetName;
     }
 
+    /**
+     * Optionally send a "Connection: close" header with each request.
+     * Only needed for sites which drop kept-alive connections;
+     * see https://github.com/square/okhttp/issues/1517
+     * <p>
+     * Default {@code false}: connections are kept alive and reused.
+     *
+     * @param closeConnection flag
+     */
+    public void setCloseConnection(@SuppressWarnings("SameParameterValue")
+                                   final boolean closeConnection) {
+        mCloseConnection = closeConnection;
+    }
+
     /**
      * Reset the loader.
      */
@@ -101,7 +117,8 @@ public class JsoupLoader {
      * Will silently return if it has downloaded the document before.
      * Call {@link #reset()} before to force a clean/new download.
      * <p>
-     * The content encoding is: "Accept-Encoding", "gzip"
+     * The response is requested compressed, and decoded while Jsoup parses it,
+     * see {@link FutureHttpBase#getInputStream(java.net.HttpURLConnection)}.
      *
      * @param context Current context
      * @param url     to fetch
@@ -132,6 +149,9 @@ public class JsoupLoader {
         // This retry is for when a successful connection gets dropped mid-read
         // specifically due to SSLProtocolException | EOFException
         int attemptsLeft = 2;
+        // A dropped connection is often a kept-alive connection the server closed;
+        // the retry always asks for the connection to be closed.
+        boolean closeConnection = mCloseConnection;
 
         while (attemptsLeft > 0) {
             if (BuildConfig.DEBUG && DEBUG_SWITCHES.JSOUP) {
@@ -144,7 +164,9 @@ public class JsoupLoader {
                 mFutureHttpGet.setRetryCount(0);
                 // added due to https://github.com/square/okhttp/issues/1517
                 // it's a server issue, this is a workaround.
-                mFutureHttpGet.setRequestProperty(HttpUtils.CONNECTION, HttpUtils.CONNECTION_CLOSE);
+                mFutureHttpGet.setRequestProperty(HttpUtils.CONNECTION, closeConnection
+                                                                        ? HttpUtils.CONNECTION_CLOSE
+                                                                        : null);
                 // some sites refuse to return content if they don't like the user-agent
                 if (mUserAgent != null) {
                     mFutureHttpGet.setRequestProperty(HttpUtils.USER_AGENT, mUserAgent);
@@ -152,7 +174,7 @@ public class JsoupLoader {
 
                 mDoc = mFutureHttpGet.get(mDocRequestUrl, request -> {
                     try (BufferedInputStream is = new BufferedInputStream(
-                            request.getInputStream())) {
+                            FutureHttpBase.getInputStream(request))) {
 
                         if (BuildConfig.DEBUG && DEBUG_SWITCHES.JSOUP) {
                             Logger.d(TAG, "loadDocument",
@@ -227,6 +249,7 @@ public class JsoupLoader {
                                  + "|e=" + e.getMessage()
                                  + "|mDocRequestUrl=\"" + mDocRequestUrl + '\"');
                 // we'll retry.
+                closeConnection = true;
                 attemptsLeft--;
                 if (attemptsLeft == 0) {
                     // IOException
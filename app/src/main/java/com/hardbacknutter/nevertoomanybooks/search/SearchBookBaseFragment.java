@@ -49,6 +49,7 @@ import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.activityresultcontracts.EditBookFromBundleContract;
 import com.hardbacknutter.nevertoomanybooks.activityresultcontracts.EditBookOutput;
 import com.hardbacknutter.nevertoomanybooks.activityresultcontracts.SearchSitesSingleListContract;
+import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.network.NetworkUtils;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchCoordinator;
 import com.hardbacknutter.nevertoomanybooks.searchengines.Site;
@@ -129,6 +130,8 @@ public abstract class SearchBookBaseFragment
             closeProgressDialog();
             onSearchCancelled();
         });
+        coordinator.onSearchPartialResult()
+                   .observe(getViewLifecycleOwner(), this::onSearchPartialResult);
 
         // Warn the user, but don't abort.
         //noinspection ConstantConditions
@@ -172,6 +175,20 @@ public abstract class SearchBookBaseFragment
         });
     }
 
+    /**
+     * Show the title found so far while the less reliable sites are still being searched.
+     *
+     * @param message with the provisional book data
+     */
+    private void onSearchPartialResult(@NonNull final LiveDataEvent<TaskResult<Bundle>> message) {
+        message.getData().map(TaskResult::requireResult).ifPresent(result -> {
+            final String title = result.getString(DBKey.TITLE);
+            if (progressDelegate != null && title != null && !title.isEmpty()) {
+                progressDelegate.setTitle(title);
+            }
+        });
+    }
+
     @CallSuper
     void onSearchCancelled() {
         //noinspection ConstantConditions
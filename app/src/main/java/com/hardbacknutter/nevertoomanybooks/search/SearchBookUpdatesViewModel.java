@@ -389,6 +389,17 @@ public class SearchBookUpdatesViewModel
                         }
                         setFetchCover(fetchCovers);
 
+                        // Without covers to fetch, we can stop as soon as the most
+                        // reliable sites have given us all the fields this book needs.
+                        // Not when appending: the user wants the results of ALL sites.
+                        if (fetchCovers[0] || fetchCovers[1]
+                            || currentFieldsWanted.values().stream().anyMatch(
+                                field -> field.getAction() == SyncAction.Append)) {
+                            setEarlyCompletionKeys(null);
+                        } else {
+                            setEarlyCompletionKeys(currentFieldsWanted.keySet());
+                        }
+
                         // Start searching
                         if (search()) {
                             // Update the progress base message.
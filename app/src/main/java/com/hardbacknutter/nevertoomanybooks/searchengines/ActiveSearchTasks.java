@@ -0,0 +1,139 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.searchengines;
+
+import androidx.annotation.NonNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link SearchTask}s currently running for a {@link SearchCoordinator}.
+ * <p>
+ * Each search (and each early completion of a search) starts a new generation.
+ * Tasks which were abandoned by an earlier generation can still call back
+ * (e.g. after being cancelled); the generation they were started in allows
+ * us to recognise and ignore them. As the task id is the engine id,
+ * the id alone is not enough to tell an old task from a new one.
+ * <p>
+ * All methods are thread-safe.
+ */
+class ActiveSearchTasks {
+
+    private final Collection<SearchTask> tasks = new HashSet<>();
+
+    /** The current generation; incremented each time the running tasks are abandoned. */
+    private int generation;
+
+    /**
+     * Start a new generation. Any tasks still running are forgotten (but not cancelled).
+     *
+     * @return the new generation
+     */
+    synchronized int newGeneration() {
+        tasks.clear();
+        return ++generation;
+    }
+
+    /**
+     * Get the current generation.
+     *
+     * @return generation
+     */
+    synchronized int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Check if the given generation is the current one.
+     *
+     * @param generation to check
+     *
+     * @return {@code true} if current
+     */
+    synchronized boolean isCurrent(final int generation) {
+        return this.generation == generation;
+    }
+
+    /**
+     * Add a task to the current generation.
+     *
+     * @param task to add
+     */
+    synchronized void add(@NonNull final SearchTask task) {
+        tasks.add(task);
+    }
+
+    /**
+     * Remove a finished task.
+     *
+     * @param generation the task was started in
+     * @param taskId     of the task
+     *
+     * @return {@code false} if the task belongs to an older generation and should be ignored
+     */
+    synchronized boolean remove(final int generation,
+                                final int taskId) {
+        if (this.generation != generation) {
+            return false;
+        }
+        tasks.stream()
+             .filter(searchTask -> searchTask.getTaskId() == taskId)
+             .findFirst()
+             .ifPresent(tasks::remove);
+        return true;
+    }
+
+    /**
+     * Cancel all running tasks, but keep tracking them until they report back.
+     */
+    synchronized void cancel() {
+        for (final SearchTask searchTask : tasks) {
+            searchTask.cancel();
+        }
+    }
+
+    /**
+     * Cancel all running tasks and forget about them by starting a new generation.
+     * Whatever they report back afterwards will be ignored.
+     */
+    synchronized void abandon() {
+        cancel();
+        newGeneration();
+    }
+
+    synchronized boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    /**
+     * Get the ids of the running tasks.
+     *
+     * @return a new set with the task ids
+     */
+    @NonNull
+    synchronized Set<Integer> getTaskIds() {
+        return tasks.stream()
+                    .map(SearchTask::getTaskId)
+                    .collect(Collectors.toSet());
+    }
+}
@@ -75,6 +75,14 @@ public abstract class JsoupSearchEngineBase
         jsoupLoader.setCharSetName(charSetName);
     }
 
+    /**
+     * Ask the server to close the connection after each request.
+     * Only for sites which are known to drop kept-alive connections.
+     */
+    protected void setCloseConnection() {
+        jsoupLoader.setCloseConnection(true);
+    }
+
     /**
      * Load the url into a parsed {@link org.jsoup.nodes.Document}.
      *
@@ -88,6 +88,11 @@ import com.hardbacknutter.nevertoomanybooks.utils.exceptions.ExMsg;
  * it processes the data. Once all tasks are complete, it reports back using the
  * {@link MutableLiveData}.
  * <p>
+ * While searching, each time the leading sites (in order of reliability) have all finished,
+ * a provisional result is published using {@link #onSearchPartialResult()}.
+ * An optional early-completion policy ({@link #setEarlyCompletionKeys(Collection)})
+ * can stop the search as soon as those provisional results contain all fields wanted.
+ * <p>
  * The {@link Site#engineId} is used as the task id.
  */
 public class SearchCoordinator
@@ -118,10 +123,12 @@ public class SearchCoordinator
             searchCoordinatorCancelled = new MutableLiveData<>();
     private final MutableLiveData<LiveDataEvent<TaskResult<Bundle>>>
             searchCoordinatorFinished = new MutableLiveData<>();
+    private final MutableLiveData<LiveDataEvent<TaskResult<Bundle>>>
+            searchCoordinatorPartialResult = new MutableLiveData<>();
 
 
     /** List of Tasks being managed by *this* object. */
-    private final Collection<SearchTask> activeTasks = new HashSet<>();
+    private final ActiveSearchTasks activeTasks = new ActiveSearchTasks();
 
     /** Flag indicating we're shutting down. */
     private final AtomicBoolean cancelled = new AtomicBoolean();
@@ -189,6 +196,20 @@ public class SearchCoordinator
 
     private ResultsAccumulator resultsAccumulator;
 
+    /**
+     * The number of leading sites (in order of reliability) which were finished
+     * when we last published a provisional result.
+     */
+    private int provisionalSiteCount;
+    /**
+     * Optional early-completion policy. If set, the search is considered complete
+     * as soon as a provisional result contains a value for all these keys.
+     */
+    @Nullable
+    private Set<String> earlyCompletionKeys;
+    /** Flag indicating the final result was delivered before all tasks had finished. */
+    private boolean completedEarly;
+
     /** Observable. */
     @NonNull
     public LiveData<LiveDataEvent<TaskProgress>> onProgress() {
@@ -211,16 +232,24 @@ public class SearchCoordinator
         return searchCoordinatorCancelled;
     }
 
+    /**
+     * Provisional results, published while the search is still running.
+     * <p>
+     * The Bundle contains the merged data from the leading sites (in order of reliability)
+     * which have finished. It will never contain covers, nor {@link #BKEY_SEARCH_ERROR}.
+     * The final result is still delivered using {@link #onSearchFinished()}.
+     */
+    @NonNull
+    public LiveData<LiveDataEvent<TaskResult<Bundle>>> onSearchPartialResult() {
+        return searchCoordinatorPartialResult;
+    }
+
     /**
      * Cancel all searches.
      */
     public void cancel() {
         cancelled.set(true);
-        synchronized (activeTasks) {
-            for (final SearchTask searchTask : activeTasks) {
-                searchTask.cancel();
-            }
-        }
+        activeTasks.cancel();
     }
 
     @Override
@@ -347,9 +376,7 @@ public class SearchCoordinator
     }
 
     public boolean isSearchActive() {
-        synchronized (activeTasks) {
-            return !activeTasks.isEmpty();
-        }
+        return !activeTasks.isEmpty();
     }
 
     /**
@@ -383,6 +410,10 @@ public class SearchCoordinator
         // reset flags
         waitingForIsbnOrCode = false;
         cancelled.set(false);
+        completedEarly = false;
+        provisionalSiteCount = 0;
+        // Any tasks from a previous search which are still around will be ignored.
+        activeTasks.newGeneration();
 
         // no synchronized needed here
         searchResultsBySite.clear();
@@ -430,36 +461,37 @@ public class SearchCoordinator
     /**
      * Process the message and start another task if required.
      *
-     * @param taskId of task
-     * @param result of a search (can be null for failed/cancelled searches)
+     * @param generation of the {@link #activeTasks} the task was started in
+     * @param taskId     of task
+     * @param result     of a search (can be null for failed/cancelled searches)
      */
     @SuppressLint("WrongConstant")
-    private synchronized void onSearchTaskFinished(final int taskId,
+    private synchronized void onSearchTaskFinished(final int generation,
+                                                   final int taskId,
                                                    @Nullable final Bundle result) {
+        // Remove the finished task from our list
+        if (!activeTasks.remove(generation, taskId)) {
+            // This task was abandoned when the search completed early, or belongs
+            // to a previous search. Just clean up whatever it downloaded.
+            discardCovers(result);
+            return;
+        }
+
         if (BuildConfig.DEBUG && DEBUG_SWITCHES.SEARCH_COORDINATOR_TIMERS) {
             searchTasksEndTime.put(taskId, System.nanoTime());
         }
 
         final Context context = ServiceLocator.getInstance().getLocalizedAppContext();
 
-        // Remove the finished task from our list
-        synchronized (activeTasks) {
-            activeTasks.stream()
-                       .filter(searchTask -> searchTask.getTaskId() == taskId)
-                       .findFirst()
-                       .ifPresent(activeTasks::remove);
-
+        if (BuildConfig.DEBUG && DEBUG_SWITCHES.SEARCH_COORDINATOR) {
+            Log.d(TAG, "onSearchTaskFinished|finished="
+                       + searchEngineRegistry.getByEngineId(taskId)
+                                             .getName(context));
 
-            if (BuildConfig.DEBUG && DEBUG_SWITCHES.SEARCH_COORDINATOR) {
-                Log.d(TAG, "onSearchTaskFinished|finished="
-                           + searchEngineRegistry.getByEngineId(taskId)
+            for (final int runningId : activeTasks.getTaskIds()) {
+                Log.d(TAG, "onSearchTaskFinished|running="
+                           + searchEngineRegistry.getByEngineId(runningId)
                                                  .getName(context));
-
-                for (final SearchTask searchTask : activeTasks) {
-                    Log.d(TAG, "onSearchTaskFinished|running="
-                               + searchEngineRegistry.getByEngineId(searchTask.getTaskId())
-                                                     .getName(context));
-                }
             }
         }
 
@@ -503,18 +535,33 @@ public class SearchCoordinator
         }
 
         // any searches still running or did we get cancelled?
-        final boolean stopSearching;
-        synchronized (activeTasks) {
-            // if we didn't start a new search (which might not be active yet!),
-            // and there are no previous searches still running
-            // (or we got cancelled) then we are done.
-            stopSearching = !searchStarted && (activeTasks.isEmpty() || cancelled.get());
+        // if we didn't start a new search (which might not be active yet!),
+        // and there are no previous searches still running
+        // (or we got cancelled) then we are done.
+        boolean stopSearching = !searchStarted && (activeTasks.isEmpty() || cancelled.get());
+
+        // While the serial search is still looking for an ISBN/code, the results
+        // are not trustworthy enough to be shown.
+        if (!stopSearching && !cancelled.get() && !waitingForIsbnOrCode) {
+            if (publishProvisionalResults(context)) {
+                // The early-completion policy is satisfied: stop the remaining tasks.
+                // Their results (if any) will be ignored.
+                completedEarly = true;
+                activeTasks.abandon();
+                synchronized (searchProgressBySite) {
+                    searchProgressBySite.clear();
+                }
+                stopSearching = true;
+            }
         }
 
         if (stopSearching) {
             final long processTime = System.nanoTime();
 
-            final Bundle bookData = accumulateResults(context);
+            final Bundle bookData;
+            synchronized (searchResultsBySite) {
+                bookData = accumulateResults(context, searchResultsBySite, false);
+            }
             final String searchErrors = accumulateErrors(context);
             if (searchErrors != null && !searchErrors.isEmpty()) {
                 bookData.putString(BKEY_SEARCH_ERROR, searchErrors);
@@ -532,6 +579,7 @@ public class SearchCoordinator
             if (BuildConfig.DEBUG /* always */) {
                 Log.d(TAG, "onSearchTaskFinished"
                            + "|cancelled=" + cancelled.get()
+                           + "|completedEarly=" + completedEarly
                            + "|searchErrors=" + searchErrors);
 
                 if (DEBUG_SWITCHES.SEARCH_COORDINATOR_TIMERS) {
@@ -573,6 +621,117 @@ public class SearchCoordinator
         }
     }
 
+    /**
+     * Publish a provisional result if more of the leading sites (in order of reliability)
+     * have finished since the last time we did so.
+     *
+     * @param context Current context
+     *
+     * @return {@code true} if the early-completion policy is satisfied
+     */
+    private boolean publishProvisionalResults(@NonNull final Context context) {
+        final Set<Integer> running = activeTasks.getTaskIds();
+
+        // Collect the results of the leading sites, up to the first one still running.
+        @SuppressLint("UseSparseArrays")
+        final Map<Integer, Bundle> settledResults = new HashMap<>();
+        int settledCount = 0;
+        synchronized (searchResultsBySite) {
+            for (final Site site : Site.Type.getDataSitesByReliability()) {
+                if (running.contains(site.engineId)) {
+                    break;
+                }
+                if (searchResultsBySite.containsKey(site.engineId)) {
+                    settledResults.put(site.engineId, searchResultsBySite.get(site.engineId));
+                }
+                settledCount++;
+            }
+        }
+
+        // Nothing new, or the most reliable site is still busy.
+        if (settledCount <= provisionalSiteCount || settledResults.isEmpty()) {
+            return false;
+        }
+        provisionalSiteCount = settledCount;
+
+        final Bundle bookData = accumulateResults(context, settledResults, true);
+
+        if (BuildConfig.DEBUG && DEBUG_SWITCHES.SEARCH_COORDINATOR) {
+            Log.d(TAG, "publishProvisionalResults|settledCount=" + settledCount
+                       + "|sites=" + settledResults.keySet());
+        }
+
+        searchCoordinatorPartialResult.setValue(new LiveDataEvent<>(
+                new TaskResult<>(R.id.TASK_ID_SEARCH_COORDINATOR, bookData)));
+
+        return earlyCompletionKeys != null && hasAllKeys(bookData, earlyCompletionKeys);
+    }
+
+    /**
+     * Check if all the given keys are present with a non-empty value.
+     *
+     * @param bookData to check
+     * @param keys     to look for
+     *
+     * @return {@code true} if all keys have a value
+     */
+    private boolean hasAllKeys(@NonNull final Bundle bookData,
+                               @NonNull final Collection<String> keys) {
+        for (final String key : keys) {
+            final Object value = bookData.get(key);
+            if (value == null) {
+                return false;
+            }
+            if (value instanceof Collection) {
+                if (((Collection<?>) value).isEmpty()) {
+                    return false;
+                }
+            } else if (value.toString().trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Delete any cover files listed in the given (ignored) search result.
+     *
+     * @param result of a search (can be null for failed/cancelled searches)
+     */
+    private void discardCovers(@Nullable final Bundle result) {
+        if (result != null) {
+            for (int cIdx = 0; cIdx < 2; cIdx++) {
+                final ArrayList<String> imageList =
+                        result.getStringArrayList(BKEY_FILE_SPEC_ARRAY[cIdx]);
+                if (imageList != null) {
+                    imageList.forEach(fileSpec -> FileUtils.delete(new File(fileSpec)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the early-completion policy.
+     * <p>
+     * When set, the search is finished as soon as the most reliable sites have
+     * provided a value for all of the given keys. The remaining searches are cancelled,
+     * and the result is delivered as a normal {@link #onSearchFinished()}.
+     * <p>
+     * Covers are never part of the provisional results, so passing a cover key
+     * effectively disables the policy.
+     * A key only needs a value from a single site; do not use this policy when the
+     * values from all sites are wanted, e.g. when appending lists.
+     *
+     * @param keys to check; {@code null} or empty to disable early completion
+     */
+    public void setEarlyCompletionKeys(@Nullable final Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            earlyCompletionKeys = null;
+        } else {
+            earlyCompletionKeys = new HashSet<>(keys);
+        }
+    }
+
     /**
      * Indicate we want a thumbnail.
      *
@@ -604,41 +763,56 @@ public class SearchCoordinator
         externalIdSearchText = externalIds;
     }
 
-    /** Listener for <strong>individual</strong> search tasks. */
-    private final TaskListener<Bundle> mSearchTaskListener = new TaskListener<>() {
+    /**
+     * Create a listener for <strong>individual</strong> search tasks.
+     *
+     * @param generation of the {@link #activeTasks} the task will be started in
+     *
+     * @return listener
+     */
+    @NonNull
+    private TaskListener<Bundle> createSearchTaskListener(final int generation) {
+        return new TaskListener<>() {
 
-        @Override
-        public void onProgress(@NonNull final TaskProgress message) {
-            synchronized (searchProgressBySite) {
-                searchProgressBySite.put(message.taskId, message);
+            @Override
+            public void onProgress(@NonNull final TaskProgress message) {
+                if (!activeTasks.isCurrent(generation)) {
+                    return;
+                }
+                synchronized (searchProgressBySite) {
+                    searchProgressBySite.put(message.taskId, message);
+                }
+                // forward the accumulated progress
+                searchCoordinatorProgress.setValue(new LiveDataEvent<>(accumulateProgress()));
             }
-            // forward the accumulated progress
-            searchCoordinatorProgress.setValue(new LiveDataEvent<>(accumulateProgress()));
-        }
 
-        @Override
-        public void onFinished(final int taskId,
-                               @Nullable final Bundle result) {
-            onSearchTaskFinished(taskId, Objects.requireNonNull(result, "result"));
-        }
+            @Override
+            public void onFinished(final int taskId,
+                                   @Nullable final Bundle result) {
+                onSearchTaskFinished(generation, taskId,
+                                     Objects.requireNonNull(result, "result"));
+            }
 
-        @Override
-        public void onCancelled(final int taskId,
-                                @Nullable final Bundle result) {
-            // we'll deliver what we have found up to now (includes previous searches)
-            onSearchTaskFinished(taskId, result);
-        }
+            @Override
+            public void onCancelled(final int taskId,
+                                    @Nullable final Bundle result) {
+                // we'll deliver what we have found up to now (includes previous searches)
+                onSearchTaskFinished(generation, taskId, result);
+            }
 
-        @Override
-        public void onFailure(final int taskId,
-                              @Nullable final Exception exception) {
-            synchronized (searchErrorsBySite) {
-                // Always store, even if null
-                searchErrorsBySite.put(taskId, exception);
+            @Override
+            public void onFailure(final int taskId,
+                                  @Nullable final Exception exception) {
+                if (activeTasks.isCurrent(generation)) {
+                    synchronized (searchErrorsBySite) {
+                        // Always store, even if null
+                        searchErrorsBySite.put(taskId, exception);
+                    }
+                }
+                onSearchTaskFinished(generation, taskId, null);
             }
-            onSearchTaskFinished(taskId, null);
-        }
-    };
+        };
+    }
 
     @NonNull
     public String getIsbnSearchText() {
@@ -813,7 +987,8 @@ public class SearchCoordinator
             }
         }
 
-        final SearchTask task = new SearchTask(searchEngine, mSearchTaskListener);
+        final SearchTask task = new SearchTask(
+                searchEngine, createSearchTaskListener(activeTasks.getGeneration()));
         task.setExecutor(ASyncExecutor.MAIN);
 
         task.setFetchCovers(fetchCover);
@@ -854,9 +1029,7 @@ public class SearchCoordinator
             searchTasksStartTime.put(task.getTaskId(), System.nanoTime());
         }
 
-        synchronized (activeTasks) {
-            activeTasks.add(task);
-        }
+        activeTasks.add(task);
         if (BuildConfig.DEBUG && DEBUG_SWITCHES.SEARCH_COORDINATOR) {
             Log.d(TAG, "startSearch|searchEngine="
                        + searchEngine.getName(ServiceLocator.getAppContext()));
@@ -920,18 +1093,25 @@ public class SearchCoordinator
     }
 
     /**
-     * Called when all is said and done. Accumulate data from all sites.
+     * Accumulate data from all sites in the given results.
+     * Called when all is said and done, or with a subset of the sites
+     * to create a provisional result.
      *
      * <strong>Developer note:</strong> before you think you can simplify this method
      * by working directly with engine-id and SearchEngines... DON'T
      * Read class docs for {@link SearchSites} and {@link Site.Type#getDataSitesByReliability}.
      *
-     * @param context Current context
+     * @param context       Current context
+     * @param resultsBySite the results to merge
+     * @param provisional   {@code true} if the search is still running;
+     *                      covers will not be processed.
      *
      * @return the accumulated book data bundle
      */
     @NonNull
-    private Bundle accumulateResults(@NonNull final Context context) {
+    private Bundle accumulateResults(@NonNull final Context context,
+                                     @NonNull final Map<Integer, Bundle> resultsBySite,
+                                     final boolean provisional) {
         // This list will be the actual order of the result we apply, based on the
         // actual results and the default order.
         final List<Site> sites = new ArrayList<>();
@@ -944,8 +1124,8 @@ public class SearchCoordinator
             // and put entries without ISBN at the end
             final Collection<Site> sitesWithoutIsbn = new ArrayList<>();
             for (final Site site : Site.Type.getDataSitesByReliability()) {
-                if (searchResultsBySite.containsKey(site.engineId)) {
-                    final Bundle siteData = searchResultsBySite.get(site.engineId);
+                if (resultsBySite.containsKey(site.engineId)) {
+                    final Bundle siteData = resultsBySite.get(site.engineId);
                     // any results for this site?
                     if (siteData != null && !siteData.isEmpty()) {
                         // yes; check isbn to determine the order in which we'll use the results
@@ -980,7 +1160,15 @@ public class SearchCoordinator
         }
 
         // Merge the data we have in the order as decided upon above.
-        resultsAccumulator.process(context, sites, searchResultsBySite, bookData);
+        if (provisional) {
+            resultsAccumulator.merge(context, sites, resultsBySite, bookData);
+            // The covers are only selected (and the others deleted) at the very end.
+            for (int cIdx = 0; cIdx < 2; cIdx++) {
+                bookData.remove(BKEY_FILE_SPEC_ARRAY[cIdx]);
+            }
+        } else {
+            resultsAccumulator.process(context, sites, resultsBySite, bookData);
+        }
 
         // If we did not get an ISBN, use the one we originally searched for.
         final String isbnStr = bookData.getString(DBKey.BOOK_ISBN);
@@ -1042,6 +1230,25 @@ public class SearchCoordinator
                             @NonNull final List<Site> sites,
                             @NonNull final Map<Integer, Bundle> searchResultsBySite,
                             @NonNull final Bundle bookData) {
+            merge(context, sites, searchResultsBySite, bookData);
+
+            // Pick the best covers for each list (if any) and clean/delete all others.
+            mCoverFilter.filter(bookData);
+        }
+
+        /**
+         * Merge the data from the given sites and run the mappers.
+         * The site data itself is never modified, so this can be called
+         * repeatedly with the same (growing) set of results.
+         *
+         * @param context  Current context
+         * @param sites    the ordered list of sites
+         * @param bookData Destination bundle
+         */
+        public void merge(@NonNull final Context context,
+                          @NonNull final List<Site> sites,
+                          @NonNull final Map<Integer, Bundle> searchResultsBySite,
+                          @NonNull final Bundle bookData) {
             sites.stream()
                  .map(Site::getSearchEngine)
                  .forEach(searchEngine -> {
@@ -1071,9 +1278,6 @@ public class SearchCoordinator
 
             // run the mappers
             mMappers.forEach(mapper -> mapper.map(context, bookData));
-
-            // Pick the best covers for each list (if any) and clean/delete all others.
-            mCoverFilter.filter(bookData);
         }
 
         /**
@@ -1146,8 +1350,8 @@ public class SearchCoordinator
 
             ArrayList<T> dest = bookData.getParcelableArrayList(key);
             if (dest == null || dest.isEmpty()) {
-                // just copy
-                dest = dataToAdd;
+                // copy; we must not append to the list owned by the site data.
+                dest = new ArrayList<>(dataToAdd);
                 if (BuildConfig.DEBUG && DEBUG_SWITCHES.SEARCH_COORDINATOR) {
                     Log.d(TAG, "processList|copied"
                                + "|key=" + key + "|value=`" + dataToAdd + '`');
@@ -272,6 +272,7 @@ public interface SearchEngine
         final FutureHttpGet<FRT> httpGet = new FutureHttpGet<>(config.getLabelResId());
         httpGet.setConnectTimeout(config.getConnectTimeoutInMs())
                .setReadTimeout(config.getReadTimeoutInMs())
+               .setKeepAlive(true)
                .setThrottler(config.getThrottler());
         return httpGet;
     }
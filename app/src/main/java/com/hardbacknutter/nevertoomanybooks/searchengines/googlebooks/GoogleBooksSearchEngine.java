@@ -41,6 +41,7 @@ import org.xml.sax.SAXException;
 
 import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
 import com.hardbacknutter.nevertoomanybooks.network.FutureHttpGet;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngine;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngineBase;
@@ -156,13 +157,17 @@ public class GoogleBooksSearchEngine
         futureHttpGet = createFutureGetRequest();
 
         final SAXParserFactory factory = SAXParserFactory.newInstance();
+        // The handlers use the localName, which is only reported reliably
+        // by a namespace aware parser.
+        factory.setNamespaceAware(true);
         // get the booklist, can return multiple books ('entry' elements)
         final GoogleBooksListHandler listHandler = new GoogleBooksListHandler();
 
         try {
             final SAXParser parser = factory.newSAXParser();
             futureHttpGet.get(url, request -> {
-                try (BufferedInputStream bis = new BufferedInputStream(request.getInputStream())) {
+                try (BufferedInputStream bis = new BufferedInputStream(
+                        FutureHttpBase.getInputStream(request))) {
                     parser.parse(bis, listHandler);
                     return true;
 
@@ -187,7 +192,7 @@ public class GoogleBooksSearchEngine
                 // only using the first one found, maybe future enhancement?
                 futureHttpGet.get(urlList.get(0), request -> {
                     try (BufferedInputStream bis = new BufferedInputStream(
-                            request.getInputStream())) {
+                            FutureHttpBase.getInputStream(request))) {
                         parser.parse(bis, handler);
                         checkForSeriesNameInTitle(bookData);
                         return true;
@@ -71,6 +71,7 @@ import com.hardbacknutter.nevertoomanybooks.entities.Book;
 import com.hardbacknutter.nevertoomanybooks.entities.Publisher;
 import com.hardbacknutter.nevertoomanybooks.entities.Series;
 import com.hardbacknutter.nevertoomanybooks.entities.TocEntry;
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
 import com.hardbacknutter.nevertoomanybooks.network.FutureHttpGet;
 import com.hardbacknutter.nevertoomanybooks.network.Throttler;
 import com.hardbacknutter.nevertoomanybooks.searchengines.JsoupSearchEngineBase;
@@ -244,6 +245,8 @@ public class IsfdbSearchEngine
     @Keep
     public IsfdbSearchEngine(@NonNull final SearchEngineConfig config) {
         super(config, CHARSET_DECODE_PAGE);
+        // The site regularly drops kept-alive connections (EOFException)
+        setCloseConnection();
     }
 
     public static SearchEngineConfig createConfig() {
@@ -1503,7 +1506,8 @@ public class IsfdbSearchEngine
             final SAXParser parser = factory.newSAXParser();
 
             futureHttpGet.get(url, request -> {
-                try (BufferedInputStream bis = new BufferedInputStream(request.getInputStream())) {
+                try (BufferedInputStream bis = new BufferedInputStream(
+                        FutureHttpBase.getInputStream(request))) {
                     parser.parse(bis, listHandler);
                     return true;
 
@@ -42,6 +42,7 @@ import org.xml.sax.helpers.DefaultHandler;
 import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
 import com.hardbacknutter.nevertoomanybooks.covers.Size;
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
 import com.hardbacknutter.nevertoomanybooks.network.FutureHttpGet;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchCoordinator;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngine;
@@ -159,7 +160,8 @@ public class KbNlSearchEngine
             mFutureHttpGet.setInstanceFollowRedirects(false); //9020612476
 
             mFutureHttpGet.get(url, request -> {
-                try (BufferedInputStream bis = new BufferedInputStream(request.getInputStream())) {
+                try (BufferedInputStream bis = new BufferedInputStream(
+                        FutureHttpBase.getInputStream(request))) {
                     parser.parse(bis, handler);
                     checkForSeriesNameInTitle(bookData);
                     return true;
@@ -43,6 +43,7 @@ import org.xml.sax.helpers.DefaultHandler;
 
 import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
 import com.hardbacknutter.nevertoomanybooks.network.FutureHttpGet;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngine;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngineBase;
@@ -146,6 +147,9 @@ public class LibraryThingSearchEngine
         futureHttpGet = createFutureGetRequest();
 
         final SAXParserFactory factory = SAXParserFactory.newInstance();
+        // The handlers use the localName, which is only reported reliably
+        // by a namespace aware parser.
+        factory.setNamespaceAware(true);
         final LibraryThingEditionHandler handler = new LibraryThingEditionHandler();
 
         final String url = getSiteUrl() + String.format("/api/thingISBN/%1$s", validIsbn);
@@ -154,7 +158,7 @@ public class LibraryThingSearchEngine
             final SAXParser parser = factory.newSAXParser();
             futureHttpGet.get(url, request -> {
                 try (BufferedInputStream bis = new BufferedInputStream(
-                        request.getInputStream())) {
+                        FutureHttpBase.getInputStream(request))) {
                     parser.parse(bis, handler);
                     return true;
 
@@ -50,6 +50,7 @@ import com.hardbacknutter.nevertoomanybooks.entities.Author;
 import com.hardbacknutter.nevertoomanybooks.entities.Book;
 import com.hardbacknutter.nevertoomanybooks.entities.Publisher;
 import com.hardbacknutter.nevertoomanybooks.entities.TocEntry;
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
 import com.hardbacknutter.nevertoomanybooks.network.FutureHttpGet;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchCoordinator;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchEngine;
@@ -305,7 +306,7 @@ public class OpenLibrarySearchEngine
             // get and store the result into a string.
             final String response = futureHttpGet.get(url, request -> {
                 try (BufferedInputStream bis = new BufferedInputStream(
-                        request.getInputStream())) {
+                        FutureHttpBase.getInputStream(request))) {
                     return readResponseStream(bis);
 
                 } catch (@NonNull final IOException e) {
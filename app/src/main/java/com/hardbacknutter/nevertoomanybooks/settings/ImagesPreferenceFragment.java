@@ -19,18 +19,27 @@
  */
 package com.hardbacknutter.nevertoomanybooks.settings;
 
+import android.content.Context;
 import android.os.Bundle;
+import android.view.View;
 
 import androidx.annotation.Keep;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.preference.ListPreference;
 import androidx.preference.Preference;
 
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
+import com.google.android.material.snackbar.Snackbar;
 
 import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
+import com.hardbacknutter.nevertoomanybooks.tasks.LiveDataEvent;
+import com.hardbacknutter.nevertoomanybooks.tasks.ProgressDelegate;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskProgress;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskResult;
+import com.hardbacknutter.nevertoomanybooks.utils.exceptions.ExMsg;
 
 /**
  * Used/defined in xml/preferences.xml
@@ -40,6 +49,12 @@ public class ImagesPreferenceFragment
         extends BasePreferenceFragment {
 
     private static final String PSK_PURGE_IMAGE_CACHE = "psk_purge_image_cache";
+    private static final String PSK_FILL_IMAGE_CACHE = "psk_fill_image_cache";
+
+    private ImagesViewModel vm;
+
+    @Nullable
+    private ProgressDelegate progressDelegate;
 
     @Override
     public void onCreatePreferences(@Nullable final Bundle savedInstanceState,
@@ -47,6 +62,8 @@ public class ImagesPreferenceFragment
         super.onCreatePreferences(savedInstanceState, rootKey);
         setPreferencesFromResource(R.xml.preferences_images, rootKey);
 
+        vm = new ViewModelProvider(this).get(ImagesViewModel.class);
+
         //noinspection ConstantConditions
         findPreference(Prefs.pk_camera_image_autorotate)
                 .setSummaryProvider(ListPreference.SimpleSummaryProvider.getInstance());
@@ -55,6 +72,14 @@ public class ImagesPreferenceFragment
         findPreference(Prefs.pk_camera_image_action)
                 .setSummaryProvider(ListPreference.SimpleSummaryProvider.getInstance());
 
+        //noinspection ConstantConditions
+        findPreference(Prefs.pk_image_recompress_max_size)
+                .setSummaryProvider(ListPreference.SimpleSummaryProvider.getInstance());
+
+        //noinspection ConstantConditions
+        findPreference(Prefs.pk_image_recompress_quality)
+                .setSummaryProvider(ListPreference.SimpleSummaryProvider.getInstance());
+
         // Purge image cache database table.
         final Preference purgeCache = findPreference(PSK_PURGE_IMAGE_CACHE);
         //noinspection ConstantConditions
@@ -74,6 +99,27 @@ public class ImagesPreferenceFragment
                     .show();
             return true;
         });
+
+        // Generate the resized images for all covers.
+        //noinspection ConstantConditions
+        findPreference(PSK_FILL_IMAGE_CACHE).setOnPreferenceClickListener(p -> {
+            vm.fillImageCache();
+            return true;
+        });
+    }
+
+    @Override
+    public void onViewCreated(@NonNull final View view,
+                              @Nullable final Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        vm.onProgress().observe(getViewLifecycleOwner(), this::onProgress);
+        vm.onFillImageCacheCancelled().observe(getViewLifecycleOwner(),
+                                               this::onFillImageCacheCancelled);
+        vm.onFillImageCacheFailure().observe(getViewLifecycleOwner(),
+                                             this::onFillImageCacheFailure);
+        vm.onFillImageCacheFinished().observe(getViewLifecycleOwner(),
+                                              this::onFillImageCacheFinished);
     }
 
     private void setPurgeCacheSummary(@NonNull final Preference preference) {
@@ -91,4 +137,68 @@ public class ImagesPreferenceFragment
             preference.setSummary("");
         }
     }
+
+    private void onProgress(@NonNull final LiveDataEvent<TaskProgress> message) {
+        message.getData().ifPresent(data -> {
+            if (progressDelegate == null) {
+                //noinspection ConstantConditions
+                progressDelegate = new ProgressDelegate(getProgressFrame())
+                        .setTitle(R.string.lbl_fill_image_cache)
+                        .setPreventSleep(true)
+                        .setOnCancelListener(v -> vm.cancelTask(data.taskId))
+                        .show(() -> getActivity().getWindow());
+            }
+            progressDelegate.onProgress(data);
+        });
+    }
+
+    private void closeProgressDialog() {
+        if (progressDelegate != null) {
+            //noinspection ConstantConditions
+            progressDelegate.dismiss(getActivity().getWindow());
+            progressDelegate = null;
+        }
+    }
+
+    private void onFillImageCacheFinished(
+            @NonNull final LiveDataEvent<TaskResult<Integer>> message) {
+        closeProgressDialog();
+
+        message.getData().map(TaskResult::requireResult).ifPresent(count -> {
+            //noinspection ConstantConditions
+            Snackbar.make(getView(), getString(R.string.txt_fill_image_cache_done, count),
+                          Snackbar.LENGTH_LONG).show();
+            //noinspection ConstantConditions
+            setPurgeCacheSummary(findPreference(PSK_PURGE_IMAGE_CACHE));
+        });
+    }
+
+    private void onFillImageCacheFailure(
+            @NonNull final LiveDataEvent<TaskResult<Exception>> message) {
+        closeProgressDialog();
+
+        message.getData().ifPresent(data -> {
+            final Context context = getContext();
+            //noinspection ConstantConditions
+            final String msg = ExMsg.map(context, data.getResult())
+                                    .orElse(getString(R.string.error_unknown));
+            new MaterialAlertDialogBuilder(context)
+                    .setIcon(R.drawable.ic_baseline_error_24)
+                    .setTitle(R.string.lbl_fill_image_cache)
+                    .setMessage(msg)
+                    .setPositiveButton(android.R.string.ok, (d, w) -> d.dismiss())
+                    .create()
+                    .show();
+        });
+    }
+
+    private void onFillImageCacheCancelled(
+            @NonNull final LiveDataEvent<TaskResult<Integer>> message) {
+        closeProgressDialog();
+
+        message.getData().ifPresent(data -> {
+            //noinspection ConstantConditions
+            Snackbar.make(getView(), R.string.cancelled, Snackbar.LENGTH_LONG).show();
+        });
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.settings;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.ViewModel;
+
+import com.hardbacknutter.nevertoomanybooks.covers.ThumbnailBackfillTask;
+import com.hardbacknutter.nevertoomanybooks.tasks.LiveDataEvent;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskProgress;
+import com.hardbacknutter.nevertoomanybooks.tasks.TaskResult;
+
+@SuppressWarnings("WeakerAccess")
+public class ImagesViewModel
+        extends ViewModel {
+
+    private final ThumbnailBackfillTask thumbnailBackfillTask = new ThumbnailBackfillTask();
+
+    @Override
+    protected void onCleared() {
+        thumbnailBackfillTask.cancel();
+        super.onCleared();
+    }
+
+    void fillImageCache() {
+        thumbnailBackfillTask.start();
+    }
+
+    @NonNull
+    LiveData<LiveDataEvent<TaskProgress>> onProgress() {
+        return thumbnailBackfillTask.onProgress();
+    }
+
+    @NonNull
+    LiveData<LiveDataEvent<TaskResult<Integer>>> onFillImageCacheCancelled() {
+        return thumbnailBackfillTask.onCancelled();
+    }
+
+    @NonNull
+    LiveData<LiveDataEvent<TaskResult<Exception>>> onFillImageCacheFailure() {
+        return thumbnailBackfillTask.onFailure();
+    }
+
+    @NonNull
+    LiveData<LiveDataEvent<TaskResult<Integer>>> onFillImageCacheFinished() {
+        return thumbnailBackfillTask.onFinished();
+    }
+
+    void cancelTask(@IdRes final int taskId) {
+        if (taskId == thumbnailBackfillTask.getTaskId()) {
+            thumbnailBackfillTask.cancel();
+        } else {
+            throw new IllegalArgumentException("taskId=" + taskId);
+        }
+    }
+}
@@ -54,11 +54,17 @@ public final class Prefs {
 
     public static final String pk_image_cache_resized = "image.cache.resized";
     public static final String pk_image_cropper_frame_whole = "image.cropper.frame.whole";
+    /** The longest side in pixels a cover is reduced to by the recompress task. */
+    public static final String pk_image_recompress_max_size = "image.recompress.max.size";
+    /** The JPEG quality used by the recompress task. */
+    public static final String pk_image_recompress_quality = "image.recompress.quality";
 
     public static final String pk_storage_volume = "storage.volume.index";
 
     public static final String pk_booklist_rebuild_state = "booklist.rebuild.state";
     public static final String pk_booklist_fastscroller_overlay = "booklist.fastscroller.overlay";
+    /** Whether to save the last built list for reuse at the next start of the app. */
+    public static final String pk_booklist_persist = "booklist.persist";
 
     public static final String pk_edit_book_isbn_checks = "edit.book.isbn.checks";
     /** Whether to show the fragment that allows the user to edit the external id's. */
@@ -58,6 +58,8 @@ import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -66,6 +68,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import javax.net.ssl.SSLContext;
@@ -81,6 +85,7 @@ import com.hardbacknutter.nevertoomanybooks.entities.Author;
 import com.hardbacknutter.nevertoomanybooks.entities.Book;
 import com.hardbacknutter.nevertoomanybooks.entities.Bookshelf;
 import com.hardbacknutter.nevertoomanybooks.network.ConnectionValidator;
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
 import com.hardbacknutter.nevertoomanybooks.network.FutureHttpGet;
 import com.hardbacknutter.nevertoomanybooks.network.FutureHttpPost;
 import com.hardbacknutter.nevertoomanybooks.network.HttpUtils;
@@ -214,8 +219,14 @@ public class CalibreContentServer
     private FutureHttpGet<String> futureJsonFetchRequest;
     @Nullable
     private FutureHttpGet<Uri> futureFileFetchRequest;
-    @Nullable
-    private ImageDownloader imageDownloader;
+    /**
+     * All cover downloaders created so far. Covers can be fetched from multiple threads,
+     * so we need a downloader for each concurrent request.
+     * Both collections are thread-safe, as {@link #cancel()} can be called at any time.
+     */
+    private final Collection<ImageDownloader> imageDownloaders = new CopyOnWriteArrayList<>();
+    /** The downloaders from {@link #imageDownloaders} which are not in use right now. */
+    private final Deque<ImageDownloader> idleImageDownloaders = new ConcurrentLinkedDeque<>();
     /** As read from the Content Server. */
     @Nullable
     private CalibreLibrary defaultLibrary;
@@ -424,8 +435,10 @@ public class CalibreContentServer
     @NonNull
     private <FRT> FutureHttpGet<FRT> createFutureGetRequest() {
         final FutureHttpGet<FRT> httpGet = new FutureHttpGet<>(R.string.site_calibre);
+        // A sync hits the same server thousands of times; keep the connection open.
         httpGet.setConnectTimeout(connectTimeoutInMs)
                .setReadTimeout(readTimeoutInMs)
+               .setKeepAlive(true)
                .setRequestProperty(HttpUtils.AUTHORIZATION, authHeader)
                .setSSLContext(sslContext);
         return httpGet;
@@ -436,6 +449,7 @@ public class CalibreContentServer
         final FutureHttpPost<FRT> httpPost = new FutureHttpPost<>(R.string.site_calibre);
         httpPost.setConnectTimeout(connectTimeoutInMs)
                 .setReadTimeout(readTimeoutInMs)
+                .setKeepAlive(true)
                 .setRequestProperty(HttpUtils.CONTENT_TYPE, HttpUtils.CONTENT_TYPE_JSON)
                 .setRequestProperty(HttpUtils.AUTHORIZATION, authHeader)
                 .setSSLContext(sslContext);
@@ -722,7 +736,7 @@ public class CalibreContentServer
     @WorkerThread
     @NonNull
     public JSONObject getBookIds(@NonNull final String libraryId,
-                                 @SuppressWarnings("SameParameterValue") final int num,
+                                 final int num,
                                  final int offset)
             throws StorageException,
                    IOException,
@@ -763,7 +777,7 @@ public class CalibreContentServer
     @WorkerThread
     @NonNull
     public JSONObject search(@NonNull final String libraryId,
-                             @SuppressWarnings("SameParameterValue") final int num,
+                             final int num,
                              final int offset,
                              @NonNull final String query)
             throws StorageException, IOException, JSONException {
@@ -1116,21 +1130,37 @@ public class CalibreContentServer
         return new JSONObject(fetch(url, BUFFER_BOOK));
     }
 
+    /**
+     * Download a cover.
+     * <p>
+     * Can be called concurrently from multiple threads.
+     *
+     * @param calibreId of the book
+     * @param coverUrl  the (relative) url as found in the book data
+     *
+     * @return the downloaded file
+     *
+     * @throws StorageException The covers directory is not available
+     */
     @WorkerThread
     @NonNull
     public Optional<File> getCover(final int calibreId,
                                    @NonNull final String coverUrl)
             throws StorageException {
 
-        synchronized (this) {
-            if (imageDownloader == null) {
-                imageDownloader = new ImageDownloader(createFutureGetRequest());
-            }
+        ImageDownloader imageDownloader = idleImageDownloaders.poll();
+        if (imageDownloader == null) {
+            imageDownloader = new ImageDownloader(createFutureGetRequest());
+            imageDownloaders.add(imageDownloader);
         }
-        final File tmpFile = imageDownloader
-                .getTempFile(FILENAME_SUFFIX, String.valueOf(calibreId), 0, null);
+        try {
+            final File tmpFile = imageDownloader
+                    .getTempFile(FILENAME_SUFFIX, String.valueOf(calibreId), 0, null);
 
-        return imageDownloader.fetch(serverUri + coverUrl, tmpFile);
+            return imageDownloader.fetch(serverUri + coverUrl, tmpFile);
+        } finally {
+            idleImageDownloaders.push(imageDownloader);
+        }
     }
 
     /**
@@ -1160,7 +1190,7 @@ public class CalibreContentServer
         }
         return futureJsonFetchRequest.get(url, request -> {
             try (BufferedInputStream bis = new BufferedInputStream(
-                    request.getInputStream());
+                    FutureHttpBase.getInputStream(request));
                  InputStreamReader isr = new InputStreamReader(bis, StandardCharsets.UTF_8);
                  BufferedReader reader = new BufferedReader(isr, buffer)) {
 
@@ -1224,7 +1254,7 @@ public class CalibreContentServer
                 if (os != null) {
                     try (BufferedOutputStream bos = new BufferedOutputStream(os);
                          BufferedInputStream bis = new BufferedInputStream(
-                                 request.getInputStream(), BUFFER_FILE)) {
+                                 FutureHttpBase.getInputStream(request), BUFFER_FILE)) {
 
                         progressListener.publishProgress(0, context.getString(
                                 R.string.progress_msg_loading));
@@ -1385,9 +1415,7 @@ public class CalibreContentServer
             if (futureFileFetchRequest != null) {
                 futureFileFetchRequest.cancel();
             }
-            if (imageDownloader != null) {
-                imageDownloader.cancel();
-            }
+            imageDownloaders.forEach(ImageDownloader::cancel);
             if (futureHttpPost != null) {
                 futureHttpPost.cancel();
             }
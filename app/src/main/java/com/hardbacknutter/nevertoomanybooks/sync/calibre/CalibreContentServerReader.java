@@ -35,9 +35,18 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.hardbacknutter.nevertoomanybooks.BuildConfig;
 import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
@@ -61,7 +70,9 @@ import com.hardbacknutter.nevertoomanybooks.io.RecordType;
 import com.hardbacknutter.nevertoomanybooks.sync.SyncAction;
 import com.hardbacknutter.nevertoomanybooks.sync.SyncReaderHelper;
 import com.hardbacknutter.nevertoomanybooks.sync.SyncReaderMetaData;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
 import com.hardbacknutter.nevertoomanybooks.tasks.ProgressListener;
+import com.hardbacknutter.nevertoomanybooks.utils.FileUtils;
 import com.hardbacknutter.nevertoomanybooks.utils.dates.DateParser;
 import com.hardbacknutter.nevertoomanybooks.utils.dates.ISODateParser;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
@@ -109,8 +120,18 @@ public class CalibreContentServerReader
     private static final String TAG = "CalibreServerReader";
     private static final String BKEY_VIRTUAL_LIBRARY_LIST = TAG + ":vlibs";
 
-    /** The number of books we fetch per request. Tested with CCS running on a RaspberryPi 1b+. */
-    private static final int NUM = 10;
+    /**
+     * The number of books we fetch on the first request, and the lower limit
+     * for the adaptive page size. Tested with CCS running on a RaspberryPi 1b+.
+     */
+    private static final int NUM_MIN = 10;
+    /** The upper limit for the adaptive page size. */
+    private static final int NUM_MAX = 200;
+    /** The time we aim for to fetch the full data of a single page of books. */
+    private static final long PAGE_TARGET_MS = 2_000;
+    /** The number of concurrent cover downloads. */
+    private static final int COVER_THREADS = 3;
+    private static final int NANO_TO_MILLIS = 1_000_000;
     /** error text for {@link #VALUE_IS_NULL}. */
     private static final String ERROR_NULL_STRING = "'null' string";
 
@@ -150,6 +171,17 @@ public class CalibreContentServerReader
     @Nullable
     private CalibreLibrary library;
     private ReaderResults results;
+    /**
+     * The covers being downloaded for the page we're processing; key: the Calibre id.
+     * Only accessed from the thread running {@link #read}.
+     */
+    @NonNull
+    private Map<Integer, Future<Optional<File>>> pendingCovers = new HashMap<>();
+    /**
+     * All cover downloads which have been started, but not yet consumed or discarded.
+     * Added to from the page fetching thread, hence thread-safe.
+     */
+    private final Set<Future<Optional<File>>> coverDownloads = ConcurrentHashMap.newKeySet();
 
     /**
      * Constructor.
@@ -278,9 +310,6 @@ public class CalibreContentServerReader
                    StorageException,
                    IOException {
 
-        final String progressMessage =
-                context.getString(R.string.progress_msg_x_created_y_updated_z_skipped);
-
         results = new ReaderResults();
 
         progressListener.setIndeterminate(true);
@@ -288,18 +317,15 @@ public class CalibreContentServerReader
         // reset; won't take effect until the next publish call.
         progressListener.setIndeterminate(null);
 
+        final ExecutorService coverExecutor =
+                doCovers ? ASyncExecutor.create(TAG, COVER_THREADS) : null;
+        Future<Optional<Page>> nextPage = null;
+        bookDao.startBatch();
         try {
             // Always (re)read the meta data here.
             // Don't assume we still have the same instance as when readMetaData was called.
             readLibraryMetaData(context);
 
-            //noinspection ConstantConditions
-            final int totalNum = library.getTotalBooks();
-
-            int num = 0;
-            int offset = 0;
-            boolean valid;
-
             String query = null;
             // If we want new-books-only (Updates.Skip)
             // or new-books-and-updates (Updates.OnlyNewer),
@@ -316,69 +342,45 @@ public class CalibreContentServerReader
                 }
             }
 
-            do {
-                // Reminder: the NUM for this first call might seem very low,
-                // but the full book data for each of the id's (max == NUM)
-                // will be fetched in ONE GO in the second call further below.
-                final JSONObject root;
-                if (query == null) {
-                    // all-books
-                    root = server.getBookIds(library.getLibraryStringId(), NUM, offset);
-                } else {
-                    // search based on the last-sync-date
-                    root = server.search(library.getLibraryStringId(), NUM, offset, query);
-                }
-
-                // assume valid result if at least the "total_num" param is there.
-                valid = root.has(CalibreContentServer.RESPONSE_TAG_TOTAL_NUM);
-                if (valid) {
-                    // yes, we're reading/setting this on every iteration... less code.
-                    progressListener.setMaxPos(root.getInt(
-                            CalibreContentServer.RESPONSE_TAG_TOTAL_NUM));
-
-                    num = root.getInt(CalibreContentServer.RESPONSE_TAG_NUM);
-                    // the list of books (id only) returned by the server
-                    final JSONArray bookIds = root.optJSONArray(
-                            CalibreContentServer.RESPONSE_TAG_BOOK_IDS);
-
-                    valid = bookIds != null && !bookIds.isEmpty();
-                    if (valid) {
-                        // with the above book-ids, get the full book objects
-                        final JSONObject bookList = server.getBooks(library.getLibraryStringId(),
-                                                                    bookIds);
-                        final JSONObject bookListVirtualLibs =
-                                server.getVirtualLibrariesForBooks(library.getLibraryStringId(),
-                                                                   bookIds);
-
-                        final Iterator<String> it = bookList.keys();
-                        while (it.hasNext() && !progressListener.isCancelled()) {
-                            final String key = it.next();
-                            final JSONObject calibreBook = bookList.getJSONObject(key);
-
-                            // inject the virtual library list into the main book object
-                            if (bookListVirtualLibs != null) {
-                                calibreBook.put(BKEY_VIRTUAL_LIBRARY_LIST,
-                                                bookListVirtualLibs.getJSONArray(key));
-                            }
-
-                            handleBook(context, calibreBook);
-
-                            results.booksProcessed++;
-                            final String msg = String.format(progressMessage,
-                                                             booksString,
-                                                             results.booksCreated,
-                                                             results.booksUpdated,
-                                                             results.booksSkipped);
-                            progressListener.publishProgress(1, msg);
-                        }
+            //noinspection ConstantConditions
+            final PageFetcher pageFetcher = new PageFetcher(library.getLibraryStringId(),
+                                                            query, coverExecutor);
+            final long startTime = System.nanoTime();
+
+            // The pages are fetched on a background thread, always one page ahead
+            // of the page we're processing here.
+            nextPage = ASyncExecutor.SERVICE.submit(pageFetcher::fetch);
+            while (nextPage != null && !progressListener.isCancelled()) {
+                final Optional<Page> page = getPage(nextPage);
+                nextPage = null;
+                if (page.isPresent()) {
+                    if (pageFetcher.hasMore()) {
+                        nextPage = ASyncExecutor.SERVICE.submit(pageFetcher::fetch);
                     }
-                    offset += num;
+                    progressListener.setMaxPos(page.get().totalNum);
+                    processPage(context, page.get(), startTime, progressListener);
                 }
-            } while (valid && num > 0 && (totalNum > offset + num)
-                     && !progressListener.isCancelled());
+            }
+
+            if (BuildConfig.DEBUG && DEBUG_SWITCHES.IMPORT_CALIBRE_BOOKS) {
+                Log.d(TAG, "read|books=" + results.booksProcessed
+                           + "|ms=" + (System.nanoTime() - startTime) / NANO_TO_MILLIS
+                           + "|lastPageSize=" + pageFetcher.num);
+            }
 
         } catch (@NonNull final JSONException e) {
             throw new DataReaderException(e);
+        } finally {
+            if (nextPage != null) {
+                nextPage.cancel(true);
+            }
+            if (coverExecutor != null) {
+                coverExecutor.shutdown();
+            }
+            // Includes the covers of a page which was prefetched but never processed.
+            discardCovers(new ArrayList<>(coverDownloads));
+            pendingCovers.clear();
+            bookDao.endBatch();
         }
 
         // always set the sync date!
@@ -389,6 +391,87 @@ public class CalibreContentServerReader
         return results;
     }
 
+    /**
+     * Wait for the given page to be fetched.
+     *
+     * @param future for the page
+     *
+     * @return the page, or {@code Optional.empty()} if there were no (more) books
+     */
+    @NonNull
+    private Optional<Page> getPage(@NonNull final Future<Optional<Page>> future)
+            throws DataReaderException,
+                   StorageException,
+                   IOException {
+        try {
+            return future.get();
+        } catch (@NonNull final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof StorageException) {
+                throw (StorageException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                // includes JSONException
+                throw (RuntimeException) cause;
+            }
+            throw new DataReaderException(cause);
+        } catch (@NonNull final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataReaderException(e);
+        }
+    }
+
+    /**
+     * Process all books on the given page.
+     *
+     * @param context          Current context
+     * @param page             to process
+     * @param startTime        of the whole read; used to calculate the throughput
+     * @param progressListener Progress and cancellation interface
+     *
+     * @throws StorageException The covers directory is not available
+     */
+    private void processPage(@NonNull final Context context,
+                             @NonNull final Page page,
+                             final long startTime,
+                             @NonNull final ProgressListener progressListener)
+            throws StorageException {
+
+        final String progressMessage =
+                context.getString(R.string.progress_msg_x_created_y_updated_z_skipped);
+
+        // Covers left over from the previous page (e.g. the book was skipped)
+        discardCovers(pendingCovers.values());
+        pendingCovers = page.covers;
+
+        final Iterator<String> it = page.bookList.keys();
+        while (it.hasNext() && !progressListener.isCancelled()) {
+            final String key = it.next();
+            final JSONObject calibreBook = page.bookList.getJSONObject(key);
+
+            // inject the virtual library list into the main book object
+            if (page.virtualLibs != null) {
+                calibreBook.put(BKEY_VIRTUAL_LIBRARY_LIST, page.virtualLibs.getJSONArray(key));
+            }
+
+            handleBook(context, calibreBook);
+
+            results.booksProcessed++;
+
+            final long elapsedMs = Math.max(1, (System.nanoTime() - startTime) / NANO_TO_MILLIS);
+            final String msg = context.getString(
+                    R.string.progress_msg_x_books_per_minute,
+                    String.format(progressMessage,
+                                  booksString,
+                                  results.booksCreated,
+                                  results.booksUpdated,
+                                  results.booksSkipped),
+                    (int) (results.booksProcessed * 60_000L / elapsedMs));
+            progressListener.publishProgress(1, msg);
+        }
+    }
+
     /**
      * Process the book, and update the local data if allowed, or insert if not present.
      *
@@ -657,7 +740,7 @@ public class CalibreContentServerReader
             if (!calibreBook.isNull(CalibreBook.COVER)) {
                 final String coverUrl = calibreBook.optString(CalibreBook.COVER);
                 if (!coverUrl.isEmpty()) {
-                    final File file = server.getCover(calibreBookId, coverUrl).orElse(null);
+                    final File file = getCover(calibreBookId, coverUrl).orElse(null);
                     try {
                         localBook.setCover(0, file);
                     } catch (@NonNull final IOException ignore) {
@@ -773,8 +856,263 @@ public class CalibreContentServerReader
         }
     }
 
+    /**
+     * Get the cover for the given book; either as already downloaded by the cover pool,
+     * or download it now.
+     *
+     * @param calibreBookId the Calibre book id
+     * @param coverUrl      the (relative) url as found in the book data
+     *
+     * @return the cover file
+     *
+     * @throws StorageException The covers directory is not available
+     */
+    @NonNull
+    private Optional<File> getCover(final int calibreBookId,
+                                    @NonNull final String coverUrl)
+            throws StorageException {
+        final Future<Optional<File>> future = pendingCovers.remove(calibreBookId);
+        if (future == null) {
+            return server.getCover(calibreBookId, coverUrl);
+        }
+        coverDownloads.remove(future);
+
+        try {
+            return future.get();
+        } catch (@NonNull final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof StorageException) {
+                throw (StorageException) cause;
+            }
+            // log, but don't fail; we just won't have a cover
+            Logger.error(TAG, cause);
+            return Optional.empty();
+        } catch (@NonNull final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (@NonNull final CancellationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Cancel the given cover downloads, and delete the temporary files
+     * of those which already completed (or are too far along to be cancelled).
+     *
+     * @param futures to discard
+     */
+    private void discardCovers(@NonNull final Collection<Future<Optional<File>>> futures) {
+        for (final Future<Optional<File>> future : futures) {
+            coverDownloads.remove(future);
+            if (!future.cancel(false)) {
+                // Already done, or running; wait for it in the background.
+                ASyncExecutor.SERVICE.execute(() -> {
+                    try {
+                        future.get().ifPresent(FileUtils::delete);
+                    } catch (@NonNull final ExecutionException
+                                            | CancellationException ignore) {
+                        // ignore
+                    } catch (@NonNull final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+    }
+
     @Override
     public void close() {
         ServiceLocator.getInstance().getMaintenanceDao().purge();
     }
+
+    /**
+     * A page with the full data for a batch of books.
+     */
+    private static final class Page {
+
+        /** The total number of books the server will return. */
+        final int totalNum;
+        @NonNull
+        final JSONObject bookList;
+        @Nullable
+        final JSONObject virtualLibs;
+        /** The covers being downloaded for the books on this page; key: the Calibre id. */
+        @NonNull
+        final Map<Integer, Future<Optional<File>>> covers;
+
+        Page(final int totalNum,
+             @NonNull final JSONObject bookList,
+             @Nullable final JSONObject virtualLibs,
+             @NonNull final Map<Integer, Future<Optional<File>>> covers) {
+            this.totalNum = totalNum;
+            this.bookList = bookList;
+            this.virtualLibs = virtualLibs;
+            this.covers = covers;
+        }
+    }
+
+    /**
+     * Fetches the pages one after the other.
+     * <p>
+     * The number of books per page starts low, and is adapted to how fast the server
+     * responds. A fast server gets larger pages, i.e. fewer round trips;
+     * a slow one (e.g. a RaspberryPi) stays at small pages so we can still show progress.
+     * <p>
+     * Only one page is fetched at any time, so there is no concurrent access to
+     * the (non-cover) server requests.
+     */
+    private final class PageFetcher {
+
+        @NonNull
+        private final String libraryId;
+        @Nullable
+        private final String query;
+        /** The pool used to download the covers; {@code null} if we don't want covers. */
+        @Nullable
+        private final ExecutorService coverExecutor;
+
+        /** The number of books we'll ask for on the next request. */
+        private int num = NUM_MIN;
+        private int offset;
+        /** The total number of books as reported by the server; {@code -1} if not known yet. */
+        private int totalNum = -1;
+        /** Not shared with the reader thread; a DateParser is not thread-safe. */
+        private final DateParser pageDateParser = new ISODateParser();
+
+        PageFetcher(@NonNull final String libraryId,
+                    @Nullable final String query,
+                    @Nullable final ExecutorService coverExecutor) {
+            this.libraryId = libraryId;
+            this.query = query;
+            this.coverExecutor = coverExecutor;
+        }
+
+        boolean hasMore() {
+            return totalNum == -1 || offset < totalNum;
+        }
+
+        @WorkerThread
+        @NonNull
+        Optional<Page> fetch()
+                throws StorageException,
+                       IOException {
+
+            // Reminder: the num for this first call might seem low,
+            // but the full book data for each of the id's (max == num)
+            // will be fetched in ONE GO in the second call further below.
+            final JSONObject root;
+            if (query == null) {
+                // all-books
+                root = server.getBookIds(libraryId, num, offset);
+            } else {
+                // search based on the last-sync-date
+                root = server.search(libraryId, num, offset, query);
+            }
+
+            // assume valid result if at least the "total_num" param is there.
+            if (!root.has(CalibreContentServer.RESPONSE_TAG_TOTAL_NUM)) {
+                totalNum = offset;
+                return Optional.empty();
+            }
+            totalNum = root.getInt(CalibreContentServer.RESPONSE_TAG_TOTAL_NUM);
+
+            final int received = root.getInt(CalibreContentServer.RESPONSE_TAG_NUM);
+            // the list of books (id only) returned by the server
+            final JSONArray bookIds = root.optJSONArray(
+                    CalibreContentServer.RESPONSE_TAG_BOOK_IDS);
+            if (received <= 0 || bookIds == null || bookIds.isEmpty()) {
+                totalNum = offset;
+                return Optional.empty();
+            }
+            offset += received;
+
+            // with the above book-ids, get the full book objects
+            final long start = System.nanoTime();
+            final JSONObject bookList = server.getBooks(libraryId, bookIds);
+            final JSONObject virtualLibs = server.getVirtualLibrariesForBooks(libraryId, bookIds);
+            adaptPageSize(received, (System.nanoTime() - start) / NANO_TO_MILLIS);
+
+            return Optional.of(new Page(totalNum, bookList, virtualLibs,
+                                        startCoverDownloads(bookList)));
+        }
+
+        private void adaptPageSize(final int received,
+                                   final long elapsedMs) {
+            // a partial page says nothing about the speed for a full one
+            if (received < num) {
+                return;
+            }
+            if (elapsedMs < PAGE_TARGET_MS / 2) {
+                num = Math.min(num * 2, NUM_MAX);
+            } else if (elapsedMs > PAGE_TARGET_MS) {
+                num = Math.max(num / 2, NUM_MIN);
+            }
+        }
+
+        /**
+         * Queue the cover downloads for all books on the page which (probably) need one.
+         * Books we know we're going to skip are excluded.
+         *
+         * @param bookList the books on the page
+         *
+         * @return the cover downloads; key: the Calibre id.
+         */
+        @NonNull
+        private Map<Integer, Future<Optional<File>>> startCoverDownloads(
+                @NonNull final JSONObject bookList) {
+
+            final Map<Integer, Future<Optional<File>>> covers = new HashMap<>();
+            if (coverExecutor == null) {
+                return covers;
+            }
+
+            final Iterator<String> it = bookList.keys();
+            while (it.hasNext()) {
+                final JSONObject calibreBook = bookList.getJSONObject(it.next());
+                if (!calibreBook.isNull(CalibreBook.COVER)) {
+                    final String coverUrl = calibreBook.optString(CalibreBook.COVER);
+                    if (!coverUrl.isEmpty() && willImport(calibreBook)) {
+
+                        final int calibreBookId = calibreBook.getInt(CalibreBook.ID);
+                        final Future<Optional<File>> future = coverExecutor.submit(
+                                () -> server.getCover(calibreBookId, coverUrl));
+                        coverDownloads.add(future);
+                        covers.put(calibreBookId, future);
+                    }
+                }
+            }
+            return covers;
+        }
+
+        /**
+         * Check if the book will be inserted or updated, i.e. if we'll need its cover.
+         * This is the same decision as made by {@link #handleBook(Context, JSONObject)}.
+         *
+         * @param calibreBook the book data to import
+         *
+         * @return {@code true} if the book will be inserted or updated
+         */
+        private boolean willImport(@NonNull final JSONObject calibreBook) {
+            final long databaseBookId = calibreLibraryDao.getBookIdFromCalibreUuid(
+                    calibreBook.getString(CalibreBook.UUID));
+            if (databaseBookId == 0) {
+                return true;
+            }
+            switch (updateOption) {
+                case Overwrite:
+                    return true;
+
+                case OnlyNewer: {
+                    final LocalDateTime localDate = bookDao.getLastUpdateDate(databaseBookId);
+                    final LocalDateTime remoteDate = pageDateParser.parse(
+                            calibreBook.getString(CalibreBook.LAST_MODIFIED));
+                    return localDate != null && remoteDate != null
+                           && remoteDate.isAfter(localDate);
+                }
+                case Skip:
+                default:
+                    return false;
+            }
+        }
+    }
 }
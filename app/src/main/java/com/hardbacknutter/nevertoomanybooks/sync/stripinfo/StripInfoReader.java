@@ -27,6 +27,7 @@ import android.util.Log;
 
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.WorkerThread;
 import androidx.preference.PreferenceManager;
 
@@ -34,11 +35,17 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import com.hardbacknutter.nevertoomanybooks.BuildConfig;
 import com.hardbacknutter.nevertoomanybooks.DEBUG_SWITCHES;
@@ -66,6 +73,7 @@ import com.hardbacknutter.nevertoomanybooks.sync.SyncField;
 import com.hardbacknutter.nevertoomanybooks.sync.SyncReaderHelper;
 import com.hardbacknutter.nevertoomanybooks.sync.SyncReaderMetaData;
 import com.hardbacknutter.nevertoomanybooks.sync.SyncReaderProcessor;
+import com.hardbacknutter.nevertoomanybooks.tasks.ASyncExecutor;
 import com.hardbacknutter.nevertoomanybooks.tasks.ProgressListener;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.CredentialsException;
 import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
@@ -90,6 +98,12 @@ public class StripInfoReader
     @SuppressWarnings("WeakerAccess")
     public static final String SYNC_PROCESSOR_PREFIX = StripInfoAuth.PREF_KEY + ".fields.update.";
     private static final String TAG = "StripInfoReader";
+    /** Number of books committed in a single transaction. */
+    private static final int BATCH_SIZE = 10;
+    /** Maximum number of fetched books waiting to be written. */
+    private static final int QUEUE_CAPACITY = 50;
+    /** How long the stages wait on the queue before checking their exit condition. */
+    private static final int QUEUE_WAIT_MS = 500;
     @NonNull
     private final Updates updateOption;
 
@@ -221,31 +235,41 @@ public class StripInfoReader
 
         results = new ReaderResults();
 
-        int pageNr = 0;
+        // Stage 1: fetch and parse the books on a background thread.
+        // Stage 2: write them to the database on this thread in short transactions.
+        // The database is never locked while we're waiting for the network.
+        final BlockingQueue<FetchedBook> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        final Future<Void> fetcher = ASyncExecutor.SERVICE.submit(() -> {
+            fetchAll(context, uc, queue, progressListener);
+            return null;
+        });
+
+        bookDao.startBatch();
         try {
-            // haven't started yet, or there are more pages.
-            while ((pageNr == 0 || uc.getMaxPages() > pageNr)
-                   && !searchEngine.isCancelled()) {
-
-                pageNr++;
-                final Optional<List<Bundle>> page = uc.fetchPage(context, pageNr, progressListener);
-                if (page.isPresent()) {
-                    // We're committing by page.
-                    Synchronizer.SyncLock txLock = null;
-                    try {
-                        txLock = db.beginTransaction(true);
-
-                        processPage(context, page.get(), progressListener);
-
-                        db.setTransactionSuccessful();
-                    } finally {
-                        if (txLock != null) {
-                            db.endTransaction(txLock);
-                        }
-                    }
-                }
+            writeAll(context, db, queue, fetcher, progressListener);
+        } finally {
+            bookDao.endBatch();
+            // If the writer failed, make sure the fetcher stops as well.
+            if (!fetcher.isDone()) {
+                cancel();
+            }
+        }
+
+        try {
+            fetcher.get();
+        } catch (@NonNull final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof StorageException) {
+                throw (StorageException) cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-        } catch (@NonNull final CredentialsException | SearchException e) {
+            // CredentialsException, SearchException
+            throw new DataReaderException(cause);
+        } catch (@NonNull final InterruptedException e) {
+            Thread.currentThread().interrupt();
             throw new DataReaderException(e);
         }
 
@@ -267,56 +291,144 @@ public class StripInfoReader
         }
     }
 
-    private void processPage(@NonNull final Context context,
-                             @NonNull final List<Bundle> page,
-                             @NonNull final ProgressListener progressListener)
+    /**
+     * The fetch stage. Loops over all pages of the user collection,
+     * downloads the books as needed and queues them for writing.
+     *
+     * @param context          Current context
+     * @param uc               the user collection to read
+     * @param queue            to put the fetched books on
+     * @param progressListener Progress and cancellation interface
+     */
+    @WorkerThread
+    private void fetchAll(@NonNull final Context context,
+                          @NonNull final UserCollection uc,
+                          @NonNull final BlockingQueue<FetchedBook> queue,
+                          @NonNull final ProgressListener progressListener)
             throws StorageException,
                    SearchException,
-                   CredentialsException {
+                   CredentialsException,
+                   IOException,
+                   InterruptedException {
+        int pageNr = 0;
+        // haven't started yet, or there are more pages.
+        while ((pageNr == 0 || uc.getMaxPages() > pageNr)
+               && !searchEngine.isCancelled()) {
+
+            pageNr++;
+            final Optional<List<Bundle>> page = uc.fetchPage(context, pageNr, progressListener);
+            if (page.isPresent()) {
+                for (final Bundle colBook : page.get()) {
+                    if (searchEngine.isCancelled()) {
+                        return;
+                    }
+                    final FetchedBook fetchedBook = fetchBook(context, colBook);
+                    // don't block forever if the writer is gone
+                    while (!queue.offer(fetchedBook, QUEUE_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                        if (searchEngine.isCancelled()) {
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+    }
 
-        final String progressMessage =
-                context.getString(R.string.progress_msg_x_created_y_updated_z_skipped);
+    /**
+     * Check a single book from the collection against the local database,
+     * and download whatever is needed to insert/update it.
+     * <p>
+     * Only reads from the database.
+     *
+     * @param context Current context
+     * @param colBook the book data from the collection page
+     *
+     * @return the book, ready to be written
+     */
+    @WorkerThread
+    @NonNull
+    private FetchedBook fetchBook(@NonNull final Context context,
+                                  @NonNull final Bundle colBook)
+            throws StorageException,
+                   SearchException,
+                   CredentialsException {
 
-        for (final Bundle colBook : page) {
-            if (!searchEngine.isCancelled()) {
-                final long externalId = colBook.getLong(DBKey.SID_STRIP_INFO);
-                // lookup locally using the externalId column.
-                try (Cursor cursor = bookDao.fetchByKey(DBKey.SID_STRIP_INFO,
-                                                        String.valueOf(externalId))) {
-                    // check if we already have the StripInfo book in the local database
-                    if (cursor.moveToFirst()) {
-                        // yes, we do - handle the update according to the users choice
-                        switch (updateOption) {
-                            case Overwrite: {
-                                final Book book = Book.from(cursor);
-                                updateBook(context, externalId, colBook, book);
-                                break;
-                            }
-                            case OnlyNewer: {
-                                // The site does not provide a last-updated date.
-                                // This option is disabled in SyncServer#StripInfo class
-                                break;
-                            }
-                            case Skip: {
-                                results.booksSkipped++;
-                                if (BuildConfig.DEBUG && DEBUG_SWITCHES.IMPORT_STRIP_INFO_BOOKS) {
-                                    Log.d(TAG, "externalId=" + externalId
-                                               + "|" + updateOption);
-                                }
-                                break;
-                            }
+        final long externalId = colBook.getLong(DBKey.SID_STRIP_INFO);
+        // lookup locally using the externalId column.
+        try (Cursor cursor = bookDao.fetchByKey(DBKey.SID_STRIP_INFO,
+                                                String.valueOf(externalId))) {
+            // check if we already have the StripInfo book in the local database
+            if (cursor.moveToFirst()) {
+                // yes, we do - handle the update according to the users choice
+                switch (updateOption) {
+                    case Overwrite: {
+                        final Book book = Book.from(cursor);
+                        final Book delta = fetchUpdate(context, externalId, colBook, book);
+                        if (delta != null) {
+                            return new FetchedBook(externalId, FetchedBook.Action.Update, delta);
                         }
-                    } else {
-                        insertBook(context, externalId);
+                        return new FetchedBook(externalId, FetchedBook.Action.None, null);
+                    }
+                    case OnlyNewer: {
+                        // The site does not provide a last-updated date.
+                        // This option is disabled in SyncServer#StripInfo class
+                        return new FetchedBook(externalId, FetchedBook.Action.None, null);
                     }
+                    case Skip:
+                    default: {
+                        return new FetchedBook(externalId, FetchedBook.Action.Skip, null);
+                    }
+                }
+            } else {
+                return new FetchedBook(externalId, FetchedBook.Action.Insert,
+                                       fetchNew(context, externalId));
+            }
+
+        } catch (@NonNull final SQLiteDoneException | JSONException e) {
+            // log, but don't fail
+            Logger.error(TAG, e);
+            return new FetchedBook(externalId, FetchedBook.Action.Failed, null);
+        }
+    }
 
-                    results.booksProcessed++;
+    /**
+     * The write stage. Takes the fetched books from the queue and writes them
+     * to the database, committing every {@link #BATCH_SIZE} books.
+     * Runs until the fetcher is done and the queue is empty.
+     *
+     * @param context          Current context
+     * @param db               Database Access
+     * @param queue            to take the fetched books from
+     * @param fetcher          the fetch stage
+     * @param progressListener Progress and cancellation interface
+     */
+    private void writeAll(@NonNull final Context context,
+                          @NonNull final SynchronizedDb db,
+                          @NonNull final BlockingQueue<FetchedBook> queue,
+                          @NonNull final Future<Void> fetcher,
+                          @NonNull final ProgressListener progressListener)
+            throws DataReaderException {
 
-                } catch (@NonNull final DaoWriteException | SQLiteDoneException | JSONException e) {
-                    // log, but don't fail
-                    Logger.error(TAG, e);
-                    results.booksFailed++;
+        final String progressMessage =
+                context.getString(R.string.progress_msg_x_created_y_updated_z_skipped);
+
+        final List<FetchedBook> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                final FetchedBook first = queue.poll(QUEUE_WAIT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // All puts happen before the fetcher is done,
+                    // so if it's done, the queue will stay empty.
+                    if (fetcher.isDone() && queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
                 }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+
+                writeBatch(context, db, batch);
+                batch.clear();
 
                 final String msg = String.format(progressMessage,
                                                  booksString,
@@ -325,20 +437,106 @@ public class StripInfoReader
                                                  results.booksSkipped);
                 progressListener.publishProgress(1, msg);
             }
+        } catch (@NonNull final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataReaderException(e);
+        }
+    }
+
+    /**
+     * Write a batch of books in a single (short) transaction.
+     *
+     * @param context Current context
+     * @param db      Database Access
+     * @param batch   to write
+     */
+    private void writeBatch(@NonNull final Context context,
+                            @NonNull final SynchronizedDb db,
+                            @NonNull final Iterable<FetchedBook> batch) {
+        Synchronizer.SyncLock txLock = null;
+        try {
+            txLock = db.beginTransaction(true);
+
+            for (final FetchedBook fetchedBook : batch) {
+                writeBook(context, fetchedBook);
+            }
+
+            db.setTransactionSuccessful();
+        } finally {
+            if (txLock != null) {
+                db.endTransaction(txLock);
+            }
+        }
+    }
+
+    private void writeBook(@NonNull final Context context,
+                           @NonNull final FetchedBook fetchedBook) {
+        try {
+            switch (fetchedBook.action) {
+                case Insert: {
+                    //noinspection ConstantConditions
+                    bookDao.insert(context, fetchedBook.book,
+                                   BookDao.BOOK_FLAG_IS_BATCH_OPERATION);
+                    results.booksCreated++;
+                    break;
+                }
+                case Update: {
+                    //noinspection ConstantConditions
+                    bookDao.update(context, fetchedBook.book,
+                                   BookDao.BOOK_FLAG_IS_BATCH_OPERATION
+                                   | BookDao.BOOK_FLAG_USE_UPDATE_DATE_IF_PRESENT);
+                    results.booksUpdated++;
+                    break;
+                }
+                case Skip: {
+                    results.booksSkipped++;
+                    break;
+                }
+                case Failed: {
+                    results.booksFailed++;
+                    return;
+                }
+                case None:
+                default:
+                    break;
+            }
+            results.booksProcessed++;
+
+            if (BuildConfig.DEBUG && DEBUG_SWITCHES.IMPORT_STRIP_INFO_BOOKS) {
+                Log.d(TAG, "externalId=" + fetchedBook.externalId
+                           + "|" + updateOption
+                           + "|" + fetchedBook.action
+                           + (fetchedBook.book != null
+                              ? "|book=" + fetchedBook.book.getId()
+                                + "|" + fetchedBook.book.getTitle()
+                              : ""));
+            }
+        } catch (@NonNull final DaoWriteException | SQLiteDoneException e) {
+            // log, but don't fail
+            Logger.error(TAG, e);
+            results.booksFailed++;
         }
     }
 
-    private void updateBook(@NonNull final Context context,
-                            final long externalId,
-                            @NonNull final Bundle colBook,
-                            @NonNull final Book book)
+    /**
+     * Get the delta for an existing book.
+     *
+     * @param context    Current context
+     * @param externalId the book id on the site
+     * @param colBook    the book data from the collection page
+     * @param book       the local book
+     *
+     * @return the delta to write, or {@code null} if there is nothing to update
+     */
+    @WorkerThread
+    @Nullable
+    private Book fetchUpdate(@NonNull final Context context,
+                             final long externalId,
+                             @NonNull final Bundle colBook,
+                             @NonNull final Book book)
             throws StorageException,
                    SearchException,
-                   CredentialsException,
-                   DaoWriteException {
-
-        // The delta values we'll be updating
-        final Book delta;
+                   CredentialsException {
 
         final Map<String, SyncField> fieldsWanted = syncProcessor.filter(book);
         final boolean[] coversWanted = {
@@ -352,7 +550,7 @@ public class StripInfoReader
                     .searchByExternalId(context, String.valueOf(externalId), coversWanted);
 
             // Extract the delta from the *bookData*
-            delta = syncProcessor.process(context, book.getId(), book, fieldsWanted, bookData);
+            return syncProcessor.process(context, book.getId(), book, fieldsWanted, bookData);
         } else {
             // we don't need the back cover, but maybe the front cover
             if (coversWanted[0]) {
@@ -360,44 +558,32 @@ public class StripInfoReader
             }
 
             // Extract the delta from the *collection* data
-            delta = syncProcessor.process(context, book.getId(), book, fieldsWanted, colBook);
-        }
-
-        if (delta != null) {
-            bookDao.update(context, delta, BookDao.BOOK_FLAG_IS_BATCH_OPERATION
-                                           | BookDao.BOOK_FLAG_USE_UPDATE_DATE_IF_PRESENT);
-            results.booksUpdated++;
-
-            if (BuildConfig.DEBUG && DEBUG_SWITCHES.IMPORT_STRIP_INFO_BOOKS) {
-                Log.d(TAG, "externalId=" + externalId
-                           + "|" + updateOption
-                           + "|UPDATE|book=" + book.getId() + "|" + book.getTitle());
-            }
+            return syncProcessor.process(context, book.getId(), book, fieldsWanted, colBook);
         }
     }
 
-    private void insertBook(@NonNull final Context context,
-                            final long externalId)
+    /**
+     * It's a new book; download it from the server.
+     *
+     * @param context    Current context
+     * @param externalId the book id on the site
+     *
+     * @return the new book
+     */
+    @WorkerThread
+    @NonNull
+    private Book fetchNew(@NonNull final Context context,
+                          final long externalId)
             throws StorageException,
                    SearchException,
-                   CredentialsException,
-                   DaoWriteException {
-        // It's a new book; download it from the server and insert it into the db
+                   CredentialsException {
         final Bundle bookData = searchEngine
                 .searchByExternalId(context, String.valueOf(externalId), coversForNewBooks);
 
         final Book book = Book.from(bookData);
         // sanity check, the book should always/already be on the mapped shelf.
         book.ensureBookshelf(context);
-
-        bookDao.insert(context, book, BookDao.BOOK_FLAG_IS_BATCH_OPERATION);
-        results.booksCreated++;
-
-        if (BuildConfig.DEBUG && DEBUG_SWITCHES.IMPORT_STRIP_INFO_BOOKS) {
-            Log.d(TAG, "externalId=" + externalId
-                       + "|" + updateOption
-                       + "|INSERT|book=" + book.getId() + "|" + book.getTitle());
-        }
+        return book;
     }
 
     @WorkerThread
@@ -413,4 +599,34 @@ public class StripInfoReader
             }
         }
     }
+
+    /**
+     * A book as produced by the fetch stage, waiting to be written.
+     */
+    private static final class FetchedBook {
+
+        final long externalId;
+        @NonNull
+        final Action action;
+        /** The full book for an insert, or the delta for an update. */
+        @Nullable
+        final Book book;
+
+        FetchedBook(final long externalId,
+                    @NonNull final Action action,
+                    @Nullable final Book book) {
+            this.externalId = externalId;
+            this.action = action;
+            this.book = book;
+        }
+
+        enum Action {
+            Insert,
+            Update,
+            /** Existing book, nothing to update. */
+            None,
+            Skip,
+            Failed
+        }
+    }
 }
@@ -130,15 +130,45 @@ public final class ASyncExecutor {
         final ThreadPoolExecutor executor = new ThreadPoolExecutor(
                 CORE_POOL_SIZE, MAXIMUM_POOL_SIZE,
                 KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>(), new ThreadFactory() {
+                new LinkedBlockingQueue<>(), createThreadFactory(threadName));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Create a <strong>new</strong> ExecutorService which runs up to the given number
+     * of tasks in parallel; any other tasks are queued.
+     * This allows to run a batch of tasks with a fixed level of parallelism
+     * without starving the shared executors.
+     * <p>
+     * <strong>Note:</strong> this executor uses an unbounded {@link LinkedBlockingQueue}.
+     * The caller <strong>must</strong> shut it down when done.
+     *
+     * @param threadName to use for the ThreadFactory
+     * @param nThreads   the number of threads
+     *
+     * @return a new ExecutorService
+     */
+    @NonNull
+    public static ExecutorService create(@NonNull final String threadName,
+                                         final int nThreads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                nThreads, nThreads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), createThreadFactory(threadName));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @NonNull
+    private static ThreadFactory createThreadFactory(@NonNull final String threadName) {
+        return new ThreadFactory() {
             private final AtomicInteger mCount = new AtomicInteger(1);
 
             public Thread newThread(@NonNull final Runnable r) {
                 return new Thread(r, threadName + '#' + mCount.getAndIncrement());
             }
-        });
-        executor.allowCoreThreadTimeOut(true);
-        return executor;
+        };
     }
 
     static class SerialExecutor
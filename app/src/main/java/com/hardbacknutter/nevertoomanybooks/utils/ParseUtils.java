@@ -61,9 +61,6 @@ public final class ParseUtils {
     private static final String ERROR_NOT_A_FLOAT = "Not a float: ";
     private static final String ERROR_NOT_A_DOUBLE = "Not a double: ";
 
-    /** See {@link #toAscii}. */
-    private static final Pattern ASCII_PATTERN = Pattern.compile("[^\\p{ASCII}]");
-
     /** Fields can contain div tags which we remove to make the text shorter. */
     private static final Pattern DIV_PATTERN = Pattern.compile("(\n*\\s*<div>\\s*|\\s*</div>)");
     /** Convert "&amp;" to '&'. */
@@ -472,14 +469,61 @@ public final class ParseUtils {
 
     /**
      * Normalize a given string to contain only ASCII characters for flexible text comparison.
+     * <p>
+     * The result is the same as decomposing the text (NFD) and removing all non-ASCII
+     * characters, but done in a single pass using {@link #toAscii(char)}.
+     * Pure ASCII text is returned as-is.
      *
      * @param text to normalize
      *
      * @return ascii text
      */
+    @NonNull
     public static String toAscii(@NonNull final CharSequence text) {
-        return ASCII_PATTERN.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
-                            .replaceAll("");
+        final int length = text.length();
+        int i = 0;
+        while (i < length && text.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == length) {
+            return text.toString();
+        }
+
+        final char[] out = new char[length];
+        for (int j = 0; j < i; j++) {
+            out[j] = text.charAt(j);
+        }
+        int len = i;
+        for (; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                out[len++] = c;
+            } else {
+                final char ascii = toAscii(c);
+                if (ascii != 0) {
+                    out[len++] = ascii;
+                }
+            }
+        }
+        return new String(out, 0, len);
+    }
+
+    /**
+     * Get the ASCII character left over when decomposing (NFD) the given character
+     * and removing all non-ASCII characters.
+     *
+     * @param c character to normalize
+     *
+     * @return the ASCII character; or {@code 0} if there is none.
+     */
+    public static char toAscii(final char c) {
+        if (c < 0x80) {
+            return c;
+        } else if (c < NfdAsciiTable.SIZE) {
+            return NfdAsciiTable.TABLE[c];
+        } else {
+            return 0;
+        }
     }
 
     /**
@@ -536,4 +580,32 @@ public final class ParseUtils {
         final String tmp = cleanText(s.trim());
         return CLEANUP_TITLE_PATTERN.matcher(tmp).replaceAll("").trim();
     }
+
+    /**
+     * Lookup table for {@link #toAscii(char)}, created on first use.
+     * <p>
+     * The canonical decomposition of a character contains at most one ASCII character,
+     * and no character from {@link #SIZE} upwards (including surrogates) decomposes
+     * to one. Decompositions are stable across Unicode versions.
+     */
+    private static final class NfdAsciiTable {
+
+        /** The last character with an ASCII decomposition is U+226F. */
+        static final int SIZE = 0x2270;
+        /** Indexed by character; {@code 0} when there is no ASCII decomposition. */
+        static final char[] TABLE = new char[SIZE];
+
+        static {
+            for (char c = 0x80; c < SIZE; c++) {
+                final String nfd = Normalizer.normalize(String.valueOf(c),
+                                                        Normalizer.Form.NFD);
+                for (int i = 0; i < nfd.length(); i++) {
+                    if (nfd.charAt(i) < 0x80) {
+                        TABLE[c] = nfd.charAt(i);
+                        break;
+                    }
+                }
+            }
+        }
+    }
 }
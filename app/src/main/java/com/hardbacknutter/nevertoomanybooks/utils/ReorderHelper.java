@@ -26,9 +26,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.preference.PreferenceManager;
 
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.hardbacknutter.nevertoomanybooks.R;
 import com.hardbacknutter.nevertoomanybooks.ServiceLocator;
@@ -39,8 +39,9 @@ public final class ReorderHelper {
 
     /**
      * Static cache for the pv_reformat_titles_prefixes strings.
+     * Concurrent, as titles are reordered in parallel during a rebuild.
      */
-    private static final Map<Locale, String> LOCALE_PREFIX_MAP = new HashMap<>();
+    private static final Map<Locale, String> LOCALE_PREFIX_MAP = new ConcurrentHashMap<>();
 
     private ReorderHelper() {
     }
@@ -38,16 +38,13 @@ import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * A copy of the {@link android.widget.ArrayAdapter} code from Android-30, rev. 1 (2021-01-25)
@@ -64,7 +61,7 @@ import java.util.regex.Pattern;
  *
  * <ul>
  *      <li>{@link FilterType#Default}:
- *      <br>The Android original.</li>
+ *      <br>The Android original, but using a prefix index.</li>
  *      <li>{@link FilterType#Diacritic}:
  *          <br>Adds diacritic support.
  *          <br>Meant for use with AutoComplete fields.
@@ -82,6 +79,9 @@ public class ExtArrayAdapter<T>
         extends BaseAdapter
         implements Filterable, ThemedSpinnerAdapter {
 
+    /** The maximum number of items the (non-passthrough) filters will return. */
+    private static final int MAX_FILTER_RESULTS = 200;
+
     /**
      * Lock used to modify the content of {@link #mObjects}. Any write operation
      * performed on the array should be synchronized on this lock. This lock is also
@@ -138,6 +138,17 @@ public class ExtArrayAdapter<T>
      */
     @Nullable
     private ArrayList<T> mOriginalValues;
+    /**
+     * Index on {@link #mOriginalValues}; built when first needed.
+     * Must be reset to {@code null} whenever {@link #mOriginalValues} is modified.
+     */
+    @Nullable
+    private PrefixIndex<T> mPrefixIndex;
+    /**
+     * Incremented whenever {@link #mOriginalValues} is modified; used to detect changes
+     * while a {@link PrefixIndex} is being built outside the lock.
+     */
+    private int mModCount;
     @Nullable
     private Filter mFilter;
     @NonNull
@@ -306,6 +317,8 @@ public class ExtArrayAdapter<T>
                 mObjects.add(object);
             }
             mObjectsFromResources = false;
+            mPrefixIndex = null;
+            mModCount++;
         }
         if (mNotifyOnChange) {
             notifyDataSetChanged();
@@ -335,6 +348,8 @@ public class ExtArrayAdapter<T>
                 mObjects.addAll(collection);
             }
             mObjectsFromResources = false;
+            mPrefixIndex = null;
+            mModCount++;
         }
         if (mNotifyOnChange) {
             notifyDataSetChanged();
@@ -353,6 +368,8 @@ public class ExtArrayAdapter<T>
             Collections.addAll(Objects.requireNonNullElseGet(mOriginalValues, () -> mObjects),
                                items);
             mObjectsFromResources = false;
+            mPrefixIndex = null;
+            mModCount++;
         }
         if (mNotifyOnChange) {
             notifyDataSetChanged();
@@ -376,6 +393,8 @@ public class ExtArrayAdapter<T>
                 mObjects.add(index, object);
             }
             mObjectsFromResources = false;
+            mPrefixIndex = null;
+            mModCount++;
         }
         if (mNotifyOnChange) {
             notifyDataSetChanged();
@@ -397,6 +416,8 @@ public class ExtArrayAdapter<T>
                 mObjects.remove(object);
             }
             mObjectsFromResources = false;
+            mPrefixIndex = null;
+            mModCount++;
         }
         if (mNotifyOnChange) {
             notifyDataSetChanged();
@@ -416,6 +437,8 @@ public class ExtArrayAdapter<T>
                 mObjects.clear();
             }
             mObjectsFromResources = false;
+            mPrefixIndex = null;
+            mModCount++;
         }
         if (mNotifyOnChange) {
             notifyDataSetChanged();
@@ -435,6 +458,8 @@ public class ExtArrayAdapter<T>
             } else {
                 mObjects.sort(comparator);
             }
+            mPrefixIndex = null;
+            mModCount++;
         }
         if (mNotifyOnChange) {
             notifyDataSetChanged();
@@ -640,7 +665,7 @@ public class ExtArrayAdapter<T>
         if (mFilter == null) {
             switch (mFilterType) {
                 case Diacritic:
-                    mFilter = new DiacriticArrayFilter();
+                    mFilter = new PrefixIndexFilter(true);
                     break;
                 case Passthrough:
                     mFilter = new PassthroughFilter();
@@ -648,7 +673,7 @@ public class ExtArrayAdapter<T>
 
                 case Default:
                 default:
-                    mFilter = new ArrayFilter();
+                    mFilter = new PrefixIndexFilter(false);
                     break;
             }
         }
@@ -690,137 +715,75 @@ public class ExtArrayAdapter<T>
     }
 
     /**
-     * The original.
+     * Replaces the Android original {@code ArrayFilter}.
      *
      * <p>An array filter constrains the content of the array adapter with
-     * a prefix. Each item that does not start with the supplied prefix
-     * is removed from the list.</p>
+     * a prefix. Each item where neither the full text nor any of the words
+     * start with the supplied prefix is removed from the list.</p>
+     * <p>
+     * Uses a {@link PrefixIndex} which is built on the first filter call after the list
+     * changed. The filter runs on a background thread, so the UI is never blocked.
+     * The index is built from a copy of the list, outside the lock, so the UI thread
+     * can still modify the list; it's only kept if the list did not change meanwhile.
      */
-    private class ArrayFilter
+    private class PrefixIndexFilter
             extends AbstractArrayFilter {
 
-        @Override
-        protected FilterResults performFiltering(@Nullable final CharSequence prefix) {
-            final ArrayList<T> values;
-            synchronized (mLock) {
-                if (mOriginalValues == null) {
-                    mOriginalValues = new ArrayList<>(mObjects);
-                }
-                values = new ArrayList<>(mOriginalValues);
-            }
-
-            final FilterResults results = new FilterResults();
-
-            if (prefix == null || prefix.length() == 0) {
-                results.values = values;
-                results.count = values.size();
-            } else {
-                final String prefixString = prefix.toString().toLowerCase(Locale.getDefault());
-
-                final int count = values.size();
-                final List<T> newValues = new ArrayList<>();
-
-                for (int i = 0; i < count; i++) {
-                    final T value = values.get(i);
-                    final String valueText = getItemText(value)
-                            .toString().toLowerCase(Locale.getDefault());
-
-                    // First match against the whole, non-split value
-                    if (valueText.startsWith(prefixString)) {
-                        newValues.add(value);
-                    } else {
-                        final String[] words = valueText.split(" ");
-                        for (final String word : words) {
-                            if (word.startsWith(prefixString)) {
-                                newValues.add(value);
-                                break;
-                            }
-                        }
-                    }
-                }
-
-                results.values = newValues;
-                results.count = newValues.size();
-            }
+        /** {@code true} to add diacritic insensitive matching. */
+        private final boolean diacritic;
 
-            return results;
+        PrefixIndexFilter(final boolean diacritic) {
+            this.diacritic = diacritic;
         }
-    }
-
-    /**
-     * This versions also filters on Diacritic characters.
-     *
-     * <p>An array filter constrains the content of the array adapter with
-     * a prefix. Each item that does not start with the supplied prefix
-     * is removed from the list.</p>
-     */
-    private class DiacriticArrayFilter
-            extends AbstractArrayFilter {
-
-        private final Pattern DIACRITICS_PATTERN = Pattern.compile("[^\\p{ASCII}]");
 
         @Override
         protected FilterResults performFiltering(@Nullable final CharSequence prefix) {
-            final ArrayList<T> values;
-            synchronized (mLock) {
-                if (mOriginalValues == null) {
-                    mOriginalValues = new ArrayList<>(mObjects);
-                }
-                values = new ArrayList<>(mOriginalValues);
-            }
-
             final FilterResults results = new FilterResults();
 
             if (prefix == null || prefix.length() == 0) {
+                final ArrayList<T> values;
+                synchronized (mLock) {
+                    if (mOriginalValues == null) {
+                        mOriginalValues = new ArrayList<>(mObjects);
+                    }
+                    values = new ArrayList<>(mOriginalValues);
+                }
                 results.values = values;
                 results.count = values.size();
+
             } else {
-                final String prefixString = prefix.toString().toLowerCase(Locale.getDefault());
-                final String ndPrefixString = toAsciiLowerCase(prefixString);
-
-                final int count = values.size();
-                final Collection<T> newValues = new ArrayList<>();
-
-                for (int i = 0; i < count; i++) {
-                    final T value = values.get(i);
-                    final String valueText = getItemText(value)
-                            .toString().toLowerCase(Locale.getDefault());
-
-                    // First match against the whole, non-split value
-                    if (valueText.startsWith(prefixString)
-                        || toAsciiLowerCase(valueText).startsWith(ndPrefixString)) {
-                        newValues.add(value);
-                    } else {
-                        final String[] words = valueText.split(" ");
-                        for (final String word : words) {
-                            if (word.startsWith(prefixString)
-                                || toAsciiLowerCase(word).startsWith(ndPrefixString)) {
-                                newValues.add(value);
-                                break;
-                            }
+                PrefixIndex<T> index;
+                List<T> values = null;
+                int modCount = 0;
+                synchronized (mLock) {
+                    if (mOriginalValues == null) {
+                        mOriginalValues = new ArrayList<>(mObjects);
+                    }
+                    index = mPrefixIndex;
+                    if (index == null) {
+                        values = new ArrayList<>(mOriginalValues);
+                        modCount = mModCount;
+                    }
+                }
+
+                if (index == null) {
+                    index = new PrefixIndex<>(values, ExtArrayAdapter.this::getItemText,
+                                              diacritic);
+                    synchronized (mLock) {
+                        // Only keep it if it still matches the list.
+                        if (mModCount == modCount && mPrefixIndex == null) {
+                            mPrefixIndex = index;
                         }
                     }
                 }
 
+                final List<T> newValues = index.find(prefix, MAX_FILTER_RESULTS);
                 results.values = newValues;
                 results.count = newValues.size();
             }
 
             return results;
         }
-
-        /**
-         * Normalize a given string to contain only lower case ASCII characters.
-         *
-         * @param text to normalize
-         *
-         * @return ascii text
-         */
-        private String toAsciiLowerCase(@NonNull final CharSequence text) {
-            return DIACRITICS_PATTERN.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
-                                     .replaceAll("")
-                                     .toLowerCase(Locale.getDefault());
-        }
     }
 
     /**
@@ -0,0 +1,193 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.widgets;
+
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import com.hardbacknutter.nevertoomanybooks.utils.ParseUtils;
+
+/**
+ * An immutable word-prefix index over a list of items.
+ * <p>
+ * Each item is indexed on its full (lower case) text, and on each individual word.
+ * When diacritic support is enabled, the ASCII-normalized versions are indexed as well.
+ * <p>
+ * All keys are kept in a single sorted array, so a lookup is a binary search
+ * followed by a scan over the matching keys only.
+ * Building the index is relatively expensive and should be done on a background thread.
+ *
+ * @param <T> type of list item
+ */
+final class PrefixIndex<T> {
+
+    /** The items as passed in; results are returned in this order. */
+    @NonNull
+    private final Object[] items;
+    /** All keys, sorted. */
+    @NonNull
+    private final String[] keys;
+    /** For each key, the index into {@link #items}. */
+    @NonNull
+    private final int[] itemIndexes;
+
+    private final boolean diacritic;
+
+    /**
+     * Constructor.
+     *
+     * @param items        to index
+     * @param textFunction to get the text for an item
+     * @param diacritic    {@code true} to add diacritic insensitive matching
+     */
+    PrefixIndex(@NonNull final List<T> items,
+                @NonNull final Function<T, CharSequence> textFunction,
+                final boolean diacritic) {
+        this.items = items.toArray();
+        this.diacritic = diacritic;
+
+        final Locale locale = Locale.getDefault();
+        final List<Key> keyList = new ArrayList<>(items.size() * 3);
+        for (int i = 0; i < this.items.length; i++) {
+            final String text = textFunction.apply(items.get(i)).toString().toLowerCase(locale);
+            addKeys(keyList, text, i);
+            if (diacritic) {
+                final String asciiText = ParseUtils.toAscii(text).toLowerCase(locale);
+                if (!asciiText.equals(text)) {
+                    addKeys(keyList, asciiText, i);
+                }
+            }
+        }
+
+        keyList.sort(Comparator.comparing(key -> key.text));
+
+        keys = new String[keyList.size()];
+        itemIndexes = new int[keyList.size()];
+        for (int k = 0; k < keys.length; k++) {
+            final Key key = keyList.get(k);
+            keys[k] = key.text;
+            itemIndexes[k] = key.itemIndex;
+        }
+    }
+
+    /**
+     * Add the full text, and each individual word as keys.
+     * The first word is skipped as matching it is implied by matching the full text.
+     *
+     * @param keyList   to add to
+     * @param text      lower case text
+     * @param itemIndex the item the keys belong to
+     */
+    private static void addKeys(@NonNull final Collection<Key> keyList,
+                                @NonNull final String text,
+                                final int itemIndex) {
+        keyList.add(new Key(text, itemIndex));
+
+        int start = text.indexOf(' ');
+        while (start >= 0) {
+            final int end = text.indexOf(' ', start + 1);
+            final String word = end < 0 ? text.substring(start + 1)
+                                        : text.substring(start + 1, end);
+            if (!word.isEmpty()) {
+                keyList.add(new Key(word, itemIndex));
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Find all items where the full text, or any word in the text, starts with the given prefix.
+     *
+     * @param prefix     to match
+     * @param maxResults the maximum number of items to return
+     *
+     * @return the matching items, in their original order
+     */
+    @NonNull
+    List<T> find(@NonNull final CharSequence prefix,
+                 @IntRange(from = 1) final int maxResults) {
+        final Locale locale = Locale.getDefault();
+        final String lcPrefix = prefix.toString().toLowerCase(locale);
+
+        final BitSet matches = new BitSet(items.length);
+        collect(lcPrefix, matches);
+        if (diacritic) {
+            final String asciiPrefix = ParseUtils.toAscii(lcPrefix).toLowerCase(locale);
+            if (!asciiPrefix.equals(lcPrefix)) {
+                collect(asciiPrefix, matches);
+            }
+        }
+
+        final List<T> result = new ArrayList<>(Math.min(matches.cardinality(), maxResults));
+        for (int i = matches.nextSetBit(0);
+             i >= 0 && result.size() < maxResults;
+             i = matches.nextSetBit(i + 1)) {
+            //noinspection unchecked
+            result.add((T) items[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Mark all items with a key starting with the given prefix.
+     *
+     * @param prefix  to match
+     * @param matches to set
+     */
+    private void collect(@NonNull final String prefix,
+                         @NonNull final BitSet matches) {
+        // all keys starting with the prefix form a single range in the sorted array
+        int k = Arrays.binarySearch(keys, prefix);
+        if (k < 0) {
+            k = -k - 1;
+        } else {
+            // an exact match; step back to the first of any duplicates
+            while (k > 0 && keys[k - 1].equals(prefix)) {
+                k--;
+            }
+        }
+        while (k < keys.length && keys[k].startsWith(prefix)) {
+            matches.set(itemIndexes[k]);
+            k++;
+        }
+    }
+
+    private static final class Key {
+
+        @NonNull
+        final String text;
+        final int itemIndex;
+
+        Key(@NonNull final String text,
+            final int itemIndex) {
+            this.text = text;
+            this.itemIndex = itemIndex;
+        }
+    }
+}
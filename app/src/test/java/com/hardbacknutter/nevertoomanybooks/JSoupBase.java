@@ -23,6 +23,7 @@ import android.content.Context;
 
 import androidx.annotation.NonNull;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -66,4 +67,26 @@ public class JSoupBase
             fail(e);
         }
     }
+
+    /**
+     * Helper: benchmark parsing the given file; both the Jsoup parsing and the
+     * search engine processing the Document.
+     */
+    protected void benchmark(@NonNull final Context context,
+                             @NonNull final JsoupSearchEngineBase searchEngine,
+                             @NonNull final String charsetName,
+                             @NonNull final String locationHeader,
+                             @NonNull final String filename) {
+        try {
+            final byte[] page = ParserBenchmark.load(getClass(), filename);
+            ParserBenchmark.run(searchEngine.getClass().getSimpleName() + filename, () -> {
+                final Document document = Jsoup.parse(new ByteArrayInputStream(page),
+                                                      charsetName, locationHeader);
+                mRawData.clear();
+                searchEngine.parse(context, document, new boolean[]{false, false}, mRawData);
+            });
+        } catch (@NonNull final Exception e) {
+            fail(e);
+        }
+    }
 }
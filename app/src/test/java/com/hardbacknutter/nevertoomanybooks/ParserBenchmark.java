@@ -0,0 +1,168 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks;
+
+import androidx.annotation.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Minimal micro-benchmark to track the parse time and allocation per page
+ * of the search engine parsers.
+ * <p>
+ * The benchmarks are disabled by default. Enable them with
+ * the environment variable {@link #ENV_BENCHMARK} set to {@code true}.
+ * <p>
+ * Allocation figures are taken from the HotSpot specific
+ * {@code com.sun.management.ThreadMXBean}; they are reported as {@code -1}
+ * when not available. The figures include the overhead of the mocked Bundle,
+ * so only compare them with each other.
+ */
+public final class ParserBenchmark {
+
+    /** Environment variable to enable the benchmarks. */
+    public static final String ENV_BENCHMARK = "NTMB_BENCHMARK";
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 50;
+    private static final int BUFFER_SIZE = 65536;
+    private static final double NANO_TO_MILLIS = 1_000_000d;
+    private static final double NANO_TO_SECONDS = 1_000_000_000d;
+
+    private ParserBenchmark() {
+    }
+
+    /**
+     * Read the given test resource into memory, so the benchmark excludes disk access.
+     *
+     * @param clazz    to load the resource with
+     * @param resource name
+     *
+     * @return the content
+     *
+     * @throws IOException on failure
+     */
+    @NonNull
+    public static byte[] load(@NonNull final Class<?> clazz,
+                              @NonNull final String resource)
+            throws IOException {
+        try (InputStream is = clazz.getResourceAsStream(resource)) {
+            assertNotNull(is, resource);
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int len;
+            while ((len = is.read(buffer)) != -1) {
+                os.write(buffer, 0, len);
+            }
+            return os.toByteArray();
+        }
+    }
+
+    /**
+     * Run the given task, and print the average time and allocation per iteration.
+     *
+     * @param name to report
+     * @param task to run
+     *
+     * @throws Exception from the task
+     */
+    public static void run(@NonNull final String name,
+                           @NonNull final Task task)
+            throws Exception {
+        run(name, 0, task);
+    }
+
+    /**
+     * Run the given task, and print the average time and allocation per iteration,
+     * and the throughput in events (e.g. SAX callbacks) per second.
+     *
+     * @param name   to report
+     * @param events the number of events handled by a single run of the task;
+     *               {@code 0} to not report the throughput.
+     * @param task   to run
+     *
+     * @throws Exception from the task
+     */
+    public static void run(@NonNull final String name,
+                           final int events,
+                           @NonNull final Task task)
+            throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            task.run();
+        }
+
+        final long allocatedStart = getAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            task.run();
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocatedEnd = getAllocatedBytes();
+
+        final long allocated = allocatedStart < 0 || allocatedEnd < 0
+                               ? -1 : (allocatedEnd - allocatedStart) / MEASURED_ITERATIONS;
+
+        final String throughput = events > 0
+                                  ? String.format(Locale.ENGLISH, "|%12.0f events/s",
+                                                  events * MEASURED_ITERATIONS
+                                                  / (elapsed / NANO_TO_SECONDS))
+                                  : "";
+
+        System.out.println(String.format(Locale.ENGLISH,
+                                         "Benchmark|%-50s|%10.3f ms/page|%12d bytes/page%s",
+                                         name,
+                                         elapsed / NANO_TO_MILLIS / MEASURED_ITERATIONS,
+                                         allocated,
+                                         throughput));
+    }
+
+    /**
+     * Get the number of bytes allocated so far by the current thread.
+     * Uses reflection as the management classes are not part of the Android API.
+     *
+     * @return bytes, or {@code -1} if not supported by the JVM
+     */
+    private static long getAllocatedBytes() {
+        try {
+            final Object threadMXBean = Class.forName("java.lang.management.ManagementFactory")
+                                             .getMethod("getThreadMXBean")
+                                             .invoke(null);
+            final Method method = Class.forName("com.sun.management.ThreadMXBean")
+                                       .getMethod("getThreadAllocatedBytes", long.class);
+            //noinspection ConstantConditions
+            return (long) method.invoke(threadMXBean, Thread.currentThread().getId());
+        } catch (@NonNull final ReflectiveOperationException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task {
+
+        void run()
+                throws Exception;
+    }
+}
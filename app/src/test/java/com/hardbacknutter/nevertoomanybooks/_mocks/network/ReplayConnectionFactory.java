@@ -0,0 +1,198 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks._mocks.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
+
+/**
+ * Serves recorded responses to {@link FutureHttpBase} instead of going to the network.
+ * <p>
+ * Usage:
+ * <pre>
+ *     final ReplayConnectionFactory replay = new ReplayConnectionFactory();
+ *     replay.add(url, "/site/recorded-page.html", "text/html");
+ *     replay.addRedirect(searchUrl, url);
+ *     FutureHttpBase.setConnectionFactory(replay);
+ *     ...
+ *     FutureHttpBase.setConnectionFactory(null);
+ * </pre>
+ * Requests for urls which were not added get a 404.
+ * <p>
+ * When the environment variable {@link #ENV_RECORD} is set to {@code true},
+ * a missing resource is downloaded from the real site, and stored in
+ * {@link #RESOURCES_DIR} so it can be committed with the test.
+ */
+public class ReplayConnectionFactory
+        implements FutureHttpBase.ConnectionFactory {
+
+    /** Environment variable to enable recording. */
+    public static final String ENV_RECORD = "NTMB_RECORD_RESPONSES";
+
+    /** Relative to the module directory, which is the working directory for unit tests. */
+    private static final String RESOURCES_DIR = "src/test/resources";
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Map<String, Recording> recordings = new HashMap<>();
+    /** key: the request url; value: the url the site redirects to. */
+    private final Map<String, String> redirects = new HashMap<>();
+
+    /**
+     * Check if we're allowed to go to the network to record missing responses.
+     *
+     * @return flag
+     */
+    public static boolean isRecording() {
+        return "true".equalsIgnoreCase(System.getenv(ENV_RECORD));
+    }
+
+    /**
+     * Add a recorded response.
+     *
+     * @param url         the exact request url
+     * @param resource    the test resource name; e.g. "/kbnl/kbnl-book-1.xml"
+     * @param contentType (optional) of the response
+     */
+    public void add(@NonNull final String url,
+                    @NonNull final String resource,
+                    @Nullable final String contentType) {
+        recordings.put(url, new Recording(resource, contentType));
+    }
+
+    /**
+     * Add a redirect; i.e. the site answers the request url with the response
+     * of another (added) url. The connection reports the url redirected to,
+     * as a real connection does after following the redirect.
+     *
+     * @param url      the exact request url
+     * @param location the url redirected to
+     */
+    public void addRedirect(@NonNull final String url,
+                            @NonNull final String location) {
+        redirects.put(url, location);
+    }
+
+    /**
+     * Check if the recorded response for the given resource is available.
+     *
+     * @param resource the test resource name
+     *
+     * @return {@code true} if present
+     */
+    public boolean hasResource(@NonNull final String resource) {
+        return getClass().getResource(resource) != null
+               || new File(RESOURCES_DIR, resource).exists();
+    }
+
+    @NonNull
+    @Override
+    public HttpURLConnection open(@NonNull final String requestUrl)
+            throws IOException {
+        final String url = redirects.getOrDefault(requestUrl, requestUrl);
+        final Recording recording = recordings.get(url);
+        if (recording == null) {
+            return new ReplayHttpURLConnection(new URL(url), null, null);
+        }
+
+        byte[] body = load(recording.resource);
+        if (body == null && isRecording()) {
+            body = record(url, recording.resource);
+        }
+        return new ReplayHttpURLConnection(new URL(url), body, recording.contentType);
+    }
+
+    @Nullable
+    private byte[] load(@NonNull final String resource)
+            throws IOException {
+        try (InputStream is = getClass().getResourceAsStream(resource)) {
+            if (is != null) {
+                return readAll(is);
+            }
+        }
+        // Recorded during this run; not yet copied to the classpath.
+        final File file = new File(RESOURCES_DIR, resource);
+        if (file.exists()) {
+            return Files.readAllBytes(file.toPath());
+        }
+        return null;
+    }
+
+    /**
+     * Download the real response and store it as a test resource.
+     */
+    @NonNull
+    private byte[] record(@NonNull final String url,
+                          @NonNull final String resource)
+            throws IOException {
+        final HttpURLConnection request = (HttpURLConnection) new URL(url).openConnection();
+        try (InputStream is = request.getInputStream()) {
+            final byte[] body = readAll(is);
+            final File file = new File(RESOURCES_DIR, resource);
+            //noinspection ResultOfMethodCallIgnored
+            file.getParentFile().mkdirs();
+            try (OutputStream os = Files.newOutputStream(file.toPath())) {
+                os.write(body);
+            }
+            return body;
+        } finally {
+            request.disconnect();
+        }
+    }
+
+    @NonNull
+    private byte[] readAll(@NonNull final InputStream is)
+            throws IOException {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int len;
+        while ((len = is.read(buffer)) != -1) {
+            os.write(buffer, 0, len);
+        }
+        return os.toByteArray();
+    }
+
+    private static class Recording {
+
+        @NonNull
+        final String resource;
+        @Nullable
+        final String contentType;
+
+        Recording(@NonNull final String resource,
+                  @Nullable final String contentType) {
+            this.resource = resource;
+            this.contentType = contentType;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks._mocks.network;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * A connection which never touches the network, but serves a previously recorded response.
+ * A {@code null} body results in a 404.
+ */
+public class ReplayHttpURLConnection
+        extends HttpURLConnection {
+
+    private static final String CONTENT_TYPE = "content-type";
+
+    @Nullable
+    private final byte[] body;
+    @Nullable
+    private final String contentType;
+
+    /**
+     * Constructor.
+     *
+     * @param url         the request url
+     * @param body        the recorded response body, or {@code null} for a 404
+     * @param contentType (optional) of the body
+     */
+    ReplayHttpURLConnection(@NonNull final URL url,
+                            @Nullable final byte[] body,
+                            @Nullable final String contentType) {
+        super(url);
+        this.body = body;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public void connect() {
+        connected = true;
+    }
+
+    @Override
+    public void disconnect() {
+        connected = false;
+    }
+
+    @Override
+    public boolean usingProxy() {
+        return false;
+    }
+
+    @Override
+    public int getResponseCode() {
+        connect();
+        return body != null ? HTTP_OK : HTTP_NOT_FOUND;
+    }
+
+    @Override
+    @NonNull
+    public String getResponseMessage() {
+        return body != null ? "OK" : "Not Found";
+    }
+
+    @Override
+    @NonNull
+    public InputStream getInputStream()
+            throws FileNotFoundException {
+        connect();
+        if (body == null) {
+            throw new FileNotFoundException(url.toString());
+        }
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    @Nullable
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    @Nullable
+    public String getContentEncoding() {
+        // recordings are always stored decompressed
+        return null;
+    }
+
+    @Override
+    @Nullable
+    public String getHeaderField(@Nullable final String name) {
+        if (CONTENT_TYPE.equalsIgnoreCase(name)) {
+            return contentType;
+        }
+        return null;
+    }
+}
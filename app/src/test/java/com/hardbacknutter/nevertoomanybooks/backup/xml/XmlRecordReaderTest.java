@@ -0,0 +1,163 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.backup.xml;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.hardbacknutter.nevertoomanybooks.Base;
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
+import com.hardbacknutter.nevertoomanybooks.io.ArchiveMetaData;
+import com.hardbacknutter.nevertoomanybooks.io.ArchiveReaderRecord;
+import com.hardbacknutter.nevertoomanybooks.io.RecordEncoding;
+import com.hardbacknutter.nevertoomanybooks.io.RecordType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("deprecation")
+class XmlRecordReaderTest
+        extends Base {
+
+    /** Number of typed tags in the generated benchmark document. */
+    private static final int BENCHMARK_TAGS = 5_000;
+
+    /**
+     * Create an old style info block.
+     *
+     * @param count the number of generated tags of each type
+     *
+     * @return xml
+     *
+     * @throws IOException on failure
+     */
+    @NonNull
+    private static byte[] createInfo(final int count)
+            throws IOException {
+        final StringBuilder sb = new StringBuilder(XmlUtils.XML_VERSION_1_0_ENCODING_UTF_8)
+                .append('<').append(XmlRecordReader.InfoReader.TAG_ROOT).append(">\n")
+                .append('<').append(RecordType.MetaData.getName())
+                .append(XmlUtils.versionAttr(2)).append(">\n");
+        for (int i = 0; i < count; i++) {
+            sb.append(XmlUtils.typedTag("string" + i, "Value <" + i + "> & more"))
+              .append(XmlUtils.typedTag("int" + i, i))
+              .append(XmlUtils.typedTag("long" + i, (long) i))
+              .append(XmlUtils.typedTag("bool" + i, i % 2 == 0))
+              // a tag without a filter
+              .append("<unknown name=\"u").append(i).append("\"/>\n");
+        }
+        sb.append("</").append(RecordType.MetaData.getName()).append(">\n")
+          .append("</").append(XmlRecordReader.InfoReader.TAG_ROOT).append(">\n");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @NonNull
+    private static ArchiveReaderRecord createRecord(@NonNull final byte[] data) {
+        return new ArchiveReaderRecord() {
+            @NonNull
+            @Override
+            public InputStream getInputStream() {
+                return new ByteArrayInputStream(data);
+            }
+
+            @NonNull
+            @Override
+            public Optional<RecordType> getType() {
+                return Optional.of(RecordType.MetaData);
+            }
+
+            @NonNull
+            @Override
+            public Optional<RecordEncoding> getEncoding() {
+                return Optional.of(RecordEncoding.Xml);
+            }
+
+            @NonNull
+            @Override
+            public String getName() {
+                return "info.xml";
+            }
+
+            @Override
+            public long getLastModifiedEpochMilli() {
+                return 0;
+            }
+        };
+    }
+
+    @Test
+    void readMetaData()
+            throws Exception {
+        final ArchiveReaderRecord record = createRecord(createInfo(3));
+
+        // twice, so the second read uses the reset parser and a new filter tree.
+        for (int run = 0; run < 2; run++) {
+            final Optional<ArchiveMetaData> metaData = new XmlRecordReader(mContext)
+                    .readMetaData(mContext, record);
+            assertTrue(metaData.isPresent());
+
+            final Bundle data = metaData.get().getData();
+            assertEquals(12, data.size());
+            for (int i = 0; i < 3; i++) {
+                assertEquals("Value <" + i + "> & more", data.getString("string" + i));
+                assertEquals(i, data.getInt("int" + i));
+                assertEquals(i, data.getLong("long" + i));
+                assertEquals(i % 2 == 0, data.getBoolean("bool" + i));
+            }
+        }
+    }
+
+    /**
+     * Reports the throughput of the filter tree compared to the bare parser.
+     * To compare with the previous implementation, run this same test on the older code.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmark()
+            throws Exception {
+        final byte[] info = createInfo(BENCHMARK_TAGS);
+        // start+end of: the root, the MetaData tag, and 5 tags for each generated entry.
+        final int events = 2 * (2 + 5 * BENCHMARK_TAGS);
+
+        final SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+        ParserBenchmark.run("SAXParser, no handler", events, () -> {
+            parser.parse(new ByteArrayInputStream(info), new DefaultHandler());
+            parser.reset();
+        });
+
+        final ArchiveReaderRecord record = createRecord(info);
+        ParserBenchmark.run("XmlRecordReader#readMetaData", events, () ->
+                new XmlRecordReader(mContext).readMetaData(mContext, record));
+    }
+}
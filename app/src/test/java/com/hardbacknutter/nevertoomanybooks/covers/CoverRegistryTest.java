@@ -0,0 +1,52 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.covers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CoverRegistryTest {
+
+    private static final String UUID = "0123456789abcdef0123456789abcdef";
+
+    @Test
+    void baseName() {
+        assertEquals(UUID, CoverRegistry.getBaseName(UUID + ".jpg"));
+        assertEquals(UUID + "_1", CoverRegistry.getBaseName(UUID + "_1.png"));
+        assertNull(CoverRegistry.getBaseName(UUID + ".txt"));
+    }
+
+    @Test
+    void roundTrip() {
+        for (int cIdx = 0; cIdx < 2; cIdx++) {
+            final String name = CoverRegistry.createName(UUID, cIdx);
+            assertEquals(UUID, CoverRegistry.getUuid(name));
+            assertEquals(cIdx, CoverRegistry.getCoverIndex(name));
+        }
+    }
+
+    @Test
+    void notAnIndex() {
+        assertEquals("abc_x", CoverRegistry.getUuid("abc_x"));
+        assertEquals(0, CoverRegistry.getCoverIndex("abc_x"));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.database;
+
+import androidx.annotation.NonNull;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
+import com.hardbacknutter.nevertoomanybooks.utils.ParseUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Compares {@link SqlEncode#orderByColumn} and {@link ParseUtils#toAscii(CharSequence)}
+ * with the original regex based implementations.
+ */
+class SqlEncodeTest {
+
+    private static final Pattern ASCII_PATTERN = Pattern.compile("[^\\p{ASCII}]");
+    private static final Pattern NON_WORD_CHARACTER_PATTERN = Pattern.compile("\\W");
+
+    private static final Locale TURKISH = new Locale("tr", "TR");
+
+    private static final String[] NAMES = {
+            "Isaac Asimov",
+            "Ursula K. Le Guin",
+            "The Lord of the Rings",
+            "Gabriel García Márquez",
+            "Cien años de soledad",
+            "Émile Zola",
+            "Les Misérables",
+            "Günter Grass",
+            "Die Blechtrommel",
+            "Straße",
+            "Stanisław Lem",
+            "Sławomir Mrożek",
+            "Bohumil Hrabal",
+            "Karel Čapek",
+            "Halldór Laxness",
+            "Søren Kierkegaard",
+            "Ærø",
+            "Orhan Pamuk",
+            "İstanbul: Hatıralar ve Şehir",
+            "Nguyễn Du",
+            "Truyện Kiều",
+            "Фёдор Достоевский",
+            "Δημήτρης Λιαντίνης",
+            "村上 春樹",
+            "L'Étranger",
+            "Tintin - Le Lotus bleu (1936)",
+            "isaacasimov",
+            "",
+            };
+
+    @NonNull
+    private static String referenceToAscii(@NonNull final CharSequence text) {
+        return ASCII_PATTERN.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                            .replaceAll("");
+    }
+
+    @NonNull
+    private static String referenceOrderByColumn(@NonNull final CharSequence value,
+                                                 @NonNull final Locale locale) {
+        final String s = referenceToAscii(value);
+        return NON_WORD_CHARACTER_PATTERN.matcher(s).replaceAll("").toLowerCase(locale);
+    }
+
+    @Test
+    void names() {
+        for (final String name : NAMES) {
+            assertEquals(referenceToAscii(name), ParseUtils.toAscii(name), name);
+            for (final Locale locale : new Locale[]{Locale.ENGLISH, Locale.GERMAN, TURKISH}) {
+                assertEquals(referenceOrderByColumn(name, locale),
+                             SqlEncode.orderByColumn(name, locale), name);
+            }
+        }
+    }
+
+    @Test
+    void allCharacters() {
+        final StringBuilder sb = new StringBuilder();
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            sb.setLength(0);
+            // a surrogate on its own is not valid, so pair them up.
+            if (Character.isHighSurrogate((char) c)) {
+                sb.append((char) c).append('\uDC00');
+            } else if (Character.isLowSurrogate((char) c)) {
+                sb.append('\uD800').append((char) c);
+            } else {
+                sb.append('a').append((char) c).append('B');
+            }
+            final String s = sb.toString();
+            assertEquals(referenceToAscii(s), ParseUtils.toAscii(s),
+                         () -> Integer.toHexString(s.charAt(1)));
+            assertEquals(referenceOrderByColumn(s, Locale.ENGLISH),
+                         SqlEncode.orderByColumn(s, Locale.ENGLISH),
+                         () -> Integer.toHexString(s.charAt(1)));
+        }
+    }
+
+    @Test
+    void noCopy() {
+        final String encoded = "isaacasimov";
+        assertSame(encoded, SqlEncode.orderByColumn(encoded, Locale.ENGLISH));
+        final String ascii = "Isaac Asimov";
+        assertSame(ascii, ParseUtils.toAscii(ascii));
+    }
+
+    /**
+     * Compares the new and the regex based implementations.
+     * Uses the {@link ParserBenchmark} harness written for the search engine parsers;
+     * the project has no JMH setup.
+     */
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmark()
+            throws Exception {
+        ParserBenchmark.run("orderByColumn regex", () -> {
+            for (final String name : NAMES) {
+                referenceOrderByColumn(name, Locale.ENGLISH);
+            }
+        });
+        ParserBenchmark.run("orderByColumn", () -> {
+            for (final String name : NAMES) {
+                SqlEncode.orderByColumn(name, Locale.ENGLISH);
+            }
+        });
+        ParserBenchmark.run("toAscii regex", () -> {
+            for (final String name : NAMES) {
+                referenceToAscii(name);
+            }
+        });
+        ParserBenchmark.run("toAscii", () -> {
+            for (final String name : NAMES) {
+                ParseUtils.toAscii(name);
+            }
+        });
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.database.dao.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.hardbacknutter.nevertoomanybooks.database.dbsync.SynchronizedDb;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The session, generation and rollback-count invalidation of {@link EntityIdCache}.
+ */
+class EntityIdCacheTest {
+
+    private static final String KEY = EntityIdCache.key("asimov", "isaac");
+    private static final String OTHER_KEY = EntityIdCache.key("le guin", "ursula k.");
+
+    private SynchronizedDb db;
+    private EntityIdCache cache;
+
+    @BeforeEach
+    void setUp() {
+        db = mock(SynchronizedDb.class);
+        when(db.getRollbackCount()).thenReturn(0);
+        cache = new EntityIdCache();
+        EntityIdCache.startSession();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // the session count is static; don't leak into other tests
+        EntityIdCache.endSession();
+    }
+
+    @Test
+    void hitWithinSession() {
+        cache.put(db, KEY, 42);
+        assertEquals(42, cache.get(db, KEY));
+        assertEquals(0, cache.get(db, OTHER_KEY));
+
+        // a nested session does not discard the cache
+        EntityIdCache.startSession();
+        assertEquals(42, cache.get(db, KEY));
+        EntityIdCache.endSession();
+        assertEquals(42, cache.get(db, KEY));
+    }
+
+    @Test
+    void notCachedOutsideSession() {
+        cache.put(db, KEY, 42);
+        EntityIdCache.endSession();
+        assertEquals(0, cache.get(db, KEY));
+
+        cache.put(db, KEY, 42);
+        assertEquals(0, cache.get(db, KEY));
+
+        // a new session starts with an empty cache
+        EntityIdCache.startSession();
+        assertEquals(0, cache.get(db, KEY));
+    }
+
+    @Test
+    void invalidatedByRollback() {
+        cache.put(db, KEY, 42);
+        assertEquals(42, cache.get(db, KEY));
+
+        when(db.getRollbackCount()).thenReturn(1);
+        assertEquals(0, cache.get(db, KEY));
+
+        // ids cached after the rollback are valid again
+        cache.put(db, KEY, 43);
+        assertEquals(43, cache.get(db, KEY));
+    }
+
+    @Test
+    void invalidatedByClear() {
+        // What the DAOs do when they update or delete rows.
+        cache.put(db, KEY, 42);
+        cache.put(db, OTHER_KEY, 7);
+        cache.clear();
+        assertEquals(0, cache.get(db, KEY));
+        assertEquals(0, cache.get(db, OTHER_KEY));
+    }
+
+    @Test
+    void missNeverCached() {
+        cache.put(db, KEY, 0);
+        assertEquals(0, cache.get(db, KEY));
+
+        // a later hit for the same key is cached
+        cache.put(db, KEY, 42);
+        assertEquals(42, cache.get(db, KEY));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.searchengines;
+
+import androidx.annotation.NonNull;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ActiveSearchTasksTest {
+
+    private static final int ENGINE_1 = 1;
+    private static final int ENGINE_2 = 2;
+
+    @NonNull
+    private static SearchTask createTask(final int taskId) {
+        final SearchTask task = mock(SearchTask.class);
+        when(task.getTaskId()).thenReturn(taskId);
+        return task;
+    }
+
+    /**
+     * Complete a search early, then start a second one while the abandoned task
+     * of the first search (same engine/task id) is still reporting back.
+     */
+    @Test
+    void earlyCompletionThenSecondSearch() {
+        final ActiveSearchTasks activeTasks = new ActiveSearchTasks();
+
+        final int first = activeTasks.newGeneration();
+        final SearchTask task1 = createTask(ENGINE_1);
+        final SearchTask task2 = createTask(ENGINE_2);
+        activeTasks.add(task1);
+        activeTasks.add(task2);
+
+        assertTrue(activeTasks.remove(first, ENGINE_1));
+        assertEquals(Set.of(ENGINE_2), activeTasks.getTaskIds());
+
+        // early completion
+        activeTasks.abandon();
+        verify(task2).cancel();
+        verify(task1, never()).cancel();
+        assertTrue(activeTasks.isEmpty());
+        assertFalse(activeTasks.isCurrent(first));
+
+        // the next search must not see the abandoned task
+        final int second = activeTasks.newGeneration();
+        assertTrue(activeTasks.isEmpty());
+        final SearchTask task2b = createTask(ENGINE_2);
+        activeTasks.add(task2b);
+
+        // late callback from the abandoned task: ignored
+        assertFalse(activeTasks.remove(first, ENGINE_2));
+        assertEquals(Set.of(ENGINE_2), activeTasks.getTaskIds());
+
+        // the real one
+        assertTrue(activeTasks.isCurrent(second));
+        assertTrue(activeTasks.remove(second, ENGINE_2));
+        assertTrue(activeTasks.isEmpty());
+    }
+
+    @Test
+    void cancelKeepsTracking() {
+        final ActiveSearchTasks activeTasks = new ActiveSearchTasks();
+
+        final int generation = activeTasks.newGeneration();
+        final SearchTask task1 = createTask(ENGINE_1);
+        activeTasks.add(task1);
+
+        activeTasks.cancel();
+        verify(task1).cancel();
+        // a cancelled task still reports back, and that report must be processed
+        assertFalse(activeTasks.isEmpty());
+        assertTrue(activeTasks.remove(generation, ENGINE_1));
+        assertTrue(activeTasks.isEmpty());
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.searchengines;
+
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.Locale;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+import com.hardbacknutter.nevertoomanybooks.Base;
+import com.hardbacknutter.nevertoomanybooks._mocks.MockCancellable;
+import com.hardbacknutter.nevertoomanybooks._mocks.network.ReplayConnectionFactory;
+import com.hardbacknutter.nevertoomanybooks.database.DBKey;
+import com.hardbacknutter.nevertoomanybooks.entities.Author;
+import com.hardbacknutter.nevertoomanybooks.entities.Book;
+import com.hardbacknutter.nevertoomanybooks.network.FutureHttpBase;
+import com.hardbacknutter.nevertoomanybooks.utils.exceptions.CredentialsException;
+import com.hardbacknutter.nevertoomanybooks.utils.exceptions.StorageException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the search engines end-to-end; i.e. from the request url to the book data,
+ * using recorded responses instead of the network.
+ * <p>
+ * A test fails if one of its responses has not been recorded.
+ * To record a new response, add a test with the url and the resource name,
+ * and run it once with the environment variable
+ * {@link ReplayConnectionFactory#ENV_RECORD} set to {@code true}.
+ */
+class SearchEngineReplayTest
+        extends Base {
+
+    private static final boolean[] NO_COVERS = {false, false};
+
+    private ReplayConnectionFactory replay;
+
+    @BeforeEach
+    public void setup()
+            throws ParserConfigurationException, SAXException {
+        super.setup();
+        replay = new ReplayConnectionFactory();
+        FutureHttpBase.setConnectionFactory(replay);
+    }
+
+    @AfterEach
+    void resetConnectionFactory() {
+        FutureHttpBase.setConnectionFactory(null);
+    }
+
+    @Test
+    void kbNlByIsbn()
+            throws StorageException, SearchException, CredentialsException {
+        add("https://opc-kb.oclc.org/DB=1/SET=1/TTL=1/CMD?ACT=SRCHA&IKT=1007"
+            + "&SRT=LST_dtay&TRM=9022953351",
+            "/kbnl/kbnl-book-1.xml", "text/xml");
+
+        final Bundle bookData = searchBook(
+                SearchSites.KB_NL,
+                searchEngine -> ((SearchEngine.ByIsbn) searchEngine)
+                        .searchByIsbn(mContext, "9022953351", NO_COVERS));
+
+        assertEquals("De Foundation", bookData.getString(DBKey.TITLE));
+        assertEquals("9022953351", bookData.getString(DBKey.BOOK_ISBN));
+    }
+
+    @Test
+    void openLibraryByIsbn()
+            throws StorageException, SearchException, CredentialsException {
+        setLocale(Locale.UK);
+        add("https://openlibrary.org/api/books?jscmd=data&format=json"
+            + "&bibkeys=ISBN:9780980200447",
+            "/openlibrary/9780980200447.json", "application/json");
+
+        final Bundle bookData = searchBook(
+                SearchSites.OPEN_LIBRARY,
+                searchEngine -> ((SearchEngine.ByIsbn) searchEngine)
+                        .searchByIsbn(mContext, "9780980200447", NO_COVERS));
+
+        assertEquals("Slow reading", bookData.getString(DBKey.TITLE));
+    }
+
+    @Test
+    void lastDodoByExternalId()
+            throws StorageException, SearchException, CredentialsException {
+        setLocale(Locale.FRANCE);
+        add("https://www.lastdodo.nl/nl/items/7323911",
+            "/lastdodo/7323911-de-37ste-parallel.html", "text/html");
+
+        final Bundle bookData = searchBook(
+                SearchSites.LAST_DODO,
+                searchEngine -> ((SearchEngine.ByExternalId) searchEngine)
+                        .searchByExternalId(mContext, "7323911", NO_COVERS));
+
+        assertEquals("De 37ste parallel", bookData.getString(DBKey.TITLE));
+        assertEquals("9789463064385", bookData.getString(DBKey.BOOK_ISBN));
+    }
+
+    /**
+     * Two requests: the search feed, and the first entry found in the feed.
+     */
+    @Test
+    void googleBooksByIsbn()
+            throws StorageException, SearchException, CredentialsException {
+        add("https://books.google.com/books/feeds/volumes?q=ISBN%3A9780307450340",
+            "/googlebooks/9780307450340-feed.xml", "application/atom+xml");
+        add("https://www.google.com/books/feeds/volumes/lf2EMetoLugC",
+            "/googlebooks/lf2EMetoLugC.xml", "application/atom+xml");
+
+        final Bundle bookData = searchBook(
+                SearchSites.GOOGLE_BOOKS,
+                searchEngine -> ((SearchEngine.ByIsbn) searchEngine)
+                        .searchByIsbn(mContext, "9780307450340", NO_COVERS));
+
+        assertEquals("The Geeks' Guide to World Domination",
+                     bookData.getString(DBKey.TITLE));
+        assertEquals("9780307450340", bookData.getString(DBKey.BOOK_ISBN));
+        assertEquals("245", bookData.getString(DBKey.PAGE_COUNT));
+
+        final List<Author> authors = bookData.getParcelableArrayList(Book.BKEY_AUTHOR_LIST);
+        assertNotNull(authors);
+        assertEquals(1, authors.size());
+        assertEquals("Sundem", authors.get(0).getFamilyName());
+    }
+
+    @Test
+    void libraryThingAlternativeEditions()
+            throws StorageException, SearchException, CredentialsException {
+        add("https://www.librarything.com/api/thingISBN/0380014300",
+            "/librarything/thingISBN-0380014300.xml", "text/xml");
+
+        final List<String> isbnList = search(
+                SearchSites.LIBRARY_THING,
+                searchEngine -> ((SearchEngine.AlternativeEditions) searchEngine)
+                        .searchAlternativeEditions(mContext, "0380014300"));
+
+        assertEquals(5, isbnList.size());
+        assertEquals("0380014300", isbnList.get(0));
+        assertEquals("2207301907", isbnList.get(4));
+    }
+
+    /**
+     * Two steps: the ISBN search is redirected to the single edition found,
+     * which is then parsed.
+     */
+    @Test
+    void isfdbByIsbn()
+            throws StorageException, SearchException, CredentialsException {
+        setLocale(Locale.UK);
+        replay.addRedirect("http://www.isfdb.org/cgi-bin/se.cgi?arg=9781473200104&type=ISBN",
+                           "http://www.isfdb.org/cgi-bin/pl.cgi?431964");
+        add("http://www.isfdb.org/cgi-bin/pl.cgi?431964",
+            "/isfdb/431964.html", "text/html");
+
+        final Bundle bookData = searchBook(
+                SearchSites.ISFDB,
+                searchEngine -> ((SearchEngine.ByIsbn) searchEngine)
+                        .searchByIsbn(mContext, "9781473200104", NO_COVERS));
+
+        assertEquals("Mort", bookData.getString(DBKey.TITLE));
+        assertEquals("9781473200104", bookData.getString(DBKey.BOOK_ISBN));
+        assertEquals("eng", bookData.getString(DBKey.LANGUAGE));
+    }
+
+    /**
+     * The ISBN-13 is converted to the ASIN (ISBN-10) for the product url.
+     */
+    @Test
+    void amazonByIsbn()
+            throws StorageException, SearchException, CredentialsException {
+        setLocale(Locale.FRANCE);
+        add("https://www.amazon.fr/gp/product/2205057332",
+            "/amazon/2205057332.html", "text/html");
+
+        final Bundle bookData = searchBook(
+                SearchSites.AMAZON,
+                searchEngine -> ((SearchEngine.ByIsbn) searchEngine)
+                        .searchByIsbn(mContext, "9782205057331", NO_COVERS));
+
+        assertEquals("Le retour à la terre, 1 : La vraie vie",
+                     bookData.getString(DBKey.TITLE));
+        assertEquals("978-2205057331", bookData.getString(DBKey.BOOK_ISBN));
+    }
+
+    /**
+     * The search page redirects to the book page if there is only a single result.
+     */
+    @Test
+    void stripInfoByIsbn()
+            throws StorageException, SearchException, CredentialsException {
+        setLocale(Locale.FRANCE);
+        final String bookUrl = "https://www.stripinfo.be/reeks/strip"
+                               + "/336348_Hauteville_House_14_De_37ste_parallel";
+        replay.addRedirect("https://www.stripinfo.be/zoek/zoek?zoekstring=9789463064385",
+                           bookUrl);
+        add(bookUrl, "/stripinfo/336348_Hauteville_House_14_De_37ste_parallel.html",
+            "text/html");
+
+        final Bundle bookData = searchBook(
+                SearchSites.STRIP_INFO_BE,
+                searchEngine -> ((SearchEngine.ByIsbn) searchEngine)
+                        .searchByIsbn(mContext, "9789463064385", NO_COVERS));
+
+        assertEquals("De 37ste parallel", bookData.getString(DBKey.TITLE));
+        assertEquals("9789463064385", bookData.getString(DBKey.BOOK_ISBN));
+    }
+
+    /**
+     * Add a recorded response. Fails the test if the response has not been recorded
+     * (and we're not recording).
+     *
+     * @param url         the exact url the engine will request
+     * @param resource    the recorded response
+     * @param contentType of the response
+     */
+    private void add(@NonNull final String url,
+                     @NonNull final String resource,
+                     @NonNull final String contentType) {
+        assertTrue(replay.hasResource(resource) || ReplayConnectionFactory.isRecording(),
+                   "Not recorded: " + resource);
+        replay.add(url, resource, contentType);
+    }
+
+    /**
+     * Run a search for a book with the added responses.
+     *
+     * @param engineId the engine to use
+     * @param search   the actual search to run
+     *
+     * @return the book data
+     */
+    @NonNull
+    private Bundle searchBook(@SearchSites.EngineId final int engineId,
+                              @NonNull final Search<Bundle> search)
+            throws StorageException, SearchException, CredentialsException {
+        final Bundle bookData = search(engineId, search);
+        assertFalse(bookData.isEmpty());
+        return bookData;
+    }
+
+    /**
+     * Run a search with the added responses.
+     *
+     * @param engineId the engine to use
+     * @param search   the actual search to run
+     * @param <T>      type of the result
+     *
+     * @return the result
+     */
+    @NonNull
+    private <T> T search(@SearchSites.EngineId final int engineId,
+                         @NonNull final Search<T> search)
+            throws StorageException, SearchException, CredentialsException {
+        final SearchEngine searchEngine = SearchEngineRegistry.getInstance()
+                                                          .createSearchEngine(engineId);
+        searchEngine.setCaller(new MockCancellable());
+
+        final T result = search.run(searchEngine);
+        assertNotNull(result);
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface Search<T> {
+
+        @NonNull
+        T run(@NonNull SearchEngine searchEngine)
+                throws StorageException, SearchException, CredentialsException;
+    }
+}
@@ -26,9 +26,11 @@ import javax.xml.parsers.ParserConfigurationException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.xml.sax.SAXException;
 
 import com.hardbacknutter.nevertoomanybooks.JSoupBase;
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
 import com.hardbacknutter.nevertoomanybooks._mocks.MockCancellable;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.entities.Author;
@@ -157,4 +159,13 @@ class AmazonHtmlHandlerTest
         assertEquals("Larcenet", authors.get(1).getGivenNames());
         assertEquals(Author.TYPE_ARTIST, authors.get(1).getType());
     }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmark01() {
+        setLocale(Locale.UK);
+        benchmark(mContext, mSearchEngine, UTF_8,
+                  "https://www.amazon.co.uk/gp/product/0575090677",
+                  "/amazon/0575090677.html");
+    }
 }
@@ -0,0 +1,76 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.searchengines.googlebooks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.xml.sax.SAXException;
+
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GoogleBooksListHandlerTest {
+
+    private static final String feedFilename = "/googlebooks/9780307450340-feed.xml";
+
+    private SAXParser mParser;
+
+    @BeforeEach
+    public void setup()
+            throws ParserConfigurationException, SAXException {
+        // same as GoogleBooksSearchEngine
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        mParser = factory.newSAXParser();
+    }
+
+    @Test
+    void parseFeed()
+            throws IOException, SAXException {
+        final GoogleBooksListHandler handler = new GoogleBooksListHandler();
+        try (InputStream in = this.getClass().getResourceAsStream(feedFilename)) {
+            mParser.parse(in, handler);
+        }
+
+        final List<String> urlList = handler.getResult();
+        assertEquals(1, urlList.size());
+        assertEquals("https://www.google.com/books/feeds/volumes/lf2EMetoLugC", urlList.get(0));
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmarkFeed()
+            throws Exception {
+        final byte[] page = ParserBenchmark.load(getClass(), feedFilename);
+        ParserBenchmark.run("GoogleBooksListHandler" + feedFilename, () ->
+                mParser.parse(new ByteArrayInputStream(page), new GoogleBooksListHandler()));
+    }
+}
@@ -28,9 +28,11 @@ import javax.xml.parsers.ParserConfigurationException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.xml.sax.SAXException;
 
 import com.hardbacknutter.nevertoomanybooks.JSoupBase;
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
 import com.hardbacknutter.nevertoomanybooks._mocks.MockCancellable;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.entities.Author;
@@ -256,4 +258,13 @@ class IsfdbBookHandlerTest
         assertEquals("Wilkins", entry.getPrimaryAuthor().getFamilyName());
         assertEquals("Rob", entry.getPrimaryAuthor().getGivenNames());
     }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmark01() {
+        setLocale(Locale.UK);
+        benchmark(mContext, mSearchEngine, IsfdbSearchEngine.CHARSET_DECODE_PAGE,
+                  "http://www.isfdb.org/cgi-bin/pl.cgi?112781",
+                  "/isfdb/112781.html");
+    }
 }
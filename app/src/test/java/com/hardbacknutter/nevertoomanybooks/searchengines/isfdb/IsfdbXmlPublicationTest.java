@@ -22,6 +22,7 @@ package com.hardbacknutter.nevertoomanybooks.searchengines.isfdb;
 import androidx.annotation.NonNull;
 import androidx.preference.PreferenceManager;
 
+import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.util.Locale;
@@ -32,9 +33,11 @@ import javax.xml.parsers.SAXParserFactory;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.xml.sax.SAXException;
 
 import com.hardbacknutter.nevertoomanybooks.Base;
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
 import com.hardbacknutter.nevertoomanybooks._mocks.MockCancellable;
 import com.hardbacknutter.nevertoomanybooks.searchengines.SearchSites;
 import com.hardbacknutter.nevertoomanybooks.searchengines.Site;
@@ -88,4 +91,29 @@ class IsfdbXmlPublicationTest
 
         System.out.println(listHandler.getResult());
     }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmarkSingleByExtId()
+            throws Exception {
+        setLocale(Locale.UK);
+        final String filename = "/isfdb/425189.xml";
+
+        final SAXParser parser = SAXParserFactory.newInstance().newSAXParser();
+        final byte[] page = ParserBenchmark.load(getClass(), filename);
+        ParserBenchmark.run("IsfdbPublicationListHandler" + filename, () -> {
+            final IsfdbPublicationListHandler listHandler =
+                    new IsfdbPublicationListHandler(mSearchEngine,
+                                                    new boolean[]{false, false},
+                                                    1,
+                                                    mSearchEngine.getLocale(mContext));
+            try {
+                parser.parse(new ByteArrayInputStream(page), listHandler);
+            } catch (@NonNull final SAXException e) {
+                if (!(e.getCause() instanceof EOFException)) {
+                    throw e;
+                }
+            }
+        });
+    }
 }
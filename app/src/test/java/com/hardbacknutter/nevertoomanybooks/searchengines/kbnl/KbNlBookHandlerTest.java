@@ -19,6 +19,7 @@
  */
 package com.hardbacknutter.nevertoomanybooks.searchengines.kbnl;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -30,9 +31,11 @@ import javax.xml.parsers.SAXParserFactory;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.xml.sax.SAXException;
 
 import com.hardbacknutter.nevertoomanybooks.Base;
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.entities.Author;
 import com.hardbacknutter.nevertoomanybooks.entities.Book;
@@ -149,4 +152,15 @@ class KbNlBookHandlerTest
         expectedSeries.setNumber("1");
         assertEquals(expectedSeries, series.get(0));
     }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmarkBook()
+            throws Exception {
+        final byte[] page = ParserBenchmark.load(getClass(), bookFilename);
+        ParserBenchmark.run("KbNlBookHandler" + bookFilename, () -> {
+            mRawData.clear();
+            mParser.parse(new ByteArrayInputStream(page), new KbNlBookHandler(mRawData));
+        });
+    }
 }
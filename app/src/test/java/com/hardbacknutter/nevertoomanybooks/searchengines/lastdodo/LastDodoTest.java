@@ -26,9 +26,11 @@ import javax.xml.parsers.ParserConfigurationException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.xml.sax.SAXException;
 
 import com.hardbacknutter.nevertoomanybooks.JSoupBase;
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
 import com.hardbacknutter.nevertoomanybooks._mocks.MockCancellable;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.entities.Author;
@@ -106,4 +108,13 @@ class LastDodoTest
 //        assertEquals("Nuria", author.getGivenNames());
 //        assertEquals(Author.TYPE_COLORIST, author.getType());
     }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmark01() {
+        setLocale(Locale.FRANCE);
+        benchmark(mContext, mSearchEngine, UTF_8,
+                  "https://www.lastdodo.nl/nl/items/7323911-de-37ste-parallel",
+                  "/lastdodo/7323911-de-37ste-parallel.html");
+    }
 }
@@ -19,6 +19,7 @@
  */
 package com.hardbacknutter.nevertoomanybooks.searchengines.openlibrary;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -28,9 +29,11 @@ import javax.xml.parsers.ParserConfigurationException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.xml.sax.SAXException;
 
 import com.hardbacknutter.nevertoomanybooks.Base;
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
 import com.hardbacknutter.nevertoomanybooks._mocks.MockCancellable;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.entities.Author;
@@ -121,4 +124,21 @@ class OpenLibrarySearchEngineTest
         assertEquals("John", tocs.get(0).getPrimaryAuthor().getGivenNames());
         assertEquals(Author.TYPE_UNKNOWN, authors.get(0).getType());
     }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmark()
+            throws Exception {
+        setLocale(Locale.UK);
+        final String filename = "/openlibrary/9780980200447.json";
+
+        final byte[] page = ParserBenchmark.load(getClass(), filename);
+        ParserBenchmark.run("OpenLibrarySearchEngine" + filename, () -> {
+            mRawData.clear();
+            final String response = mSearchEngine
+                    .readResponseStream(new ByteArrayInputStream(page));
+            mSearchEngine.handleResponse(mContext, response, new boolean[]{false, false},
+                                         mRawData);
+        });
+    }
 }
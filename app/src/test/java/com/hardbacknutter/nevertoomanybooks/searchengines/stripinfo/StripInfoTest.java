@@ -32,9 +32,11 @@ import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
 import org.xml.sax.SAXException;
 
 import com.hardbacknutter.nevertoomanybooks.JSoupBase;
+import com.hardbacknutter.nevertoomanybooks.ParserBenchmark;
 import com.hardbacknutter.nevertoomanybooks._mocks.MockCancellable;
 import com.hardbacknutter.nevertoomanybooks.database.DBKey;
 import com.hardbacknutter.nevertoomanybooks.entities.Author;
@@ -510,4 +512,14 @@ class StripInfoTest
         assertEquals("Erwann", author.getGivenNames());
         assertEquals(Author.TYPE_ARTIST | Author.TYPE_COLORIST, author.getType());
     }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = ParserBenchmark.ENV_BENCHMARK, matches = "true")
+    void benchmark01() {
+        setLocale(Locale.FRANCE);
+        benchmark(mContext, mSearchEngine, UTF_8,
+                  "https://www.stripinfo.be/reeks/strip"
+                  + "/336348_Hauteville_House_14_De_37ste_parallel",
+                  "/stripinfo/336348_Hauteville_House_14_De_37ste_parallel.html");
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * @Copyright 2018-2021 HardBackNutter
+ * @License GNU General Public License
+ *
+ * This file is part of NeverTooManyBooks.
+ *
+ * NeverTooManyBooks is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * NeverTooManyBooks is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with NeverTooManyBooks. If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.hardbacknutter.nevertoomanybooks.widgets;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest {
+
+    private static final List<String> NAMES = List.of(
+            "Asimov, Isaac",
+            "Brontë, Charlotte",
+            "Le Guin, Ursula K.",
+            "Clarke, Arthur C.",
+            "Bronte, Emily",
+            "Guin, Le");
+
+    @Test
+    void fullText() {
+        final PrefixIndex<String> index = new PrefixIndex<>(NAMES, s -> s, false);
+        assertEquals(List.of("Le Guin, Ursula K."), index.find("le g", 10));
+        assertEquals(List.of("Asimov, Isaac"), index.find("ASI", 10));
+    }
+
+    @Test
+    void words() {
+        final PrefixIndex<String> index = new PrefixIndex<>(NAMES, s -> s, false);
+        // original order is kept
+        assertEquals(List.of("Le Guin, Ursula K.", "Guin, Le"), index.find("gui", 10));
+        assertEquals(List.of("Le Guin, Ursula K.", "Guin, Le"), index.find("le", 10));
+        assertEquals(List.of("Clarke, Arthur C."), index.find("c.", 10));
+        assertTrue(index.find("x", 10).isEmpty());
+    }
+
+    @Test
+    void diacritic() {
+        final PrefixIndex<String> plain = new PrefixIndex<>(NAMES, s -> s, false);
+        assertEquals(List.of("Bronte, Emily"), plain.find("bronte", 10));
+        assertEquals(List.of("Brontë, Charlotte"), plain.find("brontë", 10));
+
+        final PrefixIndex<String> index = new PrefixIndex<>(NAMES, s -> s, true);
+        assertEquals(List.of("Brontë, Charlotte", "Bronte, Emily"), index.find("bronte", 10));
+        assertEquals(List.of("Brontë, Charlotte", "Bronte, Emily"), index.find("brontë", 10));
+    }
+
+    @Test
+    void maxResults() {
+        final PrefixIndex<String> index = new PrefixIndex<>(NAMES, s -> s, true);
+        assertEquals(List.of("Brontë, Charlotte"), index.find("b", 1));
+    }
+
+    @Test
+    void duplicates() {
+        final PrefixIndex<String> index = new PrefixIndex<>(
+                List.of("abc", "x abc", "abc", "y abc d"), s -> s, false);
+        assertEquals(4, index.find("abc", 10).size());
+    }
+}